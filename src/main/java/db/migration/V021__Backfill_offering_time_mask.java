@@ -0,0 +1,31 @@
+package db.migration;
+
+import edu.aua.course_recommendation.model.TimeMask;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+/**
+ * Parses the times of every existing course offering into the time_mask column added by V020.
+ * The parsing lives in {@link TimeMask}, so this cannot be expressed in SQL.
+ */
+public class V021__Backfill_offering_time_mask extends BaseJavaMigration {
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        try (Statement select = context.getConnection().createStatement();
+             ResultSet rows = select.executeQuery("SELECT id, times FROM course_offerings WHERE time_mask IS NULL");
+             PreparedStatement update = context.getConnection()
+                     .prepareStatement("UPDATE course_offerings SET time_mask = ? WHERE id = ?")) {
+            while (rows.next()) {
+                update.setBytes(1, TimeMask.parse(rows.getString("times")).toBytes());
+                update.setBytes(2, rows.getBytes("id"));
+                update.addBatch();
+            }
+            update.executeBatch();
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package db.migration;
+
+import edu.aua.course_recommendation.model.SeatCount;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Types;
+
+/**
+ * Parses the seat columns of every existing course offering into the numeric columns added by V023.
+ * The parsing lives in {@link SeatCount}, so this cannot be expressed in SQL.
+ */
+public class V024__Backfill_offering_seat_counts extends BaseJavaMigration {
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        try (Statement select = context.getConnection().createStatement();
+             ResultSet rows = select.executeQuery("SELECT id, taken_seats, spaces_waiting FROM course_offerings");
+             PreparedStatement update = context.getConnection().prepareStatement(
+                     "UPDATE course_offerings SET seats_taken = ?, seat_capacity = ?, seats_waiting = ? WHERE id = ?")) {
+            while (rows.next()) {
+                SeatCount seats = SeatCount.parse(rows.getString("taken_seats"), rows.getString("spaces_waiting"));
+                update.setObject(1, seats.taken(), Types.INTEGER);
+                update.setObject(2, seats.capacity(), Types.INTEGER);
+                update.setObject(3, seats.waiting(), Types.INTEGER);
+                update.setBytes(4, rows.getBytes("id"));
+                update.addBatch();
+            }
+            update.executeBatch();
+        }
+    }
+}
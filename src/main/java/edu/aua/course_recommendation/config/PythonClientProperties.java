@@ -0,0 +1,48 @@
+package edu.aua.course_recommendation.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Connection pool, timeouts and circuit breaker of the client for the Python recommender.
+ */
+@Getter @Setter
+@ConfigurationProperties(prefix = "python.client")
+public class PythonClientProperties {
+
+    // Every request goes to the same host, so this is also the per-route limit
+    private int maxConnections = 20;
+
+    private Duration connectTimeout = Duration.ofSeconds(2);
+
+    // How long a request waits for a pooled connection when all are busy
+    private Duration connectionRequestTimeout = Duration.ofSeconds(1);
+
+    // Idle connections are kept and reused for this long
+    private Duration keepAlive = Duration.ofSeconds(30);
+
+    // Recommendation calls, made while a student waits for a schedule
+    private Duration recommendTimeout = Duration.ofSeconds(3);
+
+    // Re-vectorizing or deleting the whole catalog
+    private Duration bulkTimeout = Duration.ofMinutes(5);
+
+    private final Breaker circuitBreaker = new Breaker();
+
+    @Getter @Setter
+    public static class Breaker {
+
+        private float failureRateThreshold = 50;
+
+        private int slidingWindowSize = 20;
+
+        private int minimumNumberOfCalls = 10;
+
+        private Duration openDuration = Duration.ofSeconds(30);
+
+        private int permittedCallsInHalfOpenState = 3;
+    }
+}
@@ -1,18 +1,46 @@
 package edu.aua.course_recommendation.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.aua.course_recommendation.dto.request.BatchDegreeAuditRequestDto;
+import edu.aua.course_recommendation.dto.response.CacheStatsDto;
+import edu.aua.course_recommendation.dto.response.SchedulePregenerationStatusDto;
+import edu.aua.course_recommendation.entity.User;
+import edu.aua.course_recommendation.model.Department;
+import edu.aua.course_recommendation.service.audit.BatchDegreeAuditService;
+import edu.aua.course_recommendation.service.audit.DegreeAuditResultCache;
+import edu.aua.course_recommendation.service.audit.GenedClusteringService;
 import edu.aua.course_recommendation.service.auth.UserService;
 import edu.aua.course_recommendation.service.auth.JwtService;
+import edu.aua.course_recommendation.service.schedule.RecommendationCache;
+import edu.aua.course_recommendation.service.schedule.SchedulePregenerationService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
 
 @RestController
 @RequestMapping("/api/admin")
 @RequiredArgsConstructor
 public class AdminController {
 
+    private static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
     private final UserService userService;
+    private final BatchDegreeAuditService batchDegreeAuditService;
+    private final DegreeAuditResultCache degreeAuditResultCache;
+    private final GenedClusteringService genedClusteringService;
+    private final SchedulePregenerationService schedulePregenerationService;
+    private final RecommendationCache recommendationCache;
+    private final ObjectMapper objectMapper;
 
     @GetMapping
     @PreAuthorize("hasRole('ROLE_ADMIN')")
@@ -27,5 +55,48 @@ public class AdminController {
         return ResponseEntity.noContent().build();
     }
 
+    // Streams one JSON document per line as audits complete, so large cohorts never sit in memory
+    @PostMapping("/degree-audit/batch")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    public ResponseEntity<StreamingResponseBody> batchDegreeAudit(@RequestBody BatchDegreeAuditRequestDto request) {
+        List<User> students = batchDegreeAuditService.resolveStudents(request);
+
+        StreamingResponseBody body = out -> batchDegreeAuditService.auditStudents(request, students, line -> {
+            try {
+                out.write(objectMapper.writeValueAsBytes(line));
+                out.write('\n');
+                out.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+
+        return ResponseEntity.ok()
+                .contentType(APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    // Registration rush: pre-generate next semester's schedules for a whole department in the background
+    @PostMapping("/schedules/pregenerate")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    public ResponseEntity<SchedulePregenerationStatusDto> pregenerateSchedules(@RequestParam Department department) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(schedulePregenerationService.startForDepartment(department));
+    }
 
+    @GetMapping("/schedules/pregenerate/{jobId}")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    public ResponseEntity<SchedulePregenerationStatusDto> getPregenerationStatus(@PathVariable UUID jobId) {
+        return ResponseEntity.ok(schedulePregenerationService.getStatus(jobId));
+    }
+
+    @GetMapping("/cache-stats")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    public ResponseEntity<List<CacheStatsDto>> getCacheStats() {
+        List<CacheStatsDto> stats = new ArrayList<>(degreeAuditResultCache.getStats());
+        stats.add(new CacheStatsDto("gened-clusters",
+                genedClusteringService.getAnalysisCacheHits(), genedClusteringService.getAnalysisCacheMisses()));
+        stats.addAll(recommendationCache.getStats());
+        return ResponseEntity.ok(stats);
+    }
 }
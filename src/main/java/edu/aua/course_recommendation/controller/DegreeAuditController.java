@@ -1,9 +1,13 @@
 package edu.aua.course_recommendation.controller;
 
+import edu.aua.course_recommendation.dto.request.WhatIfAuditRequestDto;
+import edu.aua.course_recommendation.dto.response.WhatIfAuditResultDto;
 import edu.aua.course_recommendation.entity.User;
 import edu.aua.course_recommendation.model.DegreeAuditMultiScenarioResult;
 import edu.aua.course_recommendation.service.audit.BaseDegreeAuditService;
+import edu.aua.course_recommendation.service.audit.DegreeAuditResultCache;
 import edu.aua.course_recommendation.service.audit.DegreeAuditServiceRouter;
+import edu.aua.course_recommendation.service.audit.WhatIfDegreeAuditService;
 import edu.aua.course_recommendation.service.auth.UserService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -15,11 +19,16 @@ import java.util.*;
 public class DegreeAuditController {
 
     private final DegreeAuditServiceRouter degreeAuditServiceRouter;
+    private final DegreeAuditResultCache degreeAuditResultCache;
+    private final WhatIfDegreeAuditService whatIfDegreeAuditService;
     private final UserService userService;
 
     public DegreeAuditController(
-            DegreeAuditServiceRouter degreeAuditServiceRouter, UserService userService) {
+            DegreeAuditServiceRouter degreeAuditServiceRouter, DegreeAuditResultCache degreeAuditResultCache,
+            WhatIfDegreeAuditService whatIfDegreeAuditService, UserService userService) {
         this.degreeAuditServiceRouter = degreeAuditServiceRouter;
+        this.degreeAuditResultCache = degreeAuditResultCache;
+        this.whatIfDegreeAuditService = whatIfDegreeAuditService;
         this.userService = userService;
     }
 
@@ -28,8 +37,20 @@ public class DegreeAuditController {
             @PathVariable UUID studentId
     ) {
         try {
-            BaseDegreeAuditService service = degreeAuditServiceRouter.getServiceForStudent(studentId);
-            return ResponseEntity.ok(service.auditStudentDegreeMultiScenario(studentId));
+            userService.validateStudent(studentId);
+            return ResponseEntity.ok(degreeAuditResultCache.getAudit(studentId));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.badRequest().body(null);
+        }
+    }
+
+    @PostMapping("/{studentId}/what-if")
+    public ResponseEntity<List<WhatIfAuditResultDto>> auditWhatIf(
+            @PathVariable UUID studentId,
+            @RequestBody WhatIfAuditRequestDto request
+    ) {
+        try {
+            return ResponseEntity.ok(whatIfDegreeAuditService.auditPlans(studentId, request));
         } catch (IllegalStateException e) {
             return ResponseEntity.badRequest().body(null);
         }
@@ -39,7 +60,7 @@ public class DegreeAuditController {
     public ResponseEntity<?> getGenedOptions(@PathVariable UUID studentId) {
         try {
             BaseDegreeAuditService service = degreeAuditServiceRouter.getServiceForStudent(studentId);
-            return ResponseEntity.ok(service.checkGeneralEducationRequirementsDetailed(studentId));
+            return ResponseEntity.ok(service.checkGeneralEducationRequirementsDetailed(service.loadSnapshot(studentId)));
         } catch (IllegalStateException e) {
             User student = userService.findById(studentId);
             return ResponseEntity.badRequest()
@@ -2,7 +2,9 @@ package edu.aua.course_recommendation.controller;
 
 import edu.aua.course_recommendation.dto.request.MessageAndPossibleCourseDto;
 import edu.aua.course_recommendation.dto.request.PassedAndPossibleCoursesDto;
+import edu.aua.course_recommendation.dto.response.CourseVectorSyncResultDto;
 import edu.aua.course_recommendation.dto.response.RecommendationDto;
+import edu.aua.course_recommendation.service.schedule.CourseVectorSyncService;
 import edu.aua.course_recommendation.service.schedule.PythonService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -17,6 +19,7 @@ import java.util.List;
 public class PythonController {
 
     private final PythonService pythonService;
+    private final CourseVectorSyncService courseVectorSyncService;
 
     @PostMapping("/send/message")
     @PreAuthorize("hasRole('ROLE_SERVICE')")
@@ -39,12 +42,19 @@ public class PythonController {
     @PostMapping("/send/courses")
     @PreAuthorize("hasRole('ROLE_SERVICE')")
     public String newCourses() {
-        return pythonService.sendCourses();
+        return courseVectorSyncService.resendAll();
+    }
+
+    // Sends only the courses added, edited or deleted since the last sync
+    @PostMapping("/sync/courses")
+    @PreAuthorize("hasRole('ROLE_SERVICE')")
+    public ResponseEntity<CourseVectorSyncResultDto> syncCourses() {
+        return ResponseEntity.ok(courseVectorSyncService.sync());
     }
 
     @DeleteMapping("/delete/courses")
     @PreAuthorize("hasRole('ROLE_SERVICE')")
     public ResponseEntity<String> deletePointsQdrant() {
-        return pythonService.deletePoints();
+        return courseVectorSyncService.deleteAll();
     }
 }
@@ -1,9 +1,16 @@
 package edu.aua.course_recommendation.controller;
 
+import edu.aua.course_recommendation.dto.request.SchedulePreferencesRequestDto;
+import edu.aua.course_recommendation.dto.response.GraduationPlanDto;
 import edu.aua.course_recommendation.dto.response.NeededCourseOfferingResponseDto;
+import edu.aua.course_recommendation.dto.response.RankedScheduleDto;
+import edu.aua.course_recommendation.dto.response.ScheduleEditResultDto;
 import edu.aua.course_recommendation.entity.Schedule;
 import edu.aua.course_recommendation.mappers.CourseMapper;
+import edu.aua.course_recommendation.service.schedule.GraduationPlannerService;
 import edu.aua.course_recommendation.service.schedule.NextSemesterScheduleService;
+import edu.aua.course_recommendation.service.schedule.ScheduleEditService;
+import edu.aua.course_recommendation.service.schedule.ScheduleSearchService;
 import edu.aua.course_recommendation.service.schedule.ScheduleService;
 import edu.aua.course_recommendation.util.AcademicCalendarUtil;
 import lombok.RequiredArgsConstructor;
@@ -21,20 +28,47 @@ public class ScheduleController {
 
     private final NextSemesterScheduleService nextSemesterScheduleService;
     private final ScheduleService scheduleService;
+    private final GraduationPlannerService graduationPlannerService;
+    private final ScheduleSearchService scheduleSearchService;
+    private final ScheduleEditService scheduleEditService;
     private final CourseMapper courseMapper;
 
     @GetMapping("/generate")
     public ResponseEntity<Schedule> generateNextSemesterSchedule(
-            @RequestParam UUID studentId) {
-        return ResponseEntity.ok(nextSemesterScheduleService.generateNextSemester(studentId));
+            @RequestParam UUID studentId,
+            @RequestParam(defaultValue = "true") boolean preferOpenSections,
+            SchedulePreferencesRequestDto preferences) {
+        return ResponseEntity.ok(nextSemesterScheduleService.generateNextSemester(
+                studentId, preferOpenSections, preferences.toPreferences()));
     }
 
     @GetMapping("/generate/custom")
     public ResponseEntity<Schedule> generateNextSemesterSchedule(
             @RequestParam UUID studentId,
             @RequestParam String year,
-            @RequestParam String semester) {
-        return ResponseEntity.ok(nextSemesterScheduleService.generateNextSemesterCustom(studentId, year, semester));
+            @RequestParam String semester,
+            @RequestParam(defaultValue = "true") boolean preferOpenSections,
+            SchedulePreferencesRequestDto preferences) {
+        return ResponseEntity.ok(nextSemesterScheduleService.generateNextSemesterCustom(
+                studentId, year, semester, preferOpenSections, preferences.toPreferences()));
+    }
+
+    @GetMapping("/generate/top")
+    public ResponseEntity<List<RankedScheduleDto>> generateTopSchedules(
+            @RequestParam UUID studentId,
+            @RequestParam String year,
+            @RequestParam String semester,
+            @RequestParam(defaultValue = "5") int count,
+            SchedulePreferencesRequestDto preferences) {
+        return ResponseEntity.ok(scheduleSearchService.generateTopSchedules(
+                studentId, year, semester, count, preferences.toPreferences()));
+    }
+
+    @GetMapping("/plan")
+    public ResponseEntity<GraduationPlanDto> planGraduation(
+            @RequestParam UUID studentId,
+            @RequestParam(defaultValue = "false") boolean includeSummer) {
+        return ResponseEntity.ok(graduationPlannerService.planGraduation(studentId, includeSummer));
     }
 
     @GetMapping("/{id}")
@@ -127,6 +161,28 @@ public class ScheduleController {
         return ResponseEntity.ok(updatedSchedule);
     }
 
+    // Single-slot edits; a change that would cause a time conflict is not applied and answered with 409,
+    // the conflicting slots and sections of the course that would fit instead
+    @PostMapping("/{id}/slots")
+    public ResponseEntity<ScheduleEditResultDto> addSlot(@PathVariable UUID id, @RequestParam UUID offeringId) {
+        return editResponse(scheduleEditService.addSlot(id, offeringId));
+    }
+
+    @DeleteMapping("/{id}/slots/{offeringId}")
+    public ResponseEntity<ScheduleEditResultDto> removeSlot(@PathVariable UUID id, @PathVariable UUID offeringId) {
+        return editResponse(scheduleEditService.removeSlot(id, offeringId));
+    }
+
+    @PutMapping("/{id}/slots/{offeringId}")
+    public ResponseEntity<ScheduleEditResultDto> swapSection(@PathVariable UUID id, @PathVariable UUID offeringId,
+                                                             @RequestParam UUID newOfferingId) {
+        return editResponse(scheduleEditService.swapSection(id, offeringId, newOfferingId));
+    }
+
+    private static ResponseEntity<ScheduleEditResultDto> editResponse(ScheduleEditResultDto result) {
+        return ResponseEntity.status(result.applied() ? HttpStatus.OK : HttpStatus.CONFLICT).body(result);
+    }
+
     @DeleteMapping("/delete/{id}")
     public ResponseEntity<Void> deleteSchedule(@PathVariable UUID id) {
         Schedule schedule = scheduleService.getScheduleById(id);
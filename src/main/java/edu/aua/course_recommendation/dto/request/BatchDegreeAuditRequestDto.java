@@ -0,0 +1,14 @@
+package edu.aua.course_recommendation.dto.request;
+
+import edu.aua.course_recommendation.model.Department;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Either explicit student IDs or a whole department; IDs win when both are given.
+ */
+public record BatchDegreeAuditRequestDto(
+        List<UUID> studentIds,
+        Department department
+) {}
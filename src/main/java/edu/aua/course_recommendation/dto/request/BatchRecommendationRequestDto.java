@@ -0,0 +1,13 @@
+package edu.aua.course_recommendation.dto.request;
+
+import lombok.Builder;
+
+import java.util.List;
+import java.util.Map;
+
+// Several named candidate pools scored against the same passed courses in one round trip
+@Builder
+public record BatchRecommendationRequestDto(
+        List<String> passed_course_codes,
+        Map<String, List<String>> pools
+) {}
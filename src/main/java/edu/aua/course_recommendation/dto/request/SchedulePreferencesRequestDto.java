@@ -0,0 +1,23 @@
+package edu.aua.course_recommendation.dto.request;
+
+import edu.aua.course_recommendation.model.SchedulePreferences;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * Optional schedule generation preferences, bound from query parameters such as
+ * {@code ?daysOff=FRIDAY&notBefore=09:00&notAfter=17:00&instructors=Jane Doe}.
+ */
+public record SchedulePreferencesRequestDto(
+        List<DayOfWeek> daysOff,
+        @DateTimeFormat(iso = DateTimeFormat.ISO.TIME) LocalTime notBefore,
+        @DateTimeFormat(iso = DateTimeFormat.ISO.TIME) LocalTime notAfter,
+        List<String> instructors
+) {
+    public SchedulePreferences toPreferences() {
+        return SchedulePreferences.of(daysOff, notBefore, notAfter, instructors);
+    }
+}
@@ -0,0 +1,10 @@
+package edu.aua.course_recommendation.dto.request;
+
+import java.util.List;
+
+/**
+ * Candidate plans to audit; each plan is a list of course codes the student would complete.
+ */
+public record WhatIfAuditRequestDto(
+        List<List<String>> plans
+) {}
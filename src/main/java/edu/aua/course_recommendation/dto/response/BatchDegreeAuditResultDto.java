@@ -0,0 +1,22 @@
+package edu.aua.course_recommendation.dto.response;
+
+import edu.aua.course_recommendation.model.DegreeAuditMultiScenarioResult;
+
+import java.util.UUID;
+
+/**
+ * One NDJSON line of a batch audit: the result, or an error message if that student failed.
+ */
+public record BatchDegreeAuditResultDto(
+        UUID studentId,
+        DegreeAuditMultiScenarioResult result,
+        String error
+) {
+    public static BatchDegreeAuditResultDto success(UUID studentId, DegreeAuditMultiScenarioResult result) {
+        return new BatchDegreeAuditResultDto(studentId, result, null);
+    }
+
+    public static BatchDegreeAuditResultDto failure(UUID studentId, String error) {
+        return new BatchDegreeAuditResultDto(studentId, null, error);
+    }
+}
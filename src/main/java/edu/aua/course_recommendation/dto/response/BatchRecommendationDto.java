@@ -0,0 +1,12 @@
+package edu.aua.course_recommendation.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import java.util.List;
+import java.util.Map;
+
+// Scored recommendations per pool of a BatchRecommendationRequestDto, best first
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record BatchRecommendationDto(
+        Map<String, List<RecommendationDto>> pools
+) {}
@@ -0,0 +1,8 @@
+package edu.aua.course_recommendation.dto.response;
+
+public record CacheStatsDto(
+        String name,
+        long hits,
+        long misses
+) {
+}
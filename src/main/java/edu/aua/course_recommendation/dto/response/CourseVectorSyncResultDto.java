@@ -0,0 +1,12 @@
+package edu.aua.course_recommendation.dto.response;
+
+/**
+ * Outcome of one catalog sync to the Python vector index. {@code fullResend} is set when the
+ * recommender lacked the delta endpoints and received the whole catalog instead.
+ */
+public record CourseVectorSyncResultDto(
+        int upserted,
+        int deleted,
+        boolean fullResend
+) {
+}
@@ -0,0 +1,16 @@
+package edu.aua.course_recommendation.dto.response;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * A term-by-term path to graduation. When {@code complete} is false no full path was found
+ * within the planning horizon or time budget, and {@code terms} is the most promising partial
+ * plan with {@code remainingRequirements} courses still missing.
+ */
+public record GraduationPlanDto(
+        UUID studentId,
+        boolean complete,
+        int remainingRequirements,
+        List<PlannedTermDto> terms
+) {}
@@ -0,0 +1,10 @@
+package edu.aua.course_recommendation.dto.response;
+
+import java.util.List;
+
+public record PlannedTermDto(
+        String year,
+        String semester,
+        int credits,
+        List<String> courseCodes
+) {}
@@ -0,0 +1,13 @@
+package edu.aua.course_recommendation.dto.response;
+
+import edu.aua.course_recommendation.entity.Schedule;
+
+/**
+ * One of the best schedules found for a term, {@code rank} 1 being the highest {@code score}.
+ */
+public record RankedScheduleDto(
+        int rank,
+        double score,
+        int credits,
+        Schedule schedule
+) {}
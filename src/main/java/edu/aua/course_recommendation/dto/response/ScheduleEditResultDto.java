@@ -0,0 +1,26 @@
+package edu.aua.course_recommendation.dto.response;
+
+import edu.aua.course_recommendation.entity.Schedule;
+import edu.aua.course_recommendation.entity.ScheduleSlot;
+
+import java.util.List;
+
+/**
+ * Outcome of adding, removing or swapping one slot. When the change would cause a time conflict it
+ * is not applied; the slots it conflicts with and the sections that would fit instead are returned.
+ */
+public record ScheduleEditResultDto(
+        boolean applied,
+        Schedule schedule,
+        List<ScheduleSlot> conflicts,
+        List<SectionAlternativeDto> alternatives
+) {
+    public static ScheduleEditResultDto applied(Schedule schedule) {
+        return new ScheduleEditResultDto(true, schedule, List.of(), List.of());
+    }
+
+    public static ScheduleEditResultDto conflict(Schedule schedule, List<ScheduleSlot> conflicts,
+                                                 List<SectionAlternativeDto> alternatives) {
+        return new ScheduleEditResultDto(false, schedule, conflicts, alternatives);
+    }
+}
@@ -0,0 +1,22 @@
+package edu.aua.course_recommendation.dto.response;
+
+import edu.aua.course_recommendation.model.Department;
+
+import java.util.UUID;
+
+/**
+ * Progress of a registration-rush schedule pre-generation job.
+ */
+public record SchedulePregenerationStatusDto(
+        UUID jobId,
+        Department department,
+        String year,
+        String semester,
+        String state,
+        int total,
+        int generated,
+        int failed,
+        long elapsedMillis,
+        double schedulesPerSecond
+) {
+}
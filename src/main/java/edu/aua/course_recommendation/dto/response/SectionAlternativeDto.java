@@ -0,0 +1,17 @@
+package edu.aua.course_recommendation.dto.response;
+
+import java.util.UUID;
+
+/**
+ * Another section of a course that fits the schedule, offered when the requested one conflicts.
+ * {@code seatsAvailable} is null when the registrar has not reported the section's capacity.
+ */
+public record SectionAlternativeDto(
+        UUID offeringId,
+        String courseCode,
+        String section,
+        String instructor,
+        String times,
+        Integer seatsAvailable
+) {
+}
@@ -0,0 +1,15 @@
+package edu.aua.course_recommendation.dto.response;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * A slot involved in a time conflict and the other sections of its course that would fit the
+ * rest of the schedule, most compact first.
+ */
+public record SlotAlternativesDto(
+        UUID offeringId,
+        String courseCode,
+        List<SectionAlternativeDto> alternatives
+) {
+}
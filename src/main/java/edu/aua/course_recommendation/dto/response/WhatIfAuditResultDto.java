@@ -0,0 +1,13 @@
+package edu.aua.course_recommendation.dto.response;
+
+import edu.aua.course_recommendation.model.DegreeAuditMultiScenarioResult;
+
+import java.util.List;
+
+/**
+ * The audit the student would get after completing {@code courseCodes} on top of their record.
+ */
+public record WhatIfAuditResultDto(
+        List<String> courseCodes,
+        DegreeAuditMultiScenarioResult result
+) {}
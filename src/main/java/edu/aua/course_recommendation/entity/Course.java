@@ -7,6 +7,9 @@ import lombok.*;
 import org.hibernate.annotations.OnDelete;
 import org.hibernate.annotations.OnDeleteAction;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.*;
 
 @Entity
@@ -33,6 +36,11 @@ public class Course {
     @Column(nullable = false)
     private Integer credits;
 
+    // Changes whenever the text the recommender embeds does; see CourseVectorSyncService
+    @Column(name = "content_hash", length = 64)
+    @JsonIgnore
+    private String contentHash;
+
     @OneToMany(mappedBy = "course",
             cascade = CascadeType.ALL,
             orphanRemoval = true,
@@ -56,4 +64,28 @@ public class Course {
 
     @OneToMany(mappedBy = "baseCourse", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<CourseOffering> offerings = new ArrayList<>();
+
+    public String getContentHash() {
+        if (contentHash == null) {
+            hashContent();
+        }
+        return contentHash;
+    }
+
+    @PrePersist
+    @PreUpdate
+    void hashContent() {
+        contentHash = contentHash(title, description);
+    }
+
+    /** Must match the SHA2 backfill in V027. */
+    public static String contentHash(String title, String description) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest((title + "\n" + description).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
 }
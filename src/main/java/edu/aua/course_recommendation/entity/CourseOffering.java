@@ -1,6 +1,9 @@
 package edu.aua.course_recommendation.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import edu.aua.course_recommendation.model.SeatCount;
+import edu.aua.course_recommendation.model.TimeMask;
 import jakarta.persistence.*;
 import lombok.*;
 
@@ -40,12 +43,33 @@ public class CourseOffering {
     @Column(nullable = false)
     private String times;
 
+    // Parsed form of times, kept in sync on write; see TimeMask
+    @Convert(converter = TimeMaskConverter.class)
+    @Column(name = "time_mask")
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @JsonIgnore
+    private TimeMask timeMask;
+
     @Column
     private String takenSeats;
 
     @Column
     private String spacesWaiting;
 
+    // Numeric forms of takenSeats and spacesWaiting, kept in sync on write; see SeatCount
+    @Column(name = "seats_taken")
+    @Setter(AccessLevel.NONE)
+    private Integer seatsTaken;
+
+    @Column(name = "seat_capacity")
+    @Setter(AccessLevel.NONE)
+    private Integer seatCapacity;
+
+    @Column(name = "seats_waiting")
+    @Setter(AccessLevel.NONE)
+    private Integer seatsWaiting;
+
     @Column
     private String deliveryMethod;
 
@@ -61,4 +85,45 @@ public class CourseOffering {
     @Column(nullable = false)
     private String semester;
 
+    public void setTimes(String times) {
+        this.times = times;
+        this.timeMask = TimeMask.parse(times);
+    }
+
+    public void setTakenSeats(String takenSeats) {
+        this.takenSeats = takenSeats;
+        parseSeatCount();
+    }
+
+    public void setSpacesWaiting(String spacesWaiting) {
+        this.spacesWaiting = spacesWaiting;
+        parseSeatCount();
+    }
+
+    @JsonIgnore
+    public SeatCount getSeatCount() {
+        return new SeatCount(seatsTaken, seatCapacity, seatsWaiting);
+    }
+
+    public TimeMask getTimeMask() {
+        if (timeMask == null) {
+            timeMask = TimeMask.parse(times);
+        }
+        return timeMask;
+    }
+
+    @PrePersist
+    @PreUpdate
+    void parseDerivedColumns() {
+        timeMask = TimeMask.parse(times);
+        parseSeatCount();
+    }
+
+    private void parseSeatCount() {
+        SeatCount seats = SeatCount.parse(takenSeats, spacesWaiting);
+        seatsTaken = seats.taken();
+        seatCapacity = seats.capacity();
+        seatsWaiting = seats.waiting();
+    }
+
 }
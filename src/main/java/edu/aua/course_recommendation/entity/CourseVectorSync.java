@@ -0,0 +1,33 @@
+package edu.aua.course_recommendation.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * A course as the Python vector index last received it. Comparing these rows with the catalog
+ * yields the courses to upsert or delete.
+ */
+@Entity
+@Table(name = "course_vector_sync")
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor
+public class CourseVectorSync {
+
+    @Id
+    @Column(name = "course_code")
+    private String courseCode;
+
+    @Column(name = "course_id", nullable = false, columnDefinition = "BINARY(16)")
+    private UUID courseId;
+
+    @Column(name = "content_hash", nullable = false, length = 64)
+    private String contentHash;
+
+    @Column(name = "synced_at", nullable = false)
+    private Instant syncedAt;
+}
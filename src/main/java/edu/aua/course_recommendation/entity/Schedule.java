@@ -1,11 +1,11 @@
 package edu.aua.course_recommendation.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import edu.aua.course_recommendation.model.TimeMask;
 import jakarta.persistence.*;
-import lombok.AllArgsConstructor;
-import lombok.Builder;
-import lombok.Data;
-import lombok.NoArgsConstructor;
+import lombok.*;
 import org.hibernate.annotations.OnDelete;
 import org.hibernate.annotations.OnDeleteAction;
 
@@ -37,4 +37,75 @@ public class Schedule {
     )
     @OnDelete(action = OnDeleteAction.CASCADE)
     private List<ScheduleSlot> slots;
+
+    // Term ("year-semester") this schedule was pre-generated for; null for schedules students saved
+    @Column(name = "generated_for")
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private String generatedFor;
+
+    // Union of the slots' meeting times and their credit total, kept in sync on write so a single slot
+    // can be added, removed or swapped without reloading the other offerings; see ScheduleEditService
+    @Convert(converter = TimeMaskConverter.class)
+    @Column(name = "occupancy_mask")
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @JsonIgnore
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private TimeMask occupancyMask;
+
+    @Column(name = "total_credits")
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Integer totalCredits;
+
+    public void setSlots(List<ScheduleSlot> slots) {
+        this.slots = slots;
+        this.occupancyMask = null;
+        this.totalCredits = null;
+    }
+
+    /** Replaces the slots along with an occupancy and credit total the caller already worked out from a delta. */
+    public void setSlots(List<ScheduleSlot> slots, TimeMask occupancyMask, int totalCredits) {
+        this.slots = slots;
+        this.occupancyMask = occupancyMask;
+        this.totalCredits = totalCredits;
+    }
+
+    public TimeMask getOccupancyMask() {
+        if (occupancyMask == null) {
+            summarizeSlots();
+        }
+        return occupancyMask;
+    }
+
+    public int getTotalCredits() {
+        if (totalCredits == null) {
+            summarizeSlots();
+        }
+        return totalCredits;
+    }
+
+    // Slots are replaced through setSlots, which clears the summary, so only missing summaries need computing
+    @PrePersist
+    @PreUpdate
+    void summarizeSlotsIfMissing() {
+        if (occupancyMask == null || totalCredits == null) {
+            summarizeSlots();
+        }
+    }
+
+    private void summarizeSlots() {
+        TimeMask occupancy = TimeMask.EMPTY;
+        int credits = 0;
+        if (slots != null) {
+            for (ScheduleSlot slot : slots) {
+                occupancy = occupancy.union(slot.getTimeMask());
+                credits += slot.getCredits();
+            }
+        }
+        occupancyMask = occupancy;
+        totalCredits = credits;
+    }
 }
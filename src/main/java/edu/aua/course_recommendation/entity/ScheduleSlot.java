@@ -1,6 +1,7 @@
 package edu.aua.course_recommendation.entity;
 
-import edu.aua.course_recommendation.model.CourseType;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import edu.aua.course_recommendation.model.TimeMask;
 import jakarta.persistence.*;
 import lombok.*;
 
@@ -8,9 +9,7 @@ import java.util.UUID;
 
 @Embeddable
 @Data
-@Builder
 @NoArgsConstructor
-@AllArgsConstructor
 public class ScheduleSlot {
 
     @Column(name = "offering_id", nullable = false)
@@ -24,7 +23,33 @@ public class ScheduleSlot {
 
     @Column(nullable = false)
     private String times;
-}
-
-
 
+    // Parsed once per slot so schedule generation can check conflicts without reloading offerings
+    @Transient
+    @JsonIgnore
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private TimeMask timeMask;
+
+    @Builder
+    public ScheduleSlot(UUID offeringId, String courseCode, int credits, String times) {
+        this.offeringId = offeringId;
+        this.courseCode = courseCode;
+        this.credits = credits;
+        this.times = times;
+    }
+
+    public void setTimes(String times) {
+        this.times = times;
+        this.timeMask = null;
+    }
+
+    public TimeMask getTimeMask() {
+        if (timeMask == null) {
+            timeMask = TimeMask.parse(times);
+        }
+        return timeMask;
+    }
+}
@@ -0,0 +1,19 @@
+package edu.aua.course_recommendation.entity;
+
+import edu.aua.course_recommendation.model.TimeMask;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+@Converter
+public class TimeMaskConverter implements AttributeConverter<TimeMask, byte[]> {
+
+    @Override
+    public byte[] convertToDatabaseColumn(TimeMask mask) {
+        return mask == null ? null : mask.toBytes();
+    }
+
+    @Override
+    public TimeMask convertToEntityAttribute(byte[] bytes) {
+        return bytes == null ? null : TimeMask.fromBytes(bytes);
+    }
+}
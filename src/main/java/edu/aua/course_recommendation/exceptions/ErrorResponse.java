@@ -1,3 +1,16 @@
 package edu.aua.course_recommendation.exceptions;
 
-public record ErrorResponse(String error, String message) {}
+import com.fasterxml.jackson.annotation.JsonInclude;
+import edu.aua.course_recommendation.dto.response.SlotAlternativesDto;
+
+import java.util.List;
+
+public record ErrorResponse(
+        String error,
+        String message,
+        @JsonInclude(JsonInclude.Include.NON_EMPTY) List<SlotAlternativesDto> alternatives
+) {
+    public ErrorResponse(String error, String message) {
+        this(error, message, List.of());
+    }
+}
@@ -8,6 +8,8 @@ import org.springframework.web.client.HttpServerErrorException;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.util.InvalidUrlException;
 
+import java.util.List;
+
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
@@ -55,7 +57,8 @@ public class GlobalExceptionHandler {
     public ResponseEntity<ErrorResponse> handleScheduleValidationException(ScheduleValidationException ex) {
         ErrorResponse error = new ErrorResponse(
                 ex.getError().toString(),
-                ex.getMessage()
+                ex.getMessage(),
+                ex instanceof ScheduleConflictException conflict ? conflict.getAlternatives() : List.of()
         );
         return ResponseEntity
                 .status(HttpStatus.BAD_REQUEST)
@@ -0,0 +1,17 @@
+package edu.aua.course_recommendation.exceptions;
+
+import edu.aua.course_recommendation.dto.response.SlotAlternativesDto;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+public class ScheduleConflictException extends ScheduleValidationException {
+    private final List<SlotAlternativesDto> alternatives;
+
+    public ScheduleConflictException(String message, List<SlotAlternativesDto> alternatives) {
+        super(ValidationError.TIME_CONFLICT, message);
+        this.alternatives = alternatives;
+    }
+
+}
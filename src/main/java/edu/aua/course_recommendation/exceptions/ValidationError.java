@@ -6,5 +6,6 @@ public enum ValidationError {
     INVALID_OFFERING,
     PREREQUISITES_NOT_MET,
     ACADEMIC_STANDING_INSUFFICIENT,
-    TIME_CONFLICT
+    TIME_CONFLICT,
+    DUPLICATE_COURSE
 }
@@ -1,11 +1,13 @@
 package edu.aua.course_recommendation.model;
 
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 import java.util.List;
 
 @Getter @Setter
+@NoArgsConstructor
 public class DegreeAuditMultiScenarioResult {
 
     private List<RequirementResult> commonRequirements;
@@ -23,4 +25,11 @@ public class DegreeAuditMultiScenarioResult {
                 scenarios.stream().anyMatch(DegreeAuditScenario::isSatisfied);
     }
 
+    public RequirementResult findCommonRequirement(Requirement requirement) {
+        return commonRequirements.stream()
+                .filter(result -> result.getRequirementName() == requirement)
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("Audit has no " + requirement + " requirement"));
+    }
+
 }
@@ -2,11 +2,13 @@ package edu.aua.course_recommendation.model;
 
 import lombok.AllArgsConstructor;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 import java.util.List;
 
 @AllArgsConstructor
+@NoArgsConstructor
 @Getter @Setter
 public class RequirementResult {
     private Requirement requirementName;
@@ -0,0 +1,44 @@
+package edu.aua.course_recommendation.model;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * What a student asked for when generating a schedule, on top of the default preference for
+ * compact schedules with few days on campus.
+ *
+ * @param daysOff     days of the week, Monday as bit 0, that should stay free
+ * @param notBefore   minutes after midnight before which no class should start, or {@code null}
+ * @param notAfter    minutes after midnight after which no class should end, or {@code null}
+ * @param instructors names of instructors to prefer; empty for no preference
+ */
+public record SchedulePreferences(int daysOff, Integer notBefore, Integer notAfter, Set<String> instructors) {
+
+    public static final SchedulePreferences NONE = new SchedulePreferences(0, null, null, Set.of());
+
+    public SchedulePreferences {
+        instructors = Set.copyOf(instructors);
+    }
+
+    public static SchedulePreferences of(Collection<DayOfWeek> daysOff, LocalTime notBefore, LocalTime notAfter,
+                                         Collection<String> instructors) {
+        int days = 0;
+        if (daysOff != null) {
+            for (DayOfWeek day : daysOff) {
+                days |= 1 << (day.getValue() - 1);
+            }
+        }
+        return new SchedulePreferences(days, minutes(notBefore), minutes(notAfter),
+                instructors == null ? Set.of() : Set.copyOf(instructors));
+    }
+
+    public boolean isNone() {
+        return equals(NONE);
+    }
+
+    private static Integer minutes(LocalTime time) {
+        return time == null ? null : time.getHour() * 60 + time.getMinute();
+    }
+}
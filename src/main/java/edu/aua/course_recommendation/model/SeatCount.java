@@ -0,0 +1,58 @@
+package edu.aua.course_recommendation.model;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Seat figures of one section, parsed from Jenzabar's "Taken/Seats" ("27/30") and
+ * "Spaces/Waiting" ("3/0") columns. Any figure Jenzabar left blank or garbled is {@code null};
+ * a section whose capacity cannot be determined is never reported as full.
+ */
+public record SeatCount(Integer taken, Integer capacity, Integer waiting) {
+
+    public static final SeatCount UNKNOWN = new SeatCount(null, null, null);
+
+    private static final Pattern NUMBER = Pattern.compile("\\d+");
+
+    public static SeatCount parse(String takenSeats, String spacesWaiting) {
+        Integer[] takenAndSeats = numbers(takenSeats);
+        Integer[] spacesAndWaiting = numbers(spacesWaiting);
+
+        Integer taken = takenAndSeats[0];
+        Integer capacity = takenAndSeats[1];
+        // Older listings only carry the number of taken seats next to the remaining spaces
+        if (capacity == null && taken != null && spacesAndWaiting[0] != null) {
+            capacity = taken + spacesAndWaiting[0];
+        }
+        return new SeatCount(taken, capacity, spacesAndWaiting[1]);
+    }
+
+    /** Seats left, or {@code null} if unknown. Never negative, even for over-enrolled sections. */
+    public Integer available() {
+        if (taken == null || capacity == null) {
+            return null;
+        }
+        return Math.max(0, capacity - taken);
+    }
+
+    public boolean isFull() {
+        Integer available = available();
+        return available != null && available == 0;
+    }
+
+    private static Integer[] numbers(String value) {
+        Integer[] numbers = new Integer[2];
+        if (value == null) {
+            return numbers;
+        }
+        Matcher matcher = NUMBER.matcher(value);
+        for (int i = 0; i < numbers.length && matcher.find(); i++) {
+            try {
+                numbers[i] = Integer.parseInt(matcher.group());
+            } catch (NumberFormatException e) {
+                return new Integer[2];
+            }
+        }
+        return numbers;
+    }
+}
@@ -0,0 +1,42 @@
+package edu.aua.course_recommendation.model;
+
+import edu.aua.course_recommendation.entity.Course;
+
+import java.util.*;
+
+/**
+ * Immutable view of a student's academic record, loaded once per audit
+ * and passed to every requirement check instead of re-querying enrollments.
+ */
+public record StudentAcademicSnapshot(
+        UUID studentId,
+        AcademicStanding academicStanding,
+        Department department,
+        Set<String> completedCourseCodes,
+        List<Course> completedCourses
+) {
+
+    public StudentAcademicSnapshot {
+        completedCourseCodes = Set.copyOf(completedCourseCodes);
+        completedCourses = List.copyOf(completedCourses);
+    }
+
+    public boolean hasCompleted(String courseCode) {
+        return completedCourseCodes.contains(courseCode);
+    }
+
+    /**
+     * A copy of this snapshot in which the given courses also count as completed,
+     * for "what if I took these" audits. The student's real record is untouched.
+     */
+    public StudentAcademicSnapshot withHypotheticalCompletions(Collection<Course> courses) {
+        Set<String> codes = new HashSet<>(completedCourseCodes);
+        List<Course> completed = new ArrayList<>(completedCourses);
+        for (Course course : courses) {
+            if (codes.add(course.getCode())) {
+                completed.add(course);
+            }
+        }
+        return new StudentAcademicSnapshot(studentId, academicStanding, department, codes, completed);
+    }
+}
@@ -0,0 +1,263 @@
+package edu.aua.course_recommendation.model;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * A week of meeting times as a bitmask of 5-minute buckets, Monday 00:00 first.
+ * <p>
+ * Parsed once from Jenzabar's {@code times} format ("MON 10:30am-11:50am, WED 10:30am-11:50am"),
+ * so that checking two offerings for a conflict is a handful of {@code long} ANDs. Trailing empty
+ * words are dropped, which keeps weekday-only offerings short. "TBD", empty and unparsable
+ * meetings contribute no buckets and therefore never conflict, as before.
+ */
+public final class TimeMask {
+
+    public static final int MINUTES_PER_BUCKET = 5;
+    private static final int BUCKETS_PER_DAY = 24 * 60 / MINUTES_PER_BUCKET;
+    private static final int WORDS = (7 * BUCKETS_PER_DAY + Long.SIZE - 1) / Long.SIZE;
+    private static final String[] DAYS = {"MON", "TUE", "WED", "THU", "FRI", "SAT", "SUN"};
+
+    public static final TimeMask EMPTY = new TimeMask(new long[0]);
+
+    private final long[] words;
+
+    private TimeMask(long[] words) {
+        this.words = words;
+    }
+
+    public static TimeMask parse(String times) {
+        if (times == null || times.isBlank() || "TBD".equalsIgnoreCase(times.trim())) {
+            return EMPTY;
+        }
+
+        long[] words = new long[WORDS];
+        for (String meeting : times.split(",")) {
+            String[] parts = meeting.trim().split(" ");
+            if (parts.length < 2) continue;
+
+            int day = Arrays.asList(DAYS).indexOf(parts[0].toUpperCase());
+            String[] range = parts[1].split("-");
+            if (day < 0 || range.length != 2) continue;
+
+            int start, end;
+            try {
+                start = parseTimeToMinutes(range[0]);
+                end = parseTimeToMinutes(range[1]);
+            } catch (RuntimeException e) {
+                continue;
+            }
+
+            // End is exclusive: a class ending at 10:20 does not conflict with one starting at 10:20
+            int from = day * BUCKETS_PER_DAY + start / MINUTES_PER_BUCKET;
+            int to = day * BUCKETS_PER_DAY + Math.min(BUCKETS_PER_DAY, ceilDiv(end, MINUTES_PER_BUCKET));
+            for (int bit = from; bit < to; bit++) {
+                words[bit >>> 6] |= 1L << bit;
+            }
+        }
+        return of(words);
+    }
+
+    public static TimeMask fromBytes(byte[] bytes) {
+        if (bytes == null || bytes.length == 0) {
+            return EMPTY;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        long[] words = new long[bytes.length / Long.BYTES];
+        for (int i = 0; i < words.length; i++) {
+            words[i] = buffer.getLong();
+        }
+        return of(words);
+    }
+
+    public byte[] toBytes() {
+        ByteBuffer buffer = ByteBuffer.allocate(words.length * Long.BYTES);
+        for (long word : words) {
+            buffer.putLong(word);
+        }
+        return buffer.array();
+    }
+
+    public boolean intersects(TimeMask other) {
+        int length = Math.min(words.length, other.words.length);
+        for (int i = 0; i < length; i++) {
+            if ((words[i] & other.words[i]) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public TimeMask union(TimeMask other) {
+        long[] longer = words.length >= other.words.length ? words : other.words;
+        long[] shorter = longer == words ? other.words : words;
+        long[] union = longer.clone();
+        for (int i = 0; i < shorter.length; i++) {
+            union[i] |= shorter[i];
+        }
+        return new TimeMask(union);
+    }
+
+    /** The buckets of this mask that are not in {@code other}. */
+    public TimeMask minus(TimeMask other) {
+        long[] difference = words.clone();
+        for (int i = 0; i < Math.min(words.length, other.words.length); i++) {
+            difference[i] &= ~other.words[i];
+        }
+        return of(difference);
+    }
+
+    public boolean isEmpty() {
+        return words.length == 0;
+    }
+
+    /**
+     * Minutes from Monday 00:00 to the first meeting of the week, or {@link Integer#MAX_VALUE} if none.
+     */
+    public int earliestStartMinutes() {
+        for (int i = 0; i < words.length; i++) {
+            if (words[i] != 0) {
+                return (i * Long.SIZE + Long.numberOfTrailingZeros(words[i])) * MINUTES_PER_BUCKET;
+            }
+        }
+        return Integer.MAX_VALUE;
+    }
+
+    /**
+     * The days of the week with at least one meeting, Monday as bit 0.
+     */
+    public int meetingDays() {
+        int days = 0;
+        for (int day = 0; day < DAYS.length; day++) {
+            if (nextSetBit(day * BUCKETS_PER_DAY, (day + 1) * BUCKETS_PER_DAY) >= 0) {
+                days |= 1 << day;
+            }
+        }
+        return days;
+    }
+
+    /**
+     * Minutes spent on campus between classes: for every day, the time from its first meeting to
+     * the end of its last one that is not itself a meeting.
+     */
+    public int idleMinutes() {
+        int idleBuckets = 0;
+        for (int day = 0; day < DAYS.length; day++) {
+            int from = day * BUCKETS_PER_DAY;
+            int to = from + BUCKETS_PER_DAY;
+            int first = nextSetBit(from, to);
+            if (first < 0) continue;
+            int last = previousSetBit(to - 1, from);
+            idleBuckets += last - first + 1 - countBits(first, last + 1);
+        }
+        return idleBuckets * MINUTES_PER_BUCKET;
+    }
+
+    /**
+     * Earliest time of day, in minutes after midnight, at which any day starts; {@link Integer#MAX_VALUE} if none.
+     */
+    public int earliestStartOfDayMinutes() {
+        int earliest = Integer.MAX_VALUE;
+        for (int day = 0; day < DAYS.length; day++) {
+            int from = day * BUCKETS_PER_DAY;
+            int first = nextSetBit(from, from + BUCKETS_PER_DAY);
+            if (first >= 0) {
+                earliest = Math.min(earliest, (first - from) * MINUTES_PER_BUCKET);
+            }
+        }
+        return earliest;
+    }
+
+    /**
+     * Latest time of day, in minutes after midnight, at which any day ends; 0 if there are no meetings.
+     */
+    public int latestEndOfDayMinutes() {
+        int latest = 0;
+        for (int day = 0; day < DAYS.length; day++) {
+            int from = day * BUCKETS_PER_DAY;
+            int last = previousSetBit(from + BUCKETS_PER_DAY - 1, from);
+            if (last >= 0) {
+                latest = Math.max(latest, (last + 1 - from) * MINUTES_PER_BUCKET);
+            }
+        }
+        return latest;
+    }
+
+    // First set bit in [from, to), or -1
+    private int nextSetBit(int from, int to) {
+        for (int i = from >>> 6; i < words.length && i << 6 < to; i++) {
+            long word = i == from >>> 6 ? words[i] & (-1L << from) : words[i];
+            if (word != 0) {
+                int bit = (i << 6) + Long.numberOfTrailingZeros(word);
+                return bit < to ? bit : -1;
+            }
+        }
+        return -1;
+    }
+
+    // Last set bit in [lowest, from], or -1
+    private int previousSetBit(int from, int lowest) {
+        for (int i = Math.min(from >>> 6, words.length - 1); i >= 0 && (i << 6) + 63 >= lowest; i--) {
+            long word = i == from >>> 6 ? words[i] & (-1L >>> (63 - (from & 63))) : words[i];
+            if (word != 0) {
+                int bit = (i << 6) + 63 - Long.numberOfLeadingZeros(word);
+                return bit >= lowest ? bit : -1;
+            }
+        }
+        return -1;
+    }
+
+    // Number of set bits in [from, to)
+    private int countBits(int from, int to) {
+        int count = 0;
+        int lastWord = Math.min((to - 1) >>> 6, words.length - 1);
+        for (int i = from >>> 6; i <= lastWord; i++) {
+            long word = words[i];
+            if (i == from >>> 6) word &= -1L << from;
+            if (i == (to - 1) >>> 6) word &= -1L >>> (63 - ((to - 1) & 63));
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof TimeMask other && Arrays.equals(words, other.words);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(words);
+    }
+
+    private static TimeMask of(long[] words) {
+        int length = words.length;
+        while (length > 0 && words[length - 1] == 0) {
+            length--;
+        }
+        return length == 0 ? EMPTY : new TimeMask(Arrays.copyOf(words, length));
+    }
+
+    private static int ceilDiv(int value, int divisor) {
+        return (value + divisor - 1) / divisor;
+    }
+
+    private static int parseTimeToMinutes(String time) {
+        time = time.trim().toLowerCase();
+        boolean isPM = time.endsWith("pm");
+        time = time.replace("am", "").replace("pm", "");
+
+        String[] parts = time.split(":");
+        int hours = Integer.parseInt(parts[0]);
+        int minutes = Integer.parseInt(parts[1]);
+
+        if (isPM && hours != 12) {
+            hours += 12;
+        }
+        if (!isPM && hours == 12) {
+            hours = 0;
+        }
+
+        return hours * 60 + minutes;
+    }
+}
@@ -2,6 +2,7 @@ package edu.aua.course_recommendation.repository;
 
 import edu.aua.course_recommendation.entity.CourseOffering;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import java.util.List;
 import java.util.Optional;
@@ -24,7 +25,33 @@ public interface CourseOfferingRepository extends JpaRepository<CourseOffering,
 
     List<CourseOffering> findByYearAndSemester(String year, String semester);
 
+    @Query("SELECT o FROM CourseOffering o JOIN FETCH o.baseCourse c LEFT JOIN FETCH c.prerequisites " +
+            "JOIN FETCH o.instructor WHERE o.year = ?1 AND o.semester = ?2")
+    List<CourseOffering> findWithCourseAndInstructorByYearAndSemester(String year, String semester);
+
     List<CourseOffering> findByBaseCourse_CodeIn(List<String> courseCodes);
 
     List<CourseOffering> findByYearAndSemesterAndInstructor_Id(String year, String semester, UUID instructorId);
+
+    // One row per course and term it was ever offered in, without loading the offerings themselves
+    @Query("SELECT DISTINCT o.baseCourse.code AS code, o.year AS year, o.semester AS semester FROM CourseOffering o")
+    List<OfferedTerm> findAllOfferedTerms();
+
+    // Just the seat columns of a term, for the seat availability index
+    @Query("SELECT o.id AS id, o.seatsTaken AS seatsTaken, o.seatCapacity AS seatCapacity, " +
+            "o.seatsWaiting AS seatsWaiting FROM CourseOffering o WHERE o.year = ?1 AND o.semester = ?2")
+    List<OfferingSeats> findSeatsByYearAndSemester(String year, String semester);
+
+    interface OfferingSeats {
+        UUID getId();
+        Integer getSeatsTaken();
+        Integer getSeatCapacity();
+        Integer getSeatsWaiting();
+    }
+
+    interface OfferedTerm {
+        String getCode();
+        String getYear();
+        String getSemester();
+    }
 }
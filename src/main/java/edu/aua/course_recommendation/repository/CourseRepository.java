@@ -22,4 +22,20 @@ public interface  CourseRepository extends JpaRepository<Course, UUID> {
 
     void deleteByCode(String code);
 
+    // Used by CourseCatalog; run both in one transaction to initialise themes and prerequisites together
+    @Query("SELECT DISTINCT c FROM Course c LEFT JOIN FETCH c.themes")
+    List<Course> findAllWithThemes();
+
+    @Query("SELECT DISTINCT c FROM Course c LEFT JOIN FETCH c.prerequisites")
+    List<Course> findAllWithPrerequisites();
+
+    @Query(value = "SELECT equivalence_key AS equivalenceKey, course_code AS courseCode FROM prerequisite_equivalences",
+            nativeQuery = true)
+    List<PrerequisiteEquivalence> findAllPrerequisiteEquivalences();
+
+    interface PrerequisiteEquivalence {
+        String getEquivalenceKey();
+        String getCourseCode();
+    }
+
 }
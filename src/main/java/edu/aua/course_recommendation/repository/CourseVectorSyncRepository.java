@@ -0,0 +1,9 @@
+package edu.aua.course_recommendation.repository;
+
+import edu.aua.course_recommendation.entity.CourseVectorSync;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface CourseVectorSyncRepository extends JpaRepository<CourseVectorSync, String> {
+}
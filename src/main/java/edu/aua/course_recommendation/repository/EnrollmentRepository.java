@@ -1,9 +1,11 @@
 package edu.aua.course_recommendation.repository;
 
 import edu.aua.course_recommendation.entity.*;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -15,5 +17,13 @@ public interface EnrollmentRepository extends JpaRepository<Enrollment, Enrollme
 
     List<Enrollment> findByUser_Id(UUID studentId);
 
+    // Fetches courses and their themes in the same query, used to build audit snapshots
+    @EntityGraph(attributePaths = {"course", "course.themes"})
+    List<Enrollment> findWithCourseByUser_Id(UUID studentId);
+
+    // Same fetch plan for a whole cohort at once, used by batch audits
+    @EntityGraph(attributePaths = {"course", "course.themes"})
+    List<Enrollment> findWithCourseByUser_IdIn(Collection<UUID> studentIds);
+
     Enrollment findByUserAndCourse(User student, Course course);
 }
@@ -2,8 +2,11 @@ package edu.aua.course_recommendation.repository;
 
 import edu.aua.course_recommendation.entity.Schedule;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -12,4 +15,21 @@ import java.util.UUID;
 public interface ScheduleRepository extends JpaRepository<Schedule, UUID> {
 
     Optional<List<Schedule>> findByStudentId(UUID studentId);
+
+    // Schedules the student saved themselves, without the ones pre-generated for registration
+    Optional<List<Schedule>> findByStudentIdAndGeneratedForIsNull(UUID studentId);
+
+    Optional<Schedule> findFirstByStudentIdAndGeneratedFor(UUID studentId, String generatedFor);
+
+    @Modifying
+    @Query("DELETE FROM Schedule s WHERE s.studentId IN ?1 AND s.generatedFor = ?2")
+    int deleteGenerated(Collection<UUID> studentIds, String generatedFor);
+
+    @Modifying
+    @Query("DELETE FROM Schedule s WHERE s.studentId = ?1 AND s.generatedFor IS NOT NULL")
+    int deleteAllGeneratedForStudent(UUID studentId);
+
+    @Modifying
+    @Query("DELETE FROM Schedule s WHERE s.generatedFor IS NOT NULL")
+    int deleteAllGenerated();
 }
@@ -1,8 +1,11 @@
 package edu.aua.course_recommendation.repository;
 
 import edu.aua.course_recommendation.entity.User;
+import edu.aua.course_recommendation.model.Department;
+import edu.aua.course_recommendation.model.Role;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
+import java.util.List;
 import java.util.UUID;
 
 import java.util.Optional;
@@ -13,5 +16,6 @@ public interface UserRepository extends JpaRepository<User, UUID> {
     Optional<User> findByEmail(String email);
     boolean existsByUsername(String username);
     boolean existsByEmail(String email);
+    List<User> findByDepartmentAndRole(Department department, Role role);
 
 }
@@ -3,12 +3,14 @@ package edu.aua.course_recommendation.service.audit;
 import edu.aua.course_recommendation.entity.Course;
 import edu.aua.course_recommendation.model.*;
 import edu.aua.course_recommendation.service.auth.UserService;
-import edu.aua.course_recommendation.service.course.CourseService;
+import edu.aua.course_recommendation.service.course.CourseCatalog;
 import edu.aua.course_recommendation.service.course.EnrollmentService;
+import edu.aua.course_recommendation.util.SortedCodeSet;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -29,15 +31,18 @@ public abstract class BaseDegreeAuditService {
 
     protected final EnrollmentService enrollmentService;
     private final GenedClusteringService genedClusteringService;
-    private final CourseService courseService;
+    private final CourseCatalog courseCatalog;
     private final UserService userService;
 
-    public abstract RequirementResult checkProgramCore(UUID studentId);
-    public abstract List<DegreeAuditScenario> checkProgramScenarios(UUID studentId);
+    // Catalog-derived code sets for this program, rebuilt when the catalog version changes
+    private volatile ProgramCodeSets programCodeSets;
+
+    public abstract RequirementResult checkProgramCore(StudentAcademicSnapshot snapshot);
+    public abstract List<DegreeAuditScenario> checkProgramScenarios(StudentAcademicSnapshot snapshot);
     protected abstract List<String> getCoreAndTrackCourseCodes();
     protected abstract List<String> getCoreCourseCodes();
     public abstract List<String> getTrackCourseCodes(DegreeScenarioType trackType);
-    public abstract DegreeScenarioType pickChosenTrack(UUID studentId);
+    public abstract DegreeScenarioType pickChosenTrack(StudentAcademicSnapshot snapshot);
     protected abstract int getRequiredFreeElectiveCount(); // Each degree has different num of requirements
     public abstract String getCapstoneCode(); // Each degree has different capstone code
 
@@ -45,17 +50,27 @@ public abstract class BaseDegreeAuditService {
 
         userService.validateStudent(studentId);
 
+        // Enrollments are loaded once and shared by every check below
+        return audit(loadSnapshot(studentId));
+    }
+
+    /**
+     * Runs the full audit on an already loaded snapshot. Does not check who is asking;
+     * callers are responsible for authorization.
+     */
+    public DegreeAuditMultiScenarioResult audit(StudentAcademicSnapshot snapshot) {
+
         // 1. Build common requirements
-        RequirementResult foundation = checkFoundationRequirementsDetailed(studentId);
-        RequirementResult peerMentoring = checkPeerMentoringRequirement(studentId);
-        RequirementResult phed = checkPhysicalEducationRequirementsDetailed(studentId);
-        RequirementResult genEd = checkGeneralEducationRequirementsDetailed(studentId);
-        RequirementResult firstAidCivDef = checkFirstAidAndCivilDefense(studentId);
-        RequirementResult freeElective = checkFreeElectiveRequirements(studentId);
-        RequirementResult capstone = checkCapstoneRequirement(studentId);
+        RequirementResult foundation = checkFoundationRequirementsDetailed(snapshot);
+        RequirementResult peerMentoring = checkPeerMentoringRequirement(snapshot);
+        RequirementResult phed = checkPhysicalEducationRequirementsDetailed(snapshot);
+        RequirementResult genEd = checkGeneralEducationRequirementsDetailed(snapshot);
+        RequirementResult firstAidCivDef = checkFirstAidAndCivilDefense(snapshot);
+        RequirementResult freeElective = checkFreeElectiveRequirements(snapshot);
+        RequirementResult capstone = checkCapstoneRequirement(snapshot);
 
         // 2. Check if "Core" for the Major is satisfied
-        RequirementResult core = checkProgramCore(studentId);
+        RequirementResult core = checkProgramCore(snapshot);
 
         List<RequirementResult> commonReqs = List.of(
                 peerMentoring,
@@ -68,11 +83,15 @@ public abstract class BaseDegreeAuditService {
                 capstone);
 
         // 3. Get scenario-based checks from the child class (Track Information)
-        List<DegreeAuditScenario> scenarios = checkProgramScenarios(studentId);
+        List<DegreeAuditScenario> scenarios = checkProgramScenarios(snapshot);
 
         return new DegreeAuditMultiScenarioResult(commonReqs, scenarios);
     }
 
+    public StudentAcademicSnapshot loadSnapshot(UUID studentId) {
+        return enrollmentService.getAcademicSnapshot(studentId);
+    }
+
     protected List<DegreeAuditScenario> clearPossibleCodesIfAnyTrackSatisfied(List<DegreeAuditScenario> scenarios) {
         boolean anyTrackSatisfied = scenarios.stream()
                 .anyMatch(scenario -> scenario.getScenarioRequirements().stream()
@@ -89,8 +108,8 @@ public abstract class BaseDegreeAuditService {
         return scenarios;
     }
 
-    public RequirementResult checkPeerMentoringRequirement(UUID studentId) {
-        List<String> completedCodes = enrollmentService.getCompletedCourseCodes(studentId);
+    public RequirementResult checkPeerMentoringRequirement(StudentAcademicSnapshot snapshot) {
+        Set<String> completedCodes = snapshot.completedCourseCodes();
 
         boolean isSatisfied = completedCodes.contains(PEER_MENTORING_CODE);
 
@@ -108,8 +127,8 @@ public abstract class BaseDegreeAuditService {
         );
     }
 
-    public RequirementResult checkFoundationRequirementsDetailed(UUID studentId) {
-        List<String> completedCodes = enrollmentService.getCompletedCourseCodes(studentId);
+    public RequirementResult checkFoundationRequirementsDetailed(StudentAcademicSnapshot snapshot) {
+        Set<String> completedCodes = snapshot.completedCourseCodes();
 
         List<String> missing = FOUNDATION_REQUIREMENTS.stream()
                 .filter(req -> !completedCodes.contains(req))
@@ -129,9 +148,9 @@ public abstract class BaseDegreeAuditService {
         );
     }
 
-    public RequirementResult checkPhysicalEducationRequirementsDetailed(UUID studentId) {
+    public RequirementResult checkPhysicalEducationRequirementsDetailed(StudentAcademicSnapshot snapshot) {
 
-        Set<String> completedPhysedCodes = enrollmentService.getCompletedCourses(studentId).stream()
+        Set<String> completedPhysedCodes = snapshot.completedCourses().stream()
                 .map(Course::getCode)
                 .filter(code -> code.startsWith("FND110"))
                 .collect(Collectors.toSet());
@@ -139,9 +158,7 @@ public abstract class BaseDegreeAuditService {
         int completedCount = completedPhysedCodes.size();
         boolean isSatisfied = (completedCount >= 4);
 
-        List<String> availablePhysedCodes = courseService.getAllCourses().stream()
-                .map(Course::getCode)
-                .filter(code -> code.startsWith("FND110"))
+        List<String> availablePhysedCodes = courseCatalog.getPhysedCodes().stream()
                 .sorted((code1, code2) -> {
                     if (code1.equals("FND110")) return -1;
                     if (code2.equals("FND110")) return 1;
@@ -158,11 +175,11 @@ public abstract class BaseDegreeAuditService {
         );
     }
 
-    public RequirementResult checkGeneralEducationRequirementsDetailed(UUID studentId) {
+    public RequirementResult checkGeneralEducationRequirementsDetailed(StudentAcademicSnapshot snapshot) {
 
         Set<String> genEdEligibleCodes = getGenEdEligibleCourseCodes();
 
-        List<Course> genEdCompleted = getStudentGenEdCompleted(studentId);
+        List<Course> genEdCompleted = getStudentGenEdCompleted(snapshot, genEdEligibleCodes);
 
         boolean clusterSatisfied = genedClusteringService.isGenEdRequirementMet(genEdCompleted);
 
@@ -171,10 +188,9 @@ public abstract class BaseDegreeAuditService {
             Set<NeededCluster> neededClusters = genedClusteringService.findNeededClusters(genEdCompleted);
             List<String> builtMissingCodes = genedClusteringService.buildMissingGenEdCodes(neededClusters, genEdEligibleCodes, genEdCompleted);
 
-            AcademicStanding standing = userService.getAcademicStanding(studentId);
-            if (standing == AcademicStanding.FRESHMAN) {
+            if (snapshot.academicStanding() == AcademicStanding.FRESHMAN) {
                 builtMissingCodes = builtMissingCodes.stream()
-                        .filter(courseService::isLowerDivision)
+                        .filter(courseCatalog::isLowerDivision)
                         .toList();
             }
 
@@ -193,34 +209,24 @@ public abstract class BaseDegreeAuditService {
     }
 
     public Set<NeededCluster> getNeededClusters(UUID studentId) {
-        return genedClusteringService.findNeededClusters(enrollmentService.getCompletedCourses(studentId));
+        return genedClusteringService.findNeededClusters(loadSnapshot(studentId).completedCourses());
     }
 
     public List<NeededCluster> getGenedStatus(UUID studentId) {
-        List<Course> completedCourses = enrollmentService.getCompletedCourses(studentId);
-        Set<String> genedPossibleCourseCodes = getGenEdEligibleCourseCodes();
-
-        List<Course> completedGenedCourses = completedCourses.stream()
-                .filter(course -> genedPossibleCourseCodes.contains(course.getCode()))
-                .toList();
+        List<Course> completedGenedCourses = getStudentGenEdCompleted(loadSnapshot(studentId));
 
         return genedClusteringService.getGenedClusters(completedGenedCourses);
     }
 
     public List<GenedClusteringService.ClusterSolution> getClusters(UUID studentId) {
-        List<Course> completedCourses = enrollmentService.getCompletedCourses(studentId);
-        Set<String> genedPossibleCourseCodes = getGenEdEligibleCourseCodes();
-
-        List<Course> completedGenedCourses = completedCourses.stream()
-                .filter(course -> genedPossibleCourseCodes.contains(course.getCode()))
-                .toList();
+        List<Course> completedGenedCourses = getStudentGenEdCompleted(loadSnapshot(studentId));
 
         return genedClusteringService.findPossibleClusterCombinations(completedGenedCourses, 1);
     }
 
-    public RequirementResult checkFirstAidAndCivilDefense(UUID studentId) {
+    public RequirementResult checkFirstAidAndCivilDefense(StudentAcademicSnapshot snapshot) {
 
-        List<String> completedCodes = enrollmentService.getCompletedCourseCodes(studentId);
+        Set<String> completedCodes = snapshot.completedCourseCodes();
 
         boolean firstAidDone = completedCodes.contains(FIRST_AID_CODE);
         boolean civilDefenseDone = completedCodes.contains(CIVIL_DEFENSE_CODE);
@@ -255,23 +261,19 @@ public abstract class BaseDegreeAuditService {
      *      therefore we say that ALL free electives are still due
      *
      */
-    public RequirementResult checkFreeElectiveRequirements(UUID studentId) {
-
-        List<String> completedCodes = enrollmentService.getCompletedCourseCodes(studentId);
+    public RequirementResult checkFreeElectiveRequirements(StudentAcademicSnapshot snapshot) {
 
-        DegreeScenarioType chosenTrack = pickChosenTrack(studentId);
+        Set<String> completedCodes = snapshot.completedCourseCodes();
 
-        Set<String> excluded = buildExcludedCodes(chosenTrack, studentId);
+        DegreeScenarioType chosenTrack = pickChosenTrack(snapshot);
 
-        Set<String> allCodes = courseService.getAllCourses().stream()
-                .map(Course::getCode)
-                .collect(Collectors.toSet());
-
-        Set<String> freeElectiveEligible = new HashSet<>(allCodes);
-        freeElectiveEligible.removeAll(excluded);
+        // Everything but the student's GenEd cluster courses is precomputed per track
+        Set<String> freeElectiveEligible = getFreeElectiveBaseCodes(chosenTrack);
+        Set<String> usedForGenEd = findGenEdCoursesUsedForCluster(snapshot);
 
         Set<String> completedFreeElectives = completedCodes.stream()
                 .filter(freeElectiveEligible::contains)
+                .filter(code -> !usedForGenEd.contains(code))
                 .collect(Collectors.toSet());
 
         int requiredFreeElectives = getRequiredFreeElectiveCount();
@@ -282,19 +284,11 @@ public abstract class BaseDegreeAuditService {
         List<String> missingCodes = new ArrayList<>();
 
         if (!isSatisfied) {
-            List<String> filtered = freeElectiveEligible.stream()
-                    .filter(code -> !completedFreeElectives.contains(code))
-                    .collect(Collectors.toList());
-
-            AcademicStanding standing = userService.getAcademicStanding(studentId);
-            if (standing == AcademicStanding.FRESHMAN) {
-                filtered = filtered.stream()
-                        .filter(courseService::isLowerDivision)
-                        .toList();
-            }
-
-            missingCodes = filtered.stream()
-                    .distinct()
+            // GenEd cluster courses are completed by definition, so filtering completed codes covers them too
+            boolean freshman = snapshot.academicStanding() == AcademicStanding.FRESHMAN;
+            missingCodes = freeElectiveEligible.stream()
+                    .filter(code -> !completedCodes.contains(code))
+                    .filter(code -> !freshman || courseCatalog.isLowerDivision(code))
                     .collect(Collectors.toList());
         }
 
@@ -308,11 +302,10 @@ public abstract class BaseDegreeAuditService {
         );
     }
 
-    public RequirementResult checkCapstoneRequirement(UUID studentId) {
-        List<String> completedCodes = enrollmentService.getCompletedCourseCodes(studentId);
+    public RequirementResult checkCapstoneRequirement(StudentAcademicSnapshot snapshot) {
         String capstoneCode = getCapstoneCode();
 
-        boolean capstoneDone = completedCodes.contains(capstoneCode);
+        boolean capstoneDone = snapshot.hasCompleted(capstoneCode);
 
         return new RequirementResult(
                 Requirement.CAPSTONE,
@@ -324,46 +317,50 @@ public abstract class BaseDegreeAuditService {
     }
 
     private Set<String> getGenEdEligibleCourseCodes() {
-
-        List<String> coreAndTrackCourseCodes = getCoreAndTrackCourseCodes();
-
-        Set<String> allCourseCodes = courseService.getAllCourses().stream().map(Course::getCode).collect(Collectors.toSet());
-
-        coreAndTrackCourseCodes.forEach(allCourseCodes::remove);
-
-        FOUNDATION_REQUIREMENTS.forEach(allCourseCodes::remove);
-        allCourseCodes.remove(FIRST_AID_CODE);
-        allCourseCodes.remove(CIVIL_DEFENSE_CODE);
-
-        allCourseCodes.removeIf(code -> code.startsWith("FND110"));
-
-        return allCourseCodes;
+        return currentCodeSets().genEdEligible();
     }
 
-    private Set<String> buildExcludedCodes(DegreeScenarioType chosenTrack, UUID studentId) {
-        Set<String> excluded = new HashSet<>(FOUNDATION_REQUIREMENTS);
-        excluded.add(FIRST_AID_CODE);
-        excluded.add(CIVIL_DEFENSE_CODE);
-        excluded.add(PEER_MENTORING_CODE);
+    private Set<String> getFreeElectiveBaseCodes(DegreeScenarioType chosenTrack) {
+        ProgramCodeSets codeSets = currentCodeSets();
+        return codeSets.freeElectiveBaseByTrack().computeIfAbsent(chosenTrack,
+                track -> codeSets.freeElectiveBase().without(new HashSet<>(getTrackCourseCodes(track))));
+    }
 
-        Set<String> physEdCodes = courseService.getAllPhysedCourses().stream()
-                .map(Course::getCode)
-                .collect(Collectors.toSet());
+    private ProgramCodeSets currentCodeSets() {
+        long catalogVersion = courseCatalog.getVersion();
+        ProgramCodeSets codeSets = programCodeSets;
+        if (codeSets == null || codeSets.catalogVersion() != catalogVersion) {
+            codeSets = buildCodeSets(catalogVersion);
+            programCodeSets = codeSets;
+        }
+        return codeSets;
+    }
 
-        excluded.addAll(physEdCodes);
+    private ProgramCodeSets buildCodeSets(long catalogVersion) {
+        SortedCodeSet allCodes = SortedCodeSet.of(courseCatalog.getAllCodes());
 
-        excluded.addAll(getCoreCourseCodes());
+        Set<String> commonExcluded = new HashSet<>(FOUNDATION_REQUIREMENTS);
+        commonExcluded.add(FIRST_AID_CODE);
+        commonExcluded.add(CIVIL_DEFENSE_CODE);
+        commonExcluded.addAll(courseCatalog.getPhysedCodes());
 
-        excluded.addAll(getTrackCourseCodes(chosenTrack));
+        Set<String> genEdExcluded = new HashSet<>(commonExcluded);
+        genEdExcluded.addAll(getCoreAndTrackCourseCodes());
 
-        Set<String> usedForGenEd = findGenEdCoursesUsedForCluster(studentId);
-        excluded.addAll(usedForGenEd);
+        Set<String> freeElectiveExcluded = new HashSet<>(commonExcluded);
+        freeElectiveExcluded.add(PEER_MENTORING_CODE);
+        freeElectiveExcluded.addAll(getCoreCourseCodes());
 
-        return excluded;
+        return new ProgramCodeSets(
+                catalogVersion,
+                allCodes.without(genEdExcluded),
+                allCodes.without(freeElectiveExcluded),
+                new ConcurrentHashMap<>()
+        );
     }
 
-    private Set<String> findGenEdCoursesUsedForCluster(UUID studentId) {
-        List<Course> genEdCompleted = getStudentGenEdCompleted(studentId);
+    private Set<String> findGenEdCoursesUsedForCluster(StudentAcademicSnapshot snapshot) {
+        List<Course> genEdCompleted = getStudentGenEdCompleted(snapshot);
 
         List<GenedClusteringService.ClusterSolution> solutions =
                 genedClusteringService.findPossibleClusterCombinations(genEdCompleted, 1);
@@ -385,26 +382,31 @@ public abstract class BaseDegreeAuditService {
         return usedCodes;
     }
 
-    public List<Course> getStudentGenEdCompleted(UUID studentId) {
-
-        List<Course> allStudentCourses = enrollmentService.getCompletedCourses(studentId);
-
-        Set<String> genEdEligibleCodes = getGenEdEligibleCourseCodes();
+    public List<Course> getStudentGenEdCompleted(StudentAcademicSnapshot snapshot) {
+        return getStudentGenEdCompleted(snapshot, getGenEdEligibleCourseCodes());
+    }
 
-        return allStudentCourses.stream()
+    private List<Course> getStudentGenEdCompleted(StudentAcademicSnapshot snapshot, Set<String> genEdEligibleCodes) {
+        return snapshot.completedCourses().stream()
                 .filter(course -> genEdEligibleCodes.contains(course.getCode()))
                 .collect(Collectors.toList());
     }
 
-    public boolean isAllElseDoneButCapstone(UUID studentId) {
-        boolean foundationDone = checkFoundationRequirementsDetailed(studentId).isSatisfied();
-        boolean coreDone = checkProgramCore(studentId).isSatisfied();
-        boolean trackDone = checkProgramScenarios(studentId).stream()
+    public boolean isAllElseDoneButCapstone(StudentAcademicSnapshot snapshot) {
+        boolean foundationDone = checkFoundationRequirementsDetailed(snapshot).isSatisfied();
+        boolean coreDone = checkProgramCore(snapshot).isSatisfied();
+        boolean trackDone = checkProgramScenarios(snapshot).stream()
                 .peek(DegreeAuditScenario::canGraduate)
                 .anyMatch(DegreeAuditScenario::isSatisfied);
-        boolean genEdDone = checkGeneralEducationRequirementsDetailed(studentId).isSatisfied();
-        boolean freeElecDone = checkFreeElectiveRequirements(studentId).isSatisfied();
+        boolean genEdDone = checkGeneralEducationRequirementsDetailed(snapshot).isSatisfied();
+        boolean freeElecDone = checkFreeElectiveRequirements(snapshot).isSatisfied();
         return (foundationDone && coreDone && trackDone && genEdDone && freeElecDone);
     }
 
+    private record ProgramCodeSets(
+            long catalogVersion,
+            SortedCodeSet genEdEligible,
+            SortedCodeSet freeElectiveBase,
+            Map<DegreeScenarioType, SortedCodeSet> freeElectiveBaseByTrack
+    ) {}
 }
@@ -0,0 +1,126 @@
+package edu.aua.course_recommendation.service.audit;
+
+import edu.aua.course_recommendation.dto.request.BatchDegreeAuditRequestDto;
+import edu.aua.course_recommendation.dto.response.BatchDegreeAuditResultDto;
+import edu.aua.course_recommendation.entity.User;
+import edu.aua.course_recommendation.exceptions.ValidationException;
+import edu.aua.course_recommendation.model.Role;
+import edu.aua.course_recommendation.model.StudentAcademicSnapshot;
+import edu.aua.course_recommendation.repository.UserRepository;
+import edu.aua.course_recommendation.service.course.EnrollmentService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
+
+/**
+ * Audits a cohort of students for advisors.
+ * <p>
+ * Students are processed in chunks: each chunk's enrollments are loaded with one query,
+ * then the audits (pure CPU work over the in-memory catalog) run on a pool bounded by the
+ * number of cores. Results are handed to the sink as they complete, from the calling
+ * thread only, so the sink does not need to be thread-safe.
+ */
+@Slf4j
+@Service
+public class BatchDegreeAuditService {
+
+    private final UserRepository userRepository;
+    private final EnrollmentService enrollmentService;
+    private final DegreeAuditServiceRouter degreeAuditServiceRouter;
+    private final ExecutorService auditExecutor;
+    private final int chunkSize;
+
+    public BatchDegreeAuditService(UserRepository userRepository,
+                                   EnrollmentService enrollmentService,
+                                   DegreeAuditServiceRouter degreeAuditServiceRouter,
+                                   @Value("${degree-audit.batch.chunk-size:500}") int chunkSize) {
+        this.userRepository = userRepository;
+        this.enrollmentService = enrollmentService;
+        this.degreeAuditServiceRouter = degreeAuditServiceRouter;
+        this.chunkSize = chunkSize;
+        this.auditExecutor = Executors.newFixedThreadPool(
+                Runtime.getRuntime().availableProcessors(),
+                Thread.ofPlatform().name("degree-audit-", 0).daemon(true).factory());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        auditExecutor.shutdownNow();
+    }
+
+    /**
+     * Resolves the students of the request up front so that bad input fails before
+     * anything is streamed.
+     */
+    public List<User> resolveStudents(BatchDegreeAuditRequestDto request) {
+        if (request.studentIds() != null && !request.studentIds().isEmpty()) {
+            // Same students the department path would return; anyone else is reported as not found
+            return userRepository.findAllById(new LinkedHashSet<>(request.studentIds())).stream()
+                    .filter(user -> user.getRole() == Role.ROLE_STUDENT)
+                    .toList();
+        }
+        if (request.department() != null) {
+            return userRepository.findByDepartmentAndRole(request.department(), Role.ROLE_STUDENT);
+        }
+        throw new ValidationException(HttpStatus.BAD_REQUEST,
+                Map.of("studentIds", "Either studentIds or department must be provided"));
+    }
+
+    public void auditStudents(BatchDegreeAuditRequestDto request, List<User> students, Consumer<BatchDegreeAuditResultDto> sink) {
+        Set<UUID> found = new HashSet<>();
+        students.forEach(student -> found.add(student.getId()));
+        if (request.studentIds() != null) {
+            request.studentIds().stream()
+                    .distinct()
+                    .filter(id -> !found.contains(id))
+                    .forEach(id -> sink.accept(BatchDegreeAuditResultDto.failure(id, "Student not found")));
+        }
+
+        long startedAt = System.nanoTime();
+        for (int from = 0; from < students.size(); from += chunkSize) {
+            List<User> chunk = students.subList(from, Math.min(students.size(), from + chunkSize));
+            auditChunk(chunk, sink);
+        }
+        log.info("Batch audit of {} students finished in {} ms",
+                students.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+    }
+
+    private void auditChunk(List<User> students, Consumer<BatchDegreeAuditResultDto> sink) {
+        Map<UUID, StudentAcademicSnapshot> snapshots = enrollmentService.getAcademicSnapshots(students);
+
+        CompletionService<BatchDegreeAuditResultDto> completion = new ExecutorCompletionService<>(auditExecutor);
+        int submitted = 0;
+        for (StudentAcademicSnapshot snapshot : snapshots.values()) {
+            completion.submit(() -> auditOne(snapshot));
+            submitted++;
+        }
+
+        try {
+            for (int i = 0; i < submitted; i++) {
+                sink.accept(completion.take().get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Batch audit interrupted", e);
+        } catch (ExecutionException e) {
+            // auditOne never throws, so this is a bug rather than a bad student
+            throw new IllegalStateException("Batch audit failed", e.getCause());
+        }
+    }
+
+    private BatchDegreeAuditResultDto auditOne(StudentAcademicSnapshot snapshot) {
+        try {
+            BaseDegreeAuditService service = degreeAuditServiceRouter.getServiceForDepartment(snapshot.department());
+            return BatchDegreeAuditResultDto.success(snapshot.studentId(), service.audit(snapshot));
+        } catch (RuntimeException e) {
+            log.warn("Batch audit failed for student {}: {}", snapshot.studentId(), e.getMessage());
+            return BatchDegreeAuditResultDto.failure(snapshot.studentId(), e.getMessage());
+        }
+    }
+}
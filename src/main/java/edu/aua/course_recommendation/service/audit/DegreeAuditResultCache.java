@@ -0,0 +1,177 @@
+package edu.aua.course_recommendation.service.audit;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.aua.course_recommendation.dto.response.CacheStatsDto;
+import edu.aua.course_recommendation.model.DegreeAuditMultiScenarioResult;
+import edu.aua.course_recommendation.service.auth.StudentProfileChangedEvent;
+import edu.aua.course_recommendation.service.course.CourseCatalogChangedEvent;
+import edu.aua.course_recommendation.service.course.EnrollmentChangedEvent;
+import edu.aua.course_recommendation.util.LruCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Caches full degree audit results per student, in Redis with a small local near-cache in front.
+ * <p>
+ * Entries are tagged with the student's version and the course catalog epoch, two Redis counters
+ * bumped after every committed enrollment, profile or catalog change. A bump simply
+ * makes older entries unreachable; they expire on their own. Results are kept as JSON in both
+ * tiers so every caller gets its own copy. If Redis is unavailable the audit is computed directly.
+ */
+@Slf4j
+@Service
+public class DegreeAuditResultCache {
+
+    private static final String VERSION_KEY = "degree-audit:version:%s";
+    private static final String RESULT_KEY = "degree-audit:result:%s:%s";
+    private static final String CATALOG_EPOCH_KEY = "degree-audit:catalog-epoch";
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final DegreeAuditServiceRouter degreeAuditServiceRouter;
+    private final Duration ttl;
+    private final LruCache<UUID, NearEntry> nearCache;
+
+    private final AtomicLong nearHits = new AtomicLong();
+    private final AtomicLong redisHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public DegreeAuditResultCache(RedisTemplate<String, String> redisTemplate,
+                                  ObjectMapper objectMapper,
+                                  DegreeAuditServiceRouter degreeAuditServiceRouter,
+                                  @Value("${degree-audit.cache.ttl:PT24H}") Duration ttl,
+                                  @Value("${degree-audit.cache.near-size:1024}") int nearCacheSize) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.degreeAuditServiceRouter = degreeAuditServiceRouter;
+        this.ttl = ttl;
+        this.nearCache = new LruCache<>(nearCacheSize);
+    }
+
+    /**
+     * Returns the student's audit, computing it only if their enrollments or the catalog changed
+     * since it was last cached. Does not check who is asking; callers are responsible for that.
+     */
+    public DegreeAuditMultiScenarioResult getAudit(UUID studentId) {
+        return getOrCompute(studentId, () -> {
+            BaseDegreeAuditService service = degreeAuditServiceRouter.getServiceForStudent(studentId);
+            return service.audit(service.loadSnapshot(studentId));
+        });
+    }
+
+    DegreeAuditMultiScenarioResult getOrCompute(UUID studentId, Supplier<DegreeAuditMultiScenarioResult> loader) {
+        String tag;
+        try {
+            tag = currentTag(studentId);
+        } catch (DataAccessException e) {
+            log.warn("Degree audit cache unavailable, auditing student {} directly: {}", studentId, e.getMessage());
+            misses.incrementAndGet();
+            return loader.get();
+        }
+
+        NearEntry near = nearCache.get(studentId);
+        if (near != null && near.tag().equals(tag)) {
+            nearHits.incrementAndGet();
+            return read(near.json());
+        }
+
+        String resultKey = RESULT_KEY.formatted(studentId, tag);
+        String json = null;
+        try {
+            json = redisTemplate.opsForValue().get(resultKey);
+        } catch (DataAccessException e) {
+            log.warn("Could not read cached audit for student {}: {}", studentId, e.getMessage());
+        }
+        if (json != null) {
+            redisHits.incrementAndGet();
+            nearCache.put(studentId, new NearEntry(tag, json));
+            return read(json);
+        }
+
+        misses.incrementAndGet();
+        DegreeAuditMultiScenarioResult result = loader.get();
+        json = write(result);
+        try {
+            redisTemplate.opsForValue().set(resultKey, json, ttl);
+        } catch (DataAccessException e) {
+            log.warn("Could not cache audit for student {}: {}", studentId, e.getMessage());
+        }
+        nearCache.put(studentId, new NearEntry(tag, json));
+        return result;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEnrollmentChanged(EnrollmentChangedEvent event) {
+        nearCache.invalidate(event.studentId());
+        bump(VERSION_KEY.formatted(event.studentId()));
+    }
+
+    // The department picks the program the student is audited against
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProfileChanged(StudentProfileChangedEvent event) {
+        nearCache.invalidate(event.studentId());
+        bump(VERSION_KEY.formatted(event.studentId()));
+    }
+
+    // Runs after CourseCatalog has rebuilt, so no audit can be cached under the new epoch with the old catalog
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CourseCatalogChangedEvent event) {
+        nearCache.clear();
+        bump(CATALOG_EPOCH_KEY);
+    }
+
+    public List<CacheStatsDto> getStats() {
+        return List.of(
+                new CacheStatsDto("degree-audit-near", nearHits.get(), redisHits.get() + misses.get()),
+                new CacheStatsDto("degree-audit-redis", redisHits.get(), misses.get())
+        );
+    }
+
+    private String currentTag(UUID studentId) {
+        List<String> counters = redisTemplate.opsForValue()
+                .multiGet(List.of(VERSION_KEY.formatted(studentId), CATALOG_EPOCH_KEY));
+        String version = counters == null || counters.get(0) == null ? "0" : counters.get(0);
+        String epoch = counters == null || counters.get(1) == null ? "0" : counters.get(1);
+        return version + ":" + epoch;
+    }
+
+    private void bump(String key) {
+        try {
+            redisTemplate.opsForValue().increment(key);
+        } catch (DataAccessException e) {
+            log.warn("Could not invalidate cached degree audits ({}): {}", key, e.getMessage());
+        }
+    }
+
+    private DegreeAuditMultiScenarioResult read(String json) {
+        try {
+            return objectMapper.readValue(json, DegreeAuditMultiScenarioResult.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cached degree audit is not readable", e);
+        }
+    }
+
+    private String write(DegreeAuditMultiScenarioResult result) {
+        try {
+            return objectMapper.writeValueAsString(result);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Degree audit could not be serialized", e);
+        }
+    }
+
+    private record NearEntry(String tag, String json) {}
+}
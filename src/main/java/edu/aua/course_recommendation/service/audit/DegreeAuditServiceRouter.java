@@ -4,6 +4,7 @@ import edu.aua.course_recommendation.model.Department;
 import edu.aua.course_recommendation.service.auth.UserService;
 import org.springframework.stereotype.Service;
 
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -14,18 +15,27 @@ public class DegreeAuditServiceRouter {
     private final Map<Department, BaseDegreeAuditService> serviceMap;
     private final UserService userService;
 
-    public DegreeAuditServiceRouter(List<BaseDegreeAuditService> auditServices, UserService userService) {
+    public DegreeAuditServiceRouter(List<ProgramDegreeAuditService> auditServices, UserService userService) {
         this.userService = userService;
 
-        this.serviceMap = Map.of(
-                Department.BAB, findServiceByType(auditServices, BusinessDegreeAuditService.class),
-                Department.CS, findServiceByType(auditServices, CSDegreeAuditService.class),
-                Department.DS, findServiceByType(auditServices, CSDegreeAuditService.class)
-        );
+        Map<Department, BaseDegreeAuditService> services = new EnumMap<>(Department.class);
+        for (ProgramDegreeAuditService service : auditServices) {
+            for (Department department : service.getDepartments()) {
+                BaseDegreeAuditService previous = services.putIfAbsent(department, service);
+                if (previous != null) {
+                    throw new IllegalStateException("Department " + department + " is audited by both "
+                            + previous.getClass().getSimpleName() + " and " + service.getClass().getSimpleName());
+                }
+            }
+        }
+        this.serviceMap = Map.copyOf(services);
     }
 
     public BaseDegreeAuditService getServiceForStudent(UUID studentId) {
-        Department department = userService.getStudentDepartment(studentId);
+        return getServiceForDepartment(userService.getStudentDepartment(studentId));
+    }
+
+    public BaseDegreeAuditService getServiceForDepartment(Department department) {
         BaseDegreeAuditService service = serviceMap.get(department);
 
         if (service == null) {
@@ -34,12 +44,4 @@ public class DegreeAuditServiceRouter {
 
         return service;
     }
-
-    private <T extends BaseDegreeAuditService> T findServiceByType(List<BaseDegreeAuditService> services, Class<T> type) {
-        return services.stream()
-                .filter(type::isInstance)
-                .map(type::cast)
-                .findFirst()
-                .orElseThrow(() -> new IllegalStateException("No audit service of type " + type.getSimpleName() + " found"));
-    }
-}
\ No newline at end of file
+}
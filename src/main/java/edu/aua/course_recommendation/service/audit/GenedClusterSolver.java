@@ -0,0 +1,205 @@
+package edu.aua.course_recommendation.service.audit;
+
+import edu.aua.course_recommendation.entity.Course;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * GenEd cluster solver working on bitmasks instead of course lists.
+ * <p>
+ * Every course of the student gets a bit (in input order, at most {@link #MAX_COURSES});
+ * each theme and the lower division are a {@code long} mask over those bits. A theme can
+ * form a cluster iff its available mask has three bits with at least one lower and one
+ * upper course, which is an O(1) check, so the search prunes branches that cannot be
+ * completed and only materialises triples for solutions that are actually returned.
+ * <p>
+ * Triples and themes are visited in the same order as the original backtracking search,
+ * so the returned {@link GenedClusteringService.ClusterSolution}s are identical.
+ */
+final class GenedClusterSolver {
+
+    static final int MAX_COURSES = Long.SIZE;
+    private static final int THEME_COUNT = 9;
+
+    private static final int[] AH_ORDER = toArray(GenedClusteringService.AH_THEMES);
+    private static final int[] SS_ORDER = toArray(GenedClusteringService.SS_THEMES);
+    private static final int[] QS_ORDER = toArray(GenedClusteringService.QS_THEMES);
+
+    private final List<Course> courses;
+    private final long[] themeMasks = new long[THEME_COUNT + 1];
+    private final long lowerMask;
+    private final long allMask;
+
+    private GenedClusterSolver(List<Course> courses, Predicate<String> isLowerDivision) {
+        this.courses = courses;
+
+        long lower = 0L;
+        for (int i = 0; i < courses.size(); i++) {
+            Course course = courses.get(i);
+            long bit = 1L << i;
+            if (isLowerDivision.test(course.getCode())) {
+                lower |= bit;
+            }
+            for (Integer theme : course.getThemes()) {
+                if (theme != null && theme >= 1 && theme <= THEME_COUNT) {
+                    themeMasks[theme] |= bit;
+                }
+            }
+        }
+        this.lowerMask = lower;
+        this.allMask = courses.size() == MAX_COURSES ? -1L : (1L << courses.size()) - 1;
+    }
+
+    static boolean supports(List<Course> courses) {
+        return courses.size() <= MAX_COURSES;
+    }
+
+    static GenedClusterSolver of(List<Course> courses, Predicate<String> isLowerDivision) {
+        if (!supports(courses)) {
+            throw new IllegalArgumentException("Bitmask solver supports at most " + MAX_COURSES + " courses");
+        }
+        // The list-based search removes courses by identity, so repeated instances count once
+        Set<Course> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        List<Course> distinct = new ArrayList<>(courses.size());
+        for (Course course : courses) {
+            if (seen.add(course)) {
+                distinct.add(course);
+            }
+        }
+        return new GenedClusterSolver(distinct, isLowerDivision);
+    }
+
+    boolean canFormTriple(int theme) {
+        return canFormTriple(allMask, theme);
+    }
+
+    int lowerCount(int theme) {
+        return Long.bitCount(themeMask(theme) & lowerMask);
+    }
+
+    int upperCount(int theme) {
+        return Long.bitCount(themeMask(theme) & ~lowerMask);
+    }
+
+    List<GenedClusteringService.ClusterSolution> findSolutions(int maxSolutions) {
+        List<GenedClusteringService.ClusterSolution> solutions = new ArrayList<>();
+        if (maxSolutions <= 0) return solutions;
+
+        for (int ah : AH_ORDER) {
+            long ahCandidates = themeMask(ah);
+            if (!isFeasible(ahCandidates)) continue;
+            for (long ahTriple = firstTriple(ahCandidates); ahTriple != 0; ahTriple = nextTriple(ahCandidates, ahTriple)) {
+                if (!isValidTriple(ahTriple)) continue;
+                long afterAh = allMask & ~ahTriple;
+                // Branches that cannot reach a QS cluster add nothing, skipping them keeps the order intact
+                if (!canFormAny(afterAh, SS_ORDER) || !canFormAny(afterAh, QS_ORDER)) continue;
+
+                for (int ss : SS_ORDER) {
+                    long ssCandidates = afterAh & themeMask(ss);
+                    if (!isFeasible(ssCandidates)) continue;
+                    for (long ssTriple = firstTriple(ssCandidates); ssTriple != 0; ssTriple = nextTriple(ssCandidates, ssTriple)) {
+                        if (!isValidTriple(ssTriple)) continue;
+                        long afterSs = afterAh & ~ssTriple;
+
+                        for (int qs : QS_ORDER) {
+                            long qsCandidates = afterSs & themeMask(qs);
+                            if (!isFeasible(qsCandidates)) continue;
+                            for (long qsTriple = firstTriple(qsCandidates); qsTriple != 0; qsTriple = nextTriple(qsCandidates, qsTriple)) {
+                                if (!isValidTriple(qsTriple)) continue;
+                                solutions.add(new GenedClusteringService.ClusterSolution(List.of(
+                                        new GenedClusteringService.ClusterChoice("AH", ah, coursesOf(ahTriple)),
+                                        new GenedClusteringService.ClusterChoice("SS", ss, coursesOf(ssTriple)),
+                                        new GenedClusteringService.ClusterChoice("QS", qs, coursesOf(qsTriple))
+                                )));
+                                if (solutions.size() >= maxSolutions) return solutions;
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        return solutions;
+    }
+
+    private boolean canFormTriple(long available, int theme) {
+        return isFeasible(available & themeMask(theme));
+    }
+
+    private boolean canFormAny(long available, int[] themes) {
+        for (int theme : themes) {
+            if (canFormTriple(available, theme)) return true;
+        }
+        return false;
+    }
+
+    private boolean isFeasible(long candidates) {
+        return Long.bitCount(candidates) >= 3
+                && (candidates & lowerMask) != 0
+                && (candidates & ~lowerMask) != 0;
+    }
+
+    private boolean isValidTriple(long triple) {
+        return (triple & lowerMask) != 0 && (triple & ~lowerMask) != 0;
+    }
+
+    private long themeMask(int theme) {
+        return theme >= 1 && theme <= THEME_COUNT ? themeMasks[theme] : 0L;
+    }
+
+    private List<Course> coursesOf(long triple) {
+        List<Course> result = new ArrayList<>(3);
+        for (long bits = triple; bits != 0; bits &= bits - 1) {
+            result.add(courses.get(Long.numberOfTrailingZeros(bits)));
+        }
+        return result;
+    }
+
+    /**
+     * Lowest three set bits of {@code candidates}, i.e. the first (i, j, k) in lexicographic order.
+     */
+    private static long firstTriple(long candidates) {
+        if (Long.bitCount(candidates) < 3) return 0L;
+        long i = Long.lowestOneBit(candidates);
+        long rest = candidates & ~i;
+        long j = Long.lowestOneBit(rest);
+        long k = Long.lowestOneBit(rest & ~j);
+        return i | j | k;
+    }
+
+    /**
+     * Next triple of {@code candidates} after {@code current} in (i, j, k) lexicographic order,
+     * or 0 when exhausted. Mirrors the i &lt; j &lt; k loops of the list-based search.
+     */
+    private static long nextTriple(long candidates, long current) {
+        long i = Long.lowestOneBit(current);
+        long j = Long.lowestOneBit(current & ~i);
+        long k = current & ~i & ~j;
+
+        long nextK = Long.lowestOneBit(candidates & ~(k | (k - 1)));
+        if (nextK != 0) return i | j | nextK;
+
+        long nextJ = Long.lowestOneBit(candidates & ~(j | (j - 1)));
+        if (nextJ != 0) {
+            long afterJ = Long.lowestOneBit(candidates & ~(nextJ | (nextJ - 1)));
+            if (afterJ != 0) return i | nextJ | afterJ;
+        }
+
+        long nextI = Long.lowestOneBit(candidates & ~(i | (i - 1)));
+        if (nextI != 0) {
+            long restI = candidates & ~(nextI | (nextI - 1));
+            long newJ = Long.lowestOneBit(restI);
+            long newK = Long.lowestOneBit(restI & ~newJ);
+            if (newJ != 0 && newK != 0) return nextI | newJ | newK;
+        }
+        return 0L;
+    }
+
+    private static int[] toArray(Set<Integer> themes) {
+        return themes.stream().mapToInt(Integer::intValue).toArray();
+    }
+}
@@ -2,7 +2,8 @@ package edu.aua.course_recommendation.service.audit;
 
 import edu.aua.course_recommendation.entity.Course;
 import edu.aua.course_recommendation.model.NeededCluster;
-import edu.aua.course_recommendation.service.course.CourseService;
+import edu.aua.course_recommendation.service.course.CourseCatalog;
+import edu.aua.course_recommendation.util.LruCache;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
@@ -10,6 +11,7 @@ import lombok.Setter;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -20,13 +22,125 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class GenedClusteringService {
 
-    private final CourseService courseService;
+    private static final int ANALYSIS_CACHE_SIZE = 4096;
 
-    private static final Set<Integer> AH_THEMES = Set.of(1, 2, 3);
-    private static final Set<Integer> SS_THEMES = Set.of(4, 5, 6);
-    private static final Set<Integer> QS_THEMES = Set.of(7, 8, 9);
+    private final CourseCatalog courseCatalog;
+
+    // Students with the same GenEd history share one entry, so this is not per student
+    private final LruCache<ClusterKey, ClusterAnalysis> analysisCache = new LruCache<>(ANALYSIS_CACHE_SIZE);
+
+    // Iteration order of these sets drives the order of found solutions; GenedClusterSolver reuses them
+    static final Set<Integer> AH_THEMES = Set.of(1, 2, 3);
+    static final Set<Integer> SS_THEMES = Set.of(4, 5, 6);
+    static final Set<Integer> QS_THEMES = Set.of(7, 8, 9);
 
     public Set<NeededCluster> findNeededClusters(List<Course> completedCourses) {
+        return new HashSet<>(analyze(completedCourses).neededClusters());
+    }
+
+    public boolean isGenEdRequirementMet(List<Course> completedCourses) {
+        return analyze(completedCourses).feasible();
+    }
+
+    /**
+     * Cluster solutions for the given courses, searched in course-code order so the
+     * result does not depend on the order enrollments were loaded in.
+     * The single-solution case used by audits is served from the analysis cache.
+     */
+    public List<ClusterSolution> findPossibleClusterCombinations(List<Course> completedCourses, int maxSolutions) {
+        if (maxSolutions == 1) {
+            ClusterSolution first = analyze(completedCourses).firstSolution();
+            return first == null ? new ArrayList<>() : new ArrayList<>(List.of(first));
+        }
+        return solve(canonicalOrder(completedCourses), maxSolutions);
+    }
+
+    public long getAnalysisCacheHits() {
+        return analysisCache.getHits();
+    }
+
+    public long getAnalysisCacheMisses() {
+        return analysisCache.getMisses();
+    }
+
+    private ClusterAnalysis analyze(List<Course> completedCourses) {
+        List<Course> canonical = canonicalOrder(completedCourses);
+        ClusterKey key = new ClusterKey(
+                courseCatalog.getVersion(),
+                canonical.stream().map(Course::getCode).toList()
+        );
+        return analysisCache.computeIfAbsent(key, k -> {
+            List<ClusterSolution> first = solve(canonical, 1);
+            return new ClusterAnalysis(
+                    !first.isEmpty(),
+                    first.isEmpty() ? null : first.getFirst(),
+                    Set.copyOf(computeNeededClusters(canonical))
+            );
+        });
+    }
+
+    private List<ClusterSolution> solve(List<Course> courses, int maxSolutions) {
+        if (GenedClusterSolver.supports(courses)) {
+            return solverFor(courses).findSolutions(maxSolutions);
+        }
+        return findPossibleClusterCombinationsByBacktracking(courses, maxSolutions);
+    }
+
+    private static List<Course> canonicalOrder(List<Course> courses) {
+        return courses.stream()
+                .sorted(Comparator.comparing(Course::getCode))
+                .toList();
+    }
+
+    private Set<NeededCluster> computeNeededClusters(List<Course> completedCourses) {
+        if (!GenedClusterSolver.supports(completedCourses)) {
+            return findNeededClustersByBacktracking(completedCourses);
+        }
+
+        GenedClusterSolver solver = solverFor(completedCourses);
+        Set<NeededCluster> needed = new HashSet<>();
+        needed.addAll(analyzeThemeShortage(solver, AH_THEMES));
+        needed.addAll(analyzeThemeShortage(solver, SS_THEMES));
+        needed.addAll(analyzeThemeShortage(solver, QS_THEMES));
+        return needed;
+    }
+
+    private Set<NeededCluster> analyzeThemeShortage(GenedClusterSolver solver, Set<Integer> sectorThemes) {
+        Set<NeededCluster> needed = new HashSet<>();
+        for (int theme : sectorThemes) {
+            if (solver.canFormTriple(theme)) {
+                // One formable theme satisfies the whole sector
+                return Set.of();
+            }
+            needed.add(toNeededCluster(theme, solver.lowerCount(theme), solver.upperCount(theme)));
+        }
+        return needed;
+    }
+
+    private NeededCluster toNeededCluster(int theme, int lowerCount, int upperCount) {
+        NeededCluster needed = new NeededCluster();
+        needed.setTheme(theme);
+
+        if (lowerCount < 1) {
+            needed.setMissingLower(1 - lowerCount);
+        }
+        if (upperCount < 1) {
+            needed.setMissingUpper(1 - upperCount);
+        }
+        int total = lowerCount + upperCount;
+        if (total < 3) {
+            needed.setMissingTotal(3 - total);
+        }
+
+        return needed;
+    }
+
+    private GenedClusterSolver solverFor(List<Course> courses) {
+        return GenedClusterSolver.of(courses, courseCatalog::isLowerDivision);
+    }
+
+    // =============== LIST-BASED SEARCH (fallback for more than 64 courses) ===============
+    Set<NeededCluster> findNeededClustersByBacktracking(List<Course> completedCourses) {
         Set<NeededCluster> needed = new HashSet<>();
 
         boolean canFormAH = false;
@@ -76,12 +190,12 @@ public class GenedClusteringService {
 
             int lowerCount = (int) themeSpecificCourses.stream()
                     .map(Course::getCode)
-                    .filter(courseService::isLowerDivision)
+                    .filter(courseCatalog::isLowerDivision)
                     .count();
 
             int upperCount = (int) themeSpecificCourses.stream()
                     .map(Course::getCode)
-                    .filter(courseService::isUpperDivision)
+                    .filter(courseCatalog::isUpperDivision)
                     .count();
 
             int totalCount = lowerCount + upperCount;
@@ -117,7 +231,7 @@ public class GenedClusteringService {
 
             if (needLower > 0) {
                 Set<String> potentialLower = themeCodes.stream()
-                        .filter(courseService::isLowerDivision)
+                        .filter(courseCatalog::isLowerDivision)
                         .filter(code -> !completedCodes.contains(code))
                         .collect(Collectors.toSet());
                 missing.addAll(potentialLower);
@@ -125,7 +239,7 @@ public class GenedClusteringService {
 
             if (needUpper > 0) {
                 Set<String> potentialUpper = themeCodes.stream()
-                        .filter(courseService::isUpperDivision)
+                        .filter(courseCatalog::isUpperDivision)
                         .filter(code -> !completedCodes.contains(code))
                         .collect(Collectors.toSet());
                 missing.addAll(potentialUpper);
@@ -143,9 +257,7 @@ public class GenedClusteringService {
     }
 
     private Set<String> findCodesForTheme(int theme, Set<String> genEdEligibleCodes) {
-        return courseService.getAllCourses().stream()
-                .filter(c -> c.getThemes().contains(theme))
-                .map(Course::getCode)
+        return courseCatalog.getCodesForTheme(theme).stream()
                 .filter(genEdEligibleCodes::contains)
                 .collect(Collectors.toSet());
     }
@@ -171,33 +283,14 @@ public class GenedClusteringService {
 
         int lowerCount = 0, upperCount = 0;
         for (Course c : filtered) {
-            if (courseService.isLowerDivision(c.getCode())) lowerCount++;
-            else if (courseService.isUpperDivision(c.getCode())) upperCount++;
+            if (courseCatalog.isLowerDivision(c.getCode())) lowerCount++;
+            else if (courseCatalog.isUpperDivision(c.getCode())) upperCount++;
         }
 
-        NeededCluster needed = new NeededCluster();
-        needed.setTheme(theme);
-
-        if (lowerCount < 1) {
-            needed.setMissingLower(1 - lowerCount);
-        }
-        if (upperCount < 1) {
-            needed.setMissingUpper(1 - upperCount);
-        }
-        int total = lowerCount + upperCount;
-        if (total < 3) {
-            needed.setMissingTotal(3 - total);
-        }
-
-        return needed;
+        return toNeededCluster(theme, lowerCount, upperCount);
     }
 
-    public boolean isGenEdRequirementMet(List<Course> completedCourses) {
-        List<ClusterSolution> solutions = findPossibleClusterCombinations(completedCourses, 1);
-        return !solutions.isEmpty();
-    }
-
-    public List<ClusterSolution> findPossibleClusterCombinations(List<Course> completedCourses, int maxSolutions) {
+    List<ClusterSolution> findPossibleClusterCombinationsByBacktracking(List<Course> completedCourses, int maxSolutions) {
         List<ClusterSolution> solutions = new ArrayList<>();
         backtrackAH(new ArrayList<>(completedCourses), new ArrayList<>(), solutions, maxSolutions);
         return solutions;
@@ -316,15 +409,19 @@ public class GenedClusteringService {
     }
 
     private boolean hasAtLeastOneLower(List<Course> triple) {
-        return triple.stream().map(Course::getCode).anyMatch(courseService::isLowerDivision);
+        return triple.stream().map(Course::getCode).anyMatch(courseCatalog::isLowerDivision);
     }
 
 
     private boolean hasAtLeastOneUpper(List<Course> triple) {
-        return triple.stream().map(Course::getCode).anyMatch(courseService::isUpperDivision);
+        return triple.stream().map(Course::getCode).anyMatch(courseCatalog::isUpperDivision);
     }
 
     // =============== HELPER CLASSES ===============
+    private record ClusterKey(long catalogVersion, List<String> sortedCodes) {}
+
+    private record ClusterAnalysis(boolean feasible, ClusterSolution firstSolution, Set<NeededCluster> neededClusters) {}
+
     @Getter
     @Setter
     public static class ClusterChoice {
@@ -0,0 +1,95 @@
+package edu.aua.course_recommendation.service.audit;
+
+import edu.aua.course_recommendation.model.DegreeAuditScenario;
+import edu.aua.course_recommendation.model.DegreeScenarioType;
+import edu.aua.course_recommendation.model.Department;
+import edu.aua.course_recommendation.model.RequirementResult;
+import edu.aua.course_recommendation.model.StudentAcademicSnapshot;
+import edu.aua.course_recommendation.service.audit.program.CompiledDegreeProgram;
+import edu.aua.course_recommendation.service.audit.program.DegreeProgram;
+import edu.aua.course_recommendation.service.auth.UserService;
+import edu.aua.course_recommendation.service.course.CourseCatalog;
+import edu.aua.course_recommendation.service.course.EnrollmentService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Degree audit driven by a declarative {@link DegreeProgram}.
+ * <p>
+ * The program is compiled once at construction; a new department only needs a program
+ * definition and a bean of this class, which {@link DegreeAuditServiceRouter} picks up
+ * through {@link #getDepartments()}.
+ */
+public class ProgramDegreeAuditService extends BaseDegreeAuditService {
+
+    private final CompiledDegreeProgram program;
+
+    public ProgramDegreeAuditService(DegreeProgram program,
+                                     EnrollmentService enrollmentService,
+                                     GenedClusteringService genedClusteringService,
+                                     CourseCatalog courseCatalog,
+                                     UserService userService) {
+        super(enrollmentService, genedClusteringService, courseCatalog, userService);
+        this.program = CompiledDegreeProgram.compile(program);
+    }
+
+    public DegreeProgram getProgram() {
+        return program.program();
+    }
+
+    public Set<Department> getDepartments() {
+        return program.program().departments();
+    }
+
+    @Override
+    public RequirementResult checkProgramCore(StudentAcademicSnapshot snapshot) {
+        return program.evaluateCore(program.encode(snapshot.completedCourseCodes()));
+    }
+
+    @Override
+    public List<DegreeAuditScenario> checkProgramScenarios(StudentAcademicSnapshot snapshot) {
+        long[] completed = program.encode(snapshot.completedCourseCodes());
+
+        List<DegreeAuditScenario> scenarios = new ArrayList<>();
+        for (DegreeScenarioType type : program.trackTypes()) {
+            DegreeAuditScenario scenario = new DegreeAuditScenario(type, new ArrayList<>(), false);
+            scenario.addRequirementResult(program.evaluateTrack(type, completed));
+            scenario.canGraduate();
+            scenarios.add(scenario);
+        }
+
+        return clearPossibleCodesIfAnyTrackSatisfied(scenarios);
+    }
+
+    @Override
+    protected List<String> getCoreAndTrackCourseCodes() {
+        return program.program().coreAndTrackCourseCodes();
+    }
+
+    @Override
+    protected List<String> getCoreCourseCodes() {
+        return program.program().coreCourseCodes();
+    }
+
+    @Override
+    public List<String> getTrackCourseCodes(DegreeScenarioType trackType) {
+        return program.trackCourseCodes(trackType);
+    }
+
+    @Override
+    public DegreeScenarioType pickChosenTrack(StudentAcademicSnapshot snapshot) {
+        return program.pickTrack(program.encode(snapshot.completedCourseCodes()));
+    }
+
+    @Override
+    protected int getRequiredFreeElectiveCount() {
+        return program.program().freeElectiveCount();
+    }
+
+    @Override
+    public String getCapstoneCode() {
+        return program.program().capstoneCode();
+    }
+}
@@ -0,0 +1,72 @@
+package edu.aua.course_recommendation.service.audit;
+
+import edu.aua.course_recommendation.dto.request.WhatIfAuditRequestDto;
+import edu.aua.course_recommendation.dto.response.WhatIfAuditResultDto;
+import edu.aua.course_recommendation.entity.Course;
+import edu.aua.course_recommendation.exceptions.CourseNotFoundException;
+import edu.aua.course_recommendation.exceptions.ValidationException;
+import edu.aua.course_recommendation.model.StudentAcademicSnapshot;
+import edu.aua.course_recommendation.service.auth.UserService;
+import edu.aua.course_recommendation.service.course.CourseCatalog;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Audits hypothetical plans: "what would my audit look like if I also passed these courses?"
+ * <p>
+ * The student's record is loaded once per request and every plan is evaluated against an
+ * in-memory overlay of it, so candidate plans cost no further queries.
+ */
+@Service
+@RequiredArgsConstructor
+public class WhatIfDegreeAuditService {
+
+    static final int MAX_PLANS_PER_REQUEST = 100;
+
+    private final DegreeAuditServiceRouter degreeAuditServiceRouter;
+    private final CourseCatalog courseCatalog;
+    private final UserService userService;
+
+    public List<WhatIfAuditResultDto> auditPlans(UUID studentId, WhatIfAuditRequestDto request) {
+        if (request.plans() == null || request.plans().isEmpty()) {
+            throw new ValidationException(HttpStatus.BAD_REQUEST, Map.of("plans", "At least one plan must be provided"));
+        }
+        if (request.plans().size() > MAX_PLANS_PER_REQUEST) {
+            throw new ValidationException(HttpStatus.BAD_REQUEST,
+                    Map.of("plans", "At most " + MAX_PLANS_PER_REQUEST + " plans can be audited per request"));
+        }
+
+        userService.validateStudent(studentId);
+
+        // Resolve every plan before auditing so an unknown code fails the whole request
+        List<List<Course>> plans = request.plans().stream().map(this::resolve).toList();
+
+        BaseDegreeAuditService service = degreeAuditServiceRouter.getServiceForStudent(studentId);
+        StudentAcademicSnapshot snapshot = service.loadSnapshot(studentId);
+
+        List<WhatIfAuditResultDto> results = new ArrayList<>(plans.size());
+        for (int i = 0; i < plans.size(); i++) {
+            results.add(new WhatIfAuditResultDto(
+                    request.plans().get(i),
+                    service.audit(snapshot.withHypotheticalCompletions(plans.get(i)))
+            ));
+        }
+        return results;
+    }
+
+    private List<Course> resolve(List<String> courseCodes) {
+        if (courseCodes == null) {
+            return List.of();
+        }
+        return courseCodes.stream()
+                .map(code -> courseCatalog.findByCode(code)
+                        .orElseThrow(() -> new CourseNotFoundException("Course with code " + code + " not found")))
+                .toList();
+    }
+}
@@ -0,0 +1,191 @@
+package edu.aua.course_recommendation.service.audit.program;
+
+import edu.aua.course_recommendation.model.DegreeScenarioType;
+import edu.aua.course_recommendation.model.Requirement;
+import edu.aua.course_recommendation.model.RequirementResult;
+
+import java.util.*;
+
+/**
+ * A {@link DegreeProgram} compiled into program-local course ids and bitmasks.
+ * <p>
+ * Every distinct code mentioned by the program gets a small integer id and each rule
+ * becomes a {@code long[]} mask over those ids. A student's completed courses are
+ * encoded once per audit with {@link #encode(Set)}, after which every rule check is
+ * an AND plus popcount over a couple of words.
+ */
+public final class CompiledDegreeProgram {
+
+    private final DegreeProgram program;
+    private final Map<String, Integer> idByCode;
+    private final String[] codeById;
+    private final int words;
+    private final List<CompiledRule> core;
+    private final Map<DegreeScenarioType, CompiledTrack> tracks;
+
+    private CompiledDegreeProgram(DegreeProgram program) {
+        this.program = program;
+
+        Map<String, Integer> ids = new LinkedHashMap<>();
+        program.coreCourseCodes().forEach(code -> ids.putIfAbsent(code, ids.size()));
+        program.tracks().forEach(track -> track.courseCodes().forEach(code -> ids.putIfAbsent(code, ids.size())));
+        this.idByCode = Map.copyOf(ids);
+        this.codeById = ids.keySet().toArray(String[]::new);
+        this.words = Math.max(1, (codeById.length + Long.SIZE - 1) / Long.SIZE);
+
+        this.core = program.core().stream().map(this::compile).toList();
+
+        Map<DegreeScenarioType, CompiledTrack> compiledTracks = new LinkedHashMap<>();
+        for (TrackDefinition track : program.tracks()) {
+            List<CompiledRule> rules = track.rules().stream().map(this::compile).toList();
+            long[] mask = new long[words];
+            rules.forEach(rule -> or(mask, rule.mask()));
+            compiledTracks.put(track.type(), new CompiledTrack(track.type(), rules, mask, track.courseCodes()));
+        }
+        this.tracks = Collections.unmodifiableMap(compiledTracks);
+    }
+
+    public static CompiledDegreeProgram compile(DegreeProgram program) {
+        return new CompiledDegreeProgram(program);
+    }
+
+    public DegreeProgram program() {
+        return program;
+    }
+
+    /** Encodes the completed courses that matter to this program; unknown codes are ignored. */
+    public long[] encode(Set<String> completedCodes) {
+        long[] completed = new long[words];
+        for (String code : completedCodes) {
+            Integer id = idByCode.get(code);
+            if (id != null) {
+                completed[id >>> 6] |= 1L << id;
+            }
+        }
+        return completed;
+    }
+
+    public RequirementResult evaluateCore(long[] completed) {
+        return evaluate(Requirement.CORE, core, completed);
+    }
+
+    public RequirementResult evaluateTrack(DegreeScenarioType type, long[] completed) {
+        return evaluate(Requirement.TRACK, track(type).rules(), completed);
+    }
+
+    public Set<DegreeScenarioType> trackTypes() {
+        return tracks.keySet();
+    }
+
+    public List<String> trackCourseCodes(DegreeScenarioType type) {
+        CompiledTrack track = tracks.get(type);
+        return track == null ? List.of() : track.courseCodes();
+    }
+
+    /**
+     * The track a student is most likely pursuing: an already satisfied one if the program
+     * prefers that, otherwise the one with the most completed courses (ties go to the
+     * earlier track), or the fallback track when nothing has been taken yet.
+     */
+    public DegreeScenarioType pickTrack(long[] completed) {
+        if (program.preferSatisfiedTrack()) {
+            for (CompiledTrack track : tracks.values()) {
+                if (isSatisfied(track.rules(), completed)) {
+                    return track.type();
+                }
+            }
+        }
+
+        DegreeScenarioType best = null;
+        int bestCount = 0;
+        for (CompiledTrack track : tracks.values()) {
+            int count = andCount(track.mask(), completed);
+            if (count > bestCount) {
+                best = track.type();
+                bestCount = count;
+            }
+        }
+        if (best != null) {
+            return best;
+        }
+        return program.fallbackTrack() != null
+                ? program.fallbackTrack()
+                : program.tracks().getFirst().type();
+    }
+
+    private RequirementResult evaluate(Requirement requirement, List<CompiledRule> rules, long[] completed) {
+        Set<String> possible = new LinkedHashSet<>();
+        Set<String> done = new LinkedHashSet<>();
+        boolean satisfied = true;
+        int left = 0;
+
+        for (CompiledRule rule : rules) {
+            int needed = Math.max(0, rule.requiredCount() - andCount(rule.mask(), completed));
+            left += needed;
+            for (int id : rule.ids()) {
+                if (isSet(completed, id)) {
+                    done.add(codeById[id]);
+                } else if (needed > 0) {
+                    possible.add(codeById[id]);
+                }
+            }
+            satisfied &= needed == 0;
+        }
+
+        return new RequirementResult(
+                requirement,
+                satisfied,
+                List.copyOf(possible),
+                List.copyOf(done),
+                left
+        );
+    }
+
+    private boolean isSatisfied(List<CompiledRule> rules, long[] completed) {
+        for (CompiledRule rule : rules) {
+            if (andCount(rule.mask(), completed) < rule.requiredCount()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private CompiledTrack track(DegreeScenarioType type) {
+        CompiledTrack track = tracks.get(type);
+        if (track == null) {
+            throw new IllegalArgumentException(program.name() + " has no track " + type);
+        }
+        return track;
+    }
+
+    private CompiledRule compile(RequirementRule rule) {
+        int[] ids = rule.courseCodes().stream().mapToInt(idByCode::get).toArray();
+        long[] mask = new long[words];
+        for (int id : ids) {
+            mask[id >>> 6] |= 1L << id;
+        }
+        return new CompiledRule(ids, mask, rule.requiredCount());
+    }
+
+    private static int andCount(long[] a, long[] b) {
+        int count = 0;
+        for (int i = 0; i < a.length; i++) {
+            count += Long.bitCount(a[i] & b[i]);
+        }
+        return count;
+    }
+
+    private static boolean isSet(long[] bits, int id) {
+        return (bits[id >>> 6] & (1L << id)) != 0;
+    }
+
+    private static void or(long[] target, long[] source) {
+        for (int i = 0; i < target.length; i++) {
+            target[i] |= source[i];
+        }
+    }
+
+    private record CompiledRule(int[] ids, long[] mask, int requiredCount) {}
+
+    private record CompiledTrack(DegreeScenarioType type, List<CompiledRule> rules, long[] mask, List<String> courseCodes) {}
+}
@@ -0,0 +1,57 @@
+package edu.aua.course_recommendation.service.audit.program;
+
+import edu.aua.course_recommendation.model.DegreeScenarioType;
+import edu.aua.course_recommendation.model.Department;
+import lombok.Builder;
+import lombok.Singular;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Declarative definition of a degree program: core rules, tracks and the few
+ * program-specific numbers the audit needs. Compiled by {@link CompiledDegreeProgram}.
+ *
+ * @param departments           departments whose students are audited against this program
+ * @param fallbackTrack         track assumed when the student has no track course yet; first track if null
+ * @param preferSatisfiedTrack  pick an already satisfied track (in declared order) before the one with most courses
+ * @param sharedElectives       track courses that may also count towards GenEd
+ */
+@Builder
+public record DegreeProgram(
+        String name,
+        @Singular Set<Department> departments,
+        @Singular("coreRule") List<RequirementRule> core,
+        @Singular List<TrackDefinition> tracks,
+        DegreeScenarioType fallbackTrack,
+        boolean preferSatisfiedTrack,
+        @Singular List<String> sharedElectives,
+        int freeElectiveCount,
+        String capstoneCode
+) {
+
+    public DegreeProgram {
+        if (tracks.isEmpty()) {
+            throw new IllegalArgumentException("Degree program " + name + " has no tracks");
+        }
+    }
+
+    /** Distinct core course codes in declared order. */
+    public List<String> coreCourseCodes() {
+        return core.stream()
+                .flatMap(rule -> rule.courseCodes().stream())
+                .distinct()
+                .toList();
+    }
+
+    /** Core and track codes that can never count towards GenEd. */
+    public List<String> coreAndTrackCourseCodes() {
+        return Stream.concat(
+                        coreCourseCodes().stream(),
+                        tracks.stream().flatMap(track -> track.courseCodes().stream()))
+                .filter(code -> !sharedElectives.contains(code))
+                .distinct()
+                .toList();
+    }
+}
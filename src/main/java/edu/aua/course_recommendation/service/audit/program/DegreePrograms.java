@@ -0,0 +1,165 @@
+package edu.aua.course_recommendation.service.audit.program;
+
+import edu.aua.course_recommendation.model.DegreeScenarioType;
+import edu.aua.course_recommendation.model.Department;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static edu.aua.course_recommendation.service.audit.program.RequirementRule.allOf;
+import static edu.aua.course_recommendation.service.audit.program.RequirementRule.pick;
+
+/**
+ * Requirement definitions of the programs the audit currently supports.
+ */
+public final class DegreePrograms {
+
+    private DegreePrograms() {
+    }
+
+    // ——————————————————————————————————————————————————————
+    // Computer Science (also used for Data Science students)
+    // ——————————————————————————————————————————————————————
+    private static final int CS_TRACK_REQUIREMENT_COUNT = 5;
+
+    private static final List<String> CS_CORE = List.of(
+            "CS110", // Intro to Computer Science (Fall 1)
+            "CS100", // Calculus 1
+            "CS111", // Discrete Math
+
+            "CS120", // Intro to OOP (Spring 1)
+            "CS101", // Calculus 2
+            "CS104", // Linear Algebra
+
+            "CS121", // Data Structures (Fall 2)
+            "CS102", // Calculus 3
+            "CS130", // Computer Organization
+
+            "CS211", // Intro to Algorithms (Spring 2)
+            "CS103", // Real Analysis
+            "CS107", // Probability
+
+            "CS112", // Numerical Analysis (Fall 3)
+            "CS108", // Statistics
+
+            "CS213", // Optimization (Spring 3)
+            "CS140"  // Mechanics
+    );
+
+    private static final List<String> MATH_MODELING = List.of(
+            "CS105", "CS205", "CS226", "CS221",
+            "CS215", "CS217", "CS246", "CS251",
+            "CS260", "CS231", "CS261", "CS262",
+            "CS310", "DS231", "DS233", "DS330"
+    );
+
+    private static final List<String> APPLIED_CS = List.of(
+            "CS215", "CS217", "CS246", "CS251",
+            "CS260", "CS231", "CS261", "CS262",
+            "CS310", "DS231", "DS233", "DS330",
+            "CS132", "CS220", "CS222", "CS131",
+            "CS221", "CS232", "CS236", "CS245", "CS252"
+    );
+
+    private static final List<String> GENERAL_CS_TRACK = List.of(
+            // Any combination of 5 courses from applied and math modeling
+            "CS105", "CS205", "CS226", "CS221",
+            "CS215", "CS217", "CS246", "CS251",
+            "CS260", "CS231", "CS261", "CS262",
+            "CS310", "DS231", "DS233", "DS330",
+            "CS132", "CS220", "CS222", "CS131",
+            "CS232", "CS236", "CS245", "CS252", "CS331"
+    );
+
+    public static final DegreeProgram COMPUTER_SCIENCE = DegreeProgram.builder()
+            .name("BS in Computer Science")
+            .department(Department.CS)
+            .department(Department.DS)
+            .coreRule(allOf(CS_CORE))
+            .track(TrackDefinition.of(DegreeScenarioType.CS_MATH_MODELING, pick(CS_TRACK_REQUIREMENT_COUNT, MATH_MODELING)))
+            .track(TrackDefinition.of(DegreeScenarioType.CS_APPLIED_CS, pick(CS_TRACK_REQUIREMENT_COUNT, APPLIED_CS)))
+            .track(TrackDefinition.of(DegreeScenarioType.CS_GENERAL, pick(CS_TRACK_REQUIREMENT_COUNT, GENERAL_CS_TRACK)))
+            // TODO: Extend so student can explicitly choose their track
+            .preferSatisfiedTrack(true)
+            .fallbackTrack(DegreeScenarioType.CS_GENERAL)
+            .freeElectiveCount(3)
+            .capstoneCode("CS296")
+            .build();
+
+    // ——————————————————————————————————————————————————————
+    // Business
+    // ——————————————————————————————————————————————————————
+    private static final List<String> CORE_FUNDAMENTALS = List.of("BUS109", "BUS110", "BUS177");
+    private static final List<String> CORE_REQUIREMENTS = List.of(
+            "BUS101","BUS105","BUS145","BUS146",
+            "BUS160","BUS209","BUS211","BUS230",
+            "BUS280","BUS295","ECON121","ECON122"
+    );
+    private static final List<String> CORE_ONE_OF_1 = List.of("BUS281","BUS286");
+    private static final List<String> CORE_ONE_OF_2 = List.of("BUS210","BUS265","ECON225");
+
+    // Accounting track (5 total: 1 from CORE_ONE_OF_1 + 3 required + 1 elective)
+    private static final List<String> ACCOUNTING_REQUIRED = List.of(
+            "BUS286","BUS245","BUS247","BUS248"
+    );
+    private static final List<String> ACCOUNTING_ELECTIVES = List.of(
+            "BUS226","BUS232","BUS239","BUS250","BUS253","BUS254","BUS257"
+    );
+    private static final int ACCOUNTING_ELECTIVE_PICKS = 2;
+
+    private static final List<String> ECONOMICS_REQUIRED = List.of(
+            "ECON225","ECON221","ECON222","ECON224"
+    );
+    private static final List<String> ECONOMICS_ELECTIVES = List.of(
+            "BUS226","BUS227","BUS232","BUS233","BUS234","BUS239",
+            "ECON120","ECON223","ECON228","ECON229"
+    );
+    private static final int ECONOMICS_ELECTIVE_PICKS = 2;
+
+    private static final List<String> MARKETING_REQUIRED = List.of(
+            "BUS265","BUS262","BUS275","BUS276"
+    );
+    private static final List<String> MARKETING_ELECTIVES = List.of(
+            "BUS261","BUS263","BUS266","BUS271","BUS274","BUS278","BUS279"
+    );
+    private static final int MARKETING_ELECTIVE_PICKS = 2;
+
+    private static final int GENERAL_BUSINESS_TOTAL = 5;
+
+    // Course here can act either as General Business track courses or free electives.
+    private static final List<String> BUSINESS_ELECTIVES = List.of(
+            "BUS114","BUS201","BUS207","BUS218",
+            "BUS282","BUS285","BUS287","BUS288",
+            "BUS290","BUS292","BUS298","ECON201"
+    );
+
+    private static final List<String> GENERAL_BUSINESS_POOL = Stream.of(
+                    ACCOUNTING_REQUIRED, ACCOUNTING_ELECTIVES,
+                    ECONOMICS_REQUIRED, ECONOMICS_ELECTIVES,
+                    MARKETING_REQUIRED, MARKETING_ELECTIVES,
+                    BUSINESS_ELECTIVES
+            )
+            .flatMap(List::stream)
+            .distinct()
+            .toList();
+
+    public static final DegreeProgram BUSINESS = DegreeProgram.builder()
+            .name("BA in Business")
+            .department(Department.BAB)
+            .coreRule(allOf(CORE_FUNDAMENTALS))
+            .coreRule(allOf(CORE_REQUIREMENTS))
+            .coreRule(pick(1, CORE_ONE_OF_1))
+            .coreRule(pick(1, CORE_ONE_OF_2))
+            .track(TrackDefinition.of(DegreeScenarioType.BUS_ACCOUNTING,
+                    allOf(ACCOUNTING_REQUIRED), pick(ACCOUNTING_ELECTIVE_PICKS, ACCOUNTING_ELECTIVES)))
+            .track(TrackDefinition.of(DegreeScenarioType.BUS_ECONOMICS,
+                    allOf(ECONOMICS_REQUIRED), pick(ECONOMICS_ELECTIVE_PICKS, ECONOMICS_ELECTIVES)))
+            .track(TrackDefinition.of(DegreeScenarioType.BUS_MARKETING,
+                    allOf(MARKETING_REQUIRED), pick(MARKETING_ELECTIVE_PICKS, MARKETING_ELECTIVES)))
+            .track(TrackDefinition.of(DegreeScenarioType.BUS_GENERAL,
+                    pick(GENERAL_BUSINESS_TOTAL, GENERAL_BUSINESS_POOL)))
+            .sharedElectives(BUSINESS_ELECTIVES)
+            .freeElectiveCount(3)
+            .capstoneCode("BUS299")
+            .build();
+}
@@ -0,0 +1,53 @@
+package edu.aua.course_recommendation.service.audit.program;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * A single declarative degree requirement over a list of course codes.
+ * Codes keep their declared order, which is the order they are reported in.
+ */
+public sealed interface RequirementRule permits RequirementRule.AllOf, RequirementRule.PickN {
+
+    List<String> courseCodes();
+
+    /** Number of courses from {@link #courseCodes()} needed to satisfy the rule. */
+    int requiredCount();
+
+    static AllOf allOf(Collection<String> courseCodes) {
+        return new AllOf(List.copyOf(courseCodes));
+    }
+
+    static PickN pick(int count, Collection<String> courseCodes) {
+        return new PickN(count, List.copyOf(courseCodes));
+    }
+
+    /** Every listed course is required. */
+    record AllOf(List<String> courseCodes) implements RequirementRule {
+
+        public AllOf {
+            courseCodes = courseCodes.stream().distinct().toList();
+        }
+
+        @Override
+        public int requiredCount() {
+            return courseCodes.size();
+        }
+    }
+
+    /** Any {@code count} of the listed courses, e.g. "one of" or "5 track electives". */
+    record PickN(int count, List<String> courseCodes) implements RequirementRule {
+
+        public PickN {
+            courseCodes = courseCodes.stream().distinct().toList();
+            if (count <= 0 || count > courseCodes.size()) {
+                throw new IllegalArgumentException("Cannot pick " + count + " of " + courseCodes.size() + " courses");
+            }
+        }
+
+        @Override
+        public int requiredCount() {
+            return count;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package edu.aua.course_recommendation.service.audit.program;
+
+import edu.aua.course_recommendation.model.DegreeScenarioType;
+
+import java.util.List;
+
+/**
+ * A track (degree scenario) of a program: all rules must hold for the track to be satisfied.
+ */
+public record TrackDefinition(DegreeScenarioType type, List<RequirementRule> rules) {
+
+    public TrackDefinition {
+        rules = List.copyOf(rules);
+    }
+
+    public static TrackDefinition of(DegreeScenarioType type, RequirementRule... rules) {
+        return new TrackDefinition(type, List.of(rules));
+    }
+
+    /** Distinct track course codes in declared order. */
+    public List<String> courseCodes() {
+        return rules.stream()
+                .flatMap(rule -> rule.courseCodes().stream())
+                .distinct()
+                .toList();
+    }
+}
@@ -0,0 +1,10 @@
+package edu.aua.course_recommendation.service.auth;
+
+import java.util.UUID;
+
+/**
+ * Published whenever a user's profile, such as their department, is saved or deleted so
+ * cached audit results for that student can be invalidated once the transaction commits.
+ */
+public record StudentProfileChangedEvent(UUID studentId) {
+}
@@ -10,6 +10,7 @@ import edu.aua.course_recommendation.model.Role;
 import edu.aua.course_recommendation.repository.ScheduleRepository;
 import edu.aua.course_recommendation.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
@@ -29,6 +30,7 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final ScheduleRepository scheduleRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional(readOnly = true)
     public User getUserByEmail(final String email) {
@@ -96,6 +98,7 @@ public class UserService {
 
     public void saveUser(User currentUser) {
         userRepository.save(currentUser);
+        eventPublisher.publishEvent(new StudentProfileChangedEvent(currentUser.getId()));
     }
 
     public User findById(UUID studentId) {
@@ -166,5 +169,6 @@ public class UserService {
         scheduleRepository.deleteAll(schedules);
 
         userRepository.deleteById(userId);
+        eventPublisher.publishEvent(new StudentProfileChangedEvent(userId));
     }
 }
@@ -0,0 +1,256 @@
+package edu.aua.course_recommendation.service.course;
+
+import edu.aua.course_recommendation.entity.Course;
+import edu.aua.course_recommendation.repository.CourseRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Read-mostly, in-memory copy of the course catalog.
+ * <p>
+ * The catalog is loaded lazily on first use. Any transaction that publishes a
+ * {@link CourseCatalogChangedEvent} bumps a generation counter once it commits, and the next
+ * read rebuilds; several changes in a row therefore cost one rebuild. A state loaded while the
+ * generation moved is still served to that reader but not kept. Every rebuild produces a new
+ * immutable {@link CatalogState} that is swapped in with a single volatile write, so readers
+ * always see a consistent catalog and audits never go to the database for it.
+ * <p>
+ * Courses are indexed by their position in the code-sorted catalog; {@link #indexOf(String)}
+ * and {@link #codeAt(int)} expose that index for bitset-based consumers, such as the compiled
+ * {@link PrerequisiteGraph}. Prerequisite equivalences are reloaded with every rebuild.
+ */
+@Slf4j
+@Component
+public class CourseCatalog {
+
+    public static final String PHYS_ED_PREFIX = "FND110";
+
+    private final CourseRepository courseRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final AtomicLong generation = new AtomicLong();
+    private volatile CatalogState state;
+    private long nextVersion = 1;
+
+    public CourseCatalog(CourseRepository courseRepository, PlatformTransactionManager transactionManager) {
+        this.courseRepository = courseRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        // Rebuilds run after the publishing transaction has committed, so they need their own
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    // Runs before other listeners, so that any catalog read they make already sees the change
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CourseCatalogChangedEvent event) {
+        generation.incrementAndGet();
+    }
+
+    public synchronized void rebuild() {
+        long loadedAt = generation.get();
+        Map<String, Set<String>> equivalences = new HashMap<>();
+        List<Course> courses = transactionTemplate.execute(status -> {
+            // Two fetch-join queries initialise both element collections on the same instances
+            List<Course> loaded = courseRepository.findAllWithThemes();
+            courseRepository.findAllWithPrerequisites();
+            for (CourseRepository.PrerequisiteEquivalence equivalence : courseRepository.findAllPrerequisiteEquivalences()) {
+                equivalences.computeIfAbsent(equivalence.getEquivalenceKey(), key -> new HashSet<>())
+                        .add(equivalence.getCourseCode());
+            }
+            return loaded;
+        });
+
+        state = new CatalogState(nextVersion++, loadedAt, courses == null ? List.of() : courses, equivalences);
+        log.info("Course catalog rebuilt: version={}, courses={}", state.version, state.codes.length);
+    }
+
+    public long getVersion() {
+        return state().version;
+    }
+
+    public int size() {
+        return state().codes.length;
+    }
+
+    /** All courses ordered by code. */
+    public List<Course> getAllCourses() {
+        return state().courses;
+    }
+
+    /** All course codes in ascending order. */
+    public List<String> getAllCodes() {
+        return state().codeList;
+    }
+
+    public boolean contains(String code) {
+        return state().indexByCode.containsKey(code);
+    }
+
+    public Optional<Course> findByCode(String code) {
+        CatalogState current = state();
+        Integer index = current.indexByCode.get(code);
+        return index == null ? Optional.empty() : Optional.of(current.courses.get(index));
+    }
+
+    /** Position of the course in the code-sorted catalog, or -1 if unknown. */
+    public int indexOf(String code) {
+        return state().indexByCode.getOrDefault(code, -1);
+    }
+
+    public String codeAt(int index) {
+        return state().codes[index];
+    }
+
+    public List<String> getCodesForTheme(int theme) {
+        return state().codesByTheme.getOrDefault(theme, List.of());
+    }
+
+    public List<Course> getCoursesForTheme(int theme) {
+        CatalogState current = state();
+        return current.codesByTheme.getOrDefault(theme, List.of()).stream()
+                .map(code -> current.courses.get(current.indexByCode.get(code)))
+                .toList();
+    }
+
+    public List<String> getLowerDivisionCodes() {
+        return state().lowerDivisionCodes;
+    }
+
+    public List<String> getUpperDivisionCodes() {
+        return state().upperDivisionCodes;
+    }
+
+    public List<String> getPhysedCodes() {
+        return state().physedCodes;
+    }
+
+    public Set<String> getPrerequisites(String code) {
+        return state().prerequisitesByCode.getOrDefault(code, Set.of());
+    }
+
+    public PrerequisiteGraph getPrerequisiteGraph() {
+        return state().prerequisiteGraph;
+    }
+
+    public boolean isLowerDivision(String code) {
+        CatalogState current = state();
+        Integer index = current.indexByCode.get(code);
+        return index != null ? current.lowerDivision.get(index) : isLowerDivisionCode(code);
+    }
+
+    public boolean isUpperDivision(String code) {
+        return !isLowerDivision(code);
+    }
+
+    static boolean isLowerDivisionCode(String courseCode) {
+        String code = courseCode.replaceAll("[^0-9]", "");
+        if (code.isEmpty()) return false;
+
+        try {
+            int number = Integer.parseInt(code);
+            return number < 200; // Lower division courses are numbered < 200
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private CatalogState state() {
+        CatalogState current = state;
+        if (current == null || current.generation != generation.get()) {
+            synchronized (this) {
+                current = state;
+                if (current == null || current.generation != generation.get()) {
+                    rebuild();
+                    current = state;
+                }
+            }
+        }
+        return current;
+    }
+
+    private static final class CatalogState {
+        private final long version;
+        private final long generation;
+        private final String[] codes;
+        private final List<String> codeList;
+        private final List<Course> courses;
+        private final Map<String, Integer> indexByCode;
+        private final Map<Integer, List<String>> codesByTheme;
+        private final BitSet lowerDivision;
+        private final List<String> lowerDivisionCodes;
+        private final List<String> upperDivisionCodes;
+        private final List<String> physedCodes;
+        private final Map<String, Set<String>> prerequisitesByCode;
+        private final PrerequisiteGraph prerequisiteGraph;
+
+        private CatalogState(long version, long generation, List<Course> loaded, Map<String, Set<String>> equivalences) {
+            this.version = version;
+            this.generation = generation;
+
+            Course[] sorted = loaded.stream()
+                    .sorted(Comparator.comparing(Course::getCode))
+                    .toArray(Course[]::new);
+
+            this.codes = new String[sorted.length];
+            this.lowerDivision = new BitSet(sorted.length);
+            Map<String, Integer> index = new HashMap<>();
+            Map<Integer, List<String>> byTheme = new HashMap<>();
+            Map<String, Set<String>> prerequisites = new HashMap<>();
+            List<String> lower = new ArrayList<>();
+            List<String> upper = new ArrayList<>();
+            List<String> physed = new ArrayList<>();
+
+            for (int i = 0; i < sorted.length; i++) {
+                Course course = sorted[i];
+                String code = course.getCode();
+                codes[i] = code;
+                index.put(code, i);
+
+                for (Integer theme : course.getThemes()) {
+                    List<String> themeCodes = byTheme.computeIfAbsent(theme, t -> new ArrayList<>());
+                    if (themeCodes.isEmpty() || !themeCodes.getLast().equals(code)) {
+                        themeCodes.add(code);
+                    }
+                }
+
+                if (isLowerDivisionCode(code)) {
+                    lowerDivision.set(i);
+                    lower.add(code);
+                } else {
+                    upper.add(code);
+                }
+
+                if (code.startsWith(PHYS_ED_PREFIX)) {
+                    physed.add(code);
+                }
+
+                if (!course.getPrerequisites().isEmpty()) {
+                    prerequisites.put(code, Set.copyOf(course.getPrerequisites()));
+                }
+            }
+
+            Map<Integer, List<String>> themeLists = new HashMap<>();
+            byTheme.forEach((theme, themeCodes) -> themeLists.put(theme, List.copyOf(themeCodes)));
+
+            this.codeList = List.of(codes);
+            this.courses = List.of(sorted);
+            this.indexByCode = Map.copyOf(index);
+            this.codesByTheme = Map.copyOf(themeLists);
+            this.lowerDivisionCodes = List.copyOf(lower);
+            this.upperDivisionCodes = List.copyOf(upper);
+            this.physedCodes = List.copyOf(physed);
+            this.prerequisitesByCode = Map.copyOf(prerequisites);
+            this.prerequisiteGraph = PrerequisiteGraph.of(courses, equivalences);
+        }
+    }
+}
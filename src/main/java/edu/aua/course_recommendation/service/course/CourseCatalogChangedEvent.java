@@ -0,0 +1,8 @@
+package edu.aua.course_recommendation.service.course;
+
+/**
+ * Published whenever base courses are created or deleted so the in-memory
+ * {@link CourseCatalog} can rebuild once the surrounding transaction commits.
+ */
+public record CourseCatalogChangedEvent() {
+}
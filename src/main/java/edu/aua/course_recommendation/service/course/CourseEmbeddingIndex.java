@@ -0,0 +1,163 @@
+package edu.aua.course_recommendation.service.course;
+
+import edu.aua.course_recommendation.entity.Course;
+
+import java.util.*;
+import java.util.regex.Pattern;
+
+/**
+ * TF-IDF embeddings of the catalog's titles and descriptions, for ranking courses without the
+ * Python recommender.
+ * <p>
+ * The vocabulary is the {@code maxTerms} terms that occur in the most courses. Every course is one
+ * L2-normalized row of a single row-major {@code float[]}, so scoring a candidate is one dot product
+ * over a contiguous slice and the whole matrix stays a few megabytes for the catalog.
+ */
+public final class CourseEmbeddingIndex {
+
+    private static final Pattern NON_WORD = Pattern.compile("[^a-z0-9]+");
+    private static final Set<String> STOP_WORDS = Set.of(
+            "and", "the", "for", "with", "this", "that", "are", "from", "will", "into", "their",
+            "course", "students", "student", "its", "how", "such", "also", "which", "these", "who");
+
+    private final long catalogVersion;
+    private final int dimensions;
+    private final Map<String, Integer> termIndex;
+    private final float[] idf;
+    private final Map<String, Integer> rowByCode;
+    private final Course[] courses;
+    private final float[] matrix;
+
+    private CourseEmbeddingIndex(long catalogVersion, Map<String, Integer> termIndex, float[] idf,
+                                 Map<String, Integer> rowByCode, Course[] courses, float[] matrix) {
+        this.catalogVersion = catalogVersion;
+        this.dimensions = idf.length;
+        this.termIndex = termIndex;
+        this.idf = idf;
+        this.rowByCode = rowByCode;
+        this.courses = courses;
+        this.matrix = matrix;
+    }
+
+    public static CourseEmbeddingIndex of(long catalogVersion, List<Course> catalog, int maxTerms) {
+        List<Map<String, Integer>> termCounts = new ArrayList<>(catalog.size());
+        Map<String, Integer> documentFrequency = new HashMap<>();
+        for (Course course : catalog) {
+            Map<String, Integer> counts = countTerms(
+                    Objects.toString(course.getTitle(), "") + " " + Objects.toString(course.getDescription(), ""));
+            termCounts.add(counts);
+            counts.keySet().forEach(term -> documentFrequency.merge(term, 1, Integer::sum));
+        }
+
+        // Ties are broken by term so that the same catalog always yields the same vocabulary
+        List<String> vocabulary = documentFrequency.entrySet().stream()
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                .limit(maxTerms)
+                .map(Map.Entry::getKey)
+                .toList();
+        Map<String, Integer> termIndex = new HashMap<>();
+        float[] idf = new float[vocabulary.size()];
+        for (int t = 0; t < vocabulary.size(); t++) {
+            String term = vocabulary.get(t);
+            termIndex.put(term, t);
+            idf[t] = (float) (Math.log((1.0 + catalog.size()) / (1.0 + documentFrequency.get(term))) + 1.0);
+        }
+
+        int dimensions = idf.length;
+        float[] matrix = new float[catalog.size() * dimensions];
+        Map<String, Integer> rowByCode = new HashMap<>();
+        for (int row = 0; row < catalog.size(); row++) {
+            rowByCode.put(catalog.get(row).getCode(), row);
+            weigh(termCounts.get(row), termIndex, idf, matrix, row * dimensions);
+        }
+        return new CourseEmbeddingIndex(catalogVersion, Map.copyOf(termIndex), idf, Map.copyOf(rowByCode),
+                catalog.toArray(Course[]::new), matrix);
+    }
+
+    public long getCatalogVersion() {
+        return catalogVersion;
+    }
+
+    public Optional<Course> findByCode(String code) {
+        Integer row = rowByCode.get(code);
+        return row == null ? Optional.empty() : Optional.of(courses[row]);
+    }
+
+    /** The free-text query as a unit vector; all zeros if none of its terms are in the vocabulary. */
+    public float[] embed(String text) {
+        float[] query = new float[dimensions];
+        weigh(countTerms(text == null ? "" : text), termIndex, idf, query, 0);
+        return query;
+    }
+
+    /** The normalized centroid of the given courses' rows; courses outside the catalog are ignored. */
+    public float[] profile(Collection<String> codes) {
+        float[] profile = new float[dimensions];
+        for (String code : codes) {
+            Integer row = rowByCode.get(code);
+            if (row == null) continue;
+            int offset = row * dimensions;
+            for (int i = 0; i < dimensions; i++) {
+                profile[i] += matrix[offset + i];
+            }
+        }
+        normalize(profile, 0, dimensions);
+        return profile;
+    }
+
+    /** Cosine similarity of the course to a query vector, or {@link Float#NaN} if it is not in the catalog. */
+    public float score(String code, float[] query) {
+        Integer row = rowByCode.get(code);
+        return row == null ? Float.NaN : dot(matrix, row * dimensions, query, dimensions);
+    }
+
+    // Four independent accumulators: the JIT will not reorder a float reduction by itself
+    static float dot(float[] matrix, int offset, float[] query, int length) {
+        float s0 = 0, s1 = 0, s2 = 0, s3 = 0;
+        int i = 0;
+        for (; i + 3 < length; i += 4) {
+            s0 += matrix[offset + i] * query[i];
+            s1 += matrix[offset + i + 1] * query[i + 1];
+            s2 += matrix[offset + i + 2] * query[i + 2];
+            s3 += matrix[offset + i + 3] * query[i + 3];
+        }
+        for (; i < length; i++) {
+            s0 += matrix[offset + i] * query[i];
+        }
+        return (s0 + s1) + (s2 + s3);
+    }
+
+    // Sublinear term frequency, so that one word repeated throughout a description does not dominate
+    private static void weigh(Map<String, Integer> counts, Map<String, Integer> termIndex, float[] idf,
+                              float[] target, int offset) {
+        counts.forEach((term, count) -> {
+            Integer t = termIndex.get(term);
+            if (t != null) {
+                target[offset + t] = (float) (1.0 + Math.log(count)) * idf[t];
+            }
+        });
+        normalize(target, offset, idf.length);
+    }
+
+    private static void normalize(float[] vector, int offset, int length) {
+        double norm = 0;
+        for (int i = offset; i < offset + length; i++) {
+            norm += vector[i] * vector[i];
+        }
+        if (norm == 0) return;
+        float scale = (float) (1.0 / Math.sqrt(norm));
+        for (int i = offset; i < offset + length; i++) {
+            vector[i] *= scale;
+        }
+    }
+
+    private static Map<String, Integer> countTerms(String text) {
+        Map<String, Integer> counts = new HashMap<>();
+        for (String token : NON_WORD.split(text.toLowerCase(Locale.ROOT))) {
+            if (token.length() >= 3 && !STOP_WORDS.contains(token)) {
+                counts.merge(token, 1, Integer::sum);
+            }
+        }
+        return counts;
+    }
+}
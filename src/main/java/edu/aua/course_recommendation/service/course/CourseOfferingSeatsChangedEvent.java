@@ -0,0 +1,17 @@
+package edu.aua.course_recommendation.service.course;
+
+import edu.aua.course_recommendation.model.SeatCount;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Published when re-ingesting offerings only changed their seat figures. Unlike
+ * {@link CourseOfferingsChangedEvent} this keeps the term indexes and pre-generated schedules,
+ * and only updates the {@link SeatAvailabilityIndex} once the surrounding transaction commits.
+ */
+public record CourseOfferingSeatsChangedEvent(List<SeatUpdate> updates) {
+
+    public record SeatUpdate(UUID offeringId, String year, String semester, SeatCount seats) {
+    }
+}
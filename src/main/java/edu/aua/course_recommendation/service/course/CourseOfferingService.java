@@ -11,11 +11,13 @@ import edu.aua.course_recommendation.repository.CourseOfferingRepository;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -29,6 +31,7 @@ public class CourseOfferingService {
     private final InstructorService instructorService;
     private final CourseOfferingRepository courseOfferingRepository;
     private final CourseMapper courseMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public CourseOffering createCourseOffering(CourseOfferingDto courseOfferingDto) {
@@ -50,18 +53,31 @@ public class CourseOfferingService {
         }
 
         CourseOffering courseOffering = createCourseOfferingWithBaseCourseAndInstructor(courseOfferingDto);
-        return courseOfferingRepository.save(courseOffering);
+        CourseOffering saved = courseOfferingRepository.save(courseOffering);
+        eventPublisher.publishEvent(new CourseOfferingsChangedEvent());
+        return saved;
     }
 
     @Transactional()
     public List<CourseOffering> createCourseOfferings(List<CourseOfferingDto> courseOfferingDtos) {
         List<CourseOffering> createdOfferings = new ArrayList<>();
+        List<CourseOfferingSeatsChangedEvent.SeatUpdate> seatUpdates = new ArrayList<>();
         for (CourseOfferingDto dto : courseOfferingDtos) {
             Optional<CourseOffering> existingOffering =
                     courseOfferingRepository.findByBaseCourse_CodeAndYearAndSemesterAndInstructor_NameAndSection(
                             dto.courseCode(), dto.year(), dto.semester(), dto.instructor(), dto.section());
 
             if (existingOffering.isPresent()) {
+                // Re-ingesting during registration mostly moves seat figures; those are updated in place
+                CourseOffering existing = existingOffering.get();
+                if (!Objects.equals(existing.getTakenSeats(), dto.takenSeats())
+                        || !Objects.equals(existing.getSpacesWaiting(), dto.spacesWaiting())) {
+                    existing.setTakenSeats(dto.takenSeats());
+                    existing.setSpacesWaiting(dto.spacesWaiting());
+                    seatUpdates.add(new CourseOfferingSeatsChangedEvent.SeatUpdate(
+                            existing.getId(), existing.getYear(), existing.getSemester(), existing.getSeatCount()));
+                    continue;
+                }
                 log.info("Skipping existing offering: code={}, year={}, semester={}, instructor={}, section={}",
                         dto.courseCode(), dto.year(), dto.semester(), dto.instructor(), dto.section());
                 continue;
@@ -71,7 +87,15 @@ public class CourseOfferingService {
             createdOfferings.add(courseOffering);
         }
 
-        return courseOfferingRepository.saveAll(createdOfferings);
+        List<CourseOffering> saved = courseOfferingRepository.saveAll(createdOfferings);
+        if (!seatUpdates.isEmpty()) {
+            log.info("Updated seat figures of {} existing offerings", seatUpdates.size());
+            eventPublisher.publishEvent(new CourseOfferingSeatsChangedEvent(seatUpdates));
+        }
+        if (!saved.isEmpty()) {
+            eventPublisher.publishEvent(new CourseOfferingsChangedEvent());
+        }
+        return saved;
     }
 
     private CourseOffering createCourseOfferingWithBaseCourseAndInstructor(CourseOfferingDto dto) {
@@ -116,6 +140,11 @@ public class CourseOfferingService {
         );
     }
 
+    @Transactional(readOnly = true)
+    public Optional<CourseOffering> findCourseOfferingById(UUID id) {
+        return courseOfferingRepository.findById(id);
+    }
+
     @Transactional(readOnly = true)
     public List<CourseOffering> getCourseOfferingsByCourseCodes(List<String> courseCodes) {
 
@@ -147,6 +176,7 @@ public class CourseOfferingService {
         }
 
         courseOfferingRepository.delete(offering);
+        eventPublisher.publishEvent(new CourseOfferingsChangedEvent());
     }
 
     @Transactional
@@ -165,6 +195,7 @@ public class CourseOfferingService {
         }
 
         courseOfferingRepository.deleteAll(allOfferings);
+        eventPublisher.publishEvent(new CourseOfferingsChangedEvent());
     }
 
     @Transactional(readOnly = true)
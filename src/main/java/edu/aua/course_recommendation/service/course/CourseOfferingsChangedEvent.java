@@ -0,0 +1,8 @@
+package edu.aua.course_recommendation.service.course;
+
+/**
+ * Published whenever course offerings are created or deleted so the shared
+ * {@link TermOfferingIndexCache} drops its indexes once the surrounding transaction commits.
+ */
+public record CourseOfferingsChangedEvent() {
+}
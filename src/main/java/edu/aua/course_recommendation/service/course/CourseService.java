@@ -7,6 +7,7 @@ import edu.aua.course_recommendation.exceptions.CourseNotFoundException;
 import edu.aua.course_recommendation.repository.CourseRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -19,6 +20,8 @@ import java.util.stream.Collectors;
 public class CourseService {
     
     private final CourseRepository courseRepository;
+    private final CourseCatalog courseCatalog;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional(readOnly = true)
     public Course getCourseByCode(String code) {
@@ -41,17 +44,15 @@ public class CourseService {
         return courseRepository.findByTheme(theme);
     }
 
-    @Transactional(readOnly = true)
     public List<Course> getLowerDivisionCourses() {
-        return courseRepository.findAll().stream()
-                .filter(course -> this.isLowerDivision(course.getCode()))
+        return courseCatalog.getAllCourses().stream()
+                .filter(course -> courseCatalog.isLowerDivision(course.getCode()))
                 .collect(Collectors.toList());
     }
 
-    @Transactional(readOnly = true)
     public List<Course> getUpperDivisionCourses() {
-        return courseRepository.findAll().stream()
-                .filter(course -> this.isUpperDivision(course.getCode()))
+        return courseCatalog.getAllCourses().stream()
+                .filter(course -> courseCatalog.isUpperDivision(course.getCode()))
                 .collect(Collectors.toList());
     }
 
@@ -72,11 +73,15 @@ public class CourseService {
 
         String prerequisites = courseDto.prerequisites();
         if (prerequisites != null && !prerequisites.isEmpty()) {
-            String[] prerequisiteCodes = prerequisites.split(",");
-            course.getPrerequisites().addAll(Arrays.asList(prerequisiteCodes));
+            Arrays.stream(prerequisites.split(","))
+                    .map(String::trim)
+                    .filter(prerequisite -> !prerequisite.isEmpty())
+                    .forEach(course.getPrerequisites()::add);
         }
 
-        return courseRepository.save(course);
+        Course saved = courseRepository.save(course);
+        eventPublisher.publishEvent(new CourseCatalogChangedEvent());
+        return saved;
     }
 
     @Transactional
@@ -102,7 +107,9 @@ public class CourseService {
             createdCourses.add(course);
         }
 
-        return courseRepository.saveAll(createdCourses);
+        List<Course> saved = courseRepository.saveAll(createdCourses);
+        eventPublisher.publishEvent(new CourseCatalogChangedEvent());
+        return saved;
     }
 
     @Transactional
@@ -111,16 +118,19 @@ public class CourseService {
             throw new CourseNotFoundException("Course not found with code: " + code);
         }
         courseRepository.deleteByCode(code);
+        eventPublisher.publishEvent(new CourseCatalogChangedEvent());
     }
 
     @Transactional
     public void deleteAllCourses() {
         courseRepository.deleteAll();
+        eventPublisher.publishEvent(new CourseCatalogChangedEvent());
     }
 
-    @Transactional
     public Set<Course> getAllPhysedCourses() {
-        return getAllCourses().stream().filter(course -> course.getCode().startsWith("FND110")).collect(Collectors.toSet());
+        return courseCatalog.getAllCourses().stream()
+                .filter(course -> course.getCode().startsWith(CourseCatalog.PHYS_ED_PREFIX))
+                .collect(Collectors.toSet());
     }
 
     @Transactional
@@ -129,19 +139,15 @@ public class CourseService {
     }
 
     public boolean isLowerDivision(String courseCode) {
-        String code = courseCode.replaceAll("[^0-9]", "");
-        if (code.isEmpty()) return false;
-
-        try {
-            int number = Integer.parseInt(code);
-            return number < 200; // Lower division courses are numbered < 200
-        } catch (NumberFormatException e) {
-            return false;
-        }
+        return courseCatalog.isLowerDivision(courseCode);
     }
 
     public boolean isUpperDivision(String courseCode) {
-        return !isLowerDivision(courseCode);
+        return courseCatalog.isUpperDivision(courseCode);
+    }
+
+    public PrerequisiteGraph getPrerequisiteGraph() {
+        return courseCatalog.getPrerequisiteGraph();
     }
 
     public String getCourseCodeById(UUID courseId) {
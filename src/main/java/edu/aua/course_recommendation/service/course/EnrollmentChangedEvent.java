@@ -0,0 +1,10 @@
+package edu.aua.course_recommendation.service.course;
+
+import java.util.UUID;
+
+/**
+ * Published whenever a student's enrollments change so cached audit results for that
+ * student can be invalidated once the surrounding transaction commits.
+ */
+public record EnrollmentChangedEvent(UUID studentId) {
+}
@@ -6,6 +6,7 @@ import edu.aua.course_recommendation.exceptions.CourseNotFoundException;
 import edu.aua.course_recommendation.exceptions.EnrollmentException;
 import edu.aua.course_recommendation.exceptions.UserNotFoundException;
 import edu.aua.course_recommendation.model.AcademicStanding;
+import edu.aua.course_recommendation.model.StudentAcademicSnapshot;
 import edu.aua.course_recommendation.repository.CourseRepository;
 import edu.aua.course_recommendation.repository.EnrollmentRepository;
 import edu.aua.course_recommendation.repository.UserRepository;
@@ -14,6 +15,7 @@ import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -24,12 +26,11 @@ import java.util.*;
 @RequiredArgsConstructor
 public class EnrollmentService {
 
-    private static final ThreadLocal<Set<String>> simulatedCompletedCourses = new ThreadLocal<>();
-
     private final UserService userService;
     private final EnrollmentRepository enrollmentRepository;
     private final CourseRepository courseRepository;
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public void enroll(final UUID studentId, final String courseCode, String grade, String year, String semester) {
@@ -57,6 +58,7 @@ public class EnrollmentService {
 
         enrollmentRepository.save(enrollment);
         calculateAcademicStanding(studentId);
+        eventPublisher.publishEvent(new EnrollmentChangedEvent(studentId));
     }
 
     @Transactional
@@ -76,34 +78,68 @@ public class EnrollmentService {
 
         enrollmentRepository.deleteByUserAndCourse(student, course);
         calculateAcademicStanding(studentId);
+        eventPublisher.publishEvent(new EnrollmentChangedEvent(studentId));
     }
 
     @Transactional(readOnly = true)
     public List<String> getCompletedCourseCodes(UUID studentId) {
-        List<String> actual = enrollmentRepository.findByUser_Id(studentId).stream()
+        return enrollmentRepository.findByUser_Id(studentId).stream()
                 .filter(e -> isPassingGrade(e.getGrade()))
                 .map(e -> e.getCourse().getCode())
                 .toList();
+    }
 
-        Set<String> simulated = simulatedCompletedCourses.get();
-        if (simulated != null) {
-            Set<String> union = new HashSet<>(actual);
-            union.addAll(simulated);
-            return new ArrayList<>(union);
-        }
+    @Transactional(readOnly = true)
+    public StudentAcademicSnapshot getAcademicSnapshot(UUID studentId) {
+        User student = userService.getUserById(studentId);
 
-        return actual;
+        return toSnapshot(student, enrollmentRepository.findWithCourseByUser_Id(studentId));
     }
 
-    // HELPERS
-    public void setSimulatedCompletedCourses(Set<String> simulated) {
-        simulatedCompletedCourses.set(simulated);
+    /**
+     * Builds snapshots for many students with a single enrollment query.
+     * Students without enrollments get an empty snapshot.
+     */
+    @Transactional(readOnly = true)
+    public Map<UUID, StudentAcademicSnapshot> getAcademicSnapshots(Collection<User> students) {
+        if (students.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<UUID, List<Enrollment>> enrollmentsByStudent = new HashMap<>();
+        List<UUID> studentIds = students.stream().map(User::getId).toList();
+        for (Enrollment enrollment : enrollmentRepository.findWithCourseByUser_IdIn(studentIds)) {
+            enrollmentsByStudent
+                    .computeIfAbsent(enrollment.getUser().getId(), id -> new ArrayList<>())
+                    .add(enrollment);
+        }
+
+        Map<UUID, StudentAcademicSnapshot> snapshots = new LinkedHashMap<>();
+        for (User student : students) {
+            snapshots.put(student.getId(), toSnapshot(student, enrollmentsByStudent.getOrDefault(student.getId(), List.of())));
+        }
+        return snapshots;
     }
 
-    public void clearSimulatedCompletedCourses() {
-        simulatedCompletedCourses.remove();
+    private StudentAcademicSnapshot toSnapshot(User student, List<Enrollment> enrollments) {
+        List<Course> completedCourses = enrollments.stream()
+                .filter(e -> isPassingGrade(e.getGrade()))
+                .map(Enrollment::getCourse)
+                .toList();
+
+        Set<String> completedCodes = new HashSet<>();
+        completedCourses.forEach(course -> completedCodes.add(course.getCode()));
+
+        return new StudentAcademicSnapshot(
+                student.getId(),
+                student.getAcademicStanding(),
+                student.getDepartment(),
+                completedCodes,
+                completedCourses
+        );
     }
 
+    // HELPERS
     // By default, each grade is set to "N/A"
     // So the hardcoded logic of NOT "F" and NOT "W" is used to determine if a grade is passing
     // Might be better to just assume each course selected by student is already passed
@@ -186,6 +222,7 @@ public class EnrollmentService {
 
         userRepository.save(student);
         calculateAcademicStanding(studentId);
+        eventPublisher.publishEvent(new EnrollmentChangedEvent(studentId));
     }
 
     @Transactional
@@ -197,15 +234,19 @@ public class EnrollmentService {
 
         enrollmentRepository.deleteAll(enrollments);
         calculateAcademicStanding(studentId);
+        eventPublisher.publishEvent(new EnrollmentChangedEvent(studentId));
     }
 
     public void dropAllEnrollments() {
         List<Enrollment> enrollments = enrollmentRepository.findAll();
         enrollmentRepository.deleteAll(enrollments);
+        Set<UUID> affectedStudents = new LinkedHashSet<>();
         for (Enrollment enrollment : enrollments) {
             User student = enrollment.getUser();
             calculateAcademicStanding(student.getId());
+            affectedStudents.add(student.getId());
         }
+        affectedStudents.forEach(id -> eventPublisher.publishEvent(new EnrollmentChangedEvent(id)));
     }
 
     @RequiredArgsConstructor
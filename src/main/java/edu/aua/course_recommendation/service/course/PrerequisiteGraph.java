@@ -0,0 +1,175 @@
+package edu.aua.course_recommendation.service.course;
+
+import edu.aua.course_recommendation.entity.Course;
+
+import java.util.*;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+/**
+ * The catalog's prerequisites compiled once into bitsets over course positions.
+ * <p>
+ * Every stored prerequisite of a course is a clause that must be met (AND). A clause lists
+ * alternatives separated by "or", "/" or "|" (OR), and an alternative naming an equivalence key
+ * such as {@code EQCALC1} stands for every course in that group. Each clause becomes a bitset of
+ * the courses that satisfy it, so checking a course against a student's completed courses is one
+ * {@link BitSet#intersects} per clause.
+ * <p>
+ * Catalog courses keep the positions {@link CourseCatalog#indexOf(String)} gives them; codes that
+ * only appear as prerequisites are numbered after them.
+ */
+public final class PrerequisiteGraph {
+
+    public static final PrerequisiteGraph EMPTY = of(List.of(), Map.of());
+
+    private static final Pattern ALTERNATIVES = Pattern.compile("\\s+(?i:or)\\s+|/|\\|");
+    private static final Pattern TOKENS = Pattern.compile("[^A-Za-z0-9]+");
+    private static final BitSet[] NO_CLAUSES = new BitSet[0];
+
+    private final Map<String, Integer> indexByCode;
+    private final String[] codes;
+    private final BitSet[][] clausesByIndex;
+    private final Map<String, Set<String>> equivalences;
+
+    private PrerequisiteGraph(Map<String, Integer> indexByCode, String[] codes, BitSet[][] clausesByIndex,
+                              Map<String, Set<String>> equivalences) {
+        this.indexByCode = indexByCode;
+        this.codes = codes;
+        this.clausesByIndex = clausesByIndex;
+        this.equivalences = equivalences;
+    }
+
+    /**
+     * @param courses      the catalog, in the order that numbers its courses
+     * @param equivalences the courses that each equivalence key stands for
+     */
+    public static PrerequisiteGraph of(List<Course> courses, Map<String, Set<String>> equivalences) {
+        Map<String, Integer> index = new HashMap<>();
+        List<String> codes = new ArrayList<>();
+        for (Course course : courses) {
+            index.put(course.getCode(), codes.size());
+            codes.add(course.getCode());
+        }
+
+        BitSet[][] clausesByIndex = new BitSet[courses.size()][];
+        for (int i = 0; i < courses.size(); i++) {
+            List<BitSet> clauses = new ArrayList<>();
+            for (String prerequisite : courses.get(i).getPrerequisites()) {
+                BitSet clause = new BitSet();
+                for (String alternative : ALTERNATIVES.split(prerequisite.trim())) {
+                    for (String code : resolve(alternative.trim(), equivalences)) {
+                        clause.set(index.computeIfAbsent(code, c -> {
+                            codes.add(c);
+                            return codes.size() - 1;
+                        }));
+                    }
+                }
+                if (!clause.isEmpty()) {
+                    clauses.add(clause);
+                }
+            }
+            clausesByIndex[i] = clauses.isEmpty() ? NO_CLAUSES : clauses.toArray(BitSet[]::new);
+        }
+        return new PrerequisiteGraph(Map.copyOf(index), codes.toArray(String[]::new), clausesByIndex,
+                Map.copyOf(equivalences));
+    }
+
+    // Keys may be decorated inconsistently by the registrar, so the first word of the alternative that is a key wins
+    private static Set<String> resolve(String alternative, Map<String, Set<String>> equivalences) {
+        if (alternative.isEmpty()) {
+            return Set.of();
+        }
+        for (String token : TOKENS.split(alternative)) {
+            Set<String> group = equivalences.get(token);
+            if (group != null) {
+                return group;
+            }
+        }
+        return Set.of(alternative);
+    }
+
+    /** The student's completed courses as a bitset for {@link #prerequisitesMet(String, BitSet)}. */
+    public BitSet toBitSet(Collection<String> completedCourseCodes) {
+        BitSet completed = new BitSet(codes.length);
+        for (String code : completedCourseCodes) {
+            Integer index = indexByCode.get(code);
+            if (index != null) {
+                completed.set(index);
+            }
+        }
+        return completed;
+    }
+
+    /** Whether the course was part of the catalog the graph was built from. */
+    public boolean contains(String code) {
+        Integer index = indexByCode.get(code);
+        return index != null && index < clausesByIndex.length;
+    }
+
+    public boolean hasPrerequisites(String code) {
+        return clauses(code).length > 0;
+    }
+
+    /** Courses outside the catalog have no known prerequisites and are always met. */
+    public boolean prerequisitesMet(String code, BitSet completed) {
+        for (BitSet clause : clauses(code)) {
+            if (!clause.intersects(completed)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** For one-off checks where building a bitset would cost more than it saves. */
+    public boolean prerequisitesMet(String code, Predicate<String> completed) {
+        for (BitSet clause : clauses(code)) {
+            boolean met = false;
+            for (int i = clause.nextSetBit(0); i >= 0 && !met; i = clause.nextSetBit(i + 1)) {
+                met = completed.test(codes[i]);
+            }
+            if (!met) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks stored prerequisites the graph was not built with, such as those of a course added
+     * after the catalog was loaded, with the same clause rules and equivalences.
+     */
+    public boolean prerequisitesMet(Collection<String> prerequisites, Predicate<String> completed) {
+        for (String prerequisite : prerequisites) {
+            boolean empty = true;
+            boolean met = false;
+            for (String alternative : ALTERNATIVES.split(prerequisite.trim())) {
+                for (String code : resolve(alternative.trim(), equivalences)) {
+                    empty = false;
+                    met |= completed.test(code);
+                }
+            }
+            if (!empty && !met) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Every course that can satisfy one of the course's prerequisites. */
+    public Set<String> prerequisiteCodes(String code) {
+        BitSet union = new BitSet();
+        for (BitSet clause : clauses(code)) {
+            union.or(clause);
+        }
+        Set<String> result = new HashSet<>();
+        for (int i = union.nextSetBit(0); i >= 0; i = union.nextSetBit(i + 1)) {
+            result.add(codes[i]);
+        }
+        return result;
+    }
+
+    private BitSet[] clauses(String code) {
+        Integer index = indexByCode.get(code);
+        return index == null || index >= clausesByIndex.length ? NO_CLAUSES : clausesByIndex[index];
+    }
+}
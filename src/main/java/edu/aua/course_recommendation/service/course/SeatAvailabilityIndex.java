@@ -0,0 +1,139 @@
+package edu.aua.course_recommendation.service.course;
+
+import edu.aua.course_recommendation.entity.CourseOffering;
+import edu.aua.course_recommendation.model.SeatCount;
+import edu.aua.course_recommendation.repository.CourseOfferingRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * Live seat figures of every section in a term, so schedule generation can steer students away
+ * from full sections.
+ * <p>
+ * A term is loaded with one query on first use. After that, re-ingesting offerings updates the
+ * affected sections' counters in place instead of reloading the term, so seat updates during
+ * registration never invalidate the shared {@link TermOfferingIndex}. Creating or deleting
+ * offerings drops every term, as the offering index does.
+ */
+@Slf4j
+@Component
+public class SeatAvailabilityIndex {
+
+    private final CourseOfferingRepository courseOfferingRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<String, Map<UUID, SectionSeats>> terms = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+
+    public SeatAvailabilityIndex(CourseOfferingRepository courseOfferingRepository,
+                                 PlatformTransactionManager transactionManager) {
+        this.courseOfferingRepository = courseOfferingRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    /** Current seat figures of the section, {@link SeatCount#UNKNOWN} if it is not known. */
+    public SeatCount getSeats(String year, String semester, UUID offeringId) {
+        SectionSeats seats = getTerm(year, semester).get(offeringId);
+        return seats == null ? SeatCount.UNKNOWN : seats.get();
+    }
+
+    /**
+     * Matches the term's sections that are not known to be full. Reads the live counters on every
+     * test, so a long-lived predicate sees later seat updates.
+     */
+    public Predicate<CourseOffering> openSections(String year, String semester) {
+        Map<UUID, SectionSeats> term = getTerm(year, semester);
+        return offering -> {
+            SectionSeats seats = term.get(offering.getId());
+            return seats == null || !seats.get().isFull();
+        };
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSeatsChanged(CourseOfferingSeatsChangedEvent event) {
+        for (CourseOfferingSeatsChangedEvent.SeatUpdate update : event.updates()) {
+            terms.compute(update.year() + "-" + update.semester(), (key, term) -> {
+                if (term == null) {
+                    // A load in flight may have read the old figures; it is used but not kept
+                    generation.incrementAndGet();
+                } else {
+                    term.computeIfAbsent(update.offeringId(), id -> new SectionSeats()).set(update.seats());
+                }
+                return term;
+            });
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOfferingsChanged(CourseOfferingsChangedEvent event) {
+        generation.incrementAndGet();
+        terms.clear();
+    }
+
+    private Map<UUID, SectionSeats> getTerm(String year, String semester) {
+        String key = year + "-" + semester;
+        Map<UUID, SectionSeats> term = terms.get(key);
+        if (term != null) {
+            return term;
+        }
+
+        long loadedAt = generation.get();
+        List<CourseOfferingRepository.OfferingSeats> rows = transactionTemplate.execute(status ->
+                courseOfferingRepository.findSeatsByYearAndSemester(year, semester));
+        Map<UUID, SectionSeats> loaded = new ConcurrentHashMap<>();
+        if (rows != null) {
+            for (CourseOfferingRepository.OfferingSeats row : rows) {
+                SectionSeats seats = new SectionSeats();
+                seats.set(new SeatCount(row.getSeatsTaken(), row.getSeatCapacity(), row.getSeatsWaiting()));
+                loaded.put(row.getId(), seats);
+            }
+        }
+        log.info("Seat availability loaded for {}: sections={}", key, loaded.size());
+
+        // Figures loaded while offerings or seats were changing are still used, but not kept.
+        // Checked inside compute so that a seat update cannot slip in between the check and the put.
+        Map<UUID, SectionSeats> kept = terms.compute(key, (k, existing) ->
+                existing != null ? existing : generation.get() == loadedAt ? loaded : null);
+        return kept != null ? kept : loaded;
+    }
+
+    /**
+     * One section's figures packed into a single atomic word, 21 bits each, so a reader never sees
+     * the taken seats of one update next to the capacity of another. Each figure is stored plus one,
+     * leaving zero for a figure Jenzabar did not report.
+     */
+    private static final class SectionSeats {
+        private static final int BITS = 21;
+        private static final long MASK = (1L << BITS) - 1;
+
+        private final AtomicLong packed = new AtomicLong();
+
+        void set(SeatCount seats) {
+            packed.set(pack(seats.taken()) | pack(seats.capacity()) << BITS | pack(seats.waiting()) << 2 * BITS);
+        }
+
+        SeatCount get() {
+            long value = packed.get();
+            return new SeatCount(unpack(value), unpack(value >>> BITS), unpack(value >>> 2 * BITS));
+        }
+
+        private static long pack(Integer figure) {
+            return figure == null ? 0 : Math.min(figure + 1L, MASK);
+        }
+
+        private static Integer unpack(long value) {
+            long figure = value & MASK;
+            return figure == 0 ? null : (int) figure - 1;
+        }
+    }
+}
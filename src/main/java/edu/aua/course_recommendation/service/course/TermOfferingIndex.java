@@ -0,0 +1,93 @@
+package edu.aua.course_recommendation.service.course;
+
+import edu.aua.course_recommendation.entity.CourseOffering;
+
+import java.util.*;
+import java.util.function.Predicate;
+
+/**
+ * Immutable view of everything offered in one term, shared by every student generating a
+ * schedule for it.
+ * <p>
+ * Offerings are grouped by course code, with each course's sections ordered by their first
+ * meeting of the week, and carry their base course, prerequisites, instructor and parsed
+ * time mask so nothing is loaded lazily once the index is built.
+ */
+public final class TermOfferingIndex {
+
+    private final String year;
+    private final String semester;
+    private final List<CourseOffering> offerings;
+    private final Map<String, List<CourseOffering>> sectionsByCode;
+    private final Predicate<CourseOffering> preferred;
+
+    private TermOfferingIndex(String year, String semester, List<CourseOffering> offerings,
+                              Map<String, List<CourseOffering>> sectionsByCode, Predicate<CourseOffering> preferred) {
+        this.year = year;
+        this.semester = semester;
+        this.offerings = offerings;
+        this.sectionsByCode = sectionsByCode;
+        this.preferred = preferred;
+    }
+
+    public static TermOfferingIndex of(String year, String semester, List<CourseOffering> offerings) {
+        Map<String, List<CourseOffering>> sections = new HashMap<>();
+        for (CourseOffering offering : offerings) {
+            // Parse the time mask now, while the index is still private to one thread
+            offering.getTimeMask();
+            sections.computeIfAbsent(offering.getBaseCourse().getCode(), code -> new ArrayList<>()).add(offering);
+        }
+
+        Map<String, List<CourseOffering>> sectionsByCode = new HashMap<>();
+        sections.forEach((code, list) -> {
+            list.sort(Comparator.comparingInt(off -> off.getTimeMask().earliestStartMinutes()));
+            sectionsByCode.put(code, List.copyOf(list));
+        });
+        return new TermOfferingIndex(year, semester, List.copyOf(offerings), Map.copyOf(sectionsByCode), null);
+    }
+
+    /**
+     * A view of this index that lists each course's preferred sections first, for example those
+     * with open seats. Both groups stay earliest first; nothing is copied up front.
+     */
+    public TermOfferingIndex preferring(Predicate<CourseOffering> preferred) {
+        return new TermOfferingIndex(year, semester, offerings, sectionsByCode, preferred);
+    }
+
+    /** Whether the section is among those this view lists first; every section is without a preference. */
+    public boolean isPreferred(CourseOffering section) {
+        return preferred == null || preferred.test(section);
+    }
+
+    public String getYear() {
+        return year;
+    }
+
+    public String getSemester() {
+        return semester;
+    }
+
+    public List<CourseOffering> getOfferings() {
+        return offerings;
+    }
+
+    /** Sections of the course offered this term, earliest first; empty if it is not offered. */
+    public List<CourseOffering> getSections(String code) {
+        List<CourseOffering> sections = sectionsByCode.getOrDefault(code, List.of());
+        if (preferred == null || sections.size() < 2) {
+            return sections;
+        }
+
+        List<CourseOffering> ordered = new ArrayList<>(sections.size());
+        List<CourseOffering> rest = new ArrayList<>();
+        for (CourseOffering section : sections) {
+            (preferred.test(section) ? ordered : rest).add(section);
+        }
+        ordered.addAll(rest);
+        return ordered;
+    }
+
+    public Set<String> getCourseCodes() {
+        return sectionsByCode.keySet();
+    }
+}
@@ -0,0 +1,74 @@
+package edu.aua.course_recommendation.service.course;
+
+import edu.aua.course_recommendation.entity.CourseOffering;
+import edu.aua.course_recommendation.repository.CourseOfferingRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Holds one {@link TermOfferingIndex} per term, built on first use with a single fetch-join
+ * query and dropped after any transaction that changes offerings or base courses commits.
+ */
+@Slf4j
+@Component
+public class TermOfferingIndexCache {
+
+    private final CourseOfferingRepository courseOfferingRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<String, TermOfferingIndex> indexes = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+
+    public TermOfferingIndexCache(CourseOfferingRepository courseOfferingRepository,
+                                  PlatformTransactionManager transactionManager) {
+        this.courseOfferingRepository = courseOfferingRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    public TermOfferingIndex getIndex(String year, String semester) {
+        String term = year + "-" + semester;
+        TermOfferingIndex index = indexes.get(term);
+        if (index != null) {
+            return index;
+        }
+
+        long loadedAt = generation.get();
+        long startedAt = System.nanoTime();
+        List<CourseOffering> offerings = transactionTemplate.execute(status ->
+                courseOfferingRepository.findWithCourseAndInstructorByYearAndSemester(year, semester));
+        index = TermOfferingIndex.of(year, semester, offerings == null ? List.of() : offerings);
+        log.info("Offering index built for {}: offerings={}, courses={}, took {} ms", term,
+                index.getOfferings().size(), index.getCourseCodes().size(), (System.nanoTime() - startedAt) / 1_000_000);
+
+        // An index loaded while offerings were changing is still returned, but not kept
+        if (generation.get() == loadedAt) {
+            TermOfferingIndex existing = indexes.putIfAbsent(term, index);
+            return existing != null ? existing : index;
+        }
+        return index;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOfferingsChanged(CourseOfferingsChangedEvent event) {
+        invalidate();
+    }
+
+    // Prerequisites and credits live on the base course, which the indexed offerings hold on to
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CourseCatalogChangedEvent event) {
+        invalidate();
+    }
+
+    private void invalidate() {
+        generation.incrementAndGet();
+        indexes.clear();
+    }
+}
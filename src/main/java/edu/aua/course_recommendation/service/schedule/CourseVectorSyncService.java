@@ -0,0 +1,165 @@
+package edu.aua.course_recommendation.service.schedule;
+
+import edu.aua.course_recommendation.dto.response.CourseVectorSyncResultDto;
+import edu.aua.course_recommendation.entity.Course;
+import edu.aua.course_recommendation.entity.CourseVectorSync;
+import edu.aua.course_recommendation.repository.CourseVectorSyncRepository;
+import edu.aua.course_recommendation.service.course.CourseCatalog;
+import edu.aua.course_recommendation.service.course.CourseCatalogChangedEvent;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Keeps the Python vector index in step with the catalog by sending only what changed.
+ * <p>
+ * {@code course_vector_sync} records every course as the index last received it: its id, which is
+ * the point id, and its {@link Course#getContentHash() content hash}. A sync compares that with the
+ * catalog. It first deletes the points of removed courses and of courses re-created under a new
+ * id, then upserts new and edited courses, in chunks. Each chunk's rows are written as soon as the
+ * recommender accepts it. Both calls are idempotent, so a sync that fails part-way simply resumes
+ * from the remaining delta next time.
+ * <p>
+ * After every catalog change, a sync is queued in the background. Syncs never overlap, and changes
+ * made while one is queued are covered by it.
+ */
+@Slf4j
+@Service
+public class CourseVectorSyncService {
+
+    private final CourseCatalog courseCatalog;
+    private final CourseVectorSyncRepository syncRepository;
+    private final PythonService pythonService;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final boolean syncOnCatalogChange;
+    private final ExecutorService executor;
+    private final AtomicBoolean queued = new AtomicBoolean();
+
+    public CourseVectorSyncService(CourseCatalog courseCatalog,
+                                   CourseVectorSyncRepository syncRepository,
+                                   PythonService pythonService,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${python.sync.chunk-size:100}") int chunkSize,
+                                   @Value("${python.sync.on-catalog-change:true}") boolean syncOnCatalogChange) {
+        this.courseCatalog = courseCatalog;
+        this.syncRepository = syncRepository;
+        this.pythonService = pythonService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.chunkSize = chunkSize;
+        this.syncOnCatalogChange = syncOnCatalogChange;
+        this.executor = Executors.newSingleThreadExecutor(
+                Thread.ofPlatform().name("course-vector-sync").daemon(true).factory());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CourseCatalogChangedEvent event) {
+        if (syncOnCatalogChange && queued.compareAndSet(false, true)) {
+            executor.submit(() -> {
+                queued.set(false);
+                try {
+                    sync();
+                } catch (RuntimeException e) {
+                    log.warn("Course vector sync failed; the remaining changes are sent with the next sync: {}",
+                            e.getMessage());
+                }
+            });
+        }
+    }
+
+    public synchronized CourseVectorSyncResultDto sync() {
+        Map<String, CourseVectorSync> synced = new HashMap<>();
+        for (CourseVectorSync row : syncRepository.findAll()) {
+            synced.put(row.getCourseCode(), row);
+        }
+
+        List<Course> changed = new ArrayList<>();
+        for (Course course : courseCatalog.getAllCourses()) {
+            CourseVectorSync row = synced.get(course.getCode());
+            if (row == null || !row.getCourseId().equals(course.getId())
+                    || !row.getContentHash().equals(course.getContentHash())) {
+                changed.add(course);
+            }
+        }
+        List<CourseVectorSync> stale = synced.values().stream()
+                .filter(row -> courseCatalog.findByCode(row.getCourseCode())
+                        .map(course -> !course.getId().equals(row.getCourseId()))
+                        .orElse(true))
+                .toList();
+        if (changed.isEmpty() && stale.isEmpty()) {
+            return new CourseVectorSyncResultDto(0, 0, false);
+        }
+
+        long startedAt = System.nanoTime();
+        try {
+            for (List<CourseVectorSync> chunk : chunks(stale)) {
+                pythonService.deleteCoursePoints(chunk.stream().map(CourseVectorSync::getCourseId).toList());
+                transactionTemplate.executeWithoutResult(status ->
+                        syncRepository.deleteAllByIdInBatch(chunk.stream().map(CourseVectorSync::getCourseCode).toList()));
+            }
+            for (List<Course> chunk : chunks(changed)) {
+                pythonService.upsertCourses(chunk);
+                transactionTemplate.executeWithoutResult(status -> syncRepository.saveAll(syncRows(chunk)));
+            }
+        } catch (HttpClientErrorException.NotFound e) {
+            log.warn("Python recommender has no delta endpoints; re-sending the whole catalog");
+            resendAll();
+            return new CourseVectorSyncResultDto(courseCatalog.size(), stale.size(), true);
+        }
+        log.info("Course vectors synced: {} upserted, {} deleted in {} ms", changed.size(), stale.size(),
+                (System.nanoTime() - startedAt) / 1_000_000);
+        return new CourseVectorSyncResultDto(changed.size(), stale.size(), false);
+    }
+
+    /** Re-embeds the whole catalog, after which every course counts as synced. */
+    public synchronized String resendAll() {
+        List<Course> courses = courseCatalog.getAllCourses();
+        String response = pythonService.sendCourses();
+        transactionTemplate.executeWithoutResult(status -> {
+            syncRepository.deleteAllInBatch();
+            syncRepository.saveAll(syncRows(courses));
+        });
+        return response;
+    }
+
+    /** Empties the index, after which the next sync sends every course. */
+    public synchronized ResponseEntity<String> deleteAll() {
+        ResponseEntity<String> response = pythonService.deletePoints();
+        transactionTemplate.executeWithoutResult(status -> syncRepository.deleteAllInBatch());
+        return response;
+    }
+
+    private <T> List<List<T>> chunks(List<T> items) {
+        List<List<T>> chunks = new ArrayList<>();
+        for (int from = 0; from < items.size(); from += chunkSize) {
+            chunks.add(items.subList(from, Math.min(items.size(), from + chunkSize)));
+        }
+        return chunks;
+    }
+
+    private static List<CourseVectorSync> syncRows(List<Course> courses) {
+        Instant now = Instant.now();
+        return courses.stream()
+                .map(course -> new CourseVectorSync(course.getCode(), course.getId(), course.getContentHash(), now))
+                .toList();
+    }
+}
@@ -0,0 +1,364 @@
+package edu.aua.course_recommendation.service.schedule;
+
+import edu.aua.course_recommendation.dto.response.GraduationPlanDto;
+import edu.aua.course_recommendation.dto.response.PlannedTermDto;
+import edu.aua.course_recommendation.entity.Course;
+import edu.aua.course_recommendation.model.*;
+import edu.aua.course_recommendation.repository.CourseOfferingRepository;
+import edu.aua.course_recommendation.service.audit.BaseDegreeAuditService;
+import edu.aua.course_recommendation.service.audit.DegreeAuditServiceRouter;
+import edu.aua.course_recommendation.service.auth.UserService;
+import edu.aua.course_recommendation.service.course.CourseCatalog;
+import edu.aua.course_recommendation.util.AcademicCalendarUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+import static edu.aua.course_recommendation.service.schedule.ScheduleService.MAX_CREDITS_PER_REGISTRATION;
+
+/**
+ * Plans the remaining terms of a student's degree.
+ * <p>
+ * Future terms are projected with {@link AcademicCalendarUtil}; a course is assumed to be
+ * offered in a future term if offerings for that exact term are already published, or
+ * otherwise if it has historically been offered in that semester. The search is a beam
+ * search over terms: every state is the student's record plus the courses planned so far,
+ * each term is filled from the audit's open requirements (courses that unlock other needed
+ * courses first), and the first term count at which some state passes the full audit is the
+ * answer. Everything runs in memory against one snapshot and one offering-history query.
+ */
+@Slf4j
+@Service
+public class GraduationPlannerService {
+
+    static final int MAX_TERMS = 16;
+    private static final int BEAM_WIDTH = 6;
+    private static final int BRANCHING = 4;
+
+    // Requirements in the order their courses are preferred when filling a term
+    private static final List<Requirement> FILL_ORDER = List.of(
+            Requirement.FOUNDATION,
+            Requirement.CORE,
+            Requirement.TRACK,
+            Requirement.GENERAL_EDUCATION,
+            Requirement.FIRST_AID_AND_CIVIL_DEFENSE,
+            Requirement.PEER_MENTORING,
+            Requirement.PHYSICAL_EDUCATION,
+            Requirement.FREE_ELECTIVE);
+
+    // Requirements with a fixed list of courses; only these drive the "unlocks other courses" priority
+    private static final Set<Requirement> STRUCTURED = EnumSet.of(
+            Requirement.FOUNDATION, Requirement.CORE, Requirement.TRACK, Requirement.CAPSTONE);
+
+    private static final Comparator<PlanState> BEAM_ORDER = Comparator
+            .comparingInt(PlanState::remaining)
+            .thenComparingInt(state -> state.terms().size())
+            .thenComparingInt(PlanState::plannedCredits);
+
+    private final DegreeAuditServiceRouter degreeAuditServiceRouter;
+    private final CourseOfferingRepository courseOfferingRepository;
+    private final CourseCatalog courseCatalog;
+    private final UserService userService;
+    private final Duration timeBudget;
+
+    public GraduationPlannerService(DegreeAuditServiceRouter degreeAuditServiceRouter,
+                                    CourseOfferingRepository courseOfferingRepository,
+                                    CourseCatalog courseCatalog,
+                                    UserService userService,
+                                    @Value("${graduation-planner.time-budget:PT0.5S}") Duration timeBudget) {
+        this.degreeAuditServiceRouter = degreeAuditServiceRouter;
+        this.courseOfferingRepository = courseOfferingRepository;
+        this.courseCatalog = courseCatalog;
+        this.userService = userService;
+        this.timeBudget = timeBudget;
+    }
+
+    public GraduationPlanDto planGraduation(UUID studentId, boolean includeSummer) {
+        userService.validateStudent(studentId);
+
+        BaseDegreeAuditService auditService = degreeAuditServiceRouter.getServiceForStudent(studentId);
+        StudentAcademicSnapshot snapshot = auditService.loadSnapshot(studentId);
+        OfferingHistory history = OfferingHistory.of(courseOfferingRepository.findAllOfferedTerms());
+
+        String[] firstTerm = AcademicCalendarUtil.getNextAcademicPeriod();
+        if (!includeSummer && AcademicCalendarUtil.Semester.SUMMER.getValue().equals(firstTerm[1])) {
+            firstTerm = AcademicCalendarUtil.getFollowingAcademicPeriod(firstTerm[0], firstTerm[1], false);
+        }
+
+        return plan(auditService, snapshot, history, firstTerm, includeSummer, System.nanoTime() + timeBudget.toNanos());
+    }
+
+    GraduationPlanDto plan(BaseDegreeAuditService auditService,
+                           StudentAcademicSnapshot snapshot,
+                           OfferingHistory history,
+                           String[] firstTerm,
+                           boolean includeSummer,
+                           long deadlineNanos) {
+        long startedAt = System.nanoTime();
+
+        PlanState best = PlanState.initial(auditService, snapshot);
+        List<PlanState> beam = List.of(best);
+        String[] term = firstTerm;
+
+        for (int depth = 0; depth <= MAX_TERMS; depth++) {
+            // Every state in the beam has the same number of terms, so the first goal found is a minimum-term plan
+            Optional<PlanState> graduated = beam.stream()
+                    .filter(PlanState::graduated)
+                    .min(Comparator.comparingInt(PlanState::plannedCredits));
+            if (graduated.isPresent()) {
+                log.info("Graduation plan for student {}: {} terms, found in {} ms", snapshot.studentId(),
+                        graduated.get().terms().size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+                return toDto(snapshot.studentId(), graduated.get(), true);
+            }
+            if (depth == MAX_TERMS || System.nanoTime() - deadlineNanos > 0) {
+                break;
+            }
+
+            Map<Set<String>, PlanState> next = new HashMap<>();
+            for (PlanState state : beam) {
+                for (List<Course> selection : selections(auditService, state, history, term)) {
+                    PlanState successor = state.advance(auditService, term, selection);
+                    next.merge(successor.snapshot().completedCourseCodes(), successor,
+                            (a, b) -> BEAM_ORDER.compare(a, b) <= 0 ? a : b);
+                }
+                if (System.nanoTime() - deadlineNanos > 0) {
+                    break;
+                }
+            }
+
+            beam = next.values().stream().sorted(BEAM_ORDER).limit(BEAM_WIDTH).toList();
+            if (!beam.isEmpty() && BEAM_ORDER.compare(beam.getFirst(), best) < 0) {
+                best = beam.getFirst();
+            }
+            term = AcademicCalendarUtil.getFollowingAcademicPeriod(term[0], term[1], includeSummer);
+        }
+
+        log.info("No complete graduation plan for student {} within {} terms / {} ms; {} requirements left",
+                snapshot.studentId(), MAX_TERMS, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt),
+                best.remaining());
+        return toDto(snapshot.studentId(), best, false);
+    }
+
+    /**
+     * A few alternative course selections for the given term: the greedy fill, and fills that
+     * leave out one of the top candidates so the beam does not collapse onto one path.
+     */
+    private List<List<Course>> selections(BaseDegreeAuditService auditService, PlanState state,
+                                          OfferingHistory history, String[] term) {
+        List<Candidate> candidates = candidates(auditService, state, history, term);
+
+        List<List<Course>> selections = new ArrayList<>();
+        Set<Set<String>> seen = new HashSet<>();
+        for (int skip = -1; skip < Math.min(BRANCHING - 1, candidates.size()); skip++) {
+            List<Course> selection = fill(auditService, state, history, term, candidates, skip);
+            Set<String> codes = new HashSet<>();
+            selection.forEach(course -> codes.add(course.getCode()));
+            if (seen.add(codes)) {
+                selections.add(selection);
+            }
+        }
+        return selections;
+    }
+
+    private List<Course> fill(BaseDegreeAuditService auditService, PlanState state, OfferingHistory history,
+                              String[] term, List<Candidate> candidates, int skip) {
+        List<Course> selection = new ArrayList<>();
+        Map<Requirement, Integer> taken = new EnumMap<>(Requirement.class);
+        int credits = 0;
+
+        for (int i = 0; i < candidates.size(); i++) {
+            Candidate candidate = candidates.get(i);
+            if (i == skip
+                    || taken.getOrDefault(candidate.requirement(), 0) >= candidate.needed()
+                    || credits + candidate.course().getCredits() > MAX_CREDITS_PER_REGISTRATION) {
+                continue;
+            }
+            selection.add(candidate.course());
+            credits += candidate.course().getCredits();
+            taken.merge(candidate.requirement(), 1, Integer::sum);
+        }
+
+        // The capstone goes in once everything else is done or planned for this term
+        String capstoneCode = auditService.getCapstoneCode();
+        Optional<Course> capstone = courseCatalog.findByCode(capstoneCode);
+        if (capstone.isPresent()
+                && credits + capstone.get().getCredits() <= MAX_CREDITS_PER_REGISTRATION
+                && isAvailable(capstone.get(), state, history, term)
+                && auditService.isAllElseDoneButCapstone(state.snapshot().withHypotheticalCompletions(selection))) {
+            selection.add(capstone.get());
+        }
+        return selection;
+    }
+
+    private List<Candidate> candidates(BaseDegreeAuditService auditService, PlanState state,
+                                       OfferingHistory history, String[] term) {
+        String capstoneCode = auditService.getCapstoneCode();
+
+        Map<String, Candidate> candidates = new LinkedHashMap<>();
+        Map<String, Integer> unlocks = new HashMap<>();
+        for (Requirement requirement : FILL_ORDER) {
+            RequirementResult result = openRequirement(auditService, state, requirement);
+            if (result == null) {
+                continue;
+            }
+            // GenEd's count also includes courses that do not help any cluster, so only credits bound it
+            int needed = requirement == Requirement.GENERAL_EDUCATION
+                    ? Integer.MAX_VALUE
+                    : Math.max(1, result.getHowManyLeft());
+            for (String code : result.getPossibleCourseCodes()) {
+                if (STRUCTURED.contains(requirement)) {
+                    courseCatalog.getPrerequisiteGraph().prerequisiteCodes(code).forEach(prerequisite ->
+                            unlocks.merge(prerequisite, 1, Integer::sum));
+                }
+                if (candidates.containsKey(code) || code.equals(capstoneCode)) {
+                    continue;
+                }
+                courseCatalog.findByCode(code)
+                        .filter(course -> isAvailable(course, state, history, term))
+                        .ifPresent(course -> candidates.put(code, new Candidate(course, requirement, needed)));
+            }
+        }
+        courseCatalog.getPrerequisiteGraph().prerequisiteCodes(capstoneCode).forEach(prerequisite ->
+                unlocks.merge(prerequisite, 1, Integer::sum));
+
+        // Stable sort: more unlocked courses first, then requirement order, then the audit's own order
+        List<Candidate> ordered = new ArrayList<>(candidates.values());
+        ordered.sort(Comparator
+                .comparingInt((Candidate candidate) -> -unlocks.getOrDefault(candidate.course().getCode(), 0))
+                .thenComparingInt(candidate -> FILL_ORDER.indexOf(candidate.requirement())));
+        return ordered;
+    }
+
+    private RequirementResult openRequirement(BaseDegreeAuditService auditService, PlanState state, Requirement requirement) {
+        DegreeAuditMultiScenarioResult audit = state.audit();
+        if (requirement != Requirement.TRACK) {
+            RequirementResult result = audit.findCommonRequirement(requirement);
+            return result.isSatisfied() ? null : result;
+        }
+
+        if (audit.getScenarios().stream().anyMatch(DegreeAuditScenario::isSatisfied)) {
+            return null;
+        }
+        DegreeScenarioType chosenTrack = auditService.pickChosenTrack(state.snapshot());
+        return audit.getScenarios().stream()
+                .filter(scenario -> scenario.getDegreeScenarioType() == chosenTrack)
+                .flatMap(scenario -> scenario.getScenarioRequirements().stream())
+                .filter(result -> !result.isSatisfied())
+                .findFirst()
+                .orElse(null);
+    }
+
+    private boolean isAvailable(Course course, PlanState state, OfferingHistory history, String[] term) {
+        String code = course.getCode();
+        if (state.snapshot().hasCompleted(code) || !history.isOffered(code, term[0], term[1])) {
+            return false;
+        }
+        if (courseCatalog.isUpperDivision(code)
+                && AcademicStanding.getStandingFromCredits(state.completedCredits()) == AcademicStanding.FRESHMAN) {
+            return false;
+        }
+        return courseCatalog.getPrerequisiteGraph().prerequisitesMet(code, state.snapshot()::hasCompleted);
+    }
+
+    private static GraduationPlanDto toDto(UUID studentId, PlanState state, boolean complete) {
+        return new GraduationPlanDto(studentId, complete, state.remaining(), state.terms());
+    }
+
+    private record Candidate(Course course, Requirement requirement, int needed) {}
+
+    private record PlanState(
+            StudentAcademicSnapshot snapshot,
+            DegreeAuditMultiScenarioResult audit,
+            int remaining,
+            int completedCredits,
+            int plannedCredits,
+            List<PlannedTermDto> terms
+    ) {
+
+        static PlanState initial(BaseDegreeAuditService auditService, StudentAcademicSnapshot snapshot) {
+            DegreeAuditMultiScenarioResult audit = auditService.audit(snapshot);
+            int credits = snapshot.completedCourses().stream().mapToInt(Course::getCredits).sum();
+            return new PlanState(snapshot, audit, countRemaining(audit), credits, 0, List.of());
+        }
+
+        PlanState advance(BaseDegreeAuditService auditService, String[] term, List<Course> selection) {
+            int termCredits = selection.stream().mapToInt(Course::getCredits).sum();
+            int credits = completedCredits + termCredits;
+
+            StudentAcademicSnapshot planned = snapshot.withHypotheticalCompletions(selection);
+            planned = new StudentAcademicSnapshot(
+                    planned.studentId(),
+                    AcademicStanding.getStandingFromCredits(credits),
+                    planned.department(),
+                    planned.completedCourseCodes(),
+                    planned.completedCourses());
+            DegreeAuditMultiScenarioResult plannedAudit = auditService.audit(planned);
+
+            List<PlannedTermDto> plannedTerms = new ArrayList<>(terms);
+            plannedTerms.add(new PlannedTermDto(term[0], term[1], termCredits,
+                    selection.stream().map(Course::getCode).toList()));
+
+            return new PlanState(planned, plannedAudit, countRemaining(plannedAudit), credits,
+                    plannedCredits + termCredits, List.copyOf(plannedTerms));
+        }
+
+        boolean graduated() {
+            return audit.isCanGraduateInAnyScenario();
+        }
+
+        // Lower bound-ish count of courses still missing: each open requirement needs at least one
+        private static int countRemaining(DegreeAuditMultiScenarioResult audit) {
+            int remaining = 0;
+            for (RequirementResult result : audit.getCommonRequirements()) {
+                if (!result.isSatisfied()) {
+                    remaining += Math.max(1, result.getHowManyLeft());
+                }
+            }
+            if (audit.getScenarios().stream().noneMatch(DegreeAuditScenario::isSatisfied)) {
+                remaining += audit.getScenarios().stream()
+                        .mapToInt(scenario -> scenario.getScenarioRequirements().stream()
+                                .filter(result -> !result.isSatisfied())
+                                .mapToInt(result -> Math.max(1, result.getHowManyLeft()))
+                                .sum())
+                        .min()
+                        .orElse(0);
+            }
+            return remaining;
+        }
+    }
+
+    /**
+     * Which courses run when: exact terms where offerings are published, otherwise the
+     * semesters each course has historically been offered in.
+     */
+    record OfferingHistory(Map<String, Set<String>> codesByTerm, Map<String, Set<String>> semestersByCode) {
+
+        static OfferingHistory of(List<CourseOfferingRepository.OfferedTerm> offeredTerms) {
+            Map<String, Set<String>> codesByTerm = new HashMap<>();
+            Map<String, Set<String>> semestersByCode = new HashMap<>();
+            for (CourseOfferingRepository.OfferedTerm offered : offeredTerms) {
+                codesByTerm.computeIfAbsent(termKey(offered.getYear(), offered.getSemester()), key -> new HashSet<>())
+                        .add(offered.getCode());
+                semestersByCode.computeIfAbsent(offered.getCode(), code -> new HashSet<>())
+                        .add(offered.getSemester());
+            }
+            return new OfferingHistory(codesByTerm, semestersByCode);
+        }
+
+        boolean isOffered(String code, String year, String semester) {
+            Set<String> published = codesByTerm.get(termKey(year, semester));
+            if (published != null) {
+                return published.contains(code);
+            }
+            return semestersByCode.getOrDefault(code, Set.of()).contains(semester);
+        }
+
+        private static String termKey(String year, String semester) {
+            return year + ":" + semester;
+        }
+    }
+}
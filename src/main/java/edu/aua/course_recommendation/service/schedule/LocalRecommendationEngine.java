@@ -0,0 +1,78 @@
+package edu.aua.course_recommendation.service.schedule;
+
+import edu.aua.course_recommendation.dto.response.RecommendationDto;
+import edu.aua.course_recommendation.entity.Course;
+import edu.aua.course_recommendation.service.course.CourseCatalog;
+import edu.aua.course_recommendation.service.course.CourseEmbeddingIndex;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/**
+ * Ranks candidates in-process with {@link CourseEmbeddingIndex}, so that schedules keep a meaningful
+ * order while the Python recommender is unreachable. Answers have the same shape as the recommender's,
+ * highest score first; candidates outside the catalog are left out.
+ * <p>
+ * The index is built on first use and again whenever the catalog version moves.
+ */
+@Slf4j
+@Component
+public class LocalRecommendationEngine {
+
+    private final CourseCatalog courseCatalog;
+    private final int maxTerms;
+
+    private volatile CourseEmbeddingIndex index;
+
+    public LocalRecommendationEngine(CourseCatalog courseCatalog,
+                                     @Value("${recommendation.local.max-terms:1024}") int maxTerms) {
+        this.courseCatalog = courseCatalog;
+        this.maxTerms = maxTerms;
+    }
+
+    public List<RecommendationDto> recommendByPassed(List<String> passedCourseCodes, List<String> possibleCourseCodes) {
+        CourseEmbeddingIndex current = index();
+        return rank(current, current.profile(passedCourseCodes), possibleCourseCodes);
+    }
+
+    public List<RecommendationDto> recommendByMessage(String message, List<String> possibleCourseCodes) {
+        CourseEmbeddingIndex current = index();
+        return rank(current, current.embed(message), possibleCourseCodes);
+    }
+
+    private static List<RecommendationDto> rank(CourseEmbeddingIndex index, float[] query, List<String> candidates) {
+        record Scored(Course course, float score) {}
+
+        List<Scored> scored = new ArrayList<>();
+        for (String code : new LinkedHashSet<>(candidates)) {
+            index.findByCode(code).ifPresent(course -> scored.add(new Scored(course, index.score(code, query))));
+        }
+        // Stable, so equally scored candidates keep the caller's order
+        scored.sort(Comparator.comparingDouble(Scored::score).reversed());
+        return scored.stream()
+                .map(s -> new RecommendationDto(Objects.toString(s.course().getId(), null), s.course().getCode(),
+                        s.course().getTitle(), s.course().getDescription(), Float.toString(s.score())))
+                .toList();
+    }
+
+    private CourseEmbeddingIndex index() {
+        long version = courseCatalog.getVersion();
+        CourseEmbeddingIndex current = index;
+        if (current != null && current.getCatalogVersion() == version) {
+            return current;
+        }
+        synchronized (this) {
+            current = index;
+            if (current == null || current.getCatalogVersion() != version) {
+                long startedAt = System.nanoTime();
+                current = CourseEmbeddingIndex.of(version, courseCatalog.getAllCourses(), maxTerms);
+                index = current;
+                log.info("Local course embeddings built: catalog version={}, courses={}, took {} ms",
+                        version, courseCatalog.size(), (System.nanoTime() - startedAt) / 1_000_000);
+            }
+            return current;
+        }
+    }
+}
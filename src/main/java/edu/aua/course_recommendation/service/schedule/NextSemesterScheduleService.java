@@ -6,19 +6,28 @@ import edu.aua.course_recommendation.entity.CourseOffering;
 import edu.aua.course_recommendation.entity.Schedule;
 import edu.aua.course_recommendation.entity.ScheduleSlot;
 import edu.aua.course_recommendation.model.*;
+import edu.aua.course_recommendation.repository.ScheduleRepository;
 import edu.aua.course_recommendation.service.audit.BaseDegreeAuditService;
+import edu.aua.course_recommendation.service.audit.DegreeAuditResultCache;
 import edu.aua.course_recommendation.service.audit.DegreeAuditServiceRouter;
 import edu.aua.course_recommendation.service.audit.GenedClusteringService;
 import edu.aua.course_recommendation.service.auth.UserService;
 import edu.aua.course_recommendation.service.course.CourseOfferingService;
-import edu.aua.course_recommendation.service.course.CourseService;
+import edu.aua.course_recommendation.service.course.CourseCatalog;
 import edu.aua.course_recommendation.service.course.EnrollmentService;
+import edu.aua.course_recommendation.service.course.SeatAvailabilityIndex;
+import edu.aua.course_recommendation.service.course.TermOfferingIndex;
+import edu.aua.course_recommendation.service.course.TermOfferingIndexCache;
+import edu.aua.course_recommendation.service.schedule.scoring.ScheduleScoringEngine;
 import edu.aua.course_recommendation.util.AcademicCalendarUtil;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.stream.Collectors;
 
 import static edu.aua.course_recommendation.service.schedule.ScheduleService.MAX_CREDITS_PER_REGISTRATION;
@@ -30,68 +39,130 @@ public class NextSemesterScheduleService {
 
     private final EnrollmentService enrollmentService;
     private final DegreeAuditServiceRouter degreeAuditServiceRouter;
+    private final DegreeAuditResultCache degreeAuditResultCache;
     private final CourseOfferingService courseOfferingService;
+    private final TermOfferingIndexCache termOfferingIndexCache;
+    private final SeatAvailabilityIndex seatAvailabilityIndex;
     private final GenedClusteringService genedClusteringService;
-    private final CourseService courseService;
+    private final CourseCatalog courseCatalog;
     private final UserService userService;
     private final ScheduleService scheduleService;
+    private final ScheduleScoringEngine scheduleScoringEngine;
     private final PythonService pythonService;
+    private final ScheduleRepository scheduleRepository;
+
+    private static final String ELECTIVE_POOL = "free-electives";
+
+    private record GenEdPool(NeededCluster cluster, List<Course> courses) {
+        String name() {
+            return "theme-" + cluster.getTheme();
+        }
+    }
 
     public Schedule generateNextSemesterCustom(UUID studentId, String year, String semester) {
+        return generateNextSemesterCustom(studentId, year, semester, true, SchedulePreferences.NONE);
+    }
+
+    /**
+     * @param preferOpenSections pick sections with seats left over earlier but full ones, falling back
+     *                           to full sections only when nothing else fits
+     * @param preferences        how to choose between the sections of a course, see ScheduleScoringEngine
+     */
+    public Schedule generateNextSemesterCustom(UUID studentId, String year, String semester,
+                                               boolean preferOpenSections, SchedulePreferences preferences) {
         userService.validateStudent(studentId);
 
-        List<CourseOffering> nextSemesterOfferings = courseOfferingService.
-                getCourseOfferingsByYearAndSemester(year, semester);
+        // Served instantly when the registration-rush job already generated this term's schedule, unless
+        // the student asked for something it did not consider or one of its sections has filled up since
+        if (preferences.isNone()) {
+            Optional<Schedule> pregenerated = scheduleRepository
+                    .findFirstByStudentIdAndGeneratedFor(studentId, SchedulePregenerationService.termKey(year, semester));
+            if (pregenerated.isPresent() && !(preferOpenSections && hasFullSection(pregenerated.get(), year, semester))) {
+                return pregenerated.get();
+            }
+        }
 
-        Set<String> completedCodes = new HashSet<>(enrollmentService.getCompletedCourseCodes(studentId));
-        List<CourseOffering> available = nextSemesterOfferings.stream()
-                .filter(off -> !completedCodes.contains(off.getBaseCourse().getCode()))
-                .toList();
+        // The term's offerings are indexed once and shared by every student generating a schedule for it;
+        // completed courses are skipped per lookup in findOffering
+        TermOfferingIndex available = termOfferingIndexCache.getIndex(year, semester);
+        if (preferOpenSections) {
+            available = available.preferring(seatAvailabilityIndex.openSections(year, semester));
+        }
+
+        // Enrollments are loaded once and reused by every step below
+        StudentAcademicSnapshot snapshot = enrollmentService.getAcademicSnapshot(studentId);
+
+        // Requirement results come from the cached audit, which only changes with the student's enrollments
+        DegreeAuditMultiScenarioResult audit = degreeAuditResultCache.getAudit(studentId);
+
+        return generate(snapshot, audit, available, preferences);
+    }
 
+    /**
+     * Fills a schedule for the student from the term's offerings. Does no access checks and,
+     * given the snapshot and audit, no per-student queries except for first aid and
+     * recommendations; the bulk pre-generation job relies on that.
+     */
+    Schedule generate(StudentAcademicSnapshot snapshot, DegreeAuditMultiScenarioResult audit, TermOfferingIndex available,
+                      SchedulePreferences preferences) {
         List<ScheduleSlot> slots = new ArrayList<>();
         int currentCredits = 0;
 
+        // Every GenEd theme and the free electives are scored in one recommender round trip, which
+        // runs while the required courses are placed
+        List<GenEdPool> genEdPools = genEdPools(snapshot, audit);
+        CompletableFuture<Map<String, List<RecommendationDto>>> recommendations =
+                requestRecommendations(snapshot, audit, genEdPools);
+
         // TODO: We'll add a waiver check that sets completed to 4 if the student has a waiver for physed in audit service
-        currentCredits += addZeroCreditItems(slots, studentId, available, currentCredits);
+        currentCredits += addZeroCreditItems(slots, snapshot, audit, available, preferences, currentCredits);
 
-        currentCredits += addFoundationIfNeeded(slots, studentId, available, currentCredits);
+        currentCredits += addFoundationIfNeeded(slots, snapshot, audit, available, preferences, currentCredits);
 
-        currentCredits += addCoreCoursesIfNeeded(slots, studentId, available, currentCredits);
+        currentCredits += addCoreCoursesIfNeeded(slots, snapshot, audit, available, preferences, currentCredits);
 
-        currentCredits += addGenEdIfNeeded(slots, studentId, available, currentCredits);
+        currentCredits += addGenEdIfNeeded(slots, snapshot, genEdPools, recommendations, available, preferences, currentCredits);
 
-        currentCredits += addTrackIfNeeded(slots, studentId, available, currentCredits);
+        currentCredits += addTrackIfNeeded(slots, snapshot, audit, available, preferences, currentCredits);
 
-        currentCredits += addFreeElectiveIfNeeded(slots, studentId, available, currentCredits);
+        currentCredits += addFreeElectiveIfNeeded(slots, snapshot, audit, recommendations, available, preferences, currentCredits);
 
-        currentCredits += addCapstoneIfPossible(slots, studentId, available, currentCredits);
+        currentCredits += addCapstoneIfPossible(slots, snapshot, available, preferences, currentCredits);
 
         return Schedule.builder()
                 .id(UUID.randomUUID())
-                .studentId(studentId)
+                .studentId(snapshot.studentId())
                 .slots(slots)
                 .build();
     }
 
     public Schedule generateNextSemester(UUID studentId) {
+        return generateNextSemester(studentId, true, SchedulePreferences.NONE);
+    }
+
+    public Schedule generateNextSemester(UUID studentId, boolean preferOpenSections, SchedulePreferences preferences) {
         String[] nextPeriod = AcademicCalendarUtil.getNextAcademicPeriod();
         String year = nextPeriod[0];
         String semester = nextPeriod[1];
         log.info("Generating schedule for student {} for {}-{}", studentId, year, semester);
 
-        return generateNextSemesterCustom(studentId, year, semester);
+        return generateNextSemesterCustom(studentId, year, semester, preferOpenSections, preferences);
+    }
+
+    private boolean hasFullSection(Schedule schedule, String year, String semester) {
+        return schedule.getSlots().stream()
+                .anyMatch(slot -> seatAvailabilityIndex.getSeats(year, semester, slot.getOfferingId()).isFull());
     }
 
 
     // =============== 4. ZERO-CREDIT ITEMS ===============
     // =============== FIRST AID, CIVIL DEFENSE, PHYSICAL EDUCATION AND PEER MENTORING ===============
-    private int addZeroCreditItems(List<ScheduleSlot> slots, UUID studentId,
-                                   List<CourseOffering> available,
+    private int addZeroCreditItems(List<ScheduleSlot> slots, StudentAcademicSnapshot snapshot,
+                                   DegreeAuditMultiScenarioResult audit,
+                                   TermOfferingIndex available, SchedulePreferences preferences,
                                    int currentCredits) {
 
-        BaseDegreeAuditService auditService = degreeAuditServiceRouter.getServiceForStudent(studentId);
-
-        RequirementResult facd = auditService.checkFirstAidAndCivilDefense(studentId);
+        RequirementResult facd = audit.findCommonRequirement(Requirement.FIRST_AID_AND_CIVIL_DEFENSE);
 
         if (!facd.isSatisfied()) {
             // TODO: Doing this since there is no time conflict but ideally logic should be moved to findOffering replaced with a single findOffering call
@@ -110,11 +181,11 @@ public class NextSemesterScheduleService {
             }
         }
 
-        RequirementResult phed = auditService.checkPhysicalEducationRequirementsDetailed(studentId);
+        RequirementResult phed = audit.findCommonRequirement(Requirement.PHYSICAL_EDUCATION);
 
         if (!phed.isSatisfied()) {
             for (String peCode : phed.getPossibleCourseCodes()) {
-                Optional<CourseOffering> peOffering = scheduleService.findOffering(available, peCode, currentCredits, slots, studentId);
+                Optional<CourseOffering> peOffering = findOffering(available, preferences, snapshot, peCode, currentCredits, slots);
                 if (peOffering.isPresent()) {
                     slots.add(new ScheduleSlot(
                             peOffering.get().getId(),
@@ -128,14 +199,14 @@ public class NextSemesterScheduleService {
             }
         }
 
-        RequirementResult peerMentoring = auditService.checkPeerMentoringRequirement(studentId);
+        RequirementResult peerMentoring = audit.findCommonRequirement(Requirement.PEER_MENTORING);
         if (!peerMentoring.isSatisfied()) {
             String firstMissingPeer = peerMentoring.getPossibleCourseCodes().stream()
                     .findAny()
                     .orElse(null);
 
             if (firstMissingPeer != null) {
-                Optional<CourseOffering> peerOffering = scheduleService.findOffering(available, firstMissingPeer, currentCredits, slots, studentId);
+                Optional<CourseOffering> peerOffering = findOffering(available, preferences, snapshot, firstMissingPeer, currentCredits, slots);
                 peerOffering.ifPresent(courseOffering -> {
                     slots.add(new ScheduleSlot(
                             courseOffering.getId(),
@@ -155,16 +226,16 @@ public class NextSemesterScheduleService {
     // =============== 5. FOUNDATION ===============
     private int addFoundationIfNeeded(
             List<ScheduleSlot> slots,
-            UUID studentId,
-            List<CourseOffering> available,
+            StudentAcademicSnapshot snapshot,
+            DegreeAuditMultiScenarioResult audit,
+            TermOfferingIndex available, SchedulePreferences preferences,
             int currentCredits
     ) {
         if (currentCredits >= MAX_CREDITS_PER_REGISTRATION) {
             return 0;
         }
 
-        BaseDegreeAuditService auditService = degreeAuditServiceRouter.getServiceForStudent(studentId);
-        RequirementResult foundation = auditService.checkFoundationRequirementsDetailed(studentId);
+        RequirementResult foundation = audit.findCommonRequirement(Requirement.FOUNDATION);
 
         if (foundation.isSatisfied()) {
             return 0;
@@ -177,7 +248,7 @@ public class NextSemesterScheduleService {
             return 0;
         }
 
-        Optional<CourseOffering> off = scheduleService.findOffering(available, firstMissing, currentCredits, slots, studentId);
+        Optional<CourseOffering> off = findOffering(available, preferences, snapshot, firstMissing, currentCredits, slots);
         if (off.isPresent()) {
             slots.add(new ScheduleSlot(
                     off.get().getId(),
@@ -196,17 +267,16 @@ public class NextSemesterScheduleService {
     // =============== 6. CORE COURSES ===============
     private int addCoreCoursesIfNeeded(
             List<ScheduleSlot> slots,
-            UUID studentId,
-            List<CourseOffering> available,
+            StudentAcademicSnapshot snapshot,
+            DegreeAuditMultiScenarioResult audit,
+            TermOfferingIndex available, SchedulePreferences preferences,
             int currentCredits
     ) {
         if (currentCredits >= MAX_CREDITS_PER_REGISTRATION) {
             return 0;
         }
 
-        BaseDegreeAuditService auditService = degreeAuditServiceRouter.getServiceForStudent(studentId);
-
-        RequirementResult coreResult = auditService.checkProgramCore(studentId);
+        RequirementResult coreResult = audit.findCommonRequirement(Requirement.CORE);
         if (coreResult.isSatisfied()) {
             return 0;
         }
@@ -220,7 +290,7 @@ public class NextSemesterScheduleService {
             String code = missingCoreCodes.removeFirst();
             System.out.println("Trying to add core course: " + code);
 
-            Optional<CourseOffering> offOpt = scheduleService.findOffering(available, code, currentCredits, slots, studentId);
+            Optional<CourseOffering> offOpt = findOffering(available, preferences, snapshot, code, currentCredits, slots);
 
             if (offOpt.isPresent()) {
                 CourseOffering off = offOpt.get();
@@ -243,28 +313,20 @@ public class NextSemesterScheduleService {
     }
 
     // =============== 7. GENED REQUIREMENTS ===============
-    private int addGenEdIfNeeded(
-            List<ScheduleSlot> slots,
-            UUID studentId,
-            List<CourseOffering> available,
-            int currentCredits
-    ) {
-        if (currentCredits >= MAX_CREDITS_PER_REGISTRATION) {
-            return 0;
-        }
-
-        BaseDegreeAuditService auditService = degreeAuditServiceRouter.getServiceForStudent(studentId);
-
-        RequirementResult genEdResult = auditService.checkGeneralEducationRequirementsDetailed(studentId);
+    // One candidate pool per GenEd theme the student still needs, fewest missing courses first
+    private List<GenEdPool> genEdPools(StudentAcademicSnapshot snapshot, DegreeAuditMultiScenarioResult audit) {
+        RequirementResult genEdResult = audit.findCommonRequirement(Requirement.GENERAL_EDUCATION);
         if (genEdResult.isSatisfied()) {
-            return 0;
+            return List.of();
         }
 
-        List<Course> genEdCompleted = auditService.getStudentGenEdCompleted(studentId);
+        BaseDegreeAuditService auditService = degreeAuditServiceRouter.getServiceForDepartment(snapshot.department());
+
+        List<Course> genEdCompleted = auditService.getStudentGenEdCompleted(snapshot);
 
         Set<NeededCluster> neededClusters = genedClusteringService.findNeededClusters(genEdCompleted);
         if (neededClusters.isEmpty()) {
-            return 0;
+            return List.of();
         }
 
         neededClusters.forEach(cluster -> System.out.printf("Theme %d: needs %d total courses (Lower: %d, Upper: %d)%n",
@@ -275,14 +337,15 @@ public class NextSemesterScheduleService {
                 .sorted(Comparator.comparingInt(NeededCluster::getMissingTotal))
                 .toList();
 
+        List<GenEdPool> pools = new ArrayList<>();
         for (NeededCluster needed : sortedClusters) {
             int theme = needed.getTheme();
             int needLower = needed.getMissingLower();
             int needUpper = needed.getMissingUpper();
 
-            List<String> possibleGeneds = auditService.checkGeneralEducationRequirementsDetailed(studentId).getPossibleCourseCodes();
+            List<String> possibleGeneds = genEdResult.getPossibleCourseCodes();
             System.out.println("Possible GenEd courses: " + possibleGeneds);
-            List<Course> themeCourses = courseService.getCoursesByTheme(theme)
+            List<Course> themeCourses = courseCatalog.getCoursesForTheme(theme)
                     .stream()
                     .filter(course -> possibleGeneds.contains(course.getCode()))
                     // Let's prioritize humanities courses first
@@ -296,43 +359,52 @@ public class NextSemesterScheduleService {
                     })
                     .collect(Collectors.toList());
 
-            AcademicStanding standing = userService.getAcademicStanding(studentId);
-            if (standing == AcademicStanding.FRESHMAN) {
+            if (snapshot.academicStanding() == AcademicStanding.FRESHMAN) {
                 themeCourses = themeCourses.stream()
-                        .filter(c -> courseService.isLowerDivision(c.getCode()))
+                        .filter(c -> courseCatalog.isLowerDivision(c.getCode()))
                         .collect(Collectors.toList());
             } else {
                 if (needLower > 0) {
                     themeCourses = themeCourses.stream()
-                            .filter(c -> courseService.isLowerDivision(c.getCode()))
+                            .filter(c -> courseCatalog.isLowerDivision(c.getCode()))
                             .collect(Collectors.toList());
                 } else if (needUpper > 0) {
                     themeCourses = themeCourses.stream()
-                            .filter(c -> courseService.isUpperDivision(c.getCode()))
+                            .filter(c -> courseCatalog.isUpperDivision(c.getCode()))
                             .collect(Collectors.toList());
                 }
             }
 
             log.info("Theme {} courses: {}", theme, themeCourses);
+            pools.add(new GenEdPool(needed, themeCourses));
+        }
+        return pools;
+    }
 
-            List<Course> completedCourses = enrollmentService.getCompletedCourses(studentId);
-
-            if (!completedCourses.isEmpty()) {
-                List<RecommendationDto> pythonRecommends = new ArrayList<>();
-                try {
-                    pythonRecommends = pythonService.getRecommendationsWithPassedCourses(
-                            completedCourses.stream().map(Course::getCode).toList(),
-                            themeCourses.stream().map(Course::getCode).toList()
-                    );
-                    log.debug("Received {} Python recommendations for student {} in theme {}",
-                            pythonRecommends.size(), studentId, theme);
-                } catch (Exception e) {
-                    log.error("Failed to get Python recommendations for theme {}: {}", theme, e.getMessage(), e);
-                }
+    private int addGenEdIfNeeded(
+            List<ScheduleSlot> slots,
+            StudentAcademicSnapshot snapshot,
+            List<GenEdPool> genEdPools,
+            CompletableFuture<Map<String, List<RecommendationDto>>> recommendations,
+            TermOfferingIndex available, SchedulePreferences preferences,
+            int currentCredits
+    ) {
+        if (currentCredits >= MAX_CREDITS_PER_REGISTRATION) {
+            return 0;
+        }
+
+        for (GenEdPool pool : genEdPools) {
+            NeededCluster needed = pool.cluster();
+            int theme = needed.getTheme();
+            List<Course> themeCourses = pool.courses();
+
+            List<RecommendationDto> pythonRecommends = recommendationsFor(recommendations, pool.name());
+            if (!pythonRecommends.isEmpty()) {
+                log.debug("Received {} Python recommendations for student {} in theme {}",
+                        pythonRecommends.size(), snapshot.studentId(), theme);
 
                 for (RecommendationDto recommendation : pythonRecommends) {
-                    Optional<CourseOffering> offOpt = scheduleService.findOffering(
-                            available, recommendation.courseCode(), currentCredits, slots, studentId);
+                    Optional<CourseOffering> offOpt = findOffering(available, preferences, snapshot, recommendation.courseCode(), currentCredits, slots);
                     if (offOpt.isPresent()) {
                         CourseOffering off = offOpt.get();
                         slots.add(new ScheduleSlot(
@@ -351,8 +423,7 @@ public class NextSemesterScheduleService {
             // Fall back to picking the first one that matches if recommendations aren't available
             // or if no offerings were found for any recommendation
             for (Course base : themeCourses) {
-                Optional<CourseOffering> offOpt = scheduleService.findOffering(
-                        available, base.getCode(), currentCredits, slots, studentId);
+                Optional<CourseOffering> offOpt = findOffering(available, preferences, snapshot, base.getCode(), currentCredits, slots);
                 if (offOpt.isPresent()) {
                     CourseOffering off = offOpt.get();
                     slots.add(new ScheduleSlot(
@@ -373,26 +444,25 @@ public class NextSemesterScheduleService {
     }
 
     // =============== 8. TRACK ===============
-    private int addTrackIfNeeded(List<ScheduleSlot> slots, UUID studentId, List<CourseOffering> available, int currentCredits) {
+    private int addTrackIfNeeded(List<ScheduleSlot> slots, StudentAcademicSnapshot snapshot, DegreeAuditMultiScenarioResult audit, TermOfferingIndex available, SchedulePreferences preferences, int currentCredits) {
         if (currentCredits >= MAX_CREDITS_PER_REGISTRATION) {
             return 0;
         }
 
-        BaseDegreeAuditService auditService = degreeAuditServiceRouter.getServiceForStudent(studentId);
-
-        boolean atLeastOneTrackDone = auditService.checkProgramScenarios(studentId).stream()
-                .peek(DegreeAuditScenario::canGraduate)
+        boolean atLeastOneTrackDone = audit.getScenarios().stream()
                 .anyMatch(DegreeAuditScenario::isSatisfied);
 
         if (atLeastOneTrackDone) {
             return 0;
         }
 
-        DegreeScenarioType chosenTrack = auditService.pickChosenTrack(studentId);
+        BaseDegreeAuditService auditService = degreeAuditServiceRouter.getServiceForDepartment(snapshot.department());
+
+        DegreeScenarioType chosenTrack = auditService.pickChosenTrack(snapshot);
         List<String> missingTrackCodes = auditService.getTrackCourseCodes(chosenTrack);
 
         for (String trackCode : missingTrackCodes) {
-            Optional<CourseOffering> offOpt = scheduleService.findOffering(available, trackCode, currentCredits, slots, studentId);
+            Optional<CourseOffering> offOpt = findOffering(available, preferences, snapshot, trackCode, currentCredits, slots);
             if (offOpt.isPresent()) {
                 CourseOffering off = offOpt.get();
                 slots.add(new ScheduleSlot(
@@ -411,14 +481,16 @@ public class NextSemesterScheduleService {
     }
 
     // =============== 9. FREE ELECTIVE ===============
-    private int addFreeElectiveIfNeeded(List<ScheduleSlot> slots, UUID studentId, List<CourseOffering> available, int currentCredits) {
+    private int addFreeElectiveIfNeeded(List<ScheduleSlot> slots, StudentAcademicSnapshot snapshot, DegreeAuditMultiScenarioResult audit,
+                                        CompletableFuture<Map<String, List<RecommendationDto>>> recommendations,
+                                        TermOfferingIndex available, SchedulePreferences preferences, int currentCredits) {
         if (currentCredits >= MAX_CREDITS_PER_REGISTRATION) {
             return 0;
         }
 
-        BaseDegreeAuditService auditService = degreeAuditServiceRouter.getServiceForStudent(studentId);
+        UUID studentId = snapshot.studentId();
 
-        RequirementResult freeElective = auditService.checkFreeElectiveRequirements(studentId);
+        RequirementResult freeElective = audit.findCommonRequirement(Requirement.FREE_ELECTIVE);
 
         if (freeElective.isSatisfied()) {
             return 0;
@@ -426,24 +498,12 @@ public class NextSemesterScheduleService {
 
         List<String> possibleElectives = freeElective.getPossibleCourseCodes();
 
-        List<Course> completedCourses = enrollmentService.getCompletedCourses(studentId);
-
-        if (!completedCourses.isEmpty()) {
-
-            List<RecommendationDto> pythonRecommends = new ArrayList<>();
-            try {
-                pythonRecommends = pythonService.getRecommendationsWithPassedCourses(
-                        completedCourses.stream().map(Course::getCode).toList(),
-                        possibleElectives
-                );
-                log.debug("Received {} Python recommendations for free electives for student {}", pythonRecommends.size(), studentId);
-            } catch (Exception e) {
-                log.error("Failed to get Python recommendations for free electives: {}", e.getMessage(), e);
-            }
+        List<RecommendationDto> pythonRecommends = recommendationsFor(recommendations, ELECTIVE_POOL);
+        if (!pythonRecommends.isEmpty()) {
+            log.debug("Received {} Python recommendations for free electives for student {}", pythonRecommends.size(), studentId);
 
             for (RecommendationDto recommendation : pythonRecommends) {
-                Optional<CourseOffering> offOpt = scheduleService.findOffering(
-                        available, recommendation.courseCode(), currentCredits, slots, studentId);
+                Optional<CourseOffering> offOpt = findOffering(available, preferences, snapshot, recommendation.courseCode(), currentCredits, slots);
                 if (offOpt.isPresent()) {
                     CourseOffering off = offOpt.get();
                     slots.add(new ScheduleSlot(
@@ -462,7 +522,7 @@ public class NextSemesterScheduleService {
         // Fall back to picking the first available elective if recommendations aren't available
         // or if no offerings were found for any recommendation
         for (String courseCode : possibleElectives) {
-            Optional<CourseOffering> offOpt = scheduleService.findOffering(available, courseCode, currentCredits, slots, studentId);
+            Optional<CourseOffering> offOpt = findOffering(available, preferences, snapshot, courseCode, currentCredits, slots);
             if (offOpt.isPresent()) {
                 CourseOffering off = offOpt.get();
                 slots.add(new ScheduleSlot(
@@ -482,22 +542,19 @@ public class NextSemesterScheduleService {
     // =============== 10. CAPSTONE ===============
     private int addCapstoneIfPossible(
             List<ScheduleSlot> slots,
-            UUID studentId,
-            List<CourseOffering> available,
+            StudentAcademicSnapshot snapshot,
+            TermOfferingIndex available, SchedulePreferences preferences,
             int currentCredits
     ) {
         if (currentCredits >= MAX_CREDITS_PER_REGISTRATION) {
             return 0;
         }
 
-        BaseDegreeAuditService auditService = degreeAuditServiceRouter.getServiceForStudent(studentId);
-
-        Set<String> simulatedCompleted = getSimulatedCompletedCourseCodes(studentId, slots);
-        enrollmentService.setSimulatedCompletedCourses(simulatedCompleted);
+        BaseDegreeAuditService auditService = degreeAuditServiceRouter.getServiceForDepartment(snapshot.department());
 
-        boolean allElseDone = auditService.isAllElseDoneButCapstone(studentId);
-
-        enrollmentService.clearSimulatedCompletedCourses();
+        // Would everything but the capstone be done if the student passed what we picked so far?
+        StudentAcademicSnapshot withPlannedSlots = snapshot.withHypotheticalCompletions(getPlannedCourses(slots));
+        boolean allElseDone = auditService.isAllElseDoneButCapstone(withPlannedSlots);
 
         if (!allElseDone) {
             return 0;
@@ -505,7 +562,7 @@ public class NextSemesterScheduleService {
 
         String capstoneCode = auditService.getCapstoneCode();
 
-        Optional<CourseOffering> offOpt = scheduleService.findOffering(available, capstoneCode, currentCredits, slots, studentId);
+        Optional<CourseOffering> offOpt = findOffering(available, preferences, snapshot, capstoneCode, currentCredits, slots);
         if (offOpt.isPresent()) {
             CourseOffering off = offOpt.get();
             slots.add(new ScheduleSlot(
@@ -520,13 +577,66 @@ public class NextSemesterScheduleService {
         return 0;
     }
 
-    private Set<String> getSimulatedCompletedCourseCodes(UUID studentId, List<ScheduleSlot> slots) {
-        Set<String> union = new HashSet<>(enrollmentService.getCompletedCourseCodes(studentId));
+    private CompletableFuture<Map<String, List<RecommendationDto>>> requestRecommendations(
+            StudentAcademicSnapshot snapshot, DegreeAuditMultiScenarioResult audit, List<GenEdPool> genEdPools) {
+        Map<String, List<String>> pools = new LinkedHashMap<>();
+        for (GenEdPool pool : genEdPools) {
+            if (!pool.courses().isEmpty()) {
+                pools.put(pool.name(), pool.courses().stream().map(Course::getCode).toList());
+            }
+        }
+        RequirementResult freeElective = audit.findCommonRequirement(Requirement.FREE_ELECTIVE);
+        if (!freeElective.isSatisfied() && !freeElective.getPossibleCourseCodes().isEmpty()) {
+            pools.put(ELECTIVE_POOL, freeElective.getPossibleCourseCodes());
+        }
+
+        if (snapshot.completedCourses().isEmpty() || pools.isEmpty()) {
+            return CompletableFuture.completedFuture(Map.of());
+        }
+        return pythonService.getBatchRecommendationsWithPassedCoursesAsync(
+                snapshot.completedCourses().stream().map(Course::getCode).toList(), pools);
+    }
+
+    // An unavailable recommender only means falling back to the catalog order
+    private static List<RecommendationDto> recommendationsFor(
+            CompletableFuture<Map<String, List<RecommendationDto>>> recommendations, String pool) {
+        try {
+            return recommendations.join().getOrDefault(pool, List.of());
+        } catch (CompletionException | CancellationException e) {
+            log.error("Failed to get Python recommendations for {}: {}", pool, e.getMessage(), e);
+            return List.of();
+        }
+    }
+
+    /**
+     * The best fitting section of the course according to the scoring engine, only looking at full sections
+     * when no open one fits.
+     */
+    private Optional<CourseOffering> findOffering(TermOfferingIndex available, SchedulePreferences preferences,
+                                                  StudentAcademicSnapshot snapshot, String code, int currentCredits,
+                                                  List<ScheduleSlot> slots) {
+        if (snapshot.hasCompleted(code)) {
+            return Optional.empty();
+        }
+        List<CourseOffering> fitting = scheduleService.findFittingOfferings(
+                available.getSections(code), code, currentCredits, slots, snapshot);
+        if (fitting.size() < 2) {
+            return fitting.stream().findFirst();
+        }
+
+        List<CourseOffering> preferred = fitting.stream().filter(available::isPreferred).toList();
+        TimeMask booked = TimeMask.EMPTY;
         for (ScheduleSlot slot : slots) {
-            Course baseCourse = courseOfferingService.getBaseCourseByOfferingId(slot.getOfferingId());
-            union.add(baseCourse.getCode());
+            booked = booked.union(slot.getTimeMask());
         }
-        return union;
+        return scheduleScoringEngine.bestSection(preferred.isEmpty() ? fitting : preferred, booked, preferences);
+    }
+
+    private List<Course> getPlannedCourses(List<ScheduleSlot> slots) {
+        return slots.stream()
+                .map(slot -> courseCatalog.findByCode(slot.getCourseCode()))
+                .flatMap(Optional::stream)
+                .toList();
     }
 
 }
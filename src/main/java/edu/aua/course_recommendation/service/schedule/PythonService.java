@@ -1,31 +1,93 @@
 package edu.aua.course_recommendation.service.schedule;
 
+import edu.aua.course_recommendation.dto.request.BatchRecommendationRequestDto;
 import edu.aua.course_recommendation.dto.request.MessageAndPossibleCourseDto;
 import edu.aua.course_recommendation.dto.request.PassedAndPossibleCoursesDto;
+import edu.aua.course_recommendation.dto.response.BatchRecommendationDto;
 import edu.aua.course_recommendation.dto.response.CourseDto;
 import edu.aua.course_recommendation.dto.response.CourseResponseDto;
 import edu.aua.course_recommendation.dto.response.RecommendationDto;
+import edu.aua.course_recommendation.entity.Course;
 import edu.aua.course_recommendation.exceptions.RecommendationException;
 import edu.aua.course_recommendation.mappers.CourseMapper;
 import edu.aua.course_recommendation.service.course.CourseService;
-import lombok.RequiredArgsConstructor;
+import edu.aua.course_recommendation.config.PythonClientProperties;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.client5.http.classic.HttpClient;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.*;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
+/**
+ * Client for the Python recommender. Requests share a pool of kept-alive connections and are bounded
+ * by a connect timeout and a per-endpoint read timeout. Recommendation calls, which schedule
+ * generation makes while a student waits, also go through a circuit breaker. While it is open, or
+ * when the recommender cannot be reached or fails, candidates are ranked by the
+ * {@link LocalRecommendationEngine} instead. Every call is timed as {@code python.client.requests}.
+ * <p>
+ * Scores are cached by {@link RecommendationCache} until the catalog is next re-vectorized or its
+ * points are deleted. Local rankings are never cached.
+ */
+@Slf4j
 @Service
-@RequiredArgsConstructor
 public class PythonService {
 
-    private final RestTemplate restTemplate = new RestTemplate();
     private final CourseMapper courseMapper;
     private final CourseService courseService;
-    @Value("${python.service.url}")
-    private String pythonServiceEndpoint;
+    private final RestTemplate recommendRestTemplate;
+    private final RestTemplate bulkRestTemplate;
+    private final CircuitBreaker circuitBreaker;
+    private final MeterRegistry meterRegistry;
+    private final RecommendationCache recommendationCache;
+    private final LocalRecommendationEngine localRecommendationEngine;
+    private final String pythonServiceEndpoint;
+
+    public PythonService(CourseMapper courseMapper,
+                         CourseService courseService,
+                         HttpClient pythonHttpClient,
+                         CircuitBreaker pythonCircuitBreaker,
+                         PythonClientProperties properties,
+                         MeterRegistry meterRegistry,
+                         RecommendationCache recommendationCache,
+                         LocalRecommendationEngine localRecommendationEngine,
+                         @Value("${python.service.url}") String pythonServiceEndpoint) {
+        this.courseMapper = courseMapper;
+        this.courseService = courseService;
+        this.recommendRestTemplate = restTemplate(pythonHttpClient, properties.getRecommendTimeout());
+        this.bulkRestTemplate = restTemplate(pythonHttpClient, properties.getBulkTimeout());
+        this.circuitBreaker = pythonCircuitBreaker;
+        this.meterRegistry = meterRegistry;
+        this.recommendationCache = recommendationCache;
+        this.localRecommendationEngine = localRecommendationEngine;
+        this.pythonServiceEndpoint = pythonServiceEndpoint;
+    }
+
+    // Both templates share the client's connection pool; only the read timeout differs
+    private static RestTemplate restTemplate(HttpClient httpClient, Duration readTimeout) {
+        HttpComponentsClientHttpRequestFactory requestFactory = new HttpComponentsClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(readTimeout);
+        return new RestTemplate(requestFactory);
+    }
 
     public String sendCourses() {
         HttpHeaders headers = new HttpHeaders();
@@ -38,12 +100,36 @@ public class PythonService {
                         .map(courseMapper::toCourseResponseDto)
                         .toList(), headers);
 
-        ResponseEntity<String> response = restTemplate.exchange(pythonServiceEndpoint + "/api/vectorize",
-                HttpMethod.PUT, request, String.class);
+        ResponseEntity<String> response = timed("vectorize", () -> bulkRestTemplate.exchange(
+                pythonServiceEndpoint + "/api/vectorize", HttpMethod.PUT, request, String.class));
+        recommendationCache.invalidateAll();
 
         return response.getBody();
     }
 
+    /** Embeds the given courses, replacing their existing points; the rest of the index is kept. */
+    public void upsertCourses(List<Course> courses) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        HttpEntity<List<CourseResponseDto>> request =
+                new HttpEntity<>(courses.stream().map(courseMapper::toCourseResponseDto).toList(), headers);
+
+        timed("upsert", () -> bulkRestTemplate.exchange(
+                pythonServiceEndpoint + "/api/vectorize/upsert", HttpMethod.PUT, request, String.class));
+        recommendationCache.invalidateAll();
+    }
+
+    /** Deletes the points of the given courses; ids without a point are ignored. */
+    public void deleteCoursePoints(Collection<UUID> courseIds) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        HttpEntity<List<UUID>> request = new HttpEntity<>(List.copyOf(courseIds), headers);
+
+        timed("delete-points", () -> bulkRestTemplate.exchange(
+                pythonServiceEndpoint + "/api/delete/points/batch", HttpMethod.POST, request, String.class));
+        recommendationCache.invalidateAll();
+    }
+
     public List<RecommendationDto> sendMessageRecommendations(MessageAndPossibleCourseDto body) {
         HttpHeaders headers = new HttpHeaders();
         String URL = pythonServiceEndpoint + "/api/recommend/message";
@@ -51,16 +137,14 @@ public class PythonService {
         headers.setContentType(MediaType.APPLICATION_JSON);
         HttpEntity<MessageAndPossibleCourseDto> request = new HttpEntity<>(body, headers);
 
-        ResponseEntity<List<RecommendationDto>> response = restTemplate.exchange(
-                URL, HttpMethod.POST, request, new ParameterizedTypeReference<>() {
-                }
-        );
-
-        if (response.getStatusCode() != HttpStatus.OK || response.getBody() == null) {
-            throw new RecommendationException("Failed to fetch recommendations from Python with status code: "
-                    + response.getStatusCode());
+        try {
+            return recommendationCache.forMessage(body.message(), body.possibleCourseCodes())
+                    .get(() -> recommend("message", URL, request, new ParameterizedTypeReference<>() {
+                    }));
+        } catch (CallNotPermittedException | ResourceAccessException | HttpServerErrorException | RecommendationException e) {
+            logFallback(e);
+            return localRecommendationEngine.recommendByMessage(body.message(), body.possibleCourseCodes());
         }
-        return response.getBody();
     }
 
     public List<RecommendationDto> getRecommendationsWithPassedCourses(List<String> passedCourseCodes, List<String> possibleCourseCodes) {
@@ -75,16 +159,97 @@ public class PythonService {
         headers.setContentType(MediaType.APPLICATION_JSON);
         HttpEntity<PassedAndPossibleCoursesDto> request = new HttpEntity<>(courseCodes, headers);
 
-        ResponseEntity<List<RecommendationDto>> response = restTemplate.exchange(
-                URL, HttpMethod.POST, request, new ParameterizedTypeReference<>() {
-                }
-        );
+        try {
+            return recommendationCache.forPassedCourses(passedCourseCodes, possibleCourseCodes)
+                    .get(() -> recommend("byPassed", URL, request, new ParameterizedTypeReference<>() {
+                    }));
+        } catch (CallNotPermittedException | ResourceAccessException | HttpServerErrorException | RecommendationException e) {
+            logFallback(e);
+            return localRecommendationEngine.recommendByPassed(passedCourseCodes, possibleCourseCodes);
+        }
+    }
 
-        if (response.getStatusCode() != HttpStatus.OK && response.getBody() == null) {
-            throw new RecommendationException("Failed to fetch recommendations from Python with status code: "
-                    + response.getStatusCode());
+    /**
+     * Scores every pool against the same passed courses in one round trip; only pools without cached
+     * scores are sent. Pools the recommender returned nothing for are missing from the result.
+     */
+    public Map<String, List<RecommendationDto>> getBatchRecommendationsWithPassedCourses(
+            List<String> passedCourseCodes, Map<String, List<String>> pools) {
+        Map<String, List<RecommendationDto>> recommendations = new HashMap<>();
+        Map<String, RecommendationCache.Entry> uncached = new HashMap<>();
+        pools.forEach((pool, possible) -> {
+            RecommendationCache.Entry entry = recommendationCache.forPassedCourses(passedCourseCodes, possible);
+            entry.cached().ifPresentOrElse(scores -> recommendations.put(pool, scores), () -> uncached.put(pool, entry));
+        });
+        if (uncached.isEmpty()) {
+            return recommendations;
         }
-        return response.getBody();
+
+        Map<String, List<String>> requested = new HashMap<>(pools);
+        requested.keySet().retainAll(uncached.keySet());
+        BatchRecommendationRequestDto batch = BatchRecommendationRequestDto.builder()
+                .passed_course_codes(passedCourseCodes)
+                .pools(requested)
+                .build();
+
+        HttpHeaders headers = new HttpHeaders();
+        String URL = pythonServiceEndpoint + "/api/recommend/byPassed/batch";
+
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        HttpEntity<BatchRecommendationRequestDto> request = new HttpEntity<>(batch, headers);
+
+        try {
+            BatchRecommendationDto response = recommend("batch", URL, request, new ParameterizedTypeReference<>() {
+            });
+            if (response.pools() != null) {
+                response.pools().forEach((pool, scores) -> {
+                    RecommendationCache.Entry entry = uncached.get(pool);
+                    if (entry != null && scores != null) {
+                        entry.store(scores);
+                        recommendations.put(pool, scores);
+                    }
+                });
+            }
+        } catch (CallNotPermittedException | ResourceAccessException | HttpServerErrorException | RecommendationException e) {
+            logFallback(e);
+            requested.forEach((pool, possible) ->
+                    recommendations.put(pool, localRecommendationEngine.recommendByPassed(passedCourseCodes, possible)));
+        } catch (HttpClientErrorException.NotFound e) {
+            // A recommender that predates the batch endpoint still gets one request per pool
+            log.warn("Python recommender has no batch endpoint; requesting {} pools one by one", requested.size());
+            requested.forEach((pool, possible) ->
+                    recommendations.put(pool, getRecommendationsWithPassedCourses(passedCourseCodes, possible)));
+        }
+        return recommendations;
+    }
+
+    // Lets schedule generation place its required courses while the recommender works
+    @Async
+    public CompletableFuture<Map<String, List<RecommendationDto>>> getBatchRecommendationsWithPassedCoursesAsync(
+            List<String> passedCourseCodes, Map<String, List<String>> pools) {
+        return CompletableFuture.completedFuture(getBatchRecommendationsWithPassedCourses(passedCourseCodes, pools));
+    }
+
+    private static void logFallback(RuntimeException e) {
+        if (e instanceof CallNotPermittedException) {
+            log.debug("Python recommender circuit is open; ranking candidates locally");
+        } else if (e instanceof ResourceAccessException) {
+            log.warn("Python recommender unreachable, ranking candidates locally: {}", e.getMessage());
+        } else {
+            log.warn("Python recommender failed, ranking candidates locally: {}", e.getMessage());
+        }
+    }
+
+    private <T> T recommend(String endpoint, String url, HttpEntity<?> request, ParameterizedTypeReference<T> type) {
+        return circuitBreaker.executeSupplier(() -> timed(endpoint, () -> {
+            ResponseEntity<T> response = recommendRestTemplate.exchange(url, HttpMethod.POST, request, type);
+
+            if (response.getStatusCode() != HttpStatus.OK || response.getBody() == null) {
+                throw new RecommendationException("Failed to fetch recommendations from Python with status code: "
+                        + response.getStatusCode());
+            }
+            return response.getBody();
+        }));
     }
 
     public ResponseEntity<String> deletePoints() {
@@ -95,11 +260,13 @@ public class PythonService {
         HttpEntity<String> request = new HttpEntity<>(headers);
 
         try {
-            ResponseEntity<String> response = restTemplate.exchange(URL, HttpMethod.DELETE, request, String.class);
+            ResponseEntity<String> response = timed("delete", () ->
+                    bulkRestTemplate.exchange(URL, HttpMethod.DELETE, request, String.class));
             if (response.getStatusCode() != HttpStatus.OK || response.getBody() == null) {
                 throw new RecommendationException("Failed to delete courses from Python with status code: "
                         + response.getStatusCode());
             }
+            recommendationCache.invalidateAll();
             return response;
         } catch (Exception e) {
             throw new RecommendationException("An error occurred while attempting to delete courses: " + e.getMessage(), e);
@@ -112,9 +279,29 @@ public class PythonService {
         headers.setContentType(MediaType.APPLICATION_JSON);
         HttpEntity<List<CourseDto>> request = new HttpEntity<>(data, headers);
 
-        ResponseEntity<String> response = restTemplate.exchange(pythonServiceEndpoint + "api/test",
-                HttpMethod.POST, request, String.class);
+        ResponseEntity<String> response = timed("test", () -> bulkRestTemplate.exchange(
+                pythonServiceEndpoint + "api/test", HttpMethod.POST, request, String.class));
 
         return response.getBody();
     }
+
+    private <T> T timed(String endpoint, Supplier<T> call) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            T result = call.get();
+            outcome = "success";
+            return result;
+        } catch (ResourceAccessException e) {
+            outcome = "io-error";
+            throw e;
+        } finally {
+            sample.stop(Timer.builder("python.client.requests")
+                    .description("Requests to the Python recommender")
+                    .tag("endpoint", endpoint)
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+    }
 }
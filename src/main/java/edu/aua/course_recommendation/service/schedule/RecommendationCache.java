@@ -0,0 +1,232 @@
+package edu.aua.course_recommendation.service.schedule;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.aua.course_recommendation.dto.response.CacheStatsDto;
+import edu.aua.course_recommendation.dto.response.RecommendationDto;
+import edu.aua.course_recommendation.util.LruCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Caches the Python recommender's scores, in Redis with a small local near-cache in front.
+ * <p>
+ * Scores depend only on the request and the vectorized catalog. Entries are therefore keyed by a
+ * SHA-256 fingerprint of the request, with course codes sorted, and tagged with the model version:
+ * a Redis counter bumped whenever the catalog is re-vectorized or its points are deleted. Older
+ * entries become unreachable and expire on their own. If Redis is unavailable, scores are
+ * requested directly.
+ * <p>
+ * Each instance keeps the model version locally and re-reads it at most once per refresh
+ * interval, so another instance's re-vectorization is picked up within that interval. Its own
+ * invalidations take effect immediately.
+ */
+@Slf4j
+@Component
+public class RecommendationCache {
+
+    private static final String MODEL_VERSION_KEY = "recommendation:model-version";
+    private static final String SCORES_KEY = "recommendation:scores:%s:%s";
+    private static final TypeReference<List<RecommendationDto>> SCORES = new TypeReference<>() {
+    };
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final Duration ttl;
+    private final Duration messageTtl;
+    private final LruCache<String, NearEntry> nearCache;
+    private final long versionRefreshNanos;
+    private volatile LocalVersion localVersion;
+
+    private final AtomicLong nearHits = new AtomicLong();
+    private final AtomicLong redisHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public RecommendationCache(RedisTemplate<String, String> redisTemplate,
+                               ObjectMapper objectMapper,
+                               @Value("${recommendation.cache.ttl:PT24H}") Duration ttl,
+                               @Value("${recommendation.cache.message-ttl:PT1H}") Duration messageTtl,
+                               @Value("${recommendation.cache.near-size:4096}") int nearCacheSize,
+                               @Value("${recommendation.cache.version-refresh:PT5S}") Duration versionRefresh) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.ttl = ttl;
+        this.messageTtl = messageTtl;
+        this.nearCache = new LruCache<>(nearCacheSize);
+        this.versionRefreshNanos = versionRefresh.toNanos();
+    }
+
+    public Entry forPassedCourses(List<String> passedCourseCodes, List<String> possibleCourseCodes) {
+        return lookup(fingerprint("byPassed", sorted(passedCourseCodes), sorted(possibleCourseCodes)), ttl);
+    }
+
+    // Free-text messages rarely repeat, so these are kept for a shorter time
+    public Entry forMessage(String message, List<String> possibleCourseCodes) {
+        return lookup(fingerprint("message", List.of(Objects.toString(message, "")), sorted(possibleCourseCodes)),
+                messageTtl);
+    }
+
+    /** Called after the catalog was re-vectorized or its points deleted. */
+    public void invalidateAll() {
+        nearCache.clear();
+        try {
+            Long version = redisTemplate.opsForValue().increment(MODEL_VERSION_KEY);
+            localVersion = version == null ? null : new LocalVersion(version.toString(), System.nanoTime());
+        } catch (DataAccessException e) {
+            localVersion = null;
+            log.warn("Could not invalidate cached recommendations: {}", e.getMessage());
+        }
+    }
+
+    public List<CacheStatsDto> getStats() {
+        return List.of(
+                new CacheStatsDto("recommendation-near", nearHits.get(), redisHits.get() + misses.get()),
+                new CacheStatsDto("recommendation-redis", redisHits.get(), misses.get())
+        );
+    }
+
+    private Entry lookup(String fingerprint, Duration entryTtl) {
+        String version;
+        try {
+            version = modelVersion();
+        } catch (DataAccessException e) {
+            log.warn("Recommendation cache unavailable, requesting scores directly: {}", e.getMessage());
+            misses.incrementAndGet();
+            return new Entry(null, fingerprint, entryTtl, null);
+        }
+
+        NearEntry near = nearCache.get(fingerprint);
+        if (near != null && near.version().equals(version)) {
+            nearHits.incrementAndGet();
+            return new Entry(version, fingerprint, entryTtl, near.scores());
+        }
+
+        String json = null;
+        try {
+            json = redisTemplate.opsForValue().get(SCORES_KEY.formatted(version, fingerprint));
+        } catch (DataAccessException e) {
+            log.warn("Could not read cached recommendations: {}", e.getMessage());
+        }
+        if (json != null) {
+            redisHits.incrementAndGet();
+            List<RecommendationDto> scores = read(json);
+            nearCache.put(fingerprint, new NearEntry(version, scores));
+            return new Entry(version, fingerprint, entryTtl, scores);
+        }
+
+        misses.incrementAndGet();
+        return new Entry(version, fingerprint, entryTtl, null);
+    }
+
+    private String modelVersion() {
+        LocalVersion current = localVersion;
+        long now = System.nanoTime();
+        if (current != null && now - current.readAtNanos() < versionRefreshNanos) {
+            return current.version();
+        }
+        String version = Objects.toString(redisTemplate.opsForValue().get(MODEL_VERSION_KEY), "0");
+        localVersion = new LocalVersion(version, now);
+        return version;
+    }
+
+    /**
+     * The cached scores for one request, if any. Scores stored through an entry are tagged with the
+     * model version it was looked up under, so a re-vectorization in between cannot be overwritten
+     * with older scores.
+     */
+    public final class Entry {
+
+        private final String version;
+        private final String fingerprint;
+        private final Duration entryTtl;
+        private final List<RecommendationDto> scores;
+
+        private Entry(String version, String fingerprint, Duration entryTtl, List<RecommendationDto> scores) {
+            this.version = version;
+            this.fingerprint = fingerprint;
+            this.entryTtl = entryTtl;
+            this.scores = scores;
+        }
+
+        public Optional<List<RecommendationDto>> cached() {
+            return Optional.ofNullable(scores);
+        }
+
+        /** The cached scores, or the loader's, which are then cached; nothing is cached if it throws. */
+        public List<RecommendationDto> get(Supplier<List<RecommendationDto>> loader) {
+            if (scores != null) {
+                return scores;
+            }
+            List<RecommendationDto> loaded = loader.get();
+            store(loaded);
+            return loaded;
+        }
+
+        public void store(List<RecommendationDto> loaded) {
+            if (version == null) {
+                return;
+            }
+            List<RecommendationDto> copy = List.copyOf(loaded);
+            try {
+                redisTemplate.opsForValue().set(SCORES_KEY.formatted(version, fingerprint), write(copy), entryTtl);
+            } catch (DataAccessException e) {
+                log.warn("Could not cache recommendations: {}", e.getMessage());
+            }
+            nearCache.put(fingerprint, new NearEntry(version, copy));
+        }
+    }
+
+    // Length-prefixed so that no two different requests produce the same input
+    static String fingerprint(String kind, List<String> first, List<String> second) {
+        StringBuilder input = new StringBuilder(kind);
+        for (List<String> part : List.of(first, second)) {
+            input.append('|').append(part.size());
+            for (String value : part) {
+                input.append('|').append(value.length()).append(':').append(value);
+            }
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(input.toString().getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static List<String> sorted(List<String> codes) {
+        return codes == null ? List.of() : codes.stream().filter(Objects::nonNull).sorted().toList();
+    }
+
+    private List<RecommendationDto> read(String json) {
+        try {
+            return List.copyOf(objectMapper.readValue(json, SCORES));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cached recommendations are not readable", e);
+        }
+    }
+
+    private String write(List<RecommendationDto> scores) {
+        try {
+            return objectMapper.writeValueAsString(scores);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Recommendations could not be serialized", e);
+        }
+    }
+
+    private record LocalVersion(String version, long readAtNanos) {}
+
+    // Scores are immutable records, so the near-cache can hand out the same list to every caller
+    private record NearEntry(String version, List<RecommendationDto> scores) {}
+}
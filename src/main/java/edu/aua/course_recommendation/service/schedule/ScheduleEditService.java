@@ -0,0 +1,160 @@
+package edu.aua.course_recommendation.service.schedule;
+
+import edu.aua.course_recommendation.dto.response.ScheduleEditResultDto;
+import edu.aua.course_recommendation.entity.CourseOffering;
+import edu.aua.course_recommendation.entity.Schedule;
+import edu.aua.course_recommendation.entity.ScheduleSlot;
+import edu.aua.course_recommendation.exceptions.ScheduleValidationException;
+import edu.aua.course_recommendation.exceptions.ValidationError;
+import edu.aua.course_recommendation.model.TimeMask;
+import edu.aua.course_recommendation.repository.ScheduleRepository;
+import edu.aua.course_recommendation.service.auth.UserService;
+import edu.aua.course_recommendation.service.course.CourseOfferingService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static edu.aua.course_recommendation.service.schedule.ScheduleService.MAX_CREDITS_PER_REGISTRATION;
+
+/**
+ * Single-slot edits of a saved schedule. Each edit is validated only for what it changes: the new
+ * section is checked against the schedule's stored occupancy mask and credit total, and only an
+ * added course has its prerequisites and standing checked, since a swap keeps the same course.
+ * The new section must be in the same term as the schedule's other sections.
+ * Saving or replacing a whole schedule still goes through {@link ScheduleService#validateSchedule}.
+ */
+@Service
+@RequiredArgsConstructor
+public class ScheduleEditService {
+
+    private final ScheduleService scheduleService;
+    private final ScheduleRepository scheduleRepository;
+    private final CourseOfferingService courseOfferingService;
+    private final UserService userService;
+    private final SectionAlternativeFinder sectionAlternativeFinder;
+
+    @Transactional
+    public ScheduleEditResultDto addSlot(UUID scheduleId, UUID offeringId) {
+        Schedule schedule = scheduleService.getScheduleById(scheduleId);
+        CourseOffering offering = courseOfferingService.getCourseOfferingById(offeringId);
+        String code = offering.getBaseCourse().getCode();
+
+        requireScheduleTerm(schedule, offering);
+        if (schedule.getSlots().stream().anyMatch(slot -> code.equals(slot.getCourseCode()))) {
+            throw new ScheduleValidationException(ValidationError.DUPLICATE_COURSE,
+                    String.format("Schedule already contains course %s", code));
+        }
+
+        int credits = offering.getBaseCourse().getCredits();
+        int totalCredits = schedule.getTotalCredits() + credits;
+        if (totalCredits > MAX_CREDITS_PER_REGISTRATION) {
+            throw new ScheduleValidationException(ValidationError.EXCEEDS_CREDIT_LIMIT,
+                    String.format("Total credits %d exceeds maximum allowed %d", totalCredits, MAX_CREDITS_PER_REGISTRATION));
+        }
+
+        // Only loads the student's enrollments if the course has prerequisites
+        if (!scheduleService.prerequisitesMet(offering, schedule.getStudentId())) {
+            throw new ScheduleValidationException(ValidationError.PREREQUISITES_NOT_MET,
+                    String.format("Prerequisites not met for course %s", code));
+        }
+        if (!scheduleService.validAcademicStanding(offering, userService.getAcademicStanding(schedule.getStudentId()))) {
+            throw new ScheduleValidationException(ValidationError.ACADEMIC_STANDING_INSUFFICIENT,
+                    String.format("Academic standing insufficient for course %s", code));
+        }
+
+        TimeMask occupancy = schedule.getOccupancyMask();
+        if (occupancy.intersects(offering.getTimeMask())) {
+            return conflict(schedule, schedule.getSlots(), occupancy, offering);
+        }
+
+        List<ScheduleSlot> slots = new ArrayList<>(schedule.getSlots());
+        slots.add(toSlot(offering));
+        schedule.setSlots(slots, occupancy.union(offering.getTimeMask()), totalCredits);
+        return ScheduleEditResultDto.applied(scheduleRepository.save(schedule));
+    }
+
+    @Transactional
+    public ScheduleEditResultDto removeSlot(UUID scheduleId, UUID offeringId) {
+        Schedule schedule = scheduleService.getScheduleById(scheduleId);
+        ScheduleSlot removed = findSlot(schedule, offeringId);
+
+        // Saved schedules are conflict-free, so no other slot shares the removed slot's buckets
+        List<ScheduleSlot> slots = new ArrayList<>(schedule.getSlots());
+        slots.remove(removed);
+        schedule.setSlots(slots, schedule.getOccupancyMask().minus(removed.getTimeMask()),
+                schedule.getTotalCredits() - removed.getCredits());
+        return ScheduleEditResultDto.applied(scheduleRepository.save(schedule));
+    }
+
+    @Transactional
+    public ScheduleEditResultDto swapSection(UUID scheduleId, UUID offeringId, UUID newOfferingId) {
+        Schedule schedule = scheduleService.getScheduleById(scheduleId);
+        ScheduleSlot replaced = findSlot(schedule, offeringId);
+        CourseOffering offering = courseOfferingService.getCourseOfferingById(newOfferingId);
+
+        if (!offering.getBaseCourse().getCode().equals(replaced.getCourseCode())) {
+            throw new ScheduleValidationException(ValidationError.INVALID_OFFERING,
+                    String.format("Offering %s is not a section of %s", newOfferingId, replaced.getCourseCode()));
+        }
+        requireScheduleTerm(schedule, offering);
+
+        List<ScheduleSlot> others = new ArrayList<>(schedule.getSlots());
+        others.remove(replaced);
+        TimeMask occupancy = schedule.getOccupancyMask().minus(replaced.getTimeMask());
+        if (occupancy.intersects(offering.getTimeMask())) {
+            return conflict(schedule, others, occupancy, offering);
+        }
+
+        ScheduleSlot slot = toSlot(offering);
+        List<ScheduleSlot> slots = new ArrayList<>(schedule.getSlots());
+        slots.set(slots.indexOf(replaced), slot);
+        schedule.setSlots(slots, occupancy.union(offering.getTimeMask()),
+                schedule.getTotalCredits() - replaced.getCredits() + slot.getCredits());
+        return ScheduleEditResultDto.applied(scheduleRepository.save(schedule));
+    }
+
+    private ScheduleEditResultDto conflict(Schedule schedule, List<ScheduleSlot> slots, TimeMask occupancy,
+                                           CourseOffering requested) {
+        TimeMask requestedTimes = requested.getTimeMask();
+        List<ScheduleSlot> conflicts = slots.stream()
+                .filter(slot -> slot.getTimeMask().intersects(requestedTimes))
+                .toList();
+        return ScheduleEditResultDto.conflict(schedule, conflicts, sectionAlternativeFinder.find(requested, occupancy));
+    }
+
+    // The schedule's term is that of its first section that still exists, or the term it was pre-generated for
+    private void requireScheduleTerm(Schedule schedule, CourseOffering requested) {
+        String requestedTerm = SchedulePregenerationService.termKey(requested.getYear(), requested.getSemester());
+        String scheduleTerm = schedule.getGeneratedFor();
+        for (ScheduleSlot slot : schedule.getSlots()) {
+            Optional<CourseOffering> scheduled = courseOfferingService.findCourseOfferingById(slot.getOfferingId());
+            if (scheduled.isPresent()) {
+                scheduleTerm = SchedulePregenerationService.termKey(scheduled.get().getYear(), scheduled.get().getSemester());
+                break;
+            }
+        }
+        if (scheduleTerm != null && !scheduleTerm.equals(requestedTerm)) {
+            throw new ScheduleValidationException(ValidationError.INVALID_OFFERING,
+                    String.format("Offering %s is in %s, but the schedule is for %s", requested.getId(),
+                            requestedTerm, scheduleTerm));
+        }
+    }
+
+    private static ScheduleSlot findSlot(Schedule schedule, UUID offeringId) {
+        return schedule.getSlots().stream()
+                .filter(slot -> offeringId.equals(slot.getOfferingId()))
+                .findFirst()
+                .orElseThrow(() -> new ScheduleValidationException(ValidationError.INVALID_OFFERING,
+                        String.format("Schedule %s has no slot for offering %s", schedule.getId(), offeringId)));
+    }
+
+    private static ScheduleSlot toSlot(CourseOffering offering) {
+        return new ScheduleSlot(offering.getId(), offering.getBaseCourse().getCode(),
+                offering.getBaseCourse().getCredits(), offering.getTimes());
+    }
+}
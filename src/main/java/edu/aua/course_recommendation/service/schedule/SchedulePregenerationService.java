@@ -0,0 +1,290 @@
+package edu.aua.course_recommendation.service.schedule;
+
+import edu.aua.course_recommendation.dto.response.SchedulePregenerationStatusDto;
+import edu.aua.course_recommendation.entity.Schedule;
+import edu.aua.course_recommendation.entity.User;
+import edu.aua.course_recommendation.exceptions.ScheduleNotFoundException;
+import edu.aua.course_recommendation.model.Department;
+import edu.aua.course_recommendation.model.Role;
+import edu.aua.course_recommendation.model.SchedulePreferences;
+import edu.aua.course_recommendation.model.StudentAcademicSnapshot;
+import edu.aua.course_recommendation.repository.ScheduleRepository;
+import edu.aua.course_recommendation.repository.UserRepository;
+import edu.aua.course_recommendation.service.audit.BaseDegreeAuditService;
+import edu.aua.course_recommendation.service.audit.DegreeAuditServiceRouter;
+import edu.aua.course_recommendation.service.course.*;
+import edu.aua.course_recommendation.util.AcademicCalendarUtil;
+import edu.aua.course_recommendation.util.LruCache;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Registration-rush mode: pre-generates next semester's schedule for every student in a
+ * department so {@code GET /api/schedule/generate} can serve it without any work.
+ * <p>
+ * A job shares one {@link TermOfferingIndex} and the in-memory course catalog across all of its
+ * students. Students are processed in chunks: each chunk's enrollments are loaded with one query,
+ * the schedules are generated on a bounded pool, and the chunk is written in one transaction so
+ * Hibernate can batch the inserts. Jobs run one at a time. Pre-generated schedules are deleted as
+ * soon as the student's enrollments, the offerings or the course catalog change, after which
+ * students fall back to interactive generation.
+ * <p>
+ * Offering and catalog changes bump a version that a job reads before loading anything; a chunk
+ * writes nothing once it has moved. The students of the chunk being generated are tracked until
+ * it is written, and an enrollment change marks the student so their schedule is dropped. Writes
+ * and invalidations hold the same lock, so an invalidation either lands before the check or
+ * deletes what was just written.
+ */
+@Slf4j
+@Service
+public class SchedulePregenerationService {
+
+    private static final int MAX_TRACKED_JOBS = 100;
+
+    private final UserRepository userRepository;
+    private final EnrollmentService enrollmentService;
+    private final DegreeAuditServiceRouter degreeAuditServiceRouter;
+    private final TermOfferingIndexCache termOfferingIndexCache;
+    private final SeatAvailabilityIndex seatAvailabilityIndex;
+    private final NextSemesterScheduleService nextSemesterScheduleService;
+    private final ScheduleRepository scheduleRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final ExecutorService jobExecutor;
+    private final ExecutorService generationExecutor;
+    private final LruCache<UUID, Job> jobs = new LruCache<>(MAX_TRACKED_JOBS);
+    // Students of the chunk being generated, mapped to whether their enrollments changed since it started
+    private final Map<UUID, Boolean> chunkStudents = new ConcurrentHashMap<>();
+    private final AtomicLong catalogVersion = new AtomicLong();
+    private final Object writeLock = new Object();
+
+    public SchedulePregenerationService(UserRepository userRepository,
+                                        EnrollmentService enrollmentService,
+                                        DegreeAuditServiceRouter degreeAuditServiceRouter,
+                                        TermOfferingIndexCache termOfferingIndexCache,
+                                        SeatAvailabilityIndex seatAvailabilityIndex,
+                                        NextSemesterScheduleService nextSemesterScheduleService,
+                                        ScheduleRepository scheduleRepository,
+                                        PlatformTransactionManager transactionManager,
+                                        @Value("${schedule.pregeneration.chunk-size:200}") int chunkSize,
+                                        @Value("${schedule.pregeneration.parallelism:8}") int parallelism) {
+        this.userRepository = userRepository;
+        this.enrollmentService = enrollmentService;
+        this.degreeAuditServiceRouter = degreeAuditServiceRouter;
+        this.termOfferingIndexCache = termOfferingIndexCache;
+        this.seatAvailabilityIndex = seatAvailabilityIndex;
+        this.nextSemesterScheduleService = nextSemesterScheduleService;
+        this.scheduleRepository = scheduleRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.chunkSize = chunkSize;
+        this.jobExecutor = Executors.newSingleThreadExecutor(
+                Thread.ofPlatform().name("schedule-pregeneration").daemon(true).factory());
+        // Generation waits on the recommendation service, so this is deliberately not tied to the core count
+        this.generationExecutor = Executors.newFixedThreadPool(parallelism,
+                Thread.ofPlatform().name("schedule-pregeneration-", 0).daemon(true).factory());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        jobExecutor.shutdownNow();
+        generationExecutor.shutdownNow();
+    }
+
+    public static String termKey(String year, String semester) {
+        return year + "-" + semester;
+    }
+
+    public SchedulePregenerationStatusDto startForDepartment(Department department) {
+        String[] nextPeriod = AcademicCalendarUtil.getNextAcademicPeriod();
+        Job job = new Job(UUID.randomUUID(), department, nextPeriod[0], nextPeriod[1]);
+        jobs.put(job.id, job);
+        jobExecutor.submit(() -> run(job));
+        log.info("Queued schedule pre-generation job {} for {} in {}", job.id, department, termKey(job.year, job.semester));
+        return job.toDto();
+    }
+
+    public SchedulePregenerationStatusDto getStatus(UUID jobId) {
+        Job job = jobs.get(jobId);
+        if (job == null) {
+            throw new ScheduleNotFoundException("Schedule pre-generation job with id " + jobId + " not found");
+        }
+        return job.toDto();
+    }
+
+    void run(Job job) {
+        job.startedAtNanos = System.nanoTime();
+        job.state = JobState.RUNNING;
+        try {
+            List<User> students = userRepository.findByDepartmentAndRole(job.department, Role.ROLE_STUDENT);
+            job.total = students.size();
+
+            long catalogAt = catalogVersion.get();
+            TermOfferingIndex offerings = termOfferingIndexCache.getIndex(job.year, job.semester)
+                    .preferring(seatAvailabilityIndex.openSections(job.year, job.semester));
+            BaseDegreeAuditService auditService = degreeAuditServiceRouter.getServiceForDepartment(job.department);
+
+            for (int from = 0; from < students.size(); from += chunkSize) {
+                List<User> chunk = students.subList(from, Math.min(students.size(), from + chunkSize));
+                if (!generateChunk(job, chunk, offerings, catalogAt, auditService)) {
+                    log.info("Courses or offerings changed during schedule pre-generation job {}; the remaining "
+                            + "students fall back to interactive generation", job.id);
+                    break;
+                }
+            }
+            job.state = JobState.COMPLETED;
+        } catch (RuntimeException e) {
+            log.error("Schedule pre-generation job {} failed: {}", job.id, e.getMessage(), e);
+            job.state = JobState.FAILED;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            job.state = JobState.FAILED;
+        } finally {
+            job.finishedAtNanos = System.nanoTime();
+            SchedulePregenerationStatusDto status = job.toDto();
+            log.info("Schedule pre-generation job {} {}: {} generated, {} failed of {} in {} ms ({} schedules/s)",
+                    job.id, status.state(), status.generated(), status.failed(), status.total(),
+                    status.elapsedMillis(), String.format("%.1f", status.schedulesPerSecond()));
+        }
+    }
+
+    /** Returns false, writing nothing, if the courses or offerings changed since the job loaded them. */
+    private boolean generateChunk(Job job, List<User> students, TermOfferingIndex offerings, long catalogAt,
+                                  BaseDegreeAuditService auditService) throws InterruptedException {
+        students.forEach(student -> chunkStudents.put(student.getId(), Boolean.FALSE));
+        try {
+            Map<UUID, StudentAcademicSnapshot> snapshots = enrollmentService.getAcademicSnapshots(students);
+
+            CompletionService<Optional<Schedule>> completion = new ExecutorCompletionService<>(generationExecutor);
+            for (StudentAcademicSnapshot snapshot : snapshots.values()) {
+                completion.submit(() -> generateOne(job, snapshot, offerings, auditService));
+            }
+
+            String term = termKey(job.year, job.semester);
+            List<Schedule> schedules = new ArrayList<>();
+            for (int i = 0; i < snapshots.size(); i++) {
+                try {
+                    completion.take().get().ifPresent(schedules::add);
+                } catch (ExecutionException e) {
+                    // generateOne never throws, so this is a bug rather than a bad student
+                    throw new IllegalStateException("Schedule generation failed", e.getCause());
+                }
+            }
+
+            synchronized (writeLock) {
+                if (catalogVersion.get() != catalogAt) {
+                    return false;
+                }
+                List<Schedule> current = schedules.stream()
+                        .filter(schedule -> !chunkStudents.get(schedule.getStudentId()))
+                        .toList();
+                transactionTemplate.executeWithoutResult(status -> {
+                    scheduleRepository.deleteGenerated(snapshots.keySet(), term);
+                    scheduleRepository.saveAll(current);
+                });
+                job.generated.addAndGet(current.size());
+            }
+            return true;
+        } finally {
+            // Later enrollment changes just delete what was written
+            students.forEach(student -> chunkStudents.remove(student.getId()));
+        }
+    }
+
+    private Optional<Schedule> generateOne(Job job, StudentAcademicSnapshot snapshot, TermOfferingIndex offerings,
+                                           BaseDegreeAuditService auditService) {
+        try {
+            Schedule schedule = nextSemesterScheduleService.generate(
+                    snapshot, auditService.audit(snapshot), offerings, SchedulePreferences.NONE);
+            // New entities without an id are inserted directly instead of being merged one select at a time
+            schedule.setId(null);
+            schedule.setScheduleName("Suggested schedule " + termKey(job.year, job.semester));
+            schedule.setGeneratedFor(termKey(job.year, job.semester));
+            return Optional.of(schedule);
+        } catch (RuntimeException e) {
+            log.warn("Could not pre-generate a schedule for student {}: {}", snapshot.studentId(), e.getMessage());
+            job.failed.incrementAndGet();
+            return Optional.empty();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEnrollmentChanged(EnrollmentChangedEvent event) {
+        synchronized (writeLock) {
+            chunkStudents.replace(event.studentId(), Boolean.TRUE);
+            transactionTemplate.executeWithoutResult(status ->
+                    scheduleRepository.deleteAllGeneratedForStudent(event.studentId()));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOfferingsChanged(CourseOfferingsChangedEvent event) {
+        invalidateAll("Offerings");
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CourseCatalogChangedEvent event) {
+        invalidateAll("Course catalog");
+    }
+
+    private void invalidateAll(String changed) {
+        int deleted;
+        synchronized (writeLock) {
+            catalogVersion.incrementAndGet();
+            deleted = transactionTemplate.execute(status -> scheduleRepository.deleteAllGenerated());
+        }
+        if (deleted > 0) {
+            log.info("{} changed; deleted {} pre-generated schedules", changed, deleted);
+        }
+    }
+
+    int trackedStudents() {
+        return chunkStudents.size();
+    }
+
+    enum JobState { QUEUED, RUNNING, COMPLETED, FAILED }
+
+    static final class Job {
+        private final UUID id;
+        private final Department department;
+        private final String year;
+        private final String semester;
+        private final AtomicInteger generated = new AtomicInteger();
+        private final AtomicInteger failed = new AtomicInteger();
+        private volatile JobState state = JobState.QUEUED;
+        private volatile int total;
+        private volatile long startedAtNanos;
+        private volatile long finishedAtNanos;
+
+        Job(UUID id, Department department, String year, String semester) {
+            this.id = id;
+            this.department = department;
+            this.year = year;
+            this.semester = semester;
+        }
+
+        SchedulePregenerationStatusDto toDto() {
+            long elapsedNanos = switch (state) {
+                case QUEUED -> 0;
+                case RUNNING -> System.nanoTime() - startedAtNanos;
+                case COMPLETED, FAILED -> finishedAtNanos - startedAtNanos;
+            };
+            long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+            int done = generated.get();
+            double perSecond = elapsedNanos == 0 ? 0 : done / (elapsedNanos / 1e9);
+            return new SchedulePregenerationStatusDto(id, department, year, semester, state.name(),
+                    total, done, failed.get(), elapsedMillis, perSecond);
+        }
+    }
+}
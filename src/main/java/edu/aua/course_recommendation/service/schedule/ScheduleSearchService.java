@@ -0,0 +1,334 @@
+package edu.aua.course_recommendation.service.schedule;
+
+import edu.aua.course_recommendation.dto.response.RankedScheduleDto;
+import edu.aua.course_recommendation.dto.response.RecommendationDto;
+import edu.aua.course_recommendation.entity.Course;
+import edu.aua.course_recommendation.entity.CourseOffering;
+import edu.aua.course_recommendation.entity.Schedule;
+import edu.aua.course_recommendation.entity.ScheduleSlot;
+import edu.aua.course_recommendation.model.*;
+import edu.aua.course_recommendation.service.audit.BaseDegreeAuditService;
+import edu.aua.course_recommendation.service.audit.DegreeAuditResultCache;
+import edu.aua.course_recommendation.service.audit.DegreeAuditServiceRouter;
+import edu.aua.course_recommendation.service.auth.UserService;
+import edu.aua.course_recommendation.service.course.CourseCatalog;
+import edu.aua.course_recommendation.service.course.CourseOfferingService;
+import edu.aua.course_recommendation.service.course.EnrollmentService;
+import edu.aua.course_recommendation.service.course.TermOfferingIndexCache;
+import edu.aua.course_recommendation.service.schedule.scoring.ScheduleScoringEngine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+import static edu.aua.course_recommendation.service.schedule.ScheduleService.MAX_CREDITS_PER_REGISTRATION;
+
+/**
+ * Generates the K best conflict-free schedules for a term, as an alternative to the greedy
+ * {@link NextSemesterScheduleService}.
+ * <p>
+ * Every course the student still needs and can take this term is a variable whose value is one
+ * of its sections or "not taken". A depth-first branch and bound assigns them in requirement
+ * order, carrying the union of chosen time masks so a conflicting section is rejected with a few
+ * {@code long} ANDs, and abandons a branch once even taking every remaining course could not beat
+ * the K-th best schedule found so far. Complete schedules are scored by their requirement gains
+ * minus the {@link ScheduleScoringEngine} penalty for the student's preferences. Each requirement
+ * keeps the greedy generator's cap (one foundation course, up to three core courses, and so on).
+ * When the time budget runs out the best schedules found so far are returned.
+ */
+@Slf4j
+@Service
+public class ScheduleSearchService {
+
+    static final int MAX_RESULTS = 20;
+
+    // Requirements in search order, with how much a course counts towards a schedule's score
+    private static final Map<Requirement, Double> REQUIREMENT_WEIGHTS = new LinkedHashMap<>();
+    static {
+        REQUIREMENT_WEIGHTS.put(Requirement.PHYSICAL_EDUCATION, 4.0);
+        REQUIREMENT_WEIGHTS.put(Requirement.PEER_MENTORING, 4.0);
+        REQUIREMENT_WEIGHTS.put(Requirement.FOUNDATION, 10.0);
+        REQUIREMENT_WEIGHTS.put(Requirement.CORE, 9.0);
+        REQUIREMENT_WEIGHTS.put(Requirement.GENERAL_EDUCATION, 8.0);
+        REQUIREMENT_WEIGHTS.put(Requirement.TRACK, 7.0);
+        REQUIREMENT_WEIGHTS.put(Requirement.FREE_ELECTIVE, 5.0);
+        REQUIREMENT_WEIGHTS.put(Requirement.CAPSTONE, 10.0);
+    }
+
+    private static final Map<Requirement, Integer> MAX_COURSES_PER_REQUIREMENT = Map.of(
+            Requirement.CORE, 3
+    );
+
+    private static final double RECOMMENDATION_WEIGHT = 2.0;
+
+    private final EnrollmentService enrollmentService;
+    private final DegreeAuditServiceRouter degreeAuditServiceRouter;
+    private final DegreeAuditResultCache degreeAuditResultCache;
+    private final CourseOfferingService courseOfferingService;
+    private final TermOfferingIndexCache termOfferingIndexCache;
+    private final CourseCatalog courseCatalog;
+    private final UserService userService;
+    private final ScheduleService scheduleService;
+    private final ScheduleScoringEngine scheduleScoringEngine;
+    private final PythonService pythonService;
+    private final Duration timeBudget;
+
+    public ScheduleSearchService(EnrollmentService enrollmentService,
+                                 DegreeAuditServiceRouter degreeAuditServiceRouter,
+                                 DegreeAuditResultCache degreeAuditResultCache,
+                                 CourseOfferingService courseOfferingService,
+                                 TermOfferingIndexCache termOfferingIndexCache,
+                                 CourseCatalog courseCatalog,
+                                 UserService userService,
+                                 ScheduleService scheduleService,
+                                 ScheduleScoringEngine scheduleScoringEngine,
+                                 PythonService pythonService,
+                                 @Value("${schedule-search.time-budget:PT1S}") Duration timeBudget) {
+        this.enrollmentService = enrollmentService;
+        this.degreeAuditServiceRouter = degreeAuditServiceRouter;
+        this.degreeAuditResultCache = degreeAuditResultCache;
+        this.courseOfferingService = courseOfferingService;
+        this.termOfferingIndexCache = termOfferingIndexCache;
+        this.courseCatalog = courseCatalog;
+        this.userService = userService;
+        this.scheduleService = scheduleService;
+        this.scheduleScoringEngine = scheduleScoringEngine;
+        this.pythonService = pythonService;
+        this.timeBudget = timeBudget;
+    }
+
+    public List<RankedScheduleDto> generateTopSchedules(UUID studentId, String year, String semester, int count,
+                                                        SchedulePreferences preferences) {
+        userService.validateStudent(studentId);
+        int k = Math.clamp(count, 1, MAX_RESULTS);
+        long deadline = System.nanoTime() + timeBudget.toNanos();
+
+        StudentAcademicSnapshot snapshot = enrollmentService.getAcademicSnapshot(studentId);
+        DegreeAuditMultiScenarioResult audit = degreeAuditResultCache.getAudit(studentId);
+        BaseDegreeAuditService auditService = degreeAuditServiceRouter.getServiceForStudent(studentId);
+
+        List<CourseOffering> available = termOfferingIndexCache.getIndex(year, semester).getOfferings().stream()
+                .filter(off -> !snapshot.hasCompleted(off.getBaseCourse().getCode()))
+                .toList();
+
+        List<Candidate> candidates = collectCandidates(snapshot, audit, auditService, available);
+        List<ScheduleSlot> fixedSlots = firstAidSlots(audit);
+
+        // Only worth asking the audit once the capstone is actually being considered for a schedule
+        Map<Set<String>, Boolean> capstoneChecks = new HashMap<>();
+        Predicate<Set<String>> capstoneAllowed = codes -> capstoneChecks.computeIfAbsent(codes, planned ->
+                auditService.isAllElseDoneButCapstone(snapshot.withHypotheticalCompletions(planned.stream()
+                        .map(courseCatalog::findByCode)
+                        .flatMap(Optional::stream)
+                        .toList())));
+
+        long startedAt = System.nanoTime();
+        List<RankedSchedule> best = search(candidates, k, capstoneAllowed, preferences, deadline);
+        log.info("Found {} schedules for student {} in {}-{} from {} candidate courses in {} ms", best.size(),
+                studentId, year, semester, candidates.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+
+        List<RankedScheduleDto> result = new ArrayList<>();
+        for (RankedSchedule ranked : best) {
+            List<ScheduleSlot> slots = new ArrayList<>(fixedSlots);
+            for (CourseOffering off : ranked.sections()) {
+                slots.add(new ScheduleSlot(off.getId(), off.getBaseCourse().getCode(),
+                        off.getBaseCourse().getCredits(), off.getTimes()));
+            }
+            Schedule schedule = Schedule.builder()
+                    .id(UUID.randomUUID())
+                    .studentId(studentId)
+                    .slots(slots)
+                    .build();
+            result.add(new RankedScheduleDto(result.size() + 1, ranked.score(), ranked.credits(), schedule));
+        }
+        return result;
+    }
+
+    /**
+     * Branch and bound over the candidates in order. Returns at most {@code k} schedules, best first;
+     * schedules are distinct sets of sections.
+     */
+    List<RankedSchedule> search(List<Candidate> candidates, int k, Predicate<Set<String>> capstoneAllowed,
+                                SchedulePreferences preferences, long deadlineNanos) {
+        Search search = new Search(candidates, k, capstoneAllowed, scheduleScoringEngine, preferences, deadlineNanos);
+        search.run(0, TimeMask.EMPTY, 0, 0.0);
+        if (search.timedOut) {
+            log.warn("Schedule search ran out of time; returning the best {} schedules found", search.best.size());
+        }
+        return search.best.stream()
+                .sorted(Comparator.comparingDouble(RankedSchedule::score).reversed())
+                .toList();
+    }
+
+    private List<Candidate> collectCandidates(StudentAcademicSnapshot snapshot,
+                                              DegreeAuditMultiScenarioResult audit,
+                                              BaseDegreeAuditService auditService,
+                                              List<CourseOffering> available) {
+        Map<String, List<CourseOffering>> sectionsByCode = new HashMap<>();
+        Predicate<CourseOffering> prerequisitesMet = scheduleService.prerequisiteCheck(snapshot.completedCourseCodes());
+        for (CourseOffering off : available) {
+            if (prerequisitesMet.test(off)
+                    && scheduleService.validAcademicStanding(off, snapshot.academicStanding())) {
+                sectionsByCode.computeIfAbsent(off.getBaseCourse().getCode(), code -> new ArrayList<>()).add(off);
+            }
+        }
+        sectionsByCode.values().forEach(sections ->
+                sections.sort(Comparator.comparingInt(off -> off.getTimeMask().earliestStartMinutes())));
+
+        Map<Requirement, List<String>> codesByRequirement = new LinkedHashMap<>();
+        for (Requirement requirement : REQUIREMENT_WEIGHTS.keySet()) {
+            codesByRequirement.put(requirement, switch (requirement) {
+                case TRACK -> audit.getScenarios().stream().anyMatch(DegreeAuditScenario::isSatisfied)
+                        ? List.of()
+                        : auditService.getTrackCourseCodes(auditService.pickChosenTrack(snapshot));
+                case GENERAL_EDUCATION -> openCodes(audit, requirement).stream()
+                        .filter(code -> snapshot.academicStanding() != AcademicStanding.FRESHMAN
+                                || courseCatalog.isLowerDivision(code))
+                        .toList();
+                default -> openCodes(audit, requirement);
+            });
+        }
+
+        Map<String, Double> recommendationScores = recommendationScores(snapshot,
+                codesByRequirement.get(Requirement.GENERAL_EDUCATION), codesByRequirement.get(Requirement.FREE_ELECTIVE));
+
+        List<Candidate> candidates = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        codesByRequirement.forEach((requirement, codes) -> {
+            for (String code : codes) {
+                List<CourseOffering> sections = sectionsByCode.get(code);
+                if (sections == null || !seen.add(code)) continue;
+                double gain = REQUIREMENT_WEIGHTS.get(requirement)
+                        + RECOMMENDATION_WEIGHT * recommendationScores.getOrDefault(code, 0.0);
+                candidates.add(new Candidate(code, requirement, sections.getFirst().getBaseCourse().getCredits(), gain, sections));
+            }
+        });
+        return candidates;
+    }
+
+    private static List<String> openCodes(DegreeAuditMultiScenarioResult audit, Requirement requirement) {
+        RequirementResult result = audit.findCommonRequirement(requirement);
+        return result.isSatisfied() ? List.of() : result.getPossibleCourseCodes();
+    }
+
+    private Map<String, Double> recommendationScores(StudentAcademicSnapshot snapshot, List<String> genEds, List<String> electives) {
+        if (snapshot.completedCourses().isEmpty() || (genEds.isEmpty() && electives.isEmpty())) {
+            return Map.of();
+        }
+        List<String> possible = new ArrayList<>(genEds);
+        possible.addAll(electives);
+
+        Map<String, Double> scores = new HashMap<>();
+        try {
+            List<RecommendationDto> recommendations = pythonService.getRecommendationsWithPassedCourses(
+                    snapshot.completedCourses().stream().map(Course::getCode).toList(), possible);
+            for (RecommendationDto recommendation : recommendations) {
+                scores.put(recommendation.courseCode(), Double.parseDouble(recommendation.score()));
+            }
+        } catch (Exception e) {
+            log.error("Failed to get Python recommendations for schedule search: {}", e.getMessage(), e);
+        }
+        return scores;
+    }
+
+    // First aid has no meeting times, so it is added to every schedule the same way the greedy generator does
+    private List<ScheduleSlot> firstAidSlots(DegreeAuditMultiScenarioResult audit) {
+        List<ScheduleSlot> slots = new ArrayList<>();
+        for (String code : openCodes(audit, Requirement.FIRST_AID_AND_CIVIL_DEFENSE)) {
+            courseOfferingService.findOfferingByBaseCourseCode(code).ifPresent(off ->
+                    slots.add(new ScheduleSlot(off.getId(), off.getBaseCourse().getCode(), 0, "N/A")));
+        }
+        return slots;
+    }
+
+    record Candidate(String code, Requirement requirement, int credits, double gain, List<CourseOffering> sections) {}
+
+    record RankedSchedule(double score, int credits, List<CourseOffering> sections) {}
+
+    private static final class Search {
+
+        private final List<Candidate> candidates;
+        private final int k;
+        private final Predicate<Set<String>> capstoneAllowed;
+        private final ScheduleScoringEngine scoringEngine;
+        private final SchedulePreferences preferences;
+        private final long deadlineNanos;
+        private final double[] remainingGain;
+        private final int[] picksPerRequirement = new int[Requirement.values().length];
+        private final Deque<CourseOffering> chosen = new ArrayDeque<>();
+        private final PriorityQueue<RankedSchedule> best = new PriorityQueue<>(Comparator.comparingDouble(RankedSchedule::score));
+        private boolean timedOut;
+        private int nodes;
+
+        Search(List<Candidate> candidates, int k, Predicate<Set<String>> capstoneAllowed,
+               ScheduleScoringEngine scoringEngine, SchedulePreferences preferences, long deadlineNanos) {
+            this.candidates = candidates;
+            this.k = k;
+            this.capstoneAllowed = capstoneAllowed;
+            this.scoringEngine = scoringEngine;
+            this.preferences = preferences;
+            this.deadlineNanos = deadlineNanos;
+
+            // Optimistic bound: every remaining course is taken and only adds to the penalties that cannot go down
+            remainingGain = new double[candidates.size() + 1];
+            for (int i = candidates.size() - 1; i >= 0; i--) {
+                remainingGain[i] = remainingGain[i + 1] + Math.max(0, candidates.get(i).gain());
+            }
+        }
+
+        void run(int index, TimeMask booked, int credits, double gain) {
+            if (timedOut || ((++nodes & 0xFF) == 0 && System.nanoTime() - deadlineNanos > 0)) {
+                timedOut = true;
+                return;
+            }
+
+            boolean complete = index == candidates.size();
+            double score = gain - (complete
+                    ? scoringEngine.penalty(booked, chosen, preferences)
+                    : scoringEngine.lowerBound(booked, chosen, preferences));
+            if (best.size() == k && score + remainingGain[index] <= best.peek().score()) {
+                return;
+            }
+
+            if (complete) {
+                best.add(new RankedSchedule(score, credits, List.copyOf(chosen)));
+                if (best.size() > k) {
+                    best.poll();
+                }
+                return;
+            }
+
+            Candidate candidate = candidates.get(index);
+            int requirement = candidate.requirement().ordinal();
+            boolean canTake = credits + candidate.credits() <= MAX_CREDITS_PER_REGISTRATION
+                    && picksPerRequirement[requirement] < MAX_COURSES_PER_REQUIREMENT.getOrDefault(candidate.requirement(), 1)
+                    && (candidate.requirement() != Requirement.CAPSTONE || capstoneAllowed.test(chosenCodes()));
+
+            if (canTake) {
+                List<CourseOffering> sections = candidate.sections();
+                picksPerRequirement[requirement]++;
+                for (CourseOffering section : sections) {
+                    TimeMask times = section.getTimeMask();
+                    if (booked.intersects(times)) continue;
+
+                    chosen.addLast(section);
+                    run(index + 1, booked.union(times), credits + candidate.credits(), gain + candidate.gain());
+                    chosen.removeLast();
+                }
+                picksPerRequirement[requirement]--;
+            }
+
+            run(index + 1, booked, credits, gain);
+        }
+
+        private Set<String> chosenCodes() {
+            Set<String> codes = new HashSet<>();
+            chosen.forEach(off -> codes.add(off.getBaseCourse().getCode()));
+            return codes;
+        }
+    }
+}
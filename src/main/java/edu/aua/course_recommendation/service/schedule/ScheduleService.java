@@ -3,9 +3,12 @@ package edu.aua.course_recommendation.service.schedule;
 import edu.aua.course_recommendation.dto.request.MessageAndPossibleCourseDto;
 import edu.aua.course_recommendation.dto.response.NeededCourseOfferingDto;
 import edu.aua.course_recommendation.dto.response.RecommendationDto;
+import edu.aua.course_recommendation.dto.response.SlotAlternativesDto;
+import edu.aua.course_recommendation.entity.Course;
 import edu.aua.course_recommendation.entity.CourseOffering;
 import edu.aua.course_recommendation.entity.Schedule;
 import edu.aua.course_recommendation.entity.ScheduleSlot;
+import edu.aua.course_recommendation.exceptions.ScheduleConflictException;
 import edu.aua.course_recommendation.exceptions.ScheduleNotFoundException;
 import edu.aua.course_recommendation.exceptions.ScheduleValidationException;
 import edu.aua.course_recommendation.exceptions.UserNotFoundException;
@@ -14,16 +17,19 @@ import edu.aua.course_recommendation.model.*;
 import edu.aua.course_recommendation.repository.CourseOfferingRepository;
 import edu.aua.course_recommendation.repository.ScheduleRepository;
 import edu.aua.course_recommendation.service.audit.BaseDegreeAuditService;
+import edu.aua.course_recommendation.service.audit.DegreeAuditResultCache;
 import edu.aua.course_recommendation.service.audit.DegreeAuditServiceRouter;
 import edu.aua.course_recommendation.service.auth.UserService;
 import edu.aua.course_recommendation.service.course.CourseOfferingService;
 import edu.aua.course_recommendation.service.course.CourseService;
 import edu.aua.course_recommendation.service.course.EnrollmentService;
+import edu.aua.course_recommendation.service.course.PrerequisiteGraph;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
+import java.util.function.Predicate;
 
 @Slf4j
 @Service
@@ -36,10 +42,12 @@ public class ScheduleService {
     private final UserService userService;
     private final CourseOfferingRepository courseOfferingRepository;
     private final DegreeAuditServiceRouter degreeAuditServiceRouter;
+    private final DegreeAuditResultCache degreeAuditResultCache;
 
     public static final int MAX_CREDITS_PER_REGISTRATION = 15;
     private final CourseOfferingService courseOfferingService;
     private final PythonService pythonService;
+    private final SectionAlternativeFinder sectionAlternativeFinder;
 
     public Schedule getScheduleById(UUID id) {
         return scheduleRepository.findById(id).orElseThrow(
@@ -62,7 +70,7 @@ public class ScheduleService {
     }
 
     public List<Schedule> getSchedulesByStudentId(UUID studentId) {
-        return scheduleRepository.findByStudentId(studentId).orElseThrow(
+        return scheduleRepository.findByStudentIdAndGeneratedForIsNull(studentId).orElseThrow(
                 () -> new UserNotFoundException("Student with id" + studentId + " not found")
         );
     }
@@ -75,10 +83,15 @@ public class ScheduleService {
             );
         }
 
-        int totalCredits = schedule.getSlots().stream()
-                .mapToInt(ScheduleSlot::getCredits)
-                .sum();
+        if (schedule.getSlots().isEmpty()) {
+            return;
+        }
+
+        // One query for every offering in the schedule, instead of one (or two, per pair) per slot
+        Map<UUID, CourseOffering> offerings = loadOfferings(schedule.getSlots());
+        normalizeSlots(schedule, offerings);
 
+        int totalCredits = schedule.getTotalCredits();
         if (totalCredits > MAX_CREDITS_PER_REGISTRATION) {
             throw new ScheduleValidationException(
                     ValidationError.EXCEEDS_CREDIT_LIMIT,
@@ -87,18 +100,12 @@ public class ScheduleService {
             );
         }
 
-        for (ScheduleSlot slot : schedule.getSlots()) {
-            Optional<CourseOffering> offeringOpt = courseOfferingRepository.findCourseOfferingsById(slot.getOfferingId());
-            if (offeringOpt.isEmpty()) {
-                throw new ScheduleValidationException(
-                        ValidationError.INVALID_OFFERING,
-                        String.format("Course offering with id %s not found", slot.getOfferingId())
-                );
-            }
-
-            CourseOffering offering = offeringOpt.get();
+        Predicate<CourseOffering> prerequisitesMet = prerequisiteCheck(enrollmentService.getCompletedCourseCodes(schedule.getStudentId()));
+        AcademicStanding standing = userService.getAcademicStanding(schedule.getStudentId());
 
-            if (!prerequisitesMet(offering, schedule.getStudentId())) {
+        for (ScheduleSlot slot : schedule.getSlots()) {
+            CourseOffering offering = offerings.get(slot.getOfferingId());
+            if (!prerequisitesMet.test(offering)) {
                 throw new ScheduleValidationException(
                         ValidationError.PREREQUISITES_NOT_MET,
                         String.format("Prerequisites not met for course %s",
@@ -106,7 +113,7 @@ public class ScheduleService {
                 );
             }
 
-            if (!validAcademicStanding(offering, schedule.getStudentId())) {
+            if (!validAcademicStanding(offering, standing)) {
                 throw new ScheduleValidationException(
                         ValidationError.ACADEMIC_STANDING_INSUFFICIENT,
                         String.format("Academic standing insufficient for course %s",
@@ -115,14 +122,84 @@ public class ScheduleService {
             }
         }
 
-        if (hasTimeConflicts(schedule.getSlots())) {
-            throw new ScheduleValidationException(
-                    ValidationError.TIME_CONFLICT,
-                    "Schedule contains time conflicts"
+        List<ScheduleSlot> conflicting = findConflictingSlots(schedule.getSlots(), offerings);
+        if (!conflicting.isEmpty()) {
+            throw new ScheduleConflictException(
+                    "Schedule contains time conflicts",
+                    suggestAlternatives(conflicting, schedule.getSlots(), offerings)
             );
         }
     }
 
+    /**
+     * Replaces what the client claimed about each slot with its stored offering, so the saved slots
+     * and the occupancy and credit summary built from them can be trusted by later single-slot edits.
+     * Every offering must exist and belong to the same term.
+     */
+    private void normalizeSlots(Schedule schedule, Map<UUID, CourseOffering> offerings) {
+        CourseOffering first = null;
+        for (ScheduleSlot slot : schedule.getSlots()) {
+            CourseOffering offering = offerings.get(slot.getOfferingId());
+            if (offering == null) {
+                throw new ScheduleValidationException(
+                        ValidationError.INVALID_OFFERING,
+                        String.format("Course offering with id %s not found", slot.getOfferingId())
+                );
+            }
+            if (first == null) {
+                first = offering;
+            } else if (!sameTerm(first, offering)) {
+                throw new ScheduleValidationException(
+                        ValidationError.INVALID_OFFERING,
+                        String.format("Course %s is offered in %s %s, not %s %s", offering.getBaseCourse().getCode(),
+                                offering.getSemester(), offering.getYear(), first.getSemester(), first.getYear())
+                );
+            }
+            slot.setCourseCode(offering.getBaseCourse().getCode());
+            slot.setCredits(offering.getBaseCourse().getCredits());
+            slot.setTimes(offering.getTimes());
+        }
+        // Clears the summary so it is rebuilt from the corrected slots
+        schedule.setSlots(schedule.getSlots());
+    }
+
+    private static boolean sameTerm(CourseOffering a, CourseOffering b) {
+        return Objects.equals(a.getYear(), b.getYear()) && Objects.equals(a.getSemester(), b.getSemester());
+    }
+
+    // For each conflicting slot, the sections of its course that fit around every other slot
+    private List<SlotAlternativesDto> suggestAlternatives(List<ScheduleSlot> conflicting, List<ScheduleSlot> slots,
+                                                          Map<UUID, CourseOffering> offerings) {
+        List<SlotAlternativesDto> suggestions = new ArrayList<>(conflicting.size());
+        for (ScheduleSlot slot : conflicting) {
+            TimeMask rest = TimeMask.EMPTY;
+            for (ScheduleSlot other : slots) {
+                if (other != slot) {
+                    rest = rest.union(offerings.get(other.getOfferingId()).getTimeMask());
+                }
+            }
+            CourseOffering offering = offerings.get(slot.getOfferingId());
+            suggestions.add(new SlotAlternativesDto(slot.getOfferingId(), offering.getBaseCourse().getCode(),
+                    sectionAlternativeFinder.find(offering, rest)));
+        }
+        return suggestions;
+    }
+
+    private Map<UUID, CourseOffering> loadOfferings(List<ScheduleSlot> slots) {
+        Set<UUID> offeringIds = new HashSet<>();
+        for (ScheduleSlot slot : slots) {
+            if (slot.getOfferingId() != null) {
+                offeringIds.add(slot.getOfferingId());
+            }
+        }
+
+        Map<UUID, CourseOffering> offerings = new HashMap<>();
+        for (CourseOffering offering : courseOfferingRepository.findAllById(offeringIds)) {
+            offerings.put(offering.getId(), offering);
+        }
+        return offerings;
+    }
+
     public boolean isValidSchedule(Schedule schedule) {
         try {
             validateSchedule(schedule);
@@ -133,74 +210,31 @@ public class ScheduleService {
     }
 
     // =============== HELPER FUNCTIONS ===============
-    public Optional<CourseOffering> findOffering(List<CourseOffering> available, String code, int currentCredits, List<ScheduleSlot> slots, UUID studentId) {
+    // Checks prerequisites and standing against an already loaded snapshot, and takes the first fitting
+    // section in the given order; TermOfferingIndex hands sections over earliest (or open) first
+    public Optional<CourseOffering> findOffering(List<CourseOffering> available, String code, int currentCredits, List<ScheduleSlot> slots, StudentAcademicSnapshot snapshot) {
+        return findFittingOfferings(available, code, currentCredits, slots, snapshot).stream().findFirst();
+    }
+
+    // Every section of the course that could be added to the slots, in the given order
+    public List<CourseOffering> findFittingOfferings(List<CourseOffering> available, String code, int currentCredits, List<ScheduleSlot> slots, StudentAcademicSnapshot snapshot) {
         return available.stream()
                 .filter(off -> off.getBaseCourse().getCode().equals(code))
                 .filter(off -> currentCredits + off.getBaseCourse().getCredits() <= MAX_CREDITS_PER_REGISTRATION)
                 .filter(off -> !hasTimeConflict(off, slots))
-                .filter(off -> prerequisitesMet(off, studentId))
-                .filter(off -> validAcademicStanding(off, studentId))
-                .min(Comparator.comparing(this::getEarliestTimeInMinutes));
-    }
-
-    private int getEarliestTimeInMinutes(CourseOffering offering) {
-        if (offering.getTimes() == null || offering.getTimes().isEmpty() || "TBD".equalsIgnoreCase(offering.getTimes())) {
-            return Integer.MAX_VALUE;
-        }
-
-        String[] slots = offering.getTimes().split(", ");
-        int earliestTime = Integer.MAX_VALUE;
-
-        for (String slot : slots) {
-            String[] parts = slot.trim().split(" ");
-            if (parts.length < 2) continue;
-
-            int dayValue;
-            switch (parts[0].toUpperCase()) {
-                case "MON":
-                    dayValue = 0;
-                    break;
-                case "TUE":
-                    dayValue = 1;
-                    break;
-                case "WED":
-                    dayValue = 2;
-                    break;
-                case "THU":
-                    dayValue = 3;
-                    break;
-                case "FRI":
-                    dayValue = 4;
-                    break;
-                case "SAT":
-                    dayValue = 5;
-                    break;
-                case "SUN":
-                    dayValue = 6;
-                    break;
-                default:
-                    dayValue = 7;
-                    break;
-            }
-
-            String[] timeRange = parts[1].split("-");
-            if (timeRange.length < 2) continue;
-
-            int startTimeMinutes = parseTimeToMinutes(timeRange[0]);
-            int slotValue = dayValue * 24 * 60 + startTimeMinutes;
-
-            earliestTime = Math.min(earliestTime, slotValue);
-        }
-
-        return earliestTime;
+                .filter(off -> prerequisitesMet(off, snapshot.completedCourseCodes()))
+                .filter(off -> validAcademicStanding(off, snapshot.academicStanding()))
+                .toList();
     }
 
     public List<NeededCourseOfferingDto> findValidOfferings(UUID studentId) {
         List<NeededCourseOfferingDto> neededDtos = getNeededCourseOfferings(studentId);
+        Predicate<CourseOffering> prerequisitesMet = prerequisiteCheck(enrollmentService.getCompletedCourseCodes(studentId));
+        AcademicStanding standing = userService.getAcademicStanding(studentId);
 
         return neededDtos.stream()
-                .filter(dto -> validAcademicStanding(dto.getCourseOffering(), studentId))
-                .filter(dto -> prerequisitesMet(dto.getCourseOffering(), studentId))
+                .filter(dto -> validAcademicStanding(dto.getCourseOffering(), standing))
+                .filter(dto -> prerequisitesMet.test(dto.getCourseOffering()))
                 .toList();
     }
 
@@ -243,35 +277,33 @@ public class ScheduleService {
 
     public List<NeededCourseOfferingDto> getNeededCourseOfferings(UUID studentId) {
         List<NeededCourseOfferingDto> result = new ArrayList<>();
-        BaseDegreeAuditService baseDegreeAuditService = degreeAuditServiceRouter.getServiceForStudent(studentId);
+        DegreeAuditMultiScenarioResult audit = degreeAuditResultCache.getAudit(studentId);
 
-        RequirementResult peerMentoring = baseDegreeAuditService.checkPeerMentoringRequirement(studentId);
+        RequirementResult peerMentoring = audit.findCommonRequirement(Requirement.PEER_MENTORING);
         addOfferingsForRequirement(result, peerMentoring, courseOfferingService);
 
-        RequirementResult firstAid = baseDegreeAuditService.checkFirstAidAndCivilDefense(studentId);
+        RequirementResult firstAid = audit.findCommonRequirement(Requirement.FIRST_AID_AND_CIVIL_DEFENSE);
         addOfferingsForRequirement(result, firstAid, courseOfferingService);
 
-        RequirementResult physEd = baseDegreeAuditService.checkPhysicalEducationRequirementsDetailed(studentId);
+        RequirementResult physEd = audit.findCommonRequirement(Requirement.PHYSICAL_EDUCATION);
         addOfferingsForRequirement(result, physEd, courseOfferingService);
 
-        RequirementResult foundation = baseDegreeAuditService.checkFoundationRequirementsDetailed(studentId);
+        RequirementResult foundation = audit.findCommonRequirement(Requirement.FOUNDATION);
         addOfferingsForRequirement(result, foundation, courseOfferingService);
 
-        RequirementResult core = baseDegreeAuditService.checkProgramCore(studentId);
+        RequirementResult core = audit.findCommonRequirement(Requirement.CORE);
         addOfferingsForRequirement(result, core, courseOfferingService);
 
-        RequirementResult genEd = baseDegreeAuditService.checkGeneralEducationRequirementsDetailed(studentId);
+        RequirementResult genEd = audit.findCommonRequirement(Requirement.GENERAL_EDUCATION);
         addOfferingsForRequirement(result, genEd, courseOfferingService);
 
-        List<DegreeAuditScenario> scenarios = baseDegreeAuditService.checkProgramScenarios(studentId);
-        boolean anyTrackCompleted = scenarios.stream()
-                .anyMatch(scenario -> {
-                    scenario.canGraduate();
-                    return scenario.isSatisfied();
-                });
+        boolean anyTrackCompleted = audit.getScenarios().stream()
+                .anyMatch(DegreeAuditScenario::isSatisfied);
 
         if (!anyTrackCompleted) {
-            DegreeScenarioType chosenTrack = baseDegreeAuditService.pickChosenTrack(studentId);
+            BaseDegreeAuditService baseDegreeAuditService = degreeAuditServiceRouter.getServiceForStudent(studentId);
+            StudentAcademicSnapshot snapshot = baseDegreeAuditService.loadSnapshot(studentId);
+            DegreeScenarioType chosenTrack = baseDegreeAuditService.pickChosenTrack(snapshot);
             List<String> trackCodes = baseDegreeAuditService.getTrackCourseCodes(chosenTrack);
             for (String code : trackCodes) {
                 List<CourseOffering> offerings = courseOfferingService.getCourseOfferingsByCourseCodes(List.of(code));
@@ -281,10 +313,10 @@ public class ScheduleService {
             }
         }
 
-        RequirementResult freeElective = baseDegreeAuditService.checkFreeElectiveRequirements(studentId);
+        RequirementResult freeElective = audit.findCommonRequirement(Requirement.FREE_ELECTIVE);
         addOfferingsForRequirement(result, freeElective, courseOfferingService);
 
-        RequirementResult capstone = baseDegreeAuditService.checkCapstoneRequirement(studentId);
+        RequirementResult capstone = audit.findCommonRequirement(Requirement.CAPSTONE);
         addOfferingsForRequirement(result, capstone, courseOfferingService);
 
         return result;
@@ -302,9 +334,7 @@ public class ScheduleService {
         }
     }
 
-    private boolean validAcademicStanding(CourseOffering off, UUID studentId) {
-        AcademicStanding standing = userService.getAcademicStanding(studentId);
-
+    boolean validAcademicStanding(CourseOffering off, AcademicStanding standing) {
         if (courseService.isUpperDivision(off.getBaseCourse().getCode())) {
             return standing == AcademicStanding.SOPHOMORE
                     || standing == AcademicStanding.JUNIOR
@@ -316,133 +346,88 @@ public class ScheduleService {
 
 
     public boolean prerequisitesMet(CourseOffering offering, UUID studentId) {
-        Set<String> prerequisites = offering.getBaseCourse().getPrerequisites();
+        PrerequisiteGraph graph = courseService.getPrerequisiteGraph();
+        Course course = offering.getBaseCourse();
 
-        if (prerequisites == null || prerequisites.isEmpty()) {
+        boolean hasPrerequisites = graph.contains(course.getCode())
+                ? graph.hasPrerequisites(course.getCode())
+                : course.getPrerequisites() != null && !course.getPrerequisites().isEmpty();
+        if (!hasPrerequisites) {
             return true;
         }
 
-        Set<String> completedCourses = new HashSet<>(enrollmentService.getCompletedCourseCodes(studentId));
-        Set<String> effectivePrerequisites = new HashSet<>();
-
-        // TODO: This is so so bad, why would anyone code like this?
-        // TODO: Somehow figure out how to handle prerequisites that are not exact course codes...
-        for (String prereq : prerequisites) {
-            if (prereq.contains("EQCALC1")) {
-                effectivePrerequisites.add("CS100");
-            } else if (prereq.contains("EQCALC2")) {
-                effectivePrerequisites.add("CS101");
-            } else if (prereq.contains("EQDATASTRC")) {
-                effectivePrerequisites.add("CS121");
-            } else if (prereq.contains("EQOOP")) {
-                effectivePrerequisites.add("CS110");
-            } else {
-                effectivePrerequisites.add(prereq);
-            }
-        }
-
-        return completedCourses.containsAll(effectivePrerequisites);
+        return prerequisiteCheck(enrollmentService.getCompletedCourseCodes(studentId)).test(offering);
     }
 
-
-    // Naive approach
-    // Does String Parsing
-    // Works with Jenzabar's Time Format
-    // TODO: Eventually update to use a better time format
-    private boolean hasTimeConflict(CourseOffering newOffering, List<ScheduleSlot> existingSlots) {
-        if (newOffering.getTimes() == null || newOffering.getTimes().isEmpty()) {
-            return false;
+    boolean prerequisitesMet(CourseOffering offering, Set<String> completedCourses) {
+        PrerequisiteGraph graph = courseService.getPrerequisiteGraph();
+        Course course = offering.getBaseCourse();
+        if (!graph.contains(course.getCode())) {
+            return prerequisitesOutsideGraphMet(graph, course, completedCourses);
         }
+        return graph.prerequisitesMet(course.getCode(), completedCourses::contains);
+    }
 
-        return existingSlots.stream()
-                .filter(slot -> slot.getOfferingId() != null)
-                .map(slot -> courseOfferingRepository.findCourseOfferingsById(slot.getOfferingId()))
-                .filter(Optional::isPresent)
-                .map(Optional::get)
-                .anyMatch(existing -> doTimesConflict(existing.getTimes(), newOffering.getTimes()));
+    // Compiles the completed courses once, for checking many offerings against them
+    Predicate<CourseOffering> prerequisiteCheck(Collection<String> completedCourses) {
+        PrerequisiteGraph graph = courseService.getPrerequisiteGraph();
+        BitSet completed = graph.toBitSet(completedCourses);
+        Set<String> completedCodes = new HashSet<>(completedCourses);
+        return offering -> {
+            Course course = offering.getBaseCourse();
+            return graph.contains(course.getCode())
+                    ? graph.prerequisitesMet(course.getCode(), completed)
+                    : prerequisitesOutsideGraphMet(graph, course, completedCodes);
+        };
     }
 
-    private boolean doTimesConflict(String times1, String times2) {
+    // Courses newer than the catalog snapshot are checked against their own stored prerequisites
+    private static boolean prerequisitesOutsideGraphMet(PrerequisiteGraph graph, Course course, Set<String> completedCourses) {
+        return course.getPrerequisites() == null
+                || graph.prerequisitesMet(course.getPrerequisites(), completedCourses::contains);
+    }
 
-        if ("TBD".equalsIgnoreCase(times1) || "TBD".equalsIgnoreCase(times2)) {
-            return false;
-        }
 
-        if (times1 == null || times2 == null || times1.isEmpty() || times2.isEmpty()) {
+    // Slots carry the times they were built with, so generation never has to reload their offerings
+    private boolean hasTimeConflict(CourseOffering newOffering, List<ScheduleSlot> existingSlots) {
+        TimeMask newTimes = newOffering.getTimeMask();
+        if (newTimes.isEmpty()) {
             return false;
         }
 
-        String[] slots1 = times1.split(", ");
-        String[] slots2 = times2.split(", ");
-
-        for (String slot1 : slots1) {
-            for (String slot2 : slots2) {
-                if (doSingleSlotsConflict(slot1, slot2)) {
-                    return true;
-                }
+        for (ScheduleSlot slot : existingSlots) {
+            if (slot.getTimeMask().intersects(newTimes)) {
+                return true;
             }
         }
         return false;
     }
 
-    private boolean doSingleSlotsConflict(String slot1, String slot2) {
-        String[] parts1 = slot1.trim().split(" ");
-        String[] parts2 = slot2.trim().split(" ");
-
-        if (parts1.length < 2 || parts2.length < 2) {
-            return false;
-        }
-
-        if (!parts1[0].equals(parts2[0])) {
-            return false;
-        }
-
-        String[] timeRange1 = parts1[1].split("-");
-        String[] timeRange2 = parts2[1].split("-");
-
-        if (timeRange1.length != 2 || timeRange2.length != 2) {
-            return false;
-        }
-
-        int start1 = parseTimeToMinutes(timeRange1[0]);
-        int end1 = parseTimeToMinutes(timeRange1[1]);
-        int start2 = parseTimeToMinutes(timeRange2[0]);
-        int end2 = parseTimeToMinutes(timeRange2[1]);
-
-        return !(end1 <= start2 || end2 <= start1);
-    }
-
-    private int parseTimeToMinutes(String time) {
-        time = time.toLowerCase();
-        boolean isPM = time.endsWith("pm");
-        time = time.replace("am", "").replace("pm", "");
-
-        String[] parts = time.split(":");
-        int hours = Integer.parseInt(parts[0]);
-        int minutes = Integer.parseInt(parts[1]);
-
-        if (isPM && hours != 12) {
-            hours += 12;
-        }
-        if (!isPM && hours == 12) {
-            hours = 0;
-        }
-
-        return hours * 60 + minutes;
-    }
-
-    private boolean hasTimeConflicts(List<ScheduleSlot> slots) {
+    // Validation trusts the stored offering times over whatever times the client sent in the slots
+    private List<ScheduleSlot> findConflictingSlots(List<ScheduleSlot> slots, Map<UUID, CourseOffering> offerings) {
+        boolean[] conflicting = new boolean[slots.size()];
         for (int i = 0; i < slots.size(); i++) {
             for (int j = i + 1; j < slots.size(); j++) {
-                Optional<CourseOffering> offering1 = courseOfferingRepository.findCourseOfferingsById(slots.get(i).getOfferingId());
-                Optional<CourseOffering> offering2 = courseOfferingRepository.findCourseOfferingsById(slots.get(j).getOfferingId());
+                CourseOffering offering1 = offerings.get(slots.get(i).getOfferingId());
+                CourseOffering offering2 = offerings.get(slots.get(j).getOfferingId());
 
-                if (offering1.isPresent() && offering2.isPresent() &&
-                        doTimesConflict(offering1.get().getTimes(), offering2.get().getTimes())) {
-                    return true;
+                if (offering1 != null && offering2 != null && doTimesConflict(offering1, offering2)) {
+                    conflicting[i] = true;
+                    conflicting[j] = true;
                 }
             }
         }
-        return false;
+
+        List<ScheduleSlot> result = new ArrayList<>();
+        for (int i = 0; i < slots.size(); i++) {
+            if (conflicting[i]) {
+                result.add(slots.get(i));
+            }
+        }
+        return result;
+    }
+
+    private boolean doTimesConflict(CourseOffering offering1, CourseOffering offering2) {
+        return offering1.getTimeMask().intersects(offering2.getTimeMask());
     }
 }
@@ -0,0 +1,65 @@
+package edu.aua.course_recommendation.service.schedule;
+
+import edu.aua.course_recommendation.dto.response.SectionAlternativeDto;
+import edu.aua.course_recommendation.entity.CourseOffering;
+import edu.aua.course_recommendation.model.SchedulePreferences;
+import edu.aua.course_recommendation.model.SeatCount;
+import edu.aua.course_recommendation.model.TimeMask;
+import edu.aua.course_recommendation.service.course.SeatAvailabilityIndex;
+import edu.aua.course_recommendation.service.course.TermOfferingIndex;
+import edu.aua.course_recommendation.service.course.TermOfferingIndexCache;
+import edu.aua.course_recommendation.service.schedule.scoring.ScheduleScoringEngine;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Finds the other sections of a course that would fit a schedule in place of a conflicting one,
+ * from the cached term index and seat figures, so suggesting them costs no queries.
+ */
+@Component
+@RequiredArgsConstructor
+public class SectionAlternativeFinder {
+
+    private final TermOfferingIndexCache termOfferingIndexCache;
+    private final SeatAvailabilityIndex seatAvailabilityIndex;
+    private final ScheduleScoringEngine scoringEngine;
+
+    /**
+     * Every other section of {@code requested}'s course in the same term that does not overlap
+     * {@code booked}, most compact resulting schedule first and, between equally compact ones, open
+     * sections first.
+     */
+    public List<SectionAlternativeDto> find(CourseOffering requested, TimeMask booked) {
+        String year = requested.getYear();
+        String semester = requested.getSemester();
+        TermOfferingIndex index = termOfferingIndexCache.getIndex(year, semester)
+                .preferring(seatAvailabilityIndex.openSections(year, semester));
+
+        List<Ranked> fitting = new ArrayList<>();
+        for (CourseOffering section : index.getSections(requested.getBaseCourse().getCode())) {
+            if (section.getId().equals(requested.getId()) || booked.intersects(section.getTimeMask())) continue;
+
+            // Without preferences the scoring engine's penalty is a measure of compactness alone
+            double penalty = scoringEngine.penalty(booked.union(section.getTimeMask()), List.of(),
+                    SchedulePreferences.NONE);
+            fitting.add(new Ranked(section, penalty, !index.isPreferred(section)));
+        }
+        fitting.sort(Comparator.comparingDouble(Ranked::penalty).thenComparing(Ranked::full));
+
+        List<SectionAlternativeDto> alternatives = new ArrayList<>(fitting.size());
+        for (Ranked ranked : fitting) {
+            CourseOffering section = ranked.section();
+            SeatCount seats = seatAvailabilityIndex.getSeats(year, semester, section.getId());
+            alternatives.add(new SectionAlternativeDto(section.getId(), section.getBaseCourse().getCode(),
+                    section.getSection(), section.getInstructor() == null ? null : section.getInstructor().getName(),
+                    section.getTimes(), seats.available()));
+        }
+        return alternatives;
+    }
+
+    private record Ranked(CourseOffering section, double penalty, boolean full) {}
+}
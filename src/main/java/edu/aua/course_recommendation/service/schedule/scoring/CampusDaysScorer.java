@@ -0,0 +1,25 @@
+package edu.aua.course_recommendation.service.schedule.scoring;
+
+import edu.aua.course_recommendation.entity.CourseOffering;
+import edu.aua.course_recommendation.model.SchedulePreferences;
+import edu.aua.course_recommendation.model.TimeMask;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+
+// Fewer days on campus is better, everything else being equal
+@Component
+public class CampusDaysScorer implements ScheduleScorer {
+
+    private static final double PENALTY_PER_DAY = 0.5;
+
+    @Override
+    public double penalty(TimeMask booked, Collection<CourseOffering> sections, SchedulePreferences preferences) {
+        return PENALTY_PER_DAY * Integer.bitCount(booked.meetingDays());
+    }
+
+    @Override
+    public boolean isMonotone() {
+        return true;
+    }
+}
@@ -0,0 +1,25 @@
+package edu.aua.course_recommendation.service.schedule.scoring;
+
+import edu.aua.course_recommendation.entity.CourseOffering;
+import edu.aua.course_recommendation.model.SchedulePreferences;
+import edu.aua.course_recommendation.model.TimeMask;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+
+// Classes on a day the student asked to keep free
+@Component
+public class DaysOffScorer implements ScheduleScorer {
+
+    private static final double PENALTY_PER_DAY = 3.0;
+
+    @Override
+    public double penalty(TimeMask booked, Collection<CourseOffering> sections, SchedulePreferences preferences) {
+        return PENALTY_PER_DAY * Integer.bitCount(booked.meetingDays() & preferences.daysOff());
+    }
+
+    @Override
+    public boolean isMonotone() {
+        return true;
+    }
+}
@@ -0,0 +1,20 @@
+package edu.aua.course_recommendation.service.schedule.scoring;
+
+import edu.aua.course_recommendation.entity.CourseOffering;
+import edu.aua.course_recommendation.model.SchedulePreferences;
+import edu.aua.course_recommendation.model.TimeMask;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+
+// Gaps between classes on the same day
+@Component
+public class IdleTimeScorer implements ScheduleScorer {
+
+    private static final double PENALTY_PER_IDLE_HOUR = 0.25;
+
+    @Override
+    public double penalty(TimeMask booked, Collection<CourseOffering> sections, SchedulePreferences preferences) {
+        return PENALTY_PER_IDLE_HOUR * booked.idleMinutes() / 60.0;
+    }
+}
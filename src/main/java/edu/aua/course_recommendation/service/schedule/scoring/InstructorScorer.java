@@ -0,0 +1,34 @@
+package edu.aua.course_recommendation.service.schedule.scoring;
+
+import edu.aua.course_recommendation.entity.CourseOffering;
+import edu.aua.course_recommendation.model.SchedulePreferences;
+import edu.aua.course_recommendation.model.TimeMask;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+
+// Sections not taught by one of the instructors the student prefers, if they named any
+@Component
+public class InstructorScorer implements ScheduleScorer {
+
+    private static final double PENALTY_PER_SECTION = 0.5;
+
+    @Override
+    public double penalty(TimeMask booked, Collection<CourseOffering> sections, SchedulePreferences preferences) {
+        if (preferences.instructors().isEmpty()) {
+            return 0;
+        }
+        int others = 0;
+        for (CourseOffering section : sections) {
+            if (section.getInstructor() == null || !preferences.instructors().contains(section.getInstructor().getName())) {
+                others++;
+            }
+        }
+        return PENALTY_PER_SECTION * others;
+    }
+
+    @Override
+    public boolean isMonotone() {
+        return true;
+    }
+}
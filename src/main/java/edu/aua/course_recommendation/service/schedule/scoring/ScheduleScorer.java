@@ -0,0 +1,33 @@
+package edu.aua.course_recommendation.service.schedule.scoring;
+
+import edu.aua.course_recommendation.entity.CourseOffering;
+import edu.aua.course_recommendation.model.SchedulePreferences;
+import edu.aua.course_recommendation.model.TimeMask;
+
+import java.util.Collection;
+
+/**
+ * One criterion a candidate schedule is judged by. Every implementation registered as a bean is
+ * applied by {@link ScheduleScoringEngine}; a schedule's penalty is the sum of theirs.
+ * <p>
+ * Scorers are called for every node of the schedule search, so they should work off the booked
+ * time mask rather than the individual sections wherever possible.
+ */
+public interface ScheduleScorer {
+
+    /**
+     * A non-negative penalty; lower is better.
+     *
+     * @param booked   union of the time masks of every section in the schedule
+     * @param sections the sections being judged; when comparing alternatives for one slot, only those alternatives
+     */
+    double penalty(TimeMask booked, Collection<CourseOffering> sections, SchedulePreferences preferences);
+
+    /**
+     * Whether adding sections to a schedule can only keep or raise this scorer's penalty. The
+     * schedule search uses the penalties of monotone scorers to prune partial schedules.
+     */
+    default boolean isMonotone() {
+        return false;
+    }
+}
@@ -0,0 +1,64 @@
+package edu.aua.course_recommendation.service.schedule.scoring;
+
+import edu.aua.course_recommendation.entity.CourseOffering;
+import edu.aua.course_recommendation.model.SchedulePreferences;
+import edu.aua.course_recommendation.model.TimeMask;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Scores candidate schedules with every registered {@link ScheduleScorer}, for both the greedy
+ * generator (which section of a course fits best) and the top-K search (how good a whole
+ * schedule is). Adding a criterion means adding a scorer bean.
+ */
+@Component
+public class ScheduleScoringEngine {
+
+    private final List<ScheduleScorer> scorers;
+    private final List<ScheduleScorer> monotoneScorers;
+
+    public ScheduleScoringEngine(List<ScheduleScorer> scorers) {
+        this.scorers = List.copyOf(scorers);
+        this.monotoneScorers = scorers.stream().filter(ScheduleScorer::isMonotone).toList();
+    }
+
+    public double penalty(TimeMask booked, Collection<CourseOffering> sections, SchedulePreferences preferences) {
+        double penalty = 0;
+        for (ScheduleScorer scorer : scorers) {
+            penalty += scorer.penalty(booked, sections, preferences);
+        }
+        return penalty;
+    }
+
+    /**
+     * A penalty that no schedule extending this one can go below, for pruning partial schedules.
+     */
+    public double lowerBound(TimeMask booked, Collection<CourseOffering> sections, SchedulePreferences preferences) {
+        double penalty = 0;
+        for (ScheduleScorer scorer : monotoneScorers) {
+            penalty += scorer.penalty(booked, sections, preferences);
+        }
+        return penalty;
+    }
+
+    /**
+     * The section that adds least to the penalty of what is already booked; the earlier of two
+     * equally good sections in {@code sections} wins.
+     */
+    public Optional<CourseOffering> bestSection(List<CourseOffering> sections, TimeMask booked,
+                                                SchedulePreferences preferences) {
+        CourseOffering best = null;
+        double bestPenalty = Double.POSITIVE_INFINITY;
+        for (CourseOffering section : sections) {
+            double penalty = penalty(booked.union(section.getTimeMask()), List.of(section), preferences);
+            if (penalty < bestPenalty) {
+                best = section;
+                bestPenalty = penalty;
+            }
+        }
+        return Optional.ofNullable(best);
+    }
+}
@@ -0,0 +1,35 @@
+package edu.aua.course_recommendation.service.schedule.scoring;
+
+import edu.aua.course_recommendation.entity.CourseOffering;
+import edu.aua.course_recommendation.model.SchedulePreferences;
+import edu.aua.course_recommendation.model.TimeMask;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+
+// Classes starting before or ending after the hours the student asked for, by how far
+@Component
+public class TimeWindowScorer implements ScheduleScorer {
+
+    private static final double PENALTY_PER_HOUR_OUTSIDE = 2.0;
+
+    @Override
+    public double penalty(TimeMask booked, Collection<CourseOffering> sections, SchedulePreferences preferences) {
+        if (booked.isEmpty()) {
+            return 0;
+        }
+        int minutesOutside = 0;
+        if (preferences.notBefore() != null) {
+            minutesOutside += Math.max(0, preferences.notBefore() - booked.earliestStartOfDayMinutes());
+        }
+        if (preferences.notAfter() != null) {
+            minutesOutside += Math.max(0, booked.latestEndOfDayMinutes() - preferences.notAfter());
+        }
+        return PENALTY_PER_HOUR_OUTSIDE * minutesOutside / 60.0;
+    }
+
+    @Override
+    public boolean isMonotone() {
+        return true;
+    }
+}
@@ -81,11 +81,35 @@ public class AcademicCalendarUtil {
             nextAcademicYearStart = currentYear;
         }
 
-        String year = String.format("%d%02d", nextAcademicYearStart, (nextAcademicYearStart + 1) % 100);
+        String year = formatAcademicYear(nextAcademicYearStart);
 
         return new String[]{year, nextSemester.getValue()};
     }
 
+    /**
+     * Determines the academic period that follows the given one, for planning several terms ahead.
+     * Winter is never planned; Summer only when {@code includeSummer} is set.
+     *
+     * @param year     Academic year such as "202425"
+     * @param semester Semester value ("1", "2", "3", "4")
+     * @return String[] with [year, semester] of the following period
+     */
+    public static String[] getFollowingAcademicPeriod(String year, String semester, boolean includeSummer) {
+        int academicYearStart = Integer.parseInt(year.substring(0, 4));
+
+        if (Semester.FALL.getValue().equals(semester) || Semester.WINTER.getValue().equals(semester)) {
+            return new String[]{year, Semester.SPRING.getValue()};
+        }
+        if (Semester.SPRING.getValue().equals(semester) && includeSummer) {
+            return new String[]{year, Semester.SUMMER.getValue()};
+        }
+        return new String[]{formatAcademicYear(academicYearStart + 1), Semester.FALL.getValue()};
+    }
+
+    private static String formatAcademicYear(int academicYearStart) {
+        return String.format("%d%02d", academicYearStart, (academicYearStart + 1) % 100);
+    }
+
     /**
      * Gets the human-readable name of a semester based on its value
      *
@@ -0,0 +1,58 @@
+package edu.aua.course_recommendation.util;
+
+import java.util.*;
+
+/**
+ * Immutable set of course codes backed by a sorted array.
+ * <p>
+ * Meant for catalog-derived code sets that are computed once and read on every audit:
+ * it costs one array instead of a hash table, and {@link #contains(Object)} is a binary search.
+ */
+public final class SortedCodeSet extends AbstractSet<String> {
+
+    private static final SortedCodeSet EMPTY = new SortedCodeSet(new String[0]);
+
+    private final String[] codes;
+
+    private SortedCodeSet(String[] codes) {
+        this.codes = codes;
+    }
+
+    public static SortedCodeSet empty() {
+        return EMPTY;
+    }
+
+    public static SortedCodeSet of(Collection<String> codes) {
+        String[] sorted = codes.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .sorted()
+                .toArray(String[]::new);
+        return sorted.length == 0 ? EMPTY : new SortedCodeSet(sorted);
+    }
+
+    /**
+     * Returns the codes of this set that are not in {@code excluded}, keeping the sort order.
+     */
+    public SortedCodeSet without(Collection<String> excluded) {
+        String[] kept = Arrays.stream(codes)
+                .filter(code -> !excluded.contains(code))
+                .toArray(String[]::new);
+        return kept.length == codes.length ? this : new SortedCodeSet(kept);
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return o instanceof String code && Arrays.binarySearch(codes, code) >= 0;
+    }
+
+    @Override
+    public Iterator<String> iterator() {
+        return Collections.unmodifiableList(Arrays.asList(codes)).iterator();
+    }
+
+    @Override
+    public int size() {
+        return codes.length;
+    }
+}
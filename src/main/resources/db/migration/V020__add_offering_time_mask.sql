@@ -0,0 +1,3 @@
+-- Weekly meeting times as a 5-minute bucket bitmask, see TimeMask; backfilled by V021
+ALTER TABLE course_offerings
+    ADD COLUMN time_mask VARBINARY(256);
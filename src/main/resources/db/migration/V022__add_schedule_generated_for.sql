@@ -0,0 +1,4 @@
+ALTER TABLE schedules
+    ADD COLUMN generated_for VARCHAR(32);
+
+CREATE INDEX idx_schedules_user_generated_for ON schedules (user_id, generated_for);
@@ -0,0 +1,5 @@
+-- Numeric forms of taken_seats and spaces_waiting, see SeatCount; backfilled by V024
+ALTER TABLE course_offerings
+    ADD COLUMN seats_taken INT,
+    ADD COLUMN seat_capacity INT,
+    ADD COLUMN seats_waiting INT;
@@ -0,0 +1,4 @@
+-- Union of a schedule's slot times (see TimeMask) and its credit total; filled in on the next write
+ALTER TABLE schedules
+    ADD COLUMN occupancy_mask VARBINARY(256),
+    ADD COLUMN total_credits INT;
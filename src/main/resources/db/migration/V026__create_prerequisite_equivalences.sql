@@ -0,0 +1,14 @@
+-- A prerequisite naming an equivalence key is met by completing any course in its group
+CREATE TABLE prerequisite_equivalences
+(
+    equivalence_key VARCHAR(50) NOT NULL,
+    course_code     VARCHAR(50) NOT NULL,
+
+    PRIMARY KEY (equivalence_key, course_code)
+);
+
+INSERT INTO prerequisite_equivalences (equivalence_key, course_code)
+VALUES ('EQCALC1', 'CS100'),
+       ('EQCALC2', 'CS101'),
+       ('EQDATASTRC', 'CS121'),
+       ('EQOOP', 'CS110');
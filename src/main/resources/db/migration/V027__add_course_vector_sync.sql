@@ -0,0 +1,17 @@
+-- SHA-256 of a course's title and description (see Course#hashContent), the text the recommender embeds
+ALTER TABLE courses
+    ADD COLUMN content_hash CHAR(64);
+
+UPDATE courses
+SET content_hash = SHA2(CONCAT(title, '\n', description), 256);
+
+-- The courses the Python vector index holds, as of their last synced chunk
+CREATE TABLE course_vector_sync
+(
+    course_code  VARCHAR(255) NOT NULL,
+    course_id    BINARY(16)   NOT NULL,
+    content_hash CHAR(64)     NOT NULL,
+    synced_at    TIMESTAMP    NOT NULL,
+
+    PRIMARY KEY (course_code)
+);
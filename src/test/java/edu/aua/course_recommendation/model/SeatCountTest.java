@@ -0,0 +1,27 @@
+package edu.aua.course_recommendation.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SeatCountTest {
+
+    @Test
+    void parsesTakenSeatsAndSpacesWaiting() {
+        SeatCount seats = SeatCount.parse("27/30", "3/5");
+
+        assertEquals(new SeatCount(27, 30, 5), seats);
+        assertEquals(3, seats.available());
+        assertFalse(seats.isFull());
+        assertTrue(SeatCount.parse("31/30", "0/2").isFull());
+        // Capacity is taken plus spaces when the listing has no seat total
+        assertEquals(new SeatCount(20, 25, null), SeatCount.parse("20", "5"));
+    }
+
+    @Test
+    void unknownCapacityIsNeverFull() {
+        assertEquals(SeatCount.UNKNOWN, SeatCount.parse(null, ""));
+        assertFalse(SeatCount.parse("N/A", "N/A").isFull());
+        assertNull(SeatCount.parse("12", null).available());
+    }
+}
@@ -0,0 +1,67 @@
+package edu.aua.course_recommendation.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimeMaskTest {
+
+    @Test
+    void overlappingMeetingsOnTheSameDayConflict() {
+        TimeMask monWed = TimeMask.parse("MON 10:30am-11:50am, WED 10:30am-11:50am");
+
+        assertTrue(monWed.intersects(TimeMask.parse("WED 11:45am-12:40pm")));
+        assertFalse(monWed.intersects(TimeMask.parse("TUE 10:30am-11:50am")));
+        // Back-to-back classes share a boundary but do not conflict
+        assertFalse(monWed.intersects(TimeMask.parse("MON 11:50am-1:00pm")));
+        assertFalse(monWed.intersects(TimeMask.parse("MON 9:00am-10:30am")));
+    }
+
+    @Test
+    void unscheduledTimesNeverConflict() {
+        TimeMask anything = TimeMask.parse("MON 12:00am-11:55pm");
+
+        assertTrue(TimeMask.parse("TBD").isEmpty());
+        assertTrue(TimeMask.parse("").isEmpty());
+        assertTrue(TimeMask.parse(null).isEmpty());
+        assertTrue(TimeMask.parse("MON sometime").isEmpty());
+        assertFalse(anything.intersects(TimeMask.parse("TBD")));
+        assertEquals(Integer.MAX_VALUE, TimeMask.EMPTY.earliestStartMinutes());
+    }
+
+    @Test
+    void earliestStartIsMeasuredFromMondayMidnight() {
+        assertEquals(24 * 60 + 13 * 60, TimeMask.parse("THU 9:00am-10:00am, TUE 1:00pm-2:20pm").earliestStartMinutes());
+        assertEquals(6 * 24 * 60, TimeMask.parse("SUN 12:00am-1:00am").earliestStartMinutes());
+    }
+
+    @Test
+    void roundTripsThroughBytesAndUnion() {
+        TimeMask sat = TimeMask.parse("SAT 10:00am-1:00pm");
+        TimeMask mon = TimeMask.parse("MON 8:00am-9:00am");
+
+        assertEquals(sat, TimeMask.fromBytes(sat.toBytes()));
+        assertTrue(mon.toBytes().length < sat.toBytes().length);
+        TimeMask both = mon.union(sat);
+        assertTrue(both.intersects(mon) && both.intersects(sat));
+        assertEquals(mon.earliestStartMinutes(), both.earliestStartMinutes());
+    }
+
+    @Test
+    void measuresIdleTimeAndDayBoundsPerDay() {
+        // Tuesday starts mid-word, so every range below straddles word boundaries
+        TimeMask week = TimeMask.parse("TUE 9:00am-10:20am, TUE 1:30pm-2:50pm, THU 9:00am-10:20am, "
+                + "THU 10:30am-11:50am, SAT 11:00pm-11:55pm");
+
+        assertEquals(0b0010_1010, week.meetingDays());
+        // 10:20 to 1:30 on Tuesday, 10:20 to 10:30 on Thursday
+        assertEquals(190 + 10, week.idleMinutes());
+        assertEquals(9 * 60, week.earliestStartOfDayMinutes());
+        assertEquals(23 * 60 + 55, week.latestEndOfDayMinutes());
+
+        assertEquals(0, TimeMask.EMPTY.idleMinutes());
+        assertEquals(0, TimeMask.EMPTY.meetingDays());
+        assertEquals(0, TimeMask.EMPTY.latestEndOfDayMinutes());
+        assertEquals(0, TimeMask.parse("MON 9:00am-10:20am, MON 10:20am-11:40am").idleMinutes());
+    }
+}
@@ -0,0 +1,116 @@
+package edu.aua.course_recommendation.service.audit;
+
+import edu.aua.course_recommendation.dto.request.BatchDegreeAuditRequestDto;
+import edu.aua.course_recommendation.dto.response.BatchDegreeAuditResultDto;
+import edu.aua.course_recommendation.entity.Course;
+import edu.aua.course_recommendation.entity.Enrollment;
+import edu.aua.course_recommendation.entity.User;
+import edu.aua.course_recommendation.model.AcademicStanding;
+import edu.aua.course_recommendation.model.Department;
+import edu.aua.course_recommendation.model.Requirement;
+import edu.aua.course_recommendation.model.Role;
+import edu.aua.course_recommendation.repository.CourseRepository;
+import edu.aua.course_recommendation.repository.EnrollmentRepository;
+import edu.aua.course_recommendation.repository.UserRepository;
+import edu.aua.course_recommendation.service.auth.UserService;
+import edu.aua.course_recommendation.service.course.CourseCatalog;
+import edu.aua.course_recommendation.service.course.EnrollmentService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+class BatchDegreeAuditServiceTest {
+
+    private final EnrollmentRepository enrollmentRepository = mock(EnrollmentRepository.class);
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private BatchDegreeAuditService batchService;
+
+    @AfterEach
+    void tearDown() {
+        if (batchService != null) {
+            batchService.shutdown();
+        }
+    }
+
+    @Test
+    void auditsEveryChunkWithOneEnrollmentQuery() {
+        CourseRepository courseRepository = mock(CourseRepository.class);
+        Course cs110 = Course.builder().id(UUID.randomUUID()).code("CS110").title("CS110").description("")
+                .credits(3).themes(new ArrayList<>()).build();
+        when(courseRepository.findAllWithThemes()).thenReturn(List.of(cs110));
+
+        List<User> students = new ArrayList<>();
+        List<Enrollment> enrollments = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            User student = student(i % 2 == 0 ? Department.CS : Department.BAB);
+            students.add(student);
+            Enrollment enrollment = new Enrollment();
+            enrollment.setUser(student);
+            enrollment.setCourse(cs110);
+            enrollments.add(enrollment);
+        }
+        UUID missing = UUID.randomUUID();
+        User admin = student(Department.CS);
+        admin.setRole(Role.ROLE_ADMIN);
+        List<UUID> requested = new ArrayList<>(students.stream().map(User::getId).toList());
+        requested.add(missing);
+        requested.add(admin.getId());
+
+        List<User> found = new ArrayList<>(students);
+        found.add(admin);
+        when(userRepository.findAllById(any())).thenReturn(found);
+        when(enrollmentRepository.findWithCourseByUser_IdIn(anyCollection())).thenAnswer(invocation -> {
+            Collection<UUID> ids = invocation.getArgument(0);
+            return enrollments.stream().filter(e -> ids.contains(e.getUser().getId())).toList();
+        });
+
+        UserService userService = mock(UserService.class);
+        CourseCatalog catalog = new CourseCatalog(courseRepository, mock(PlatformTransactionManager.class));
+        EnrollmentService enrollmentService = new EnrollmentService(
+                userService, enrollmentRepository, courseRepository, userRepository, mock(ApplicationEventPublisher.class));
+        GenedClusteringService clustering = new GenedClusteringService(catalog);
+        DegreeAuditServiceRouter router = new DegreeAuditServiceRouter(List.of(
+                new CSDegreeAuditService(enrollmentService, clustering, catalog, userService),
+                new BusinessDegreeAuditService(enrollmentService, clustering, catalog, userService)
+        ), userService);
+
+        batchService = new BatchDegreeAuditService(userRepository, enrollmentService, router, 2);
+
+        BatchDegreeAuditRequestDto request = new BatchDegreeAuditRequestDto(requested, null);
+        List<BatchDegreeAuditResultDto> lines = new ArrayList<>();
+        batchService.auditStudents(request, batchService.resolveStudents(request), lines::add);
+
+        assertEquals(7, lines.size());
+        assertEquals(2, lines.stream().filter(line -> line.error() != null).count());
+        assertTrue(lines.stream().filter(line -> line.studentId().equals(missing) || line.studentId().equals(admin.getId()))
+                .allMatch(line -> line.result() == null));
+        Set<UUID> csStudents = new HashSet<>();
+        students.stream().filter(s -> s.getDepartment() == Department.CS).forEach(s -> csStudents.add(s.getId()));
+        lines.stream().filter(line -> csStudents.contains(line.studentId())).forEach(line ->
+                assertTrue(line.result().getCommonRequirements().stream()
+                        .filter(r -> r.getRequirementName() == Requirement.CORE)
+                        .allMatch(r -> r.getCompletedCourseCodes().equals(List.of("CS110")))));
+
+        // Chunk size 2 over 5 students: three set-based queries, never per-student ones
+        verify(enrollmentRepository, times(3)).findWithCourseByUser_IdIn(anyCollection());
+        verify(enrollmentRepository, never()).findWithCourseByUser_Id(any());
+        verify(userService, never()).validateStudent(any());
+    }
+
+    private static User student(Department department) {
+        User user = new User();
+        user.setId(UUID.randomUUID());
+        user.setDepartment(department);
+        user.setAcademicStanding(AcademicStanding.FRESHMAN);
+        user.setRole(Role.ROLE_STUDENT);
+        return user;
+    }
+}
@@ -0,0 +1,140 @@
+package edu.aua.course_recommendation.service.audit;
+
+import edu.aua.course_recommendation.dto.request.WhatIfAuditRequestDto;
+import edu.aua.course_recommendation.dto.response.WhatIfAuditResultDto;
+import edu.aua.course_recommendation.entity.Course;
+import edu.aua.course_recommendation.entity.Enrollment;
+import edu.aua.course_recommendation.entity.User;
+import edu.aua.course_recommendation.model.AcademicStanding;
+import edu.aua.course_recommendation.model.DegreeAuditMultiScenarioResult;
+import edu.aua.course_recommendation.model.Department;
+import edu.aua.course_recommendation.repository.CourseRepository;
+import edu.aua.course_recommendation.repository.EnrollmentRepository;
+import edu.aua.course_recommendation.repository.UserRepository;
+import edu.aua.course_recommendation.service.auth.UserService;
+import edu.aua.course_recommendation.service.course.CourseCatalog;
+import edu.aua.course_recommendation.service.course.EnrollmentService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Guards against regressions where individual requirement checks go back to
+ * querying enrollments on their own instead of using the audit snapshot.
+ */
+class DegreeAuditQueryCountTest {
+
+    private final UUID studentId = UUID.randomUUID();
+
+    private EnrollmentRepository enrollmentRepository;
+    private CourseRepository courseRepository;
+    private CSDegreeAuditService auditService;
+    private WhatIfDegreeAuditService whatIfService;
+
+    @BeforeEach
+    void setUp() {
+        enrollmentRepository = mock(EnrollmentRepository.class);
+        courseRepository = mock(CourseRepository.class);
+        UserRepository userRepository = mock(UserRepository.class);
+        UserService userService = mock(UserService.class);
+
+        User student = new User();
+        student.setId(studentId);
+        student.setDepartment(Department.CS);
+        student.setAcademicStanding(AcademicStanding.SOPHOMORE);
+        when(userService.getUserById(studentId)).thenReturn(student);
+        when(userService.getStudentDepartment(studentId)).thenReturn(Department.CS);
+
+        List<Course> catalog = List.of(
+                course("CS110", 1), course("CS100"), course("CS111"), course("CS120"),
+                course("FND101"), course("FND102"), course("FND110A"), course("FND152"),
+                course("CHSS101", 1), course("CHSS201", 1), course("CHSS102", 1),
+                course("CHSS150", 4), course("CHSS250", 4), course("CHSS151", 4),
+                course("CHSS160", 7), course("CHSS260", 7), course("CHSS161", 7),
+                course("CS205"), course("CS221"), course("CS246")
+        );
+        when(courseRepository.findAllWithThemes()).thenReturn(catalog);
+        when(courseRepository.findAllWithPrerequisites()).thenReturn(catalog);
+
+        List<Enrollment> enrollments = new ArrayList<>();
+        for (Course course : catalog.subList(0, 16)) {
+            enrollments.add(enrollment(student, course));
+        }
+        when(enrollmentRepository.findWithCourseByUser_Id(studentId)).thenReturn(enrollments);
+        when(enrollmentRepository.findByUser_Id(studentId)).thenReturn(enrollments);
+
+        CourseCatalog courseCatalog = new CourseCatalog(courseRepository, mock(PlatformTransactionManager.class));
+        EnrollmentService enrollmentService = new EnrollmentService(
+                userService, enrollmentRepository, courseRepository, userRepository, mock(ApplicationEventPublisher.class));
+        GenedClusteringService genedClusteringService = new GenedClusteringService(courseCatalog);
+
+        auditService = new CSDegreeAuditService(enrollmentService, genedClusteringService, courseCatalog, userService);
+        whatIfService = new WhatIfDegreeAuditService(
+                new DegreeAuditServiceRouter(List.of(auditService), userService), courseCatalog, userService);
+    }
+
+    @Test
+    void fullAuditLoadsEnrollmentsExactlyOnce() {
+        DegreeAuditMultiScenarioResult result = auditService.auditStudentDegreeMultiScenario(studentId);
+
+        assertNotNull(result);
+        assertEquals(8, result.getCommonRequirements().size());
+        verify(enrollmentRepository, times(1)).findWithCourseByUser_Id(studentId);
+        verify(enrollmentRepository, never()).findByUser_Id(any());
+    }
+
+    @Test
+    void repeatedAuditsReuseTheCourseCatalog() {
+        auditService.auditStudentDegreeMultiScenario(studentId);
+        auditService.auditStudentDegreeMultiScenario(studentId);
+
+        verify(courseRepository, times(1)).findAllWithThemes();
+        verify(courseRepository, never()).findAll();
+    }
+
+    @Test
+    void whatIfPlansShareOneSnapshotLoad() {
+        List<WhatIfAuditResultDto> results = whatIfService.auditPlans(studentId, new WhatIfAuditRequestDto(List.of(
+                List.of(),
+                List.of("CS205", "CS221", "CS246"))));
+
+        assertEquals(2, results.size());
+        assertFalse(completedTrackCodes(results.get(0)).contains("CS205"));
+        assertTrue(completedTrackCodes(results.get(1)).containsAll(List.of("CS205", "CS221", "CS246")));
+        verify(enrollmentRepository, times(1)).findWithCourseByUser_Id(studentId);
+    }
+
+    private static List<String> completedTrackCodes(WhatIfAuditResultDto result) {
+        return result.result().getScenarios().stream()
+                .flatMap(scenario -> scenario.getScenarioRequirements().stream())
+                .flatMap(requirement -> requirement.getCompletedCourseCodes().stream())
+                .toList();
+    }
+
+    private static Course course(String code, Integer... themes) {
+        return Course.builder()
+                .id(UUID.randomUUID())
+                .code(code)
+                .title(code)
+                .description(code)
+                .credits(3)
+                .themes(new ArrayList<>(List.of(themes)))
+                .build();
+    }
+
+    private static Enrollment enrollment(User student, Course course) {
+        Enrollment enrollment = new Enrollment();
+        enrollment.setUser(student);
+        enrollment.setCourse(course);
+        return enrollment;
+    }
+}
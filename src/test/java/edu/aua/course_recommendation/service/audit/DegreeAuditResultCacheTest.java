@@ -0,0 +1,132 @@
+package edu.aua.course_recommendation.service.audit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.aua.course_recommendation.dto.response.CacheStatsDto;
+import edu.aua.course_recommendation.model.*;
+import edu.aua.course_recommendation.service.auth.StudentProfileChangedEvent;
+import edu.aua.course_recommendation.service.course.CourseCatalogChangedEvent;
+import edu.aua.course_recommendation.service.course.EnrollmentChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class DegreeAuditResultCacheTest {
+
+    private final UUID studentId = UUID.randomUUID();
+    private final Map<String, String> redis = new HashMap<>();
+    private final AtomicInteger audits = new AtomicInteger();
+
+    @SuppressWarnings("unchecked")
+    private final RedisTemplate<String, String> redisTemplate = mock(RedisTemplate.class);
+    @SuppressWarnings("unchecked")
+    private final ValueOperations<String, String> values = mock(ValueOperations.class);
+
+    @BeforeEach
+    void setUp() {
+        when(redisTemplate.opsForValue()).thenReturn(values);
+        when(values.get(anyString())).thenAnswer(invocation -> redis.get(invocation.<String>getArgument(0)));
+        when(values.multiGet(anyCollection())).thenAnswer(invocation -> {
+            Collection<String> keys = invocation.getArgument(0);
+            return keys.stream().map(redis::get).toList();
+        });
+        doAnswer(invocation -> redis.put(invocation.getArgument(0), invocation.getArgument(1)))
+                .when(values).set(anyString(), anyString(), any(Duration.class));
+        when(values.increment(anyString())).thenAnswer(invocation ->
+                (long) Integer.parseInt(redis.merge(invocation.getArgument(0), "1",
+                        (old, one) -> String.valueOf(Long.parseLong(old) + 1))));
+    }
+
+    @Test
+    void repeatAuditsAreServedFromTheNearCache() {
+        DegreeAuditResultCache cache = newCache();
+
+        DegreeAuditMultiScenarioResult first = cache.getOrCompute(studentId, this::audit);
+        DegreeAuditMultiScenarioResult second = cache.getOrCompute(studentId, this::audit);
+
+        assertEquals(1, audits.get());
+        assertNotSame(first, second);
+        assertEquals(List.of("FND101", "FND102"), second.findCommonRequirement(Requirement.FOUNDATION).getPossibleCourseCodes());
+        assertTrue(second.getScenarios().getFirst().isSatisfied());
+        assertEquals(new CacheStatsDto("degree-audit-near", 1, 1), cache.getStats().getFirst());
+    }
+
+    @Test
+    void otherInstancesHitRedis() {
+        newCache().getOrCompute(studentId, this::audit);
+        DegreeAuditResultCache other = newCache();
+
+        other.getOrCompute(studentId, this::audit);
+
+        assertEquals(1, audits.get());
+        assertEquals(new CacheStatsDto("degree-audit-redis", 1, 0), other.getStats().get(1));
+    }
+
+    @Test
+    void enrollmentAndCatalogChangesForceARecompute() {
+        DegreeAuditResultCache cache = newCache();
+        DegreeAuditResultCache other = newCache();
+        cache.getOrCompute(studentId, this::audit);
+
+        cache.onEnrollmentChanged(new EnrollmentChangedEvent(studentId));
+        other.getOrCompute(studentId, this::audit);
+        assertEquals(2, audits.get());
+
+        cache.onCatalogChanged(new CourseCatalogChangedEvent());
+        cache.getOrCompute(studentId, this::audit);
+        assertEquals(3, audits.get());
+
+        // Other students keep their entries when one student's enrollments change
+        cache.getOrCompute(UUID.randomUUID(), this::audit);
+        cache.onEnrollmentChanged(new EnrollmentChangedEvent(studentId));
+        cache.getOrCompute(studentId, this::audit);
+        assertEquals(5, audits.get());
+    }
+
+    @Test
+    void profileChangesForceARecompute() {
+        DegreeAuditResultCache cache = newCache();
+        cache.getOrCompute(studentId, this::audit);
+
+        cache.onProfileChanged(new StudentProfileChangedEvent(studentId));
+        cache.getOrCompute(studentId, this::audit);
+        newCache().getOrCompute(studentId, this::audit);
+
+        assertEquals(2, audits.get());
+    }
+
+    @Test
+    void redisOutageFallsBackToAuditing() {
+        when(values.multiGet(anyCollection())).thenThrow(new RedisConnectionFailureException("down"));
+        DegreeAuditResultCache cache = newCache();
+
+        assertNotNull(cache.getOrCompute(studentId, this::audit));
+        assertNotNull(cache.getOrCompute(studentId, this::audit));
+
+        assertEquals(2, audits.get());
+    }
+
+    private DegreeAuditResultCache newCache() {
+        return new DegreeAuditResultCache(redisTemplate, new ObjectMapper(),
+                mock(DegreeAuditServiceRouter.class), Duration.ofHours(1), 16);
+    }
+
+    private DegreeAuditMultiScenarioResult audit() {
+        audits.incrementAndGet();
+        RequirementResult foundation = new RequirementResult(Requirement.FOUNDATION, false,
+                List.of("FND101", "FND102"), List.of(), 2);
+        RequirementResult track = new RequirementResult(Requirement.TRACK, true, List.of(), List.of("CS205"), 0);
+        DegreeAuditScenario scenario = new DegreeAuditScenario(DegreeScenarioType.CS_GENERAL, new ArrayList<>(List.of(track)), false);
+        scenario.canGraduate();
+        return new DegreeAuditMultiScenarioResult(List.of(foundation), List.of(scenario));
+    }
+}
@@ -0,0 +1,90 @@
+package edu.aua.course_recommendation.service.audit;
+
+import edu.aua.course_recommendation.entity.Course;
+import edu.aua.course_recommendation.model.*;
+import edu.aua.course_recommendation.repository.CourseRepository;
+import edu.aua.course_recommendation.service.auth.UserService;
+import edu.aua.course_recommendation.service.course.CourseCatalog;
+import edu.aua.course_recommendation.service.course.CourseCatalogChangedEvent;
+import edu.aua.course_recommendation.service.course.EnrollmentService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class FreeElectiveRequirementTest {
+
+    private final List<Course> catalog = new ArrayList<>(List.of(
+            course("CS110"), course("CS100"), course("CS205"), course("CS132"),
+            course("FND101"), course("FND110A"), course("FND152"), course("PEER001"),
+            course("ART101"), course("ART102"), course("ART201"),
+            course("CHSS101", 1), course("CHSS201", 1), course("CHSS102", 1),
+            course("CHSS150", 4), course("CHSS250", 4), course("CHSS151", 4),
+            course("CHSS160", 7), course("CHSS260", 7), course("CHSS161", 7)
+    ));
+    private static final String[] GENED_CLUSTERS = {
+            "CHSS101", "CHSS201", "CHSS102", "CHSS150", "CHSS250", "CHSS151", "CHSS160", "CHSS260", "CHSS161"};
+    private final CourseRepository courseRepository = mock(CourseRepository.class);
+    private CourseCatalog courseCatalog;
+    private CSDegreeAuditService auditService;
+
+    @BeforeEach
+    void setUp() {
+        when(courseRepository.findAllWithThemes()).thenAnswer(invocation -> List.copyOf(catalog));
+        courseCatalog = new CourseCatalog(courseRepository, mock(PlatformTransactionManager.class));
+        auditService = new CSDegreeAuditService(mock(EnrollmentService.class),
+                new GenedClusteringService(courseCatalog), courseCatalog, mock(UserService.class));
+    }
+
+    @Test
+    void programAndGenEdClusterCoursesAreNeverFreeElectives() {
+        List<String> completed = new ArrayList<>(List.of("ART101", "CS110", "FND101", "FND110A"));
+        completed.addAll(List.of(GENED_CLUSTERS));
+
+        RequirementResult result = auditService.checkFreeElectiveRequirements(snapshot(completed.toArray(String[]::new)));
+
+        assertEquals(List.of("ART101"), result.getCompletedCourseCodes());
+        assertEquals(2, result.getHowManyLeft());
+        Set<String> missing = new HashSet<>(result.getPossibleCourseCodes());
+        assertTrue(missing.containsAll(List.of("ART102", "ART201")));
+        assertTrue(Collections.disjoint(missing,
+                List.of("ART101", "CS110", "CS100", "CS205", "CS132", "FND101", "FND110A", "FND152", "PEER001")));
+    }
+
+    @Test
+    void codeSetsAreRebuiltOnlyWhenTheCatalogChanges() {
+        auditService.checkFreeElectiveRequirements(snapshot());
+        auditService.checkFreeElectiveRequirements(snapshot());
+        verify(courseRepository, times(1)).findAllWithThemes();
+
+        catalog.add(course("ART301"));
+        courseCatalog.onCatalogChanged(new CourseCatalogChangedEvent());
+
+        RequirementResult result = auditService.checkFreeElectiveRequirements(snapshot());
+        assertTrue(result.getPossibleCourseCodes().contains("ART301"));
+        verify(courseRepository, times(2)).findAllWithThemes();
+    }
+
+    private StudentAcademicSnapshot snapshot(String... completed) {
+        List<Course> courses = catalog.stream()
+                .filter(course -> List.of(completed).contains(course.getCode()))
+                .toList();
+        return new StudentAcademicSnapshot(UUID.randomUUID(), AcademicStanding.SOPHOMORE, Department.CS,
+                Set.of(completed), courses);
+    }
+
+    private static Course course(String code, Integer... themes) {
+        return Course.builder()
+                .id(UUID.randomUUID())
+                .code(code)
+                .title(code)
+                .description(code)
+                .credits(3)
+                .themes(new ArrayList<>(List.of(themes)))
+                .build();
+    }
+}
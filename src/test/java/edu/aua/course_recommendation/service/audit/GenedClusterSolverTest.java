@@ -0,0 +1,122 @@
+package edu.aua.course_recommendation.service.audit;
+
+import edu.aua.course_recommendation.entity.Course;
+import edu.aua.course_recommendation.model.NeededCluster;
+import edu.aua.course_recommendation.repository.CourseRepository;
+import edu.aua.course_recommendation.service.course.CourseCatalog;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Checks the bitmask solver against the original list-based backtracking search
+ * on randomly generated GenEd histories of different sizes, and the analysis cache
+ * shared by students with the same history.
+ */
+class GenedClusterSolverTest {
+
+    private static final int STUDENTS_PER_SIZE = 200;
+
+    @ParameterizedTest
+    @ValueSource(ints = {10, 30, 60})
+    void matchesBacktrackingSearch(int courseCount) {
+        Random random = new Random(courseCount);
+
+        for (int student = 0; student < STUDENTS_PER_SIZE; student++) {
+            // Random histories reuse codes with different themes, which a shared cache would conflate
+            GenedClusteringService service = newService();
+            List<Course> courses = randomCourses(random, courseCount);
+            List<Course> byCode = courses.stream().sorted(Comparator.comparing(Course::getCode)).toList();
+
+            for (int maxSolutions : new int[]{1, 5, 25}) {
+                assertEquals(
+                        describe(service.findPossibleClusterCombinationsByBacktracking(byCode, maxSolutions)),
+                        describe(service.findPossibleClusterCombinations(courses, maxSolutions)),
+                        "solutions differ for " + codes(courses));
+            }
+
+            assertEquals(
+                    !service.findPossibleClusterCombinationsByBacktracking(courses, 1).isEmpty(),
+                    service.isGenEdRequirementMet(courses));
+
+            assertEquals(
+                    describeNeeded(service.findNeededClustersByBacktracking(courses)),
+                    describeNeeded(service.findNeededClusters(courses)));
+        }
+    }
+
+    @Test
+    void identicalHistoriesShareOneCacheEntry() {
+        GenedClusteringService service = newService();
+        List<Course> courses = randomCourses(new Random(7), 30);
+        List<Course> reversed = new ArrayList<>(courses);
+        Collections.reverse(reversed);
+
+        service.isGenEdRequirementMet(courses);
+        service.findNeededClusters(reversed);
+        service.findPossibleClusterCombinations(courses, 1);
+
+        assertEquals(1, service.getAnalysisCacheMisses());
+        assertEquals(2, service.getAnalysisCacheHits());
+    }
+
+    private static GenedClusteringService newService() {
+        // An empty catalog makes division checks fall back to parsing the course number
+        return new GenedClusteringService(
+                new CourseCatalog(mock(CourseRepository.class), mock(PlatformTransactionManager.class)));
+    }
+
+    private static List<Course> randomCourses(Random random, int count) {
+        List<Course> courses = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            // Alternate 1xx and 2xx numbers so both divisions show up in every theme
+            int number = (random.nextBoolean() ? 100 : 200) + i;
+            List<Integer> themes = new ArrayList<>();
+            themes.add(1 + random.nextInt(9));
+            if (random.nextInt(4) == 0) {
+                themes.add(1 + random.nextInt(9));
+            }
+            courses.add(Course.builder()
+                    .code("CHSS" + number)
+                    .title("Course " + i)
+                    .description("")
+                    .credits(3)
+                    .themes(themes)
+                    .build());
+        }
+        return courses;
+    }
+
+    private static List<String> describe(List<GenedClusteringService.ClusterSolution> solutions) {
+        List<String> described = new ArrayList<>();
+        for (GenedClusteringService.ClusterSolution solution : solutions) {
+            StringBuilder sb = new StringBuilder();
+            for (GenedClusteringService.ClusterChoice choice : solution.getClusterChoices()) {
+                sb.append(choice.getSector()).append(choice.getTheme()).append(':');
+                choice.getCourses().forEach(c -> sb.append(c.getCode()).append(','));
+                sb.append(' ');
+            }
+            described.add(sb.toString());
+        }
+        return described;
+    }
+
+    private static Set<String> describeNeeded(Set<NeededCluster> needed) {
+        Set<String> described = new TreeSet<>();
+        for (NeededCluster cluster : needed) {
+            described.add(cluster.getTheme() + "/" + cluster.getMissingLower() + "/"
+                    + cluster.getMissingUpper() + "/" + cluster.getMissingTotal());
+        }
+        return described;
+    }
+
+    private static List<String> codes(List<Course> courses) {
+        return courses.stream().map(Course::getCode).toList();
+    }
+}
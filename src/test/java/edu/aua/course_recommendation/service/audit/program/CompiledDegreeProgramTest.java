@@ -0,0 +1,65 @@
+package edu.aua.course_recommendation.service.audit.program;
+
+import edu.aua.course_recommendation.model.DegreeScenarioType;
+import edu.aua.course_recommendation.model.RequirementResult;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompiledDegreeProgramTest {
+
+    private final CompiledDegreeProgram cs = CompiledDegreeProgram.compile(DegreePrograms.COMPUTER_SCIENCE);
+    private final CompiledDegreeProgram business = CompiledDegreeProgram.compile(DegreePrograms.BUSINESS);
+
+    @Test
+    void satisfiedTrackIsPreferredOverLargerOne() {
+        // Five applied courses satisfy Applied CS; CS331 only adds to the general count
+        long[] completed = cs.encode(Set.of("CS132", "CS220", "CS222", "CS131", "CS232", "CS331", "CS105"));
+
+        assertEquals(DegreeScenarioType.CS_APPLIED_CS, cs.pickTrack(completed));
+        assertEquals(DegreeScenarioType.CS_GENERAL, cs.pickTrack(cs.encode(Set.of())));
+    }
+
+    @Test
+    void trackResultListsRemainingCodesInDeclaredOrder() {
+        RequirementResult result = cs.evaluateTrack(DegreeScenarioType.CS_MATH_MODELING,
+                cs.encode(Set.of("CS205", "CS105", "UNKNOWN")));
+
+        assertFalse(result.isSatisfied());
+        assertEquals(List.of("CS105", "CS205"), result.getCompletedCourseCodes());
+        assertEquals("CS226", result.getPossibleCourseCodes().getFirst());
+        assertEquals(3, result.getHowManyLeft());
+    }
+
+    @Test
+    void oneOfCoreRulesCountAsSingleCourse() {
+        RequirementResult result = business.evaluateCore(business.encode(Set.of(
+                "BUS109", "BUS110", "BUS177",
+                "BUS101", "BUS105", "BUS145", "BUS146",
+                "BUS160", "BUS209", "BUS211", "BUS230",
+                "BUS280", "BUS295", "ECON121", "ECON122")));
+
+        assertFalse(result.isSatisfied());
+        assertEquals(2, result.getHowManyLeft());
+        assertEquals(List.of("BUS281", "BUS286", "BUS210", "BUS265", "ECON225"), result.getPossibleCourseCodes());
+    }
+
+    @Test
+    void businessTrackPicksFirstTrackOnTies() {
+        assertEquals(DegreeScenarioType.BUS_ACCOUNTING, business.pickTrack(business.encode(Set.of())));
+        assertEquals(DegreeScenarioType.BUS_ACCOUNTING, business.pickTrack(business.encode(Set.of("BUS226"))));
+        assertEquals(DegreeScenarioType.BUS_MARKETING, business.pickTrack(business.encode(Set.of("BUS265", "BUS262"))));
+    }
+
+    @Test
+    void coreOptionAlsoCountsTowardsItsTrack() {
+        // As in the original audit: BUS286 satisfies CORE_ONE_OF_1 and is an Accounting requirement at once
+        long[] completed = business.encode(Set.of("BUS286", "BUS245", "BUS247", "BUS248", "BUS226", "BUS232"));
+
+        assertTrue(business.evaluateCore(completed).getCompletedCourseCodes().contains("BUS286"));
+        assertTrue(business.evaluateTrack(DegreeScenarioType.BUS_ACCOUNTING, completed).isSatisfied());
+    }
+}
@@ -0,0 +1,49 @@
+package edu.aua.course_recommendation.service.course;
+
+import edu.aua.course_recommendation.entity.Course;
+import edu.aua.course_recommendation.repository.CourseRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CourseCatalogTest {
+
+    private final CourseRepository repository = mock(CourseRepository.class);
+    private final CourseCatalog catalog = new CourseCatalog(repository, mock(PlatformTransactionManager.class));
+
+    @Test
+    void severalChangesCostOneRebuild() {
+        when(repository.findAllWithThemes()).thenReturn(List.of(course("CS100")), List.of(course("CS100"), course("CS110")));
+
+        assertEquals(List.of("CS100"), catalog.getAllCodes());
+        catalog.onCatalogChanged(new CourseCatalogChangedEvent());
+        catalog.onCatalogChanged(new CourseCatalogChangedEvent());
+
+        assertEquals(List.of("CS100", "CS110"), catalog.getAllCodes());
+        assertEquals(List.of("CS100", "CS110"), catalog.getAllCodes());
+        verify(repository, times(2)).findAllWithThemes();
+    }
+
+    @Test
+    void aLoadThatRacedACommitIsNotKept() {
+        // The change commits while the first load is still reading the old rows
+        when(repository.findAllWithThemes())
+                .thenAnswer(invocation -> {
+                    catalog.onCatalogChanged(new CourseCatalogChangedEvent());
+                    return List.of(course("CS100"));
+                })
+                .thenReturn(List.of(course("CS100"), course("CS110")));
+
+        assertEquals(List.of("CS100"), catalog.getAllCodes());
+
+        assertEquals(List.of("CS100", "CS110"), catalog.getAllCodes());
+    }
+
+    private static Course course(String code) {
+        return Course.builder().code(code).build();
+    }
+}
@@ -0,0 +1,48 @@
+package edu.aua.course_recommendation.service.course;
+
+import edu.aua.course_recommendation.entity.Course;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CourseEmbeddingIndexTest {
+
+    private final CourseEmbeddingIndex index = CourseEmbeddingIndex.of(1, List.of(
+            course("CS100", "Introduction to Programming", "Programming in Python: variables, loops and functions."),
+            course("CS120", "Data Structures", "Lists, trees, graphs and hashing, and programming with them."),
+            course("CS251", "Machine Learning", "Regression, classification and neural networks trained on data."),
+            course("HIST101", "Art History", "Painting, sculpture and architecture from antiquity to today.")
+    ), 64);
+
+    @Test
+    void messagesScoreHighestOnTheCoursesThatShareTheirTerms() {
+        float[] query = index.embed("I want to learn neural networks and classification");
+
+        assertTrue(index.score("CS251", query) > 0.3f);
+        assertEquals(0f, index.score("HIST101", query));
+        assertTrue(Float.isNaN(index.score("CS999", query)));
+    }
+
+    @Test
+    void passedCoursesPullTheirNeighboursUp() {
+        float[] profile = index.profile(List.of("CS100", "CS999"));
+
+        assertTrue(index.score("CS120", profile) > index.score("CS251", profile));
+        assertEquals(1f, index.score("CS100", profile), 1e-5f);
+    }
+
+    @Test
+    void unrolledDotProductMatchesTheNaiveSum() {
+        float[] row = {0, 1, 2, 3, 4, 5, 6};
+        float[] query = {1, 1, 1, 1, 1, 1, 1};
+
+        assertEquals(21f, CourseEmbeddingIndex.dot(row, 1, query, 6));
+        assertEquals(10f, CourseEmbeddingIndex.dot(row, 0, query, 5));
+    }
+
+    private static Course course(String code, String title, String description) {
+        return Course.builder().code(code).title(title).description(description).build();
+    }
+}
@@ -0,0 +1,64 @@
+package edu.aua.course_recommendation.service.course;
+
+import edu.aua.course_recommendation.entity.Course;
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PrerequisiteGraphTest {
+
+    private final PrerequisiteGraph graph = PrerequisiteGraph.of(List.of(
+            course("CS100"),
+            course("CS101", "EQCALC1"),
+            course("CS104"),
+            course("CS110"),
+            course("CS121", " EQOOP"),
+            course("CS211", "CS121", "CS101 or CS104")
+    ), Map.of("EQCALC1", Set.of("CS100"), "EQOOP", Set.of("CS110", "CS120")));
+
+    @Test
+    void equivalenceKeysStandForTheirGroup() {
+        assertTrue(graph.prerequisitesMet("CS101", graph.toBitSet(List.of("CS100"))));
+        assertFalse(graph.prerequisitesMet("CS101", graph.toBitSet(List.of("CS110"))));
+        // CS120 is not in the catalog yet, but still satisfies EQOOP
+        assertTrue(graph.prerequisitesMet("CS121", graph.toBitSet(List.of("CS120"))));
+        assertEquals(Set.of("CS110", "CS120"), graph.prerequisiteCodes("CS121"));
+    }
+
+    @Test
+    void clausesAreAndedAndAlternativesOred() {
+        BitSet viaCalculus = graph.toBitSet(List.of("CS121", "CS101"));
+        BitSet viaDiscrete = graph.toBitSet(List.of("CS121", "CS104"));
+        BitSet missingDataStructures = graph.toBitSet(List.of("CS101", "CS104"));
+
+        assertTrue(graph.prerequisitesMet("CS211", viaCalculus));
+        assertTrue(graph.prerequisitesMet("CS211", viaDiscrete));
+        assertFalse(graph.prerequisitesMet("CS211", missingDataStructures));
+        assertTrue(graph.prerequisitesMet("CS211", Set.of("CS121", "CS104")::contains));
+        assertFalse(graph.hasPrerequisites("CS100"));
+        assertTrue(graph.prerequisitesMet("UNKNOWN", new BitSet()));
+    }
+
+    @Test
+    void equivalenceKeysMatchWholeWords() {
+        PrerequisiteGraph decorated = PrerequisiteGraph.of(List.of(
+                course("CS102", "EQCALC12 (Calculus II)"),
+                course("CS103", "*EQCALC1")
+        ), Map.of("EQCALC1", Set.of("CS100"), "EQCALC12", Set.of("CS101")));
+
+        assertEquals(Set.of("CS101"), decorated.prerequisiteCodes("CS102"));
+        assertEquals(Set.of("CS100"), decorated.prerequisiteCodes("CS103"));
+        assertFalse(decorated.contains("CS100"));
+        assertTrue(decorated.prerequisitesMet(List.of("EQCALC1 or CS104"), Set.of("CS100")::contains));
+        assertFalse(decorated.prerequisitesMet(List.of("EQCALC12"), Set.of("CS100")::contains));
+    }
+
+    private static Course course(String code, String... prerequisites) {
+        return Course.builder().code(code).credits(3).prerequisites(Set.of(prerequisites)).build();
+    }
+}
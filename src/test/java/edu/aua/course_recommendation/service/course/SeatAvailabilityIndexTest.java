@@ -0,0 +1,97 @@
+package edu.aua.course_recommendation.service.course;
+
+import edu.aua.course_recommendation.entity.Course;
+import edu.aua.course_recommendation.entity.CourseOffering;
+import edu.aua.course_recommendation.model.SeatCount;
+import edu.aua.course_recommendation.repository.CourseOfferingRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class SeatAvailabilityIndexTest {
+
+    private final CourseOfferingRepository repository = mock(CourseOfferingRepository.class);
+    private final SeatAvailabilityIndex seats = new SeatAvailabilityIndex(repository, mock(PlatformTransactionManager.class));
+
+    @Test
+    void seatUpdatesApplyInPlaceWithoutReloadingTheTerm() {
+        Course cs110 = Course.builder().code("CS110").credits(3).build();
+        CourseOffering full = offering(cs110, "MON 9:00am-10:20am");
+        CourseOffering open = offering(cs110, "MON 1:30pm-2:50pm");
+        CourseOffering unknown = offering(cs110, "TUE 9:00am-10:20am");
+        when(repository.findSeatsByYearAndSemester("202526", "1")).thenReturn(List.of(
+                new Row(full.getId(), 30, 30, 4),
+                new Row(open.getId(), 12, 30, 0)));
+
+        Predicate<CourseOffering> openSections = seats.openSections("202526", "1");
+        TermOfferingIndex index = TermOfferingIndex.of("202526", "1", List.of(full, open, unknown))
+                .preferring(openSections);
+
+        assertEquals(List.of(open, unknown, full), index.getSections("CS110"));
+        assertEquals(new SeatCount(30, 30, 4), seats.getSeats("202526", "1", full.getId()));
+
+        seats.onSeatsChanged(new CourseOfferingSeatsChangedEvent(List.of(
+                new CourseOfferingSeatsChangedEvent.SeatUpdate(full.getId(), "202526", "1", new SeatCount(29, 30, 3)),
+                new CourseOfferingSeatsChangedEvent.SeatUpdate(open.getId(), "202526", "1", new SeatCount(30, 30, 0)))));
+
+        // The predicate handed out earlier sees the new figures
+        assertEquals(List.of(full, unknown, open), index.getSections("CS110"));
+        assertEquals(1, seats.getSeats("202526", "1", full.getId()).available());
+        verify(repository, times(1)).findSeatsByYearAndSemester("202526", "1");
+
+        seats.onOfferingsChanged(new CourseOfferingsChangedEvent());
+        seats.getSeats("202526", "1", full.getId());
+        verify(repository, times(2)).findSeatsByYearAndSemester("202526", "1");
+    }
+
+    @Test
+    void seatUpdateDuringTheFirstLoadIsNotLost() {
+        UUID section = UUID.randomUUID();
+        // The update commits while the term is still loading the old figures
+        when(repository.findSeatsByYearAndSemester("202526", "1"))
+                .thenAnswer(invocation -> {
+                    seats.onSeatsChanged(new CourseOfferingSeatsChangedEvent(List.of(
+                            new CourseOfferingSeatsChangedEvent.SeatUpdate(section, "202526", "1", new SeatCount(30, 30, 0)))));
+                    return List.of(new Row(section, 12, 30, 0));
+                })
+                .thenReturn(List.of(new Row(section, 30, 30, 0)));
+
+        assertEquals(new SeatCount(12, 30, 0), seats.getSeats("202526", "1", section));
+
+        assertTrue(seats.getSeats("202526", "1", section).isFull());
+        verify(repository, times(2)).findSeatsByYearAndSemester("202526", "1");
+    }
+
+    private static CourseOffering offering(Course course, String times) {
+        return CourseOffering.builder().id(UUID.randomUUID()).baseCourse(course).times(times).build();
+    }
+
+    private record Row(UUID id, Integer seatsTaken, Integer seatCapacity, Integer seatsWaiting)
+            implements CourseOfferingRepository.OfferingSeats {
+        @Override
+        public UUID getId() {
+            return id;
+        }
+
+        @Override
+        public Integer getSeatsTaken() {
+            return seatsTaken;
+        }
+
+        @Override
+        public Integer getSeatCapacity() {
+            return seatCapacity;
+        }
+
+        @Override
+        public Integer getSeatsWaiting() {
+            return seatsWaiting;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package edu.aua.course_recommendation.service.course;
+
+import edu.aua.course_recommendation.entity.Course;
+import edu.aua.course_recommendation.entity.CourseOffering;
+import edu.aua.course_recommendation.repository.CourseOfferingRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class TermOfferingIndexCacheTest {
+
+    private final CourseOfferingRepository repository = mock(CourseOfferingRepository.class);
+    private final TermOfferingIndexCache cache = new TermOfferingIndexCache(repository, mock(PlatformTransactionManager.class));
+
+    @Test
+    void indexIsBuiltOnceAndSharedUntilOfferingsChange() {
+        Course cs110 = Course.builder().code("CS110").credits(3).build();
+        CourseOffering afternoon = offering(cs110, "MON 1:30pm-2:50pm");
+        CourseOffering morning = offering(cs110, "TUE 9:00am-10:20am");
+        CourseOffering tbd = offering(cs110, "TBD");
+        when(repository.findWithCourseAndInstructorByYearAndSemester("202526", "1"))
+                .thenReturn(List.of(tbd, afternoon, morning));
+
+        TermOfferingIndex index = cache.getIndex("202526", "1");
+
+        assertSame(index, cache.getIndex("202526", "1"));
+        assertEquals(List.of(afternoon, morning, tbd), index.getSections("CS110"));
+        assertTrue(index.getSections("CS111").isEmpty());
+        verify(repository, times(1)).findWithCourseAndInstructorByYearAndSemester("202526", "1");
+
+        cache.onOfferingsChanged(new CourseOfferingsChangedEvent());
+
+        assertNotSame(index, cache.getIndex("202526", "1"));
+        verify(repository, times(2)).findWithCourseAndInstructorByYearAndSemester("202526", "1");
+    }
+
+    private static CourseOffering offering(Course course, String times) {
+        return CourseOffering.builder().id(UUID.randomUUID()).baseCourse(course).times(times).build();
+    }
+}
@@ -0,0 +1,104 @@
+package edu.aua.course_recommendation.service.schedule;
+
+import edu.aua.course_recommendation.dto.response.CourseVectorSyncResultDto;
+import edu.aua.course_recommendation.entity.Course;
+import edu.aua.course_recommendation.entity.CourseVectorSync;
+import edu.aua.course_recommendation.repository.CourseVectorSyncRepository;
+import edu.aua.course_recommendation.service.course.CourseCatalog;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class CourseVectorSyncServiceTest {
+
+    private final Map<String, CourseVectorSync> syncRows = new HashMap<>();
+    private final List<Course> catalog = new ArrayList<>();
+    private final CourseCatalog courseCatalog = mock(CourseCatalog.class);
+    private final CourseVectorSyncRepository syncRepository = mock(CourseVectorSyncRepository.class);
+    private final PythonService pythonService = mock(PythonService.class);
+    private CourseVectorSyncService syncService;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        when(courseCatalog.getAllCourses()).thenAnswer(invocation -> List.copyOf(catalog));
+        when(courseCatalog.findByCode(anyString())).thenAnswer(invocation -> catalog.stream()
+                .filter(course -> course.getCode().equals(invocation.getArgument(0)))
+                .findFirst());
+        when(syncRepository.findAll()).thenAnswer(invocation -> List.copyOf(syncRows.values()));
+        when(syncRepository.saveAll(anyIterable())).thenAnswer(invocation -> {
+            Iterable<CourseVectorSync> rows = invocation.getArgument(0);
+            rows.forEach(row -> syncRows.put(row.getCourseCode(), row));
+            return rows;
+        });
+        doAnswer(invocation -> {
+            Iterable<String> codes = invocation.getArgument(0);
+            codes.forEach(syncRows::remove);
+            return null;
+        }).when(syncRepository).deleteAllByIdInBatch(anyIterable());
+
+        syncService = new CourseVectorSyncService(courseCatalog, syncRepository, pythonService,
+                mock(PlatformTransactionManager.class), 2, false);
+
+        catalog.addAll(List.of(course("CS100", "Programming"), course("CS110", "Objects"), course("CS120", "Trees")));
+    }
+
+    @Test
+    void onlyChangedCoursesAreSentAgain() {
+        assertEquals(new CourseVectorSyncResultDto(3, 0, false), syncService.sync());
+        verify(pythonService, times(2)).upsertCourses(anyList());
+        assertEquals(new CourseVectorSyncResultDto(0, 0, false), syncService.sync());
+
+        Course removed = catalog.remove(1);
+        // As the entity's @PreUpdate would on the next save
+        catalog.getFirst().setDescription("Programming in Python");
+        catalog.getFirst().setContentHash(null);
+        catalog.getLast().setContentHash(null);
+        catalog.add(course("CS130", "Graphs"));
+        clearInvocations(pythonService);
+
+        assertEquals(new CourseVectorSyncResultDto(2, 1, false), syncService.sync());
+        verify(pythonService).deleteCoursePoints(List.of(removed.getId()));
+        verify(pythonService).upsertCourses(List.of(catalog.getFirst(), catalog.getLast()));
+        assertEquals(Set.of("CS100", "CS120", "CS130"), syncRows.keySet());
+    }
+
+    @Test
+    void recreatedCoursesReplaceTheirOldPoint() {
+        syncService.sync();
+        Course old = catalog.remove(0);
+        Course recreated = course("CS100", "Programming");
+        catalog.addFirst(recreated);
+        clearInvocations(pythonService);
+
+        syncService.sync();
+
+        verify(pythonService).deleteCoursePoints(List.of(old.getId()));
+        verify(pythonService).upsertCourses(List.of(recreated));
+        assertEquals(recreated.getId(), syncRows.get("CS100").getCourseId());
+    }
+
+    @Test
+    void failedSyncResumesWithTheRemainingChunks() {
+        doNothing().doThrow(new ResourceAccessException("timeout")).when(pythonService).upsertCourses(anyList());
+
+        assertThrows(ResourceAccessException.class, () -> syncService.sync());
+        assertEquals(Set.of("CS100", "CS110"), syncRows.keySet());
+
+        doNothing().when(pythonService).upsertCourses(anyList());
+        clearInvocations(pythonService);
+        assertEquals(new CourseVectorSyncResultDto(1, 0, false), syncService.sync());
+        verify(pythonService).upsertCourses(List.of(catalog.getLast()));
+    }
+
+    private static Course course(String code, String description) {
+        return Course.builder().id(UUID.randomUUID()).code(code).title(code).description(description).build();
+    }
+}
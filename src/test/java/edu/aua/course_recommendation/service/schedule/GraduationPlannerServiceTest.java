@@ -0,0 +1,198 @@
+package edu.aua.course_recommendation.service.schedule;
+
+import edu.aua.course_recommendation.dto.response.GraduationPlanDto;
+import edu.aua.course_recommendation.dto.response.PlannedTermDto;
+import edu.aua.course_recommendation.entity.Course;
+import edu.aua.course_recommendation.model.AcademicStanding;
+import edu.aua.course_recommendation.model.DegreeScenarioType;
+import edu.aua.course_recommendation.model.Department;
+import edu.aua.course_recommendation.model.StudentAcademicSnapshot;
+import edu.aua.course_recommendation.repository.CourseOfferingRepository;
+import edu.aua.course_recommendation.repository.CourseRepository;
+import edu.aua.course_recommendation.service.audit.GenedClusteringService;
+import edu.aua.course_recommendation.service.audit.ProgramDegreeAuditService;
+import edu.aua.course_recommendation.service.audit.program.DegreeProgram;
+import edu.aua.course_recommendation.service.audit.program.TrackDefinition;
+import edu.aua.course_recommendation.service.auth.UserService;
+import edu.aua.course_recommendation.service.course.CourseCatalog;
+import edu.aua.course_recommendation.service.course.EnrollmentService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.*;
+
+import static edu.aua.course_recommendation.service.audit.program.RequirementRule.allOf;
+import static edu.aua.course_recommendation.service.audit.program.RequirementRule.pick;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class GraduationPlannerServiceTest {
+
+    private static final String[] FIRST_TERM = {"202526", "1"};
+
+    private final List<Course> catalog = new ArrayList<>();
+    private final List<CourseOfferingRepository.OfferedTerm> offeredTerms = new ArrayList<>();
+    private CourseCatalog courseCatalog;
+    private ProgramDegreeAuditService auditService;
+    private GraduationPlannerService planner;
+
+    @BeforeEach
+    void setUp() {
+        for (String code : List.of("FND101", "FND102", "FND103", "FND104", "FND221", "FND222")) {
+            add(course(code, 3));
+        }
+        for (String code : List.of("FND110A", "FND110B", "FND110C", "FND110D", "FND152", "FND153", "PEER001")) {
+            add(course(code, 0));
+        }
+        add(course("CHSS101", 3, 1));
+        add(course("CHSS102", 3, 1));
+        add(course("CHSS201", 3, 1));
+        add(course("CHSS150", 3, 4));
+        add(course("CHSS151", 3, 4));
+        add(course("CHSS250", 3, 4));
+        add(course("CHSS160", 3, 7));
+        add(course("CHSS161", 3, 7));
+        add(course("CHSS260", 3, 7));
+        add(course("FE100", 3));
+        add(course("A100", 3));
+        add(course("A101", 3, "A100"));
+        add(course("A102", 3, "A101"));
+        add(course("T200", 3, "A102"));
+        add(course("CAP299", 3, "A102"));
+
+        CourseRepository courseRepository = mock(CourseRepository.class);
+        when(courseRepository.findAllWithThemes()).thenReturn(catalog);
+        when(courseRepository.findAllWithPrerequisites()).thenReturn(catalog);
+        courseCatalog = new CourseCatalog(courseRepository, mock(PlatformTransactionManager.class));
+
+        DegreeProgram program = DegreeProgram.builder()
+                .name("Test")
+                .department(Department.CS)
+                .coreRule(allOf(List.of("A100", "A101", "A102")))
+                .track(TrackDefinition.of(DegreeScenarioType.CS_GENERAL, pick(1, List.of("T200"))))
+                .freeElectiveCount(1)
+                .capstoneCode("CAP299")
+                .build();
+        UserService userService = mock(UserService.class);
+        auditService = new ProgramDegreeAuditService(program, mock(EnrollmentService.class),
+                new GenedClusteringService(courseCatalog), courseCatalog, userService);
+        planner = new GraduationPlannerService(null, mock(CourseOfferingRepository.class), courseCatalog,
+                userService, Duration.ofSeconds(1));
+    }
+
+    @Test
+    void findsMinimumTermPlanRespectingPrerequisites() {
+        catalog.forEach(course -> {
+            offeredTerms.add(offered(course.getCode(), "202425", "1"));
+            offeredTerms.add(offered(course.getCode(), "202425", "3"));
+        });
+
+        GraduationPlanDto plan = plan(System.nanoTime() + Duration.ofSeconds(1).toNanos());
+
+        // 22 three-credit courses at 15 credits a term
+        assertTrue(plan.complete());
+        assertEquals(5, plan.terms().size());
+        assertEquals(List.of("202526", "1"), List.of(plan.terms().getFirst().year(), plan.terms().getFirst().semester()));
+        assertEquals(List.of("202526", "3"), List.of(plan.terms().get(1).year(), plan.terms().get(1).semester()));
+        plan.terms().forEach(term -> assertTrue(term.credits() <= ScheduleService.MAX_CREDITS_PER_REGISTRATION));
+        assertTrue(termOf(plan, "A100") < termOf(plan, "A101"));
+        assertTrue(termOf(plan, "A101") < termOf(plan, "A102"));
+        assertTrue(termOf(plan, "A102") < termOf(plan, "T200"));
+        assertEquals(plan.terms().size() - 1, termOf(plan, "CAP299"));
+        // Upper-division courses wait until the student is a sophomore
+        assertTrue(termOf(plan, "CHSS201") >= 2);
+    }
+
+    @Test
+    void fallOnlyCoursesStretchThePlan() {
+        catalog.forEach(course -> {
+            offeredTerms.add(offered(course.getCode(), "202425", "1"));
+            if (!Set.of("A101", "A102").contains(course.getCode())) {
+                offeredTerms.add(offered(course.getCode(), "202425", "3"));
+            }
+        });
+
+        GraduationPlanDto plan = plan(System.nanoTime() + Duration.ofSeconds(1).toNanos());
+
+        // A100 -> A101 -> A102 now takes three fall terms, then T200 and the capstone follow in spring
+        assertTrue(plan.complete());
+        assertEquals("1", plan.terms().get(termOf(plan, "A101")).semester());
+        assertEquals("1", plan.terms().get(termOf(plan, "A102")).semester());
+        assertEquals(6, plan.terms().size());
+    }
+
+    @Test
+    void returnsPartialPlanWhenOutOfTime() {
+        catalog.forEach(course -> offeredTerms.add(offered(course.getCode(), "202425", "1")));
+
+        GraduationPlanDto plan = plan(System.nanoTime() - 1);
+
+        assertFalse(plan.complete());
+        assertTrue(plan.terms().isEmpty());
+        assertTrue(plan.remainingRequirements() > 0);
+    }
+
+    private GraduationPlanDto plan(long deadline) {
+        StudentAcademicSnapshot snapshot = new StudentAcademicSnapshot(UUID.randomUUID(),
+                AcademicStanding.FRESHMAN, Department.CS, Set.of(), List.of());
+        return planner.plan(auditService, snapshot, GraduationPlannerService.OfferingHistory.of(offeredTerms),
+                FIRST_TERM, false, deadline);
+    }
+
+    private static int termOf(GraduationPlanDto plan, String code) {
+        List<PlannedTermDto> terms = plan.terms();
+        for (int i = 0; i < terms.size(); i++) {
+            if (terms.get(i).courseCodes().contains(code)) {
+                return i;
+            }
+        }
+        return fail(code + " is not in the plan");
+    }
+
+    private void add(Course course) {
+        catalog.add(course);
+    }
+
+    private static Course course(String code, int credits, Object... themesOrPrerequisites) {
+        List<Integer> themes = new ArrayList<>();
+        Set<String> prerequisites = new HashSet<>();
+        for (Object value : themesOrPrerequisites) {
+            if (value instanceof Integer theme) {
+                themes.add(theme);
+            } else {
+                prerequisites.add((String) value);
+            }
+        }
+        return Course.builder()
+                .id(UUID.randomUUID())
+                .code(code)
+                .title(code)
+                .description(code)
+                .credits(credits)
+                .themes(themes)
+                .prerequisites(prerequisites)
+                .build();
+    }
+
+    private static CourseOfferingRepository.OfferedTerm offered(String code, String year, String semester) {
+        return new CourseOfferingRepository.OfferedTerm() {
+            @Override
+            public String getCode() {
+                return code;
+            }
+
+            @Override
+            public String getYear() {
+                return year;
+            }
+
+            @Override
+            public String getSemester() {
+                return semester;
+            }
+        };
+    }
+}
@@ -0,0 +1,201 @@
+package edu.aua.course_recommendation.service.schedule;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import edu.aua.course_recommendation.config.PythonClientConfig;
+import edu.aua.course_recommendation.config.PythonClientProperties;
+import edu.aua.course_recommendation.dto.response.RecommendationDto;
+import edu.aua.course_recommendation.entity.Course;
+import edu.aua.course_recommendation.service.course.CourseCatalog;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class PythonServiceTest {
+
+    private static final String RECOMMENDATIONS = "[{\"courseCode\":\"CS110\",\"score\":\"0.9\"}]";
+    private static final String BATCH_RECOMMENDATIONS = "{\"pools\":{\"theme-1\":" + RECOMMENDATIONS
+            + ",\"free-electives\":[]}}";
+
+    private final AtomicInteger requests = new AtomicInteger();
+    private final Set<Integer> clientPorts = ConcurrentHashMap.newKeySet();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final Map<String, String> redis = new HashMap<>();
+    private volatile Duration delay = Duration.ZERO;
+    private volatile boolean batchSupported = true;
+    private volatile int status = 200;
+    private HttpServer server;
+    private CloseableHttpClient httpClient;
+    private PythonService pythonService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/api/recommend/byPassed", exchange -> {
+            requests.incrementAndGet();
+            boolean batch = exchange.getRequestURI().getPath().endsWith("/batch");
+            if ((batch && !batchSupported) || status != 200) {
+                exchange.sendResponseHeaders(batch && !batchSupported ? 404 : status, -1);
+                exchange.close();
+                return;
+            }
+            clientPorts.add(exchange.getRemoteAddress().getPort());
+            exchange.getRequestBody().readAllBytes();
+            try {
+                Thread.sleep(delay.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] body = (batch ? BATCH_RECOMMENDATIONS : RECOMMENDATIONS).getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.start();
+
+        PythonClientProperties properties = new PythonClientProperties();
+        properties.setRecommendTimeout(Duration.ofMillis(200));
+        properties.getCircuitBreaker().setSlidingWindowSize(2);
+        properties.getCircuitBreaker().setMinimumNumberOfCalls(2);
+
+        PythonClientConfig config = new PythonClientConfig();
+        httpClient = config.pythonHttpClient(properties);
+        pythonService = new PythonService(null, null, httpClient, config.pythonCircuitBreaker(properties),
+                properties, meterRegistry, recommendationCache(), localRecommendationEngine(),
+                "http://localhost:" + server.getAddress().getPort());
+    }
+
+    private LocalRecommendationEngine localRecommendationEngine() {
+        CourseCatalog catalog = mock(CourseCatalog.class);
+        when(catalog.getVersion()).thenReturn(1L);
+        when(catalog.getAllCourses()).thenReturn(List.of(
+                Course.builder().code("CS100").title("Introduction to Programming")
+                        .description("Programming in Python: variables, loops and functions").build(),
+                Course.builder().code("CS110").title("Art History").description("Painting and sculpture").build(),
+                Course.builder().code("CS120").title("Data Structures")
+                        .description("Lists, trees and graphs, and programming with them").build()));
+        return new LocalRecommendationEngine(catalog, 64);
+    }
+
+    @SuppressWarnings("unchecked")
+    private RecommendationCache recommendationCache() {
+        RedisTemplate<String, String> redisTemplate = mock(RedisTemplate.class);
+        ValueOperations<String, String> values = mock(ValueOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(values);
+        when(values.get(anyString())).thenAnswer(invocation -> redis.get(invocation.<String>getArgument(0)));
+        doAnswer(invocation -> redis.put(invocation.getArgument(0), invocation.getArgument(1)))
+                .when(values).set(anyString(), anyString(), any(Duration.class));
+        return new RecommendationCache(redisTemplate, new ObjectMapper(), Duration.ofHours(1), Duration.ofHours(1), 16, Duration.ofMinutes(1));
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        httpClient.close();
+        server.stop(0);
+    }
+
+    @Test
+    void sequentialCallsReuseOnePooledConnection() {
+        // Different candidates each time, as repeated requests are answered from the cache
+        for (int i = 0; i < 3; i++) {
+            List<RecommendationDto> recommendations =
+                    pythonService.getRecommendationsWithPassedCourses(List.of("CS100"), List.of("CS110", "CS12" + i));
+            assertEquals("CS110", recommendations.getFirst().courseCode());
+        }
+
+        assertEquals(1, clientPorts.size());
+        assertEquals(3, meterRegistry.get("python.client.requests")
+                .tags("endpoint", "byPassed", "outcome", "success").timer().count());
+    }
+
+    @Test
+    void batchScoresEveryPoolInOneRoundTrip() {
+        Map<String, List<RecommendationDto>> recommendations = pythonService.getBatchRecommendationsWithPassedCourses(
+                List.of("CS100"), Map.of("theme-1", List.of("CS110"), "free-electives", List.of("CS120")));
+
+        assertEquals("CS110", recommendations.get("theme-1").getFirst().courseCode());
+        assertEquals(List.of(), recommendations.get("free-electives"));
+        assertEquals(1, requests.get());
+    }
+
+    @Test
+    void cachedPoolsAreNotRequestedAgain() {
+        pythonService.getRecommendationsWithPassedCourses(List.of("CS100"), List.of("CS110"));
+
+        Map<String, List<RecommendationDto>> recommendations = pythonService.getBatchRecommendationsWithPassedCourses(
+                List.of("CS100"), Map.of("theme-1", List.of("CS110")));
+        List<RecommendationDto> repeated =
+                pythonService.getRecommendationsWithPassedCourses(List.of("CS100"), List.of("CS110"));
+
+        assertEquals("CS110", recommendations.get("theme-1").getFirst().courseCode());
+        assertEquals(recommendations.get("theme-1"), repeated);
+        assertEquals(1, requests.get());
+    }
+
+    @Test
+    void batchFallsBackToOneRequestPerPoolWithoutTheBatchEndpoint() {
+        batchSupported = false;
+
+        Map<String, List<RecommendationDto>> recommendations = pythonService.getBatchRecommendationsWithPassedCourses(
+                List.of("CS100"), Map.of("theme-1", List.of("CS110"), "free-electives", List.of("CS120")));
+
+        assertEquals(Set.of("theme-1", "free-electives"), recommendations.keySet());
+        assertEquals(3, requests.get());
+    }
+
+    @Test
+    void failingRecommenderFallsBackToLocalRanking() {
+        status = 500;
+
+        List<RecommendationDto> local =
+                pythonService.getRecommendationsWithPassedCourses(List.of("CS100"), List.of("CS110", "CS120"));
+        Map<String, List<RecommendationDto>> batch = pythonService.getBatchRecommendationsWithPassedCourses(
+                List.of("CS100"), Map.of("theme-1", List.of("CS110", "CS120")));
+
+        assertEquals(List.of("CS120", "CS110"), local.stream().map(RecommendationDto::courseCode).toList());
+        assertEquals(local, batch.get("theme-1"));
+        assertEquals(2, requests.get());
+    }
+
+    @Test
+    void slowRecommenderTimesOutAndThenOpensTheCircuit() {
+        delay = Duration.ofSeconds(1);
+
+        // Both the timed-out calls and the ones the open circuit skips are ranked locally
+        for (int i = 0; i < 2; i++) {
+            List<RecommendationDto> local =
+                    pythonService.getRecommendationsWithPassedCourses(List.of("CS100"), List.of("CS110", "CS120"));
+            assertEquals(List.of("CS120", "CS110"), local.stream().map(RecommendationDto::courseCode).toList());
+        }
+        long startedAt = System.nanoTime();
+        List<RecommendationDto> skipped =
+                pythonService.getRecommendationsWithPassedCourses(List.of("CS100"), List.of("CS110", "CS120"));
+
+        assertEquals("CS120", skipped.getFirst().courseCode());
+        assertTrue(System.nanoTime() - startedAt < Duration.ofMillis(100).toNanos());
+        assertEquals(2, requests.get());
+        assertEquals(2, meterRegistry.get("python.client.requests").tags("outcome", "io-error").timer().count());
+    }
+}
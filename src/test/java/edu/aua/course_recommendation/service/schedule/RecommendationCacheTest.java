@@ -0,0 +1,128 @@
+package edu.aua.course_recommendation.service.schedule;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.aua.course_recommendation.dto.response.CacheStatsDto;
+import edu.aua.course_recommendation.dto.response.RecommendationDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class RecommendationCacheTest {
+
+    private final Map<String, String> redis = new HashMap<>();
+    private final AtomicInteger requests = new AtomicInteger();
+
+    @SuppressWarnings("unchecked")
+    private final RedisTemplate<String, String> redisTemplate = mock(RedisTemplate.class);
+    @SuppressWarnings("unchecked")
+    private final ValueOperations<String, String> values = mock(ValueOperations.class);
+
+    @BeforeEach
+    void setUp() {
+        when(redisTemplate.opsForValue()).thenReturn(values);
+        when(values.get(anyString())).thenAnswer(invocation -> redis.get(invocation.<String>getArgument(0)));
+        doAnswer(invocation -> redis.put(invocation.getArgument(0), invocation.getArgument(1)))
+                .when(values).set(anyString(), anyString(), any(Duration.class));
+        when(values.increment(anyString())).thenAnswer(invocation ->
+                Long.parseLong(redis.merge(invocation.getArgument(0), "1",
+                        (old, one) -> String.valueOf(Long.parseLong(old) + 1))));
+    }
+
+    @Test
+    void requestsDifferingOnlyInOrderShareScores() {
+        RecommendationCache cache = newCache();
+
+        cache.forPassedCourses(List.of("CS100", "CS101"), List.of("CS110", "CS120")).get(this::score);
+        List<RecommendationDto> scores =
+                cache.forPassedCourses(List.of("CS101", "CS100"), List.of("CS120", "CS110")).get(this::score);
+
+        assertEquals(1, requests.get());
+        assertEquals("CS110", scores.getFirst().courseCode());
+        assertEquals(new CacheStatsDto("recommendation-near", 1, 1), cache.getStats().getFirst());
+
+        // Passed and candidate courses are not interchangeable
+        cache.forPassedCourses(List.of("CS110", "CS120"), List.of("CS100", "CS101")).get(this::score);
+        assertEquals(2, requests.get());
+    }
+
+    @Test
+    void otherInstancesHitRedis() {
+        newCache().forMessage("machine learning", List.of("CS110")).get(this::score);
+        RecommendationCache other = newCache();
+
+        List<RecommendationDto> scores = other.forMessage("machine learning", List.of("CS110")).get(this::score);
+
+        assertEquals(1, requests.get());
+        assertEquals("0.9", scores.getFirst().score());
+        assertEquals(new CacheStatsDto("recommendation-redis", 1, 0), other.getStats().get(1));
+    }
+
+    @Test
+    void revectorizingInvalidatesEveryInstance() {
+        RecommendationCache cache = newCache();
+        // Re-reads the model version on every lookup
+        RecommendationCache other = newCache(Duration.ZERO);
+        cache.forPassedCourses(List.of("CS100"), List.of("CS110")).get(this::score);
+        other.forPassedCourses(List.of("CS100"), List.of("CS110")).get(this::score);
+
+        RecommendationCache.Entry stale = other.forPassedCourses(List.of("CS100"), List.of("CS120"));
+        cache.invalidateAll();
+        stale.store(score());
+        other.forPassedCourses(List.of("CS100"), List.of("CS110")).get(this::score);
+        other.forPassedCourses(List.of("CS100"), List.of("CS120")).get(this::score);
+
+        assertEquals(4, requests.get());
+    }
+
+    @Test
+    void modelVersionIsReadOncePerRefreshInterval() {
+        RecommendationCache cache = newCache();
+        cache.forPassedCourses(List.of("CS100"), List.of("CS110")).get(this::score);
+        cache.forPassedCourses(List.of("CS100"), List.of("CS120")).get(this::score);
+        cache.forPassedCourses(List.of("CS100"), List.of("CS110")).get(this::score);
+
+        // The instance's own invalidation takes effect without reading the version back
+        cache.invalidateAll();
+        cache.forPassedCourses(List.of("CS100"), List.of("CS110")).get(this::score);
+
+        assertEquals(3, requests.get());
+        verify(values, times(1)).get("recommendation:model-version");
+    }
+
+    @Test
+    void redisOutageFallsBackToRequesting() {
+        when(values.get(anyString())).thenThrow(new RedisConnectionFailureException("down"));
+        RecommendationCache cache = newCache();
+
+        cache.forPassedCourses(List.of("CS100"), List.of("CS110")).get(this::score);
+        cache.forPassedCourses(List.of("CS100"), List.of("CS110")).get(this::score);
+
+        assertEquals(2, requests.get());
+    }
+
+    private RecommendationCache newCache() {
+        return newCache(Duration.ofMinutes(1));
+    }
+
+    private RecommendationCache newCache(Duration versionRefresh) {
+        return new RecommendationCache(redisTemplate, new ObjectMapper(), Duration.ofHours(1), Duration.ofMinutes(5), 16,
+                versionRefresh);
+    }
+
+    private List<RecommendationDto> score() {
+        requests.incrementAndGet();
+        return List.of(new RecommendationDto("1", "CS110", "Intro", "", "0.9"));
+    }
+}
@@ -0,0 +1,148 @@
+package edu.aua.course_recommendation.service.schedule;
+
+import edu.aua.course_recommendation.dto.response.ScheduleEditResultDto;
+import edu.aua.course_recommendation.dto.response.SectionAlternativeDto;
+import edu.aua.course_recommendation.entity.Course;
+import edu.aua.course_recommendation.entity.CourseOffering;
+import edu.aua.course_recommendation.entity.Schedule;
+import edu.aua.course_recommendation.entity.ScheduleSlot;
+import edu.aua.course_recommendation.exceptions.ScheduleValidationException;
+import edu.aua.course_recommendation.exceptions.ValidationError;
+import edu.aua.course_recommendation.model.AcademicStanding;
+import edu.aua.course_recommendation.model.SeatCount;
+import edu.aua.course_recommendation.model.TimeMask;
+import edu.aua.course_recommendation.repository.CourseOfferingRepository;
+import edu.aua.course_recommendation.repository.ScheduleRepository;
+import edu.aua.course_recommendation.service.auth.UserService;
+import edu.aua.course_recommendation.service.course.*;
+import edu.aua.course_recommendation.service.schedule.scoring.CampusDaysScorer;
+import edu.aua.course_recommendation.service.schedule.scoring.IdleTimeScorer;
+import edu.aua.course_recommendation.service.schedule.scoring.ScheduleScoringEngine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ScheduleEditServiceTest {
+
+    private final UUID studentId = UUID.randomUUID();
+    private final ScheduleRepository scheduleRepository = mock(ScheduleRepository.class);
+    private final CourseOfferingRepository courseOfferingRepository = mock(CourseOfferingRepository.class);
+    private final CourseOfferingService courseOfferingService = mock(CourseOfferingService.class);
+    private final EnrollmentService enrollmentService = mock(EnrollmentService.class);
+    private final UserService userService = mock(UserService.class);
+    private final TermOfferingIndexCache indexCache = mock(TermOfferingIndexCache.class);
+    private final SeatAvailabilityIndex seats = mock(SeatAvailabilityIndex.class);
+    private final Map<UUID, CourseOffering> offerings = new HashMap<>();
+    private ScheduleEditService editService;
+    private Schedule schedule;
+
+    private CourseOffering cs110Morning;
+    private CourseOffering cs111Morning;
+    private CourseOffering cs111Afternoon;
+    private CourseOffering cs111Friday;
+
+    @BeforeEach
+    void setUp() {
+        Course cs110 = Course.builder().code("CS110").credits(3).prerequisites(Set.of()).build();
+        Course cs111 = Course.builder().code("CS111").credits(3).prerequisites(Set.of()).build();
+        cs110Morning = offering(cs110, "MON 9:00am-10:20am");
+        cs111Morning = offering(cs111, "MON 10:00am-11:20am");
+        cs111Afternoon = offering(cs111, "MON 1:30pm-2:50pm");
+        cs111Friday = offering(cs111, "FRI 9:00am-10:20am");
+        CourseOffering cs111Clash = offering(cs111, "MON 9:30am-10:00am");
+
+        schedule = Schedule.builder().id(UUID.randomUUID()).studentId(studentId).scheduleName("Mine")
+                .slots(new ArrayList<>(List.of(slot(cs110Morning)))).build();
+
+        when(scheduleRepository.findById(schedule.getId())).thenReturn(Optional.of(schedule));
+        when(scheduleRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(courseOfferingService.getCourseOfferingById(any())).thenAnswer(invocation -> offerings.get(invocation.<UUID>getArgument(0)));
+        when(courseOfferingService.findCourseOfferingById(any()))
+                .thenAnswer(invocation -> Optional.ofNullable(offerings.get(invocation.<UUID>getArgument(0))));
+        when(userService.getAcademicStanding(studentId)).thenReturn(AcademicStanding.FRESHMAN);
+
+        TermOfferingIndex index = TermOfferingIndex.of("2026", "Fall",
+                List.of(cs110Morning, cs111Morning, cs111Clash, cs111Afternoon, cs111Friday));
+        when(indexCache.getIndex("2026", "Fall")).thenReturn(index);
+        when(seats.openSections("2026", "Fall")).thenReturn(off -> off != cs111Afternoon);
+        when(seats.getSeats(eq("2026"), eq("Fall"), any())).thenReturn(SeatCount.UNKNOWN);
+
+        CourseService courseService = mock(CourseService.class);
+        when(courseService.getPrerequisiteGraph()).thenReturn(PrerequisiteGraph.of(List.of(cs110, cs111), Map.of()));
+        ScheduleService scheduleService = new ScheduleService(scheduleRepository, enrollmentService,
+                courseService, userService, courseOfferingRepository, null, null, null, null, null);
+        editService = new ScheduleEditService(scheduleService, scheduleRepository, courseOfferingService,
+                userService, new SectionAlternativeFinder(indexCache, seats,
+                new ScheduleScoringEngine(List.of(new IdleTimeScorer(), new CampusDaysScorer()))));
+    }
+
+    @Test
+    void conflictingAddIsRejectedWithAlternativesAndNoOfferingReloads() {
+        ScheduleEditResultDto result = editService.addSlot(schedule.getId(), cs111Morning.getId());
+
+        assertFalse(result.applied());
+        assertEquals(List.of(slot(cs110Morning)), result.conflicts());
+        // A Friday morning leaves no gap, which beats a long Monday lunch break; the other Monday morning ones clash
+        assertEquals(List.of(cs111Friday.getId(), cs111Afternoon.getId()),
+                result.alternatives().stream().map(SectionAlternativeDto::offeringId).toList());
+        assertEquals(1, schedule.getSlots().size());
+        verify(scheduleRepository, never()).save(any());
+        verifyNoInteractions(courseOfferingRepository, enrollmentService);
+    }
+
+    @Test
+    void addSwapAndRemoveKeepOccupancyAndCreditsInStep() {
+        assertTrue(editService.addSlot(schedule.getId(), cs111Afternoon.getId()).applied());
+        assertEquals(6, schedule.getTotalCredits());
+
+        assertTrue(editService.swapSection(schedule.getId(), cs111Afternoon.getId(), cs111Friday.getId()).applied());
+        assertEquals(TimeMask.parse("MON 9:00am-10:20am, FRI 9:00am-10:20am"), schedule.getOccupancyMask());
+        assertEquals(List.of("CS110", "CS111"), schedule.getSlots().stream().map(ScheduleSlot::getCourseCode).toList());
+
+        assertTrue(editService.removeSlot(schedule.getId(), cs110Morning.getId()).applied());
+        assertEquals(TimeMask.parse("FRI 9:00am-10:20am"), schedule.getOccupancyMask());
+        assertEquals(3, schedule.getTotalCredits());
+
+        ScheduleValidationException duplicate = assertThrows(ScheduleValidationException.class,
+                () -> editService.addSlot(schedule.getId(), cs111Morning.getId()));
+        assertEquals(ValidationError.DUPLICATE_COURSE, duplicate.getError());
+        verifyNoInteractions(courseOfferingRepository);
+    }
+
+    @Test
+    void sectionsFromAnotherTermAreRejected() {
+        Course cs111 = cs111Friday.getBaseCourse();
+        CourseOffering spring = offering(cs111, "TUE 9:00am-10:20am", "Spring");
+
+        ScheduleValidationException add = assertThrows(ScheduleValidationException.class,
+                () -> editService.addSlot(schedule.getId(), spring.getId()));
+        assertEquals(ValidationError.INVALID_OFFERING, add.getError());
+
+        assertTrue(editService.addSlot(schedule.getId(), cs111Friday.getId()).applied());
+        ScheduleValidationException swap = assertThrows(ScheduleValidationException.class,
+                () -> editService.swapSection(schedule.getId(), cs111Friday.getId(), spring.getId()));
+        assertEquals(ValidationError.INVALID_OFFERING, swap.getError());
+        assertEquals(2, schedule.getSlots().size());
+    }
+
+    private CourseOffering offering(Course course, String times) {
+        return offering(course, times, "Fall");
+    }
+
+    private CourseOffering offering(Course course, String times, String semester) {
+        CourseOffering offering = CourseOffering.builder().id(UUID.randomUUID()).baseCourse(course).times(times)
+                .year("2026").semester(semester).build();
+        offerings.put(offering.getId(), offering);
+        return offering;
+    }
+
+    private static ScheduleSlot slot(CourseOffering offering) {
+        return new ScheduleSlot(offering.getId(), offering.getBaseCourse().getCode(),
+                offering.getBaseCourse().getCredits(), offering.getTimes());
+    }
+}
@@ -0,0 +1,179 @@
+package edu.aua.course_recommendation.service.schedule;
+
+import edu.aua.course_recommendation.dto.response.SchedulePregenerationStatusDto;
+import edu.aua.course_recommendation.entity.Schedule;
+import edu.aua.course_recommendation.entity.User;
+import edu.aua.course_recommendation.model.AcademicStanding;
+import edu.aua.course_recommendation.model.Department;
+import edu.aua.course_recommendation.model.Role;
+import edu.aua.course_recommendation.model.SchedulePreferences;
+import edu.aua.course_recommendation.model.StudentAcademicSnapshot;
+import edu.aua.course_recommendation.repository.ScheduleRepository;
+import edu.aua.course_recommendation.repository.UserRepository;
+import edu.aua.course_recommendation.service.audit.BaseDegreeAuditService;
+import edu.aua.course_recommendation.service.audit.DegreeAuditServiceRouter;
+import edu.aua.course_recommendation.service.course.CourseCatalogChangedEvent;
+import edu.aua.course_recommendation.service.course.CourseOfferingsChangedEvent;
+import edu.aua.course_recommendation.service.course.EnrollmentChangedEvent;
+import edu.aua.course_recommendation.service.course.EnrollmentService;
+import edu.aua.course_recommendation.service.course.SeatAvailabilityIndex;
+import edu.aua.course_recommendation.service.course.TermOfferingIndex;
+import edu.aua.course_recommendation.service.course.TermOfferingIndexCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class SchedulePregenerationServiceTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final EnrollmentService enrollmentService = mock(EnrollmentService.class);
+    private final DegreeAuditServiceRouter router = mock(DegreeAuditServiceRouter.class);
+    private final TermOfferingIndexCache indexCache = mock(TermOfferingIndexCache.class);
+    private final NextSemesterScheduleService generator = mock(NextSemesterScheduleService.class);
+    private final ScheduleRepository scheduleRepository = mock(ScheduleRepository.class);
+    private SchedulePregenerationService service;
+
+    @AfterEach
+    void tearDown() {
+        if (service != null) {
+            service.shutdown();
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void generatesEveryChunkWithOneSnapshotQueryAndOneWrite() {
+        List<User> students = students(5);
+        UUID failing = students.get(3).getId();
+        TermOfferingIndex index = stubJob(students, snapshot -> {
+            if (snapshot.studentId().equals(failing)) {
+                throw new IllegalStateException("no offerings");
+            }
+        });
+
+        SchedulePregenerationService.Job job = newJob();
+        service.run(job);
+
+        verify(enrollmentService, times(3)).getAcademicSnapshots(anyCollection());
+        verify(scheduleRepository, times(3)).deleteGenerated(anyCollection(), eq("2026-Fall"));
+        verify(router, never()).getServiceForStudent(any());
+        verify(generator, times(5)).generate(any(), any(), same(index), eq(SchedulePreferences.NONE));
+
+        List<Schedule> saved = savedSchedules(3);
+        assertEquals(4, saved.size());
+        assertTrue(saved.stream().allMatch(s -> s.getId() == null && "2026-Fall".equals(s.getGeneratedFor())));
+
+        SchedulePregenerationStatusDto status = job.toDto();
+        assertEquals("COMPLETED", status.state());
+        assertEquals(5, status.total());
+        assertEquals(4, status.generated());
+        assertEquals(1, status.failed());
+    }
+
+    @Test
+    void invalidationDuringAChunkDropsOnlyTheStaleSchedule() {
+        List<User> students = students(2);
+        UUID enrolled = students.get(0).getId();
+        // The student's enrollment commits after their snapshot was loaded but before the chunk is written
+        stubJob(students, snapshot -> {
+            if (snapshot.studentId().equals(enrolled)) {
+                service.onEnrollmentChanged(new EnrollmentChangedEvent(enrolled));
+            }
+        });
+
+        SchedulePregenerationService.Job job = newJob();
+        service.run(job);
+
+        assertEquals(List.of(students.get(1).getId()), savedSchedules(1).stream().map(Schedule::getStudentId).toList());
+        assertEquals(1, job.toDto().generated());
+        // Nothing is tracked once the chunk is written, and later changes are not remembered either
+        assertEquals(0, service.trackedStudents());
+        service.onEnrollmentChanged(new EnrollmentChangedEvent(UUID.randomUUID()));
+        assertEquals(0, service.trackedStudents());
+    }
+
+    @Test
+    void offeringsChangeDuringAJobStopsIt() {
+        List<User> students = students(4);
+        stubJob(students, snapshot -> service.onOfferingsChanged(new CourseOfferingsChangedEvent()));
+
+        SchedulePregenerationService.Job job = newJob();
+        service.run(job);
+
+        verify(scheduleRepository, never()).saveAll(anyList());
+        verify(enrollmentService, times(1)).getAcademicSnapshots(anyCollection());
+        assertEquals("COMPLETED", job.toDto().state());
+        assertEquals(0, job.toDto().generated());
+    }
+
+    @Test
+    void catalogChangeDuringAJobStopsItAndDeletesGeneratedSchedules() {
+        List<User> students = students(4);
+        stubJob(students, snapshot -> service.onCatalogChanged(new CourseCatalogChangedEvent()));
+
+        SchedulePregenerationService.Job job = newJob();
+        service.run(job);
+
+        verify(scheduleRepository, never()).saveAll(anyList());
+        verify(scheduleRepository, atLeastOnce()).deleteAllGenerated();
+        verify(enrollmentService, times(1)).getAcademicSnapshots(anyCollection());
+        assertEquals(0, job.toDto().generated());
+        assertEquals(0, service.trackedStudents());
+    }
+
+    private List<User> students(int count) {
+        List<User> students = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            User student = new User();
+            student.setId(UUID.randomUUID());
+            student.setDepartment(Department.CS);
+            students.add(student);
+        }
+        return students;
+    }
+
+    /** Stubs a CS job over the students; {@code beforeGenerate} runs as each schedule is generated. */
+    private TermOfferingIndex stubJob(List<User> students, Consumer<StudentAcademicSnapshot> beforeGenerate) {
+        when(userRepository.findByDepartmentAndRole(Department.CS, Role.ROLE_STUDENT)).thenReturn(students);
+        when(enrollmentService.getAcademicSnapshots(anyCollection())).thenAnswer(invocation -> {
+            Collection<User> chunk = invocation.getArgument(0);
+            return chunk.stream().collect(Collectors.toMap(User::getId, user -> new StudentAcademicSnapshot(
+                    user.getId(), AcademicStanding.FRESHMAN, Department.CS, Set.of(), List.of())));
+        });
+        TermOfferingIndex index = mock(TermOfferingIndex.class);
+        when(indexCache.getIndex("2026", "Fall")).thenReturn(index);
+        when(index.preferring(any())).thenReturn(index);
+        BaseDegreeAuditService auditService = mock(BaseDegreeAuditService.class);
+        when(router.getServiceForDepartment(Department.CS)).thenReturn(auditService);
+        when(generator.generate(any(), any(), same(index), eq(SchedulePreferences.NONE))).thenAnswer(invocation -> {
+            StudentAcademicSnapshot snapshot = invocation.getArgument(0);
+            beforeGenerate.accept(snapshot);
+            return Schedule.builder().id(UUID.randomUUID()).studentId(snapshot.studentId()).slots(new ArrayList<>()).build();
+        });
+
+        service = new SchedulePregenerationService(userRepository, enrollmentService, router, indexCache,
+                mock(SeatAvailabilityIndex.class), generator,
+                scheduleRepository, mock(PlatformTransactionManager.class), 2, 2);
+        return index;
+    }
+
+    private static SchedulePregenerationService.Job newJob() {
+        return new SchedulePregenerationService.Job(UUID.randomUUID(), Department.CS, "2026", "Fall");
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Schedule> savedSchedules(int writes) {
+        ArgumentCaptor<List<Schedule>> captor = ArgumentCaptor.forClass(List.class);
+        verify(scheduleRepository, times(writes)).saveAll(captor.capture());
+        return captor.getAllValues().stream().flatMap(List::stream).toList();
+    }
+}
@@ -0,0 +1,128 @@
+package edu.aua.course_recommendation.service.schedule;
+
+import edu.aua.course_recommendation.entity.Course;
+import edu.aua.course_recommendation.entity.CourseOffering;
+import edu.aua.course_recommendation.model.Requirement;
+import edu.aua.course_recommendation.model.SchedulePreferences;
+import edu.aua.course_recommendation.model.TimeMask;
+import edu.aua.course_recommendation.service.schedule.scoring.*;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScheduleSearchServiceTest {
+
+    private final ScheduleSearchService searchService = new ScheduleSearchService(
+            null, null, null, null, null, null, null, null,
+            new ScheduleScoringEngine(List.of(new IdleTimeScorer(), new CampusDaysScorer(), new DaysOffScorer(),
+                    new TimeWindowScorer(), new InstructorScorer())),
+            null, Duration.ofSeconds(1));
+
+    @Test
+    void findsCombinationsTheEarliestSectionWouldBlock() {
+        // The earliest foundation section takes the only core slot
+        List<ScheduleSearchService.Candidate> candidates = List.of(
+                candidate("FND101", Requirement.FOUNDATION, 10, "MON 9:00am-10:20am", "TUE 9:00am-10:20am"),
+                candidate("CS110", Requirement.CORE, 9, "MON 9:00am-10:20am"),
+                candidate("CS111", Requirement.CORE, 9, "MON 9:30am-10:50am", "WED 9:00am-10:20am"));
+
+        List<ScheduleSearchService.RankedSchedule> best = searchService.search(candidates, 3, codes -> true, SchedulePreferences.NONE, deadline());
+
+        assertEquals(3, best.size());
+        assertEquals(Set.of("FND101", "CS110", "CS111"), codes(best.getFirst()));
+        assertEquals("TUE 9:00am-10:20am", best.getFirst().sections().getFirst().getTimes());
+        for (int i = 0; i < best.size(); i++) {
+            assertConflictFree(best.get(i));
+            if (i > 0) {
+                assertTrue(best.get(i - 1).score() >= best.get(i).score());
+                assertNotEquals(best.get(i - 1).sections(), best.get(i).sections());
+            }
+        }
+    }
+
+    @Test
+    void respectsCreditLimitAndRequirementCaps() {
+        List<ScheduleSearchService.Candidate> candidates = new ArrayList<>();
+        candidates.add(candidate("FND101", Requirement.FOUNDATION, 10, "MON 8:00am-8:50am"));
+        candidates.add(candidate("FND102", Requirement.FOUNDATION, 10, "TUE 8:00am-8:50am"));
+        for (int i = 0; i < 5; i++) {
+            candidates.add(candidate("CS10" + i, Requirement.CORE, 9, "WED " + (i + 1) + ":00pm-" + (i + 1) + ":50pm"));
+        }
+        candidates.add(candidate("CS296", Requirement.CAPSTONE, 10, "THU 9:00am-10:20am"));
+
+        ScheduleSearchService.RankedSchedule best = searchService.search(candidates, 1, codes -> false, SchedulePreferences.NONE, deadline()).getFirst();
+
+        assertEquals(12, best.credits());
+        assertEquals(1, codes(best).stream().filter(code -> code.startsWith("FND")).count());
+        assertEquals(3, codes(best).stream().filter(code -> code.startsWith("CS10")).count());
+        assertFalse(codes(best).contains("CS296"));
+    }
+
+    @Test
+    void prefersCompactSchedulesAndRequestedDaysOff() {
+        List<ScheduleSearchService.Candidate> candidates = List.of(
+                candidate("CS110", Requirement.CORE, 9, "MON 9:00am-10:20am", "FRI 9:00am-10:20am"),
+                candidate("CS111", Requirement.CORE, 9, "MON 1:30pm-2:50pm", "MON 10:30am-11:50am", "FRI 10:30am-11:50am"));
+
+        ScheduleSearchService.RankedSchedule compact = searchService.search(candidates, 1, codes -> true,
+                SchedulePreferences.NONE, deadline()).getFirst();
+        // One day on campus and no gap between the two classes
+        assertEquals(List.of("MON 9:00am-10:20am", "MON 10:30am-11:50am"),
+                compact.sections().stream().map(CourseOffering::getTimes).toList());
+
+        SchedulePreferences mondaysOff = SchedulePreferences.of(List.of(DayOfWeek.MONDAY), null, null, null);
+        ScheduleSearchService.RankedSchedule friday = searchService.search(candidates, 1, codes -> true,
+                mondaysOff, deadline()).getFirst();
+        assertEquals(List.of("FRI 9:00am-10:20am", "FRI 10:30am-11:50am"),
+                friday.sections().stream().map(CourseOffering::getTimes).toList());
+    }
+
+    @Test
+    void returnsWhatItHasWhenOutOfTime() {
+        List<ScheduleSearchService.Candidate> candidates = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            String[] sections = new String[8];
+            for (int j = 0; j < sections.length; j++) {
+                sections[j] = "FRI " + (j + 1) + ":00pm-" + (j + 1) + ":10pm";
+            }
+            candidates.add(candidate("GE" + i, Requirement.GENERAL_EDUCATION, 8, sections));
+        }
+
+        long startedAt = System.nanoTime();
+        List<ScheduleSearchService.RankedSchedule> best = searchService.search(candidates, 5, codes -> true, SchedulePreferences.NONE, System.nanoTime());
+
+        assertTrue(Duration.ofNanos(System.nanoTime() - startedAt).toMillis() < 1000);
+        assertFalse(best.isEmpty());
+    }
+
+    private static long deadline() {
+        return System.nanoTime() + Duration.ofSeconds(5).toNanos();
+    }
+
+    private static void assertConflictFree(ScheduleSearchService.RankedSchedule schedule) {
+        TimeMask booked = TimeMask.EMPTY;
+        for (CourseOffering section : schedule.sections()) {
+            assertFalse(booked.intersects(section.getTimeMask()));
+            booked = booked.union(section.getTimeMask());
+        }
+    }
+
+    private static Set<String> codes(ScheduleSearchService.RankedSchedule schedule) {
+        Set<String> codes = new HashSet<>();
+        schedule.sections().forEach(section -> codes.add(section.getBaseCourse().getCode()));
+        return codes;
+    }
+
+    private static ScheduleSearchService.Candidate candidate(String code, Requirement requirement, double gain, String... times) {
+        Course course = Course.builder().code(code).credits(3).build();
+        List<CourseOffering> sections = new ArrayList<>();
+        for (String time : times) {
+            sections.add(CourseOffering.builder().id(UUID.randomUUID()).baseCourse(course).times(time).build());
+        }
+        return new ScheduleSearchService.Candidate(code, requirement, 3, gain, sections);
+    }
+}
@@ -0,0 +1,199 @@
+package edu.aua.course_recommendation.service.schedule;
+
+import edu.aua.course_recommendation.dto.response.SectionAlternativeDto;
+import edu.aua.course_recommendation.dto.response.SlotAlternativesDto;
+import edu.aua.course_recommendation.entity.Course;
+import edu.aua.course_recommendation.entity.CourseOffering;
+import edu.aua.course_recommendation.entity.Schedule;
+import edu.aua.course_recommendation.entity.ScheduleSlot;
+import edu.aua.course_recommendation.exceptions.ScheduleConflictException;
+import edu.aua.course_recommendation.exceptions.ScheduleValidationException;
+import edu.aua.course_recommendation.exceptions.ValidationError;
+import edu.aua.course_recommendation.model.AcademicStanding;
+import edu.aua.course_recommendation.model.Department;
+import edu.aua.course_recommendation.model.SeatCount;
+import edu.aua.course_recommendation.model.StudentAcademicSnapshot;
+import edu.aua.course_recommendation.model.TimeMask;
+import edu.aua.course_recommendation.repository.CourseOfferingRepository;
+import edu.aua.course_recommendation.service.auth.UserService;
+import edu.aua.course_recommendation.service.course.*;
+import edu.aua.course_recommendation.service.schedule.scoring.CampusDaysScorer;
+import edu.aua.course_recommendation.service.schedule.scoring.IdleTimeScorer;
+import edu.aua.course_recommendation.service.schedule.scoring.ScheduleScoringEngine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.*;
+
+class ScheduleServiceTest {
+
+    private static final String[] TIMES = {
+            "MON 9:00am-10:20am, WED 9:00am-10:20am",
+            "MON 10:30am-11:50am, WED 10:30am-11:50am",
+            "TUE 9:00am-10:20am, THU 9:00am-10:20am",
+            "TUE 10:30am-11:50am, THU 10:30am-11:50am",
+            "FRI 9:00am-11:50am",
+            "TBD"
+    };
+
+    private final UUID studentId = UUID.randomUUID();
+    private final CourseOfferingRepository courseOfferingRepository = mock(CourseOfferingRepository.class);
+    private final EnrollmentService enrollmentService = mock(EnrollmentService.class);
+    private final UserService userService = mock(UserService.class);
+    private final TermOfferingIndexCache indexCache = mock(TermOfferingIndexCache.class);
+    private final SeatAvailabilityIndex seats = mock(SeatAvailabilityIndex.class);
+    private final List<CourseOffering> offerings = new ArrayList<>();
+    private ScheduleService scheduleService;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < TIMES.length; i++) {
+            Course course = Course.builder().code("C10" + i).credits(i < 5 ? 3 : 0).prerequisites(Set.of("A100")).build();
+            offerings.add(CourseOffering.builder().id(UUID.randomUUID()).baseCourse(course).times(TIMES[i]).build());
+        }
+        when(courseOfferingRepository.findAllById(anyIterable())).thenAnswer(invocation -> {
+            Set<UUID> ids = new HashSet<>();
+            invocation.<Iterable<UUID>>getArgument(0).forEach(ids::add);
+            return offerings.stream().filter(o -> ids.contains(o.getId())).toList();
+        });
+        when(enrollmentService.getCompletedCourseCodes(studentId)).thenReturn(List.of("A100"));
+        when(userService.getAcademicStanding(studentId)).thenReturn(AcademicStanding.FRESHMAN);
+        when(indexCache.getIndex(any(), any())).thenAnswer(invocation -> TermOfferingIndex.of("2026", "Fall", offerings));
+        when(seats.openSections(any(), any())).thenReturn(offering -> true);
+        when(seats.getSeats(any(), any(), any())).thenReturn(SeatCount.UNKNOWN);
+
+        CourseService courseService = mock(CourseService.class);
+        when(courseService.getPrerequisiteGraph()).thenReturn(
+                PrerequisiteGraph.of(offerings.stream().map(CourseOffering::getBaseCourse).toList(), Map.of()));
+
+        scheduleService = new ScheduleService(null, enrollmentService, courseService, userService,
+                courseOfferingRepository, null, null, null, null, new SectionAlternativeFinder(indexCache, seats,
+                new ScheduleScoringEngine(List.of(new IdleTimeScorer(), new CampusDaysScorer()))));
+    }
+
+    @Test
+    void validatingASixSlotScheduleLoadsOfferingsOnce() {
+        scheduleService.validateSchedule(schedule(offerings));
+
+        verify(courseOfferingRepository, times(1)).findAllById(anyIterable());
+        verify(courseOfferingRepository, never()).findCourseOfferingsById(any());
+        verify(courseOfferingRepository, never()).findById(any());
+        verify(enrollmentService, times(1)).getCompletedCourseCodes(studentId);
+        verify(userService, times(1)).getAcademicStanding(studentId);
+    }
+
+    @Test
+    void savedSlotsCarryTheirOfferingsTimesAndCredits() {
+        Schedule schedule = schedule(offerings.subList(0, 2));
+        schedule.getSlots().getFirst().setTimes("TBD");
+        schedule.getSlots().getFirst().setCredits(0);
+
+        scheduleService.validateSchedule(schedule);
+
+        assertEquals(TIMES[0], schedule.getSlots().getFirst().getTimes());
+        assertEquals(6, schedule.getTotalCredits());
+        assertEquals(TimeMask.parse(TIMES[0]).union(TimeMask.parse(TIMES[1])), schedule.getOccupancyMask());
+    }
+
+    @Test
+    void claimedCreditsCannotHideAnOverload() {
+        Course heavy = Course.builder().code("C500").credits(3).build();
+        offerings.add(CourseOffering.builder().id(UUID.randomUUID()).baseCourse(heavy).times("SAT 9:00am-10:00am").build());
+        Schedule schedule = schedule(offerings);
+        schedule.getSlots().getLast().setCredits(0);
+
+        ScheduleValidationException e = assertThrows(ScheduleValidationException.class,
+                () -> scheduleService.validateSchedule(schedule));
+        assertEquals(ValidationError.EXCEEDS_CREDIT_LIMIT, e.getError());
+    }
+
+    @Test
+    void storedOfferingTimesDecideConflicts() {
+        CourseOffering overlapping = CourseOffering.builder().id(UUID.randomUUID())
+                .baseCourse(Course.builder().code("C200").credits(0).build())
+                .times("WED 11:00am-12:15pm").build();
+        offerings.add(overlapping);
+        Schedule schedule = schedule(offerings);
+        // The client claims no conflict, but the stored offering overlaps C101
+        schedule.getSlots().getLast().setTimes("TBD");
+
+        ScheduleValidationException e = assertThrows(ScheduleValidationException.class,
+                () -> scheduleService.validateSchedule(schedule));
+        assertEquals(ValidationError.TIME_CONFLICT, e.getError());
+    }
+
+    @Test
+    void conflictsComeWithTheSectionsThatWouldFitInstead() {
+        Course c200 = Course.builder().code("C200").credits(0).build();
+        CourseOffering overlapping = section(c200, "WED 11:00am-12:15pm");
+        CourseOffering saturday = section(c200, "SAT 9:00am-10:00am");
+        CourseOffering friday = section(c200, "FRI 1:00pm-2:00pm");
+        CourseOffering stillOverlapping = section(c200, "WED 11:30am-12:00pm");
+        List<CourseOffering> term = new ArrayList<>(offerings);
+        term.addAll(List.of(overlapping, saturday, friday, stillOverlapping));
+        when(indexCache.getIndex(any(), any())).thenReturn(TermOfferingIndex.of("2026", "Fall", term));
+        offerings.add(overlapping);
+
+        ScheduleConflictException e = assertThrows(ScheduleConflictException.class,
+                () -> scheduleService.validateSchedule(schedule(offerings)));
+
+        assertEquals(ValidationError.TIME_CONFLICT, e.getError());
+        assertEquals(List.of("C101", "C200"), e.getAlternatives().stream().map(SlotAlternativesDto::courseCode).toList());
+        assertEquals(List.of(), e.getAlternatives().get(0).alternatives());
+        // Friday afternoon adds a gap but no campus day, so it is more compact than Saturday
+        assertEquals(List.of(friday.getId(), saturday.getId()), e.getAlternatives().get(1).alternatives().stream()
+                .map(SectionAlternativeDto::offeringId).toList());
+        verify(courseOfferingRepository, times(1)).findAllById(anyIterable());
+    }
+
+    @Test
+    void generationChecksConflictsAgainstSlotTimes() {
+        List<ScheduleSlot> slots = new ArrayList<>(schedule(offerings.subList(0, 1)).getSlots());
+        CourseOffering clash = CourseOffering.builder().id(UUID.randomUUID())
+                .baseCourse(Course.builder().code("C300").credits(3).build())
+                .times("MON 10:00am-11:00am").build();
+        CourseOffering later = CourseOffering.builder().id(UUID.randomUUID())
+                .baseCourse(Course.builder().code("C300").credits(3).build())
+                .times("MON 10:20am-11:40am").build();
+
+        Optional<CourseOffering> found = scheduleService.findOffering(List.of(clash, later), "C300", 3, slots, snapshot());
+
+        assertEquals(Optional.of(later), found);
+        verifyNoInteractions(courseOfferingRepository);
+    }
+
+    @Test
+    void coursesNewerThanTheCatalogUseTheirStoredPrerequisites() {
+        CourseOffering met = section(Course.builder().code("C400").credits(3).prerequisites(Set.of("A100")).build(),
+                "MON 9:00am-10:20am");
+        CourseOffering unmet = section(Course.builder().code("C400").credits(3).prerequisites(Set.of("B200")).build(),
+                "TUE 9:00am-10:20am");
+
+        assertEquals(Optional.of(met), scheduleService.findOffering(List.of(unmet, met), "C400", 0, List.of(), snapshot()));
+        // The search reads the snapshot instead of looking the completed courses up again
+        verifyNoInteractions(enrollmentService);
+        assertFalse(scheduleService.prerequisitesMet(unmet, studentId));
+    }
+
+    private StudentAcademicSnapshot snapshot() {
+        return new StudentAcademicSnapshot(studentId, AcademicStanding.FRESHMAN, Department.CS, Set.of("A100"), List.of());
+    }
+
+    private static CourseOffering section(Course course, String times) {
+        return CourseOffering.builder().id(UUID.randomUUID()).baseCourse(course).times(times).build();
+    }
+
+    private Schedule schedule(List<CourseOffering> offerings) {
+        List<ScheduleSlot> slots = new ArrayList<>();
+        for (CourseOffering offering : offerings) {
+            slots.add(new ScheduleSlot(offering.getId(), offering.getBaseCourse().getCode(),
+                    offering.getBaseCourse().getCredits(), offering.getTimes()));
+        }
+        return Schedule.builder().studentId(studentId).scheduleName("Fall").slots(slots).build();
+    }
+}
@@ -0,0 +1,51 @@
+package edu.aua.course_recommendation.service.schedule.scoring;
+
+import edu.aua.course_recommendation.entity.Course;
+import edu.aua.course_recommendation.entity.CourseOffering;
+import edu.aua.course_recommendation.entity.Instructor;
+import edu.aua.course_recommendation.model.SchedulePreferences;
+import edu.aua.course_recommendation.model.TimeMask;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScheduleScoringEngineTest {
+
+    private final ScheduleScoringEngine engine = new ScheduleScoringEngine(List.of(new IdleTimeScorer(),
+            new CampusDaysScorer(), new DaysOffScorer(), new TimeWindowScorer(), new InstructorScorer()));
+
+    @Test
+    void picksTheSectionThatKeepsTheDayCompact() {
+        TimeMask booked = TimeMask.parse("TUE 9:00am-10:20am");
+        CourseOffering early = section("MON 9:00am-10:20am", "Smith");
+        CourseOffering gap = section("TUE 3:00pm-4:20pm", "Smith");
+        CourseOffering adjacent = section("TUE 10:30am-11:50am", "Jones");
+
+        assertEquals(adjacent, engine.bestSection(List.of(early, gap, adjacent), booked, SchedulePreferences.NONE).orElseThrow());
+
+        SchedulePreferences smith = SchedulePreferences.of(null, null, null, List.of("Smith"));
+        assertEquals(early, engine.bestSection(List.of(early, gap, adjacent), booked, smith).orElseThrow());
+        assertTrue(engine.bestSection(List.of(), booked, smith).isEmpty());
+    }
+
+    @Test
+    void lowerBoundOnlyCountsPenaltiesThatCannotShrink() {
+        TimeMask booked = TimeMask.parse("MON 8:00am-9:00am, MON 4:00pm-5:00pm");
+        SchedulePreferences notBeforeNine = SchedulePreferences.of(null, LocalTime.of(9, 0), null, null);
+
+        // 7 idle hours, one day on campus, an hour too early
+        assertEquals(7 * 0.25 + 0.5 + 2.0, engine.penalty(booked, List.of(), notBeforeNine), 1e-9);
+        assertEquals(0.5 + 2.0, engine.lowerBound(booked, List.of(), notBeforeNine), 1e-9);
+    }
+
+    private static CourseOffering section(String times, String instructor) {
+        Instructor teacher = new Instructor();
+        teacher.setName(instructor);
+        return CourseOffering.builder().id(UUID.randomUUID()).baseCourse(Course.builder().code("CS120").credits(3).build())
+                .instructor(teacher).times(times).build();
+    }
+}